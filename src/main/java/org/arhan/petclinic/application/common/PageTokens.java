@@ -0,0 +1,66 @@
+package org.arhan.petclinic.application.common;
+
+import org.arhan.petclinic.domain.common.Keyset;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Converts keysets to and from the opaque continuation tokens handed to clients.
+ * A token records the sort it was issued for, so it cannot be replayed against a
+ * listing in a different order, where its keyset would skip or repeat elements.
+ */
+public final class PageTokens {
+
+    private static final String SEPARATOR = "\n";
+
+    private PageTokens() {
+        // Utility class
+    }
+
+    /**
+     * Encodes where a listing stopped as a continuation token.
+     *
+     * @param sort the name of the sort the listing uses
+     * @param keyset where the listing stopped, or null if it is complete
+     * @return the token, or null if keyset is null
+     */
+    public static String encode(String sort, Keyset keyset) {
+        if (keyset == null) {
+            return null;
+        }
+        var raw = keyset.sortValue() == null
+            ? String.join(SEPARATOR, sort, keyset.id())
+            : String.join(SEPARATOR, sort, keyset.id(), keyset.sortValue());
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token issued for the given sort.
+     *
+     * @param sort the name of the sort the listing uses
+     * @param token the token, or null or empty for the first page
+     * @return where the listing stopped, or null for the first page
+     * @throws IllegalArgumentException if the token is malformed or was issued for another sort
+     */
+    public static Keyset decode(String sort, String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page token", e);
+        }
+        // The sort value is last so that it may itself contain the separator
+        var parts = raw.split(SEPARATOR, 3);
+        if (parts.length < 2 || parts[1].isEmpty()) {
+            throw new IllegalArgumentException("Invalid page token");
+        }
+        if (!parts[0].equals(sort)) {
+            throw new IllegalArgumentException("Page token was issued for sort '" + parts[0] + "'");
+        }
+        return new Keyset(parts.length == 3 ? parts[2] : null, parts[1]);
+    }
+}
\ No newline at end of file
@@ -13,7 +13,8 @@ public record OwnerDTO(
     String email,
     String phone,
     AddressDTO address,
-    List<String> petIds
+    List<String> petIds,
+    long version
 ) {
     /**
      * Creates a DTO from a domain entity.
@@ -31,7 +32,8 @@ public record OwnerDTO(
             AddressDTO.fromDomain(owner.getContactInfo().address()),
             owner.getPets().stream()
                 .map(petId -> petId.value())
-                .toList()
+                .toList(),
+            owner.isNew() ? Owner.INITIAL_VERSION : owner.getVersion()
         );
     }
 }
@@ -0,0 +1,14 @@
+package org.arhan.petclinic.application.owner;
+
+import java.util.List;
+
+/**
+ * DTO for one page of the owner listing.
+ *
+ * @param owners the owners on the page, in listing order
+ * @param nextPageToken the token that fetches the following page, or null on the last page
+ */
+public record OwnerPageDTO(
+    List<OwnerDTO> owners,
+    String nextPageToken
+) {}
\ No newline at end of file
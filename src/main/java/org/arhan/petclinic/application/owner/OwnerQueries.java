@@ -0,0 +1,28 @@
+package org.arhan.petclinic.application.owner;
+
+import org.arhan.petclinic.domain.owner.OwnerId;
+import java.util.Optional;
+
+/**
+ * Read-side port for owners.
+ * Implementations select straight into DTOs without rebuilding the Owner aggregate,
+ * so read-only use cases skip domain validation and the intermediate conversions.
+ */
+public interface OwnerQueries {
+
+    /**
+     * Finds an owner by their ID.
+     *
+     * @param id the ID of the owner
+     * @return an Optional containing the owner if found, or empty if not found
+     */
+    Optional<OwnerDTO> findById(OwnerId id);
+
+    /**
+     * Finds an owner by their normalized (trimmed, lower-case) email address.
+     *
+     * @param email the normalized email address
+     * @return an Optional containing the owner if found, or empty if not found
+     */
+    Optional<OwnerDTO> findByEmail(String email);
+}
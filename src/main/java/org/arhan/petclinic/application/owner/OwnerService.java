@@ -1,5 +1,6 @@
 package org.arhan.petclinic.application.owner;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -13,9 +14,21 @@ public interface OwnerService {
      * @param command the registration command
      * @return the registered owner
      * @throws IllegalArgumentException if the command is invalid
+     * @throws org.arhan.petclinic.domain.common.DuplicateEntityException if another owner has the email
      */
     OwnerDTO registerOwner(RegisterOwnerCommand command);
 
+    /**
+     * Registers several owners in a single transaction.
+     *
+     * @param commands the registration commands
+     * @return the registered owners, in command order
+     * @throws IllegalArgumentException if commands is null or empty, or if any command is invalid
+     * @throws org.arhan.petclinic.domain.common.DuplicateEntityException if another owner, or another
+     *     command, has one of the emails
+     */
+    List<OwnerDTO> registerOwners(List<RegisterOwnerCommand> commands);
+
     /**
      * Updates an existing owner.
      *
@@ -23,6 +36,7 @@ public interface OwnerService {
      * @return the updated owner
      * @throws IllegalArgumentException if the command is invalid
      * @throws org.arhan.petclinic.domain.common.EntityNotFoundException if the owner is not found
+     * @throws org.arhan.petclinic.domain.common.ConcurrencyConflictException if the owner was modified since the command's version
      */
     OwnerDTO updateOwner(UpdateOwnerCommand command);
 
@@ -44,4 +58,15 @@ public interface OwnerService {
      * @throws IllegalArgumentException if email is null or empty
      */
     Optional<OwnerDTO> findByEmail(String email);
+
+    /**
+     * Lists all owners one page at a time.
+     *
+     * @param sort the listing order: "id", "last-name" or "created-at"
+     * @param pageToken the token returned with the previous page, or null for the first page
+     * @param size the maximum number of owners on the page, between 1 and 1000
+     * @return the page of owners
+     * @throws IllegalArgumentException if sort is unknown, the token is invalid or size is out of range
+     */
+    OwnerPageDTO listOwners(String sort, String pageToken, int size);
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package org.arhan.petclinic.application.owner;
 
+import org.arhan.petclinic.application.common.PageTokens;
+import org.arhan.petclinic.domain.common.DuplicateEntityException;
 import org.arhan.petclinic.domain.common.EntityNotFoundException;
 import org.arhan.petclinic.domain.owner.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -13,17 +17,71 @@ import java.util.Optional;
 @Transactional
 public class OwnerServiceImpl implements OwnerService {
     
+    static final int MAX_PAGE_SIZE = 1000;
+
     private final OwnerRepository ownerRepository;
+    private final OwnerQueries ownerQueries;
 
-    public OwnerServiceImpl(OwnerRepository ownerRepository) {
+    public OwnerServiceImpl(OwnerRepository ownerRepository, OwnerQueries ownerQueries) {
         this.ownerRepository = ownerRepository;
+        this.ownerQueries = ownerQueries;
     }
 
     @Override
     public OwnerDTO registerOwner(RegisterOwnerCommand command) {
         command.validate();
         
-        var owner = Owner.create(
+        var owner = newOwner(command);
+        requireFreeEmail(owner.getContactInfo().email());
+        
+        ownerRepository.save(owner);
+        return OwnerDTO.fromDomain(owner);
+    }
+
+    @Override
+    public List<OwnerDTO> registerOwners(List<RegisterOwnerCommand> commands) {
+        if (commands == null || commands.isEmpty()) {
+            throw new IllegalArgumentException("Commands cannot be null or empty");
+        }
+        commands.forEach(RegisterOwnerCommand::validate);
+        
+        var owners = commands.stream()
+            .map(this::newOwner)
+            .toList();
+        var emails = new LinkedHashSet<String>();
+        for (var owner : owners) {
+            var email = owner.getContactInfo().email();
+            if (!emails.add(email)) {
+                throw DuplicateEntityException.withField("Owner", "email", email);
+            }
+        }
+        // One set-based check for the whole batch rather than a query per owner
+        var taken = ownerRepository.findTakenEmails(emails);
+        emails.stream()
+            .filter(taken::contains)
+            .findFirst()
+            .ifPresent(email -> {
+                throw DuplicateEntityException.withField("Owner", "email", email);
+            });
+        
+        ownerRepository.saveAll(owners);
+        return owners.stream()
+            .map(OwnerDTO::fromDomain)
+            .toList();
+    }
+
+    /**
+     * Rejects an email another owner has, rather than letting the unique index fail the commit.
+     * With the email filter enabled, most free emails are confirmed without a query.
+     */
+    private void requireFreeEmail(String email) {
+        if (ownerRepository.existsByEmail(email)) {
+            throw DuplicateEntityException.withField("Owner", "email", email);
+        }
+    }
+
+    private Owner newOwner(RegisterOwnerCommand command) {
+        return Owner.create(
             OwnerId.generate(),
             new FullName(command.firstName(), command.lastName()),
             new ContactInformation(
@@ -37,16 +95,14 @@ public class OwnerServiceImpl implements OwnerService {
                 )
             )
         );
-        
-        ownerRepository.save(owner);
-        return OwnerDTO.fromDomain(owner);
     }
 
     @Override
     public OwnerDTO updateOwner(UpdateOwnerCommand command) {
         command.validate();
         
-        var owner = Owner.create(
+        // The repository checks the owner's existence and version before writing
+        var owner = Owner.reconstitute(
             OwnerId.fromString(command.id()),
             new FullName(command.firstName(), command.lastName()),
             new ContactInformation(
@@ -58,15 +114,11 @@ public class OwnerServiceImpl implements OwnerService {
                     command.state(),
                     command.postalCode()
                 )
-            )
+            ),
+            command.version()
         );
         
-        // Preserve existing pets
-        var existingOwner = ownerRepository.findById(OwnerId.fromString(command.id()));
-        existingOwner.getPets().forEach(owner::addPet);
-        
-        ownerRepository.save(owner);
-        return OwnerDTO.fromDomain(owner);
+        return OwnerDTO.fromDomain(ownerRepository.update(owner));
     }
 
     @Override
@@ -76,8 +128,8 @@ public class OwnerServiceImpl implements OwnerService {
             throw new IllegalArgumentException("Owner ID cannot be null or empty");
         }
         
-        var owner = ownerRepository.findById(OwnerId.fromString(id.trim()));
-        return OwnerDTO.fromDomain(owner);
+        return ownerQueries.findById(OwnerId.fromString(id.trim()))
+            .orElseThrow(() -> EntityNotFoundException.withId("Owner", id.trim()));
     }
 
     @Override
@@ -87,7 +139,35 @@ public class OwnerServiceImpl implements OwnerService {
             throw new IllegalArgumentException("Email cannot be null or empty");
         }
         
-        return ownerRepository.findByEmail(email.trim().toLowerCase())
-            .map(OwnerDTO::fromDomain);
+        return ownerQueries.findByEmail(email.trim().toLowerCase());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OwnerPageDTO listOwners(String sort, String pageToken, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        var ownerSort = parseSort(sort);
+        
+        var page = ownerRepository.findPage(ownerSort, PageTokens.decode(sort, pageToken), size);
+        return new OwnerPageDTO(
+            page.items().stream()
+                .map(OwnerDTO::fromDomain)
+                .toList(),
+            PageTokens.encode(sort, page.next())
+        );
+    }
+
+    private static OwnerSort parseSort(String sort) {
+        if (sort == null) {
+            throw new IllegalArgumentException("Sort cannot be null");
+        }
+        return switch (sort) {
+            case "id" -> OwnerSort.ID;
+            case "last-name" -> OwnerSort.LAST_NAME;
+            case "created-at" -> OwnerSort.CREATED_AT;
+            default -> throw new IllegalArgumentException("Unknown sort: " + sort);
+        };
     }
 }
\ No newline at end of file
@@ -12,7 +12,8 @@ public record UpdateOwnerCommand(
     String street,
     String city,
     String state,
-    String postalCode
+    String postalCode,
+    Long version
 ) {
     private static final String EMAIL_PATTERN = 
         "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$";
@@ -59,5 +60,11 @@ public record UpdateOwnerCommand(
         if (postalCode == null || postalCode.trim().isEmpty()) {
             throw new IllegalArgumentException("Postal code cannot be null or empty");
         }
+        if (version == null) {
+            throw new IllegalArgumentException("Version cannot be null");
+        }
+        if (version < 0) {
+            throw new IllegalArgumentException("Version cannot be negative");
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package org.arhan.petclinic.application.pet;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Command object for adding a medical record to a pet's history.
+ */
+public record AddMedicalRecordCommand(
+    String petId,
+    LocalDateTime date,
+    String description,
+    String veterinarianId,
+    List<TreatmentDTO> treatments
+) {
+    /**
+     * Validates the command data.
+     *
+     * @throws IllegalArgumentException if any field is invalid
+     */
+    public void validate() {
+        if (petId == null || petId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Pet ID cannot be null or empty");
+        }
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        if (date.isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Medical record date cannot be in the future");
+        }
+        if (description == null || description.trim().isEmpty()) {
+            throw new IllegalArgumentException("Description cannot be null or empty");
+        }
+        if (veterinarianId == null || veterinarianId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Veterinarian ID cannot be null or empty");
+        }
+        if (treatments != null && treatments.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Treatments cannot contain null elements");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.arhan.petclinic.application.pet;
+
+import org.arhan.petclinic.domain.pet.MedicalRecord;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object for MedicalRecord entity.
+ */
+public record MedicalRecordDTO(
+    String id,
+    LocalDateTime date,
+    String description,
+    String veterinarianId,
+    List<TreatmentDTO> treatments
+) {
+    /**
+     * Creates a DTO from a domain entity.
+     *
+     * @param record the domain entity
+     * @return a new DTO instance
+     */
+    public static MedicalRecordDTO fromDomain(MedicalRecord record) {
+        return new MedicalRecordDTO(
+            record.getId().value(),
+            record.getDate(),
+            record.getDescription(),
+            record.getVeterinarianId().value(),
+            record.getTreatments().stream()
+                .map(TreatmentDTO::fromDomain)
+                .toList()
+        );
+    }
+}
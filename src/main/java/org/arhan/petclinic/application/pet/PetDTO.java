@@ -1,5 +1,6 @@
 package org.arhan.petclinic.application.pet;
 
+import org.arhan.petclinic.domain.pet.Pet;
 import java.time.LocalDate;
 
 /**
@@ -10,7 +11,8 @@ public record PetDTO(
     String name,
     String species,
     LocalDate birthDate,
-    String ownerId
+    String ownerId,
+    long version
 ) {
     /**
      * Creates a DTO from a domain entity.
@@ -18,13 +20,14 @@ public record PetDTO(
      * @param pet the domain entity
      * @return a new DTO instance
      */
-    public static PetDTO fromDomain(org.arhan.petclinic.domain.pet.Pet pet) {
+    public static PetDTO fromDomain(Pet pet) {
         return new PetDTO(
             pet.getId().value(),
             pet.getName().value(),
             pet.getSpecies().name(),
             pet.getBirthDate(),
-            pet.getOwnerId().value()
+            pet.getOwnerId().value(),
+            pet.isNew() ? Pet.INITIAL_VERSION : pet.getVersion()
         );
     }
 }
\ No newline at end of file
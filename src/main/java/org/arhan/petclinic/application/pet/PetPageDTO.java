@@ -0,0 +1,14 @@
+package org.arhan.petclinic.application.pet;
+
+import java.util.List;
+
+/**
+ * DTO for one page of the pet listing.
+ *
+ * @param pets the pets on the page, in listing order
+ * @param nextPageToken the token that fetches the following page, or null on the last page
+ */
+public record PetPageDTO(
+    List<PetDTO> pets,
+    String nextPageToken
+) {}
\ No newline at end of file
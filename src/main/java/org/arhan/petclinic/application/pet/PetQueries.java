@@ -0,0 +1,38 @@
+package org.arhan.petclinic.application.pet;
+
+import org.arhan.petclinic.domain.owner.OwnerId;
+import org.arhan.petclinic.domain.pet.PetId;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-side port for pets.
+ * Implementations select straight into DTOs without rebuilding the Pet aggregate,
+ * so read-only use cases skip domain validation and the intermediate conversions.
+ */
+public interface PetQueries {
+
+    /**
+     * Finds a pet by its ID.
+     *
+     * @param id the ID of the pet
+     * @return an Optional containing the pet if found, or empty if not found
+     */
+    Optional<PetDTO> findById(PetId id);
+
+    /**
+     * Finds the current version of a pet without reading the rest of its row.
+     *
+     * @param id the ID of the pet
+     * @return an Optional containing the pet's version if found, or empty if not found
+     */
+    Optional<Long> findVersion(PetId id);
+
+    /**
+     * Finds all pets owned by the given owner.
+     *
+     * @param ownerId the ID of the owner
+     * @return the owner's pets, empty list if none are found
+     */
+    List<PetDTO> findByOwner(OwnerId ownerId);
+}
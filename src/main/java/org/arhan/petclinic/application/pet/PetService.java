@@ -17,6 +17,17 @@ public interface PetService {
      */
     PetDTO registerPet(RegisterPetCommand command);
 
+    /**
+     * Registers several pets in a single transaction.
+     * All owners are verified with one set-based lookup before any pet is written.
+     *
+     * @param commands the registration commands
+     * @return the registered pets, in command order
+     * @throws IllegalArgumentException if commands is null or empty, or if any command is invalid
+     * @throws org.arhan.petclinic.domain.common.EntityNotFoundException if any owner is not found
+     */
+    List<PetDTO> registerPets(List<RegisterPetCommand> commands);
+
     /**
      * Updates an existing pet.
      *
@@ -24,6 +35,7 @@ public interface PetService {
      * @return the updated pet
      * @throws IllegalArgumentException if the command is invalid
      * @throws org.arhan.petclinic.domain.common.EntityNotFoundException if the pet or owner is not found
+     * @throws org.arhan.petclinic.domain.common.ConcurrencyConflictException if the pet was modified since the command's version
      */
     PetDTO updatePet(UpdatePetCommand command);
 
@@ -37,6 +49,16 @@ public interface PetService {
      */
     PetDTO findById(String id);
 
+    /**
+     * Finds the current version of a pet, letting callers validate a cached copy without loading it.
+     *
+     * @param id the ID of the pet
+     * @return the pet's version
+     * @throws IllegalArgumentException if id is null or empty
+     * @throws org.arhan.petclinic.domain.common.EntityNotFoundException if the pet is not found
+     */
+    long findVersion(String id);
+
     /**
      * Finds all pets owned by the given owner.
      *
@@ -46,4 +68,37 @@ public interface PetService {
      * @throws org.arhan.petclinic.domain.common.EntityNotFoundException if the owner is not found
      */
     List<PetDTO> findByOwner(String ownerId);
+
+    /**
+     * Adds a medical record to a pet's history.
+     *
+     * @param command the command describing the medical record
+     * @return the added medical record
+     * @throws IllegalArgumentException if the command is invalid
+     * @throws org.arhan.petclinic.domain.common.EntityNotFoundException if the pet is not found
+     */
+    MedicalRecordDTO addMedicalRecord(AddMedicalRecordCommand command);
+
+    /**
+     * Finds one page of a pet's medical history, newest record first.
+     *
+     * @param petId the ID of the pet
+     * @param page the zero-based page number
+     * @param size the number of records per page, between 1 and 100
+     * @return the records on the requested page
+     * @throws IllegalArgumentException if petId is null or empty, or if page or size is out of range
+     * @throws org.arhan.petclinic.domain.common.EntityNotFoundException if the pet is not found
+     */
+    List<MedicalRecordDTO> findMedicalHistory(String petId, int page, int size);
+
+    /**
+     * Lists all pets one page at a time.
+     *
+     * @param sort the listing order: "id" or "created-at"
+     * @param pageToken the token returned with the previous page, or null for the first page
+     * @param size the maximum number of pets on the page, between 1 and 1000
+     * @return the page of pets
+     * @throws IllegalArgumentException if sort is unknown, the token is invalid or size is out of range
+     */
+    PetPageDTO listPets(String sort, String pageToken, int size);
 }
\ No newline at end of file
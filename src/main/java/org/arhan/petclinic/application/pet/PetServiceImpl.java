@@ -1,12 +1,16 @@
 package org.arhan.petclinic.application.pet;
 
+import org.arhan.petclinic.application.common.PageTokens;
+import org.arhan.petclinic.domain.clinic.VeterinarianId;
 import org.arhan.petclinic.domain.common.EntityNotFoundException;
 import org.arhan.petclinic.domain.owner.OwnerId;
 import org.arhan.petclinic.domain.owner.OwnerRepository;
 import org.arhan.petclinic.domain.pet.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of PetService.
@@ -15,52 +19,95 @@ import java.util.List;
 @Transactional
 public class PetServiceImpl implements PetService {
     
+    static final int MAX_MEDICAL_HISTORY_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+
     private final PetRepository petRepository;
     private final OwnerRepository ownerRepository;
+    private final PetQueries petQueries;
+    private final MedicalRecordRepository medicalRecordRepository;
 
-    public PetServiceImpl(PetRepository petRepository, OwnerRepository ownerRepository) {
+    public PetServiceImpl(PetRepository petRepository, OwnerRepository ownerRepository, PetQueries petQueries,
+                          MedicalRecordRepository medicalRecordRepository) {
         this.petRepository = petRepository;
         this.ownerRepository = ownerRepository;
+        this.petQueries = petQueries;
+        this.medicalRecordRepository = medicalRecordRepository;
     }
 
     @Override
     public PetDTO registerPet(RegisterPetCommand command) {
         command.validate();
         
-        // Verify owner exists
         var ownerId = OwnerId.fromString(command.ownerId());
-        ownerRepository.findById(ownerId); // Will throw if not found
+        requireOwner(ownerId);
+        
+        var pet = newPet(command, ownerId);
+        
+        petRepository.save(pet);
+        return PetDTO.fromDomain(pet);
+    }
+
+    @Override
+    public List<PetDTO> registerPets(List<RegisterPetCommand> commands) {
+        if (commands == null || commands.isEmpty()) {
+            throw new IllegalArgumentException("Commands cannot be null or empty");
+        }
+        commands.forEach(RegisterPetCommand::validate);
         
-        var pet = Pet.create(
-            PetId.generate(),
+        // Verify all owners exist with one set-based lookup
+        var ownerIds = commands.stream()
+            .map(command -> OwnerId.fromString(command.ownerId()))
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        var existingOwnerIds = ownerRepository.findExistingIds(ownerIds);
+        ownerIds.stream()
+            .filter(ownerId -> !existingOwnerIds.contains(ownerId))
+            .findFirst()
+            .ifPresent(missing -> {
+                throw EntityNotFoundException.withId("Owner", missing.value());
+            });
+        
+        var pets = commands.stream()
+            .map(command -> newPet(command, OwnerId.fromString(command.ownerId())))
+            .toList();
+        
+        petRepository.saveAll(pets);
+        return pets.stream()
+            .map(PetDTO::fromDomain)
+            .toList();
+    }
+
+    private void requireOwner(OwnerId ownerId) {
+        if (!ownerRepository.existsById(ownerId)) {
+            throw EntityNotFoundException.withId("Owner", ownerId.value());
+        }
+    }
+
+    private Pet newPet(RegisterPetCommand command, OwnerId ownerId) {
+        return Pet.create(
+            petRepository.nextId(ownerId),
             new PetName(command.name()),
-            new Species(command.species()),
+            Species.of(command.species()),
             command.birthDate(),
             ownerId
         );
-        
-        petRepository.save(pet);
-        return PetDTO.fromDomain(pet);
     }
 
     @Override
     public PetDTO updatePet(UpdatePetCommand command) {
         command.validate();
         
-        // Verify owner exists
-        var ownerId = OwnerId.fromString(command.ownerId());
-        ownerRepository.findById(ownerId); // Will throw if not found
-        
-        var pet = Pet.create(
+        // The repository checks the pet, its version and the new owner before writing
+        var pet = Pet.reconstitute(
             PetId.fromString(command.id()),
             new PetName(command.name()),
-            new Species(command.species()),
+            Species.of(command.species()),
             command.birthDate(),
-            ownerId
+            OwnerId.fromString(command.ownerId()),
+            command.version()
         );
         
-        petRepository.save(pet);
-        return PetDTO.fromDomain(pet);
+        return PetDTO.fromDomain(petRepository.update(pet));
     }
 
     @Override
@@ -70,8 +117,19 @@ public class PetServiceImpl implements PetService {
             throw new IllegalArgumentException("Pet ID cannot be null or empty");
         }
         
-        var pet = petRepository.findById(PetId.fromString(id.trim()));
-        return PetDTO.fromDomain(pet);
+        return petQueries.findById(PetId.fromString(id.trim()))
+            .orElseThrow(() -> EntityNotFoundException.withId("Pet", id.trim()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long findVersion(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("Pet ID cannot be null or empty");
+        }
+
+        return petQueries.findVersion(PetId.fromString(id.trim()))
+            .orElseThrow(() -> EntityNotFoundException.withId("Pet", id.trim()));
     }
 
     @Override
@@ -81,13 +139,86 @@ public class PetServiceImpl implements PetService {
             throw new IllegalArgumentException("Owner ID cannot be null or empty");
         }
         
-        // Verify owner exists
         var ownerIdObj = OwnerId.fromString(ownerId.trim());
-        ownerRepository.findById(ownerIdObj); // Will throw if not found
+        requireOwner(ownerIdObj);
         
-        return petRepository.findByOwner(ownerIdObj)
-            .stream()
-            .map(PetDTO::fromDomain)
+        return petQueries.findByOwner(ownerIdObj);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PetPageDTO listPets(String sort, String pageToken, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        var petSort = parseSort(sort);
+        
+        var page = petRepository.findPage(petSort, PageTokens.decode(sort, pageToken), size);
+        return new PetPageDTO(
+            page.items().stream()
+                .map(PetDTO::fromDomain)
+                .toList(),
+            PageTokens.encode(sort, page.next())
+        );
+    }
+
+    private static PetSort parseSort(String sort) {
+        if (sort == null) {
+            throw new IllegalArgumentException("Sort cannot be null");
+        }
+        return switch (sort) {
+            case "id" -> PetSort.ID;
+            case "created-at" -> PetSort.CREATED_AT;
+            default -> throw new IllegalArgumentException("Unknown sort: " + sort);
+        };
+    }
+
+    @Override
+    public MedicalRecordDTO addMedicalRecord(AddMedicalRecordCommand command) {
+        command.validate();
+        
+        var petId = PetId.fromString(command.petId().trim());
+        requirePet(petId);
+        
+        var record = MedicalRecord.create(
+            MedicalRecordId.generate(),
+            command.date(),
+            command.description(),
+            VeterinarianId.fromString(command.veterinarianId().trim())
+        );
+        if (command.treatments() != null) {
+            command.treatments().forEach(treatment ->
+                record.addTreatment(new Treatment(treatment.description(), treatment.administeredAt())));
+        }
+        
+        medicalRecordRepository.save(petId, record);
+        return MedicalRecordDTO.fromDomain(record);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MedicalRecordDTO> findMedicalHistory(String petId, int page, int size) {
+        if (petId == null || petId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Pet ID cannot be null or empty");
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("Page cannot be negative");
+        }
+        if (size < 1 || size > MAX_MEDICAL_HISTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_MEDICAL_HISTORY_PAGE_SIZE);
+        }
+        
+        var petIdObj = PetId.fromString(petId.trim());
+        requirePet(petIdObj);
+        
+        return medicalRecordRepository.findByPet(petIdObj, page, size).stream()
+            .map(MedicalRecordDTO::fromDomain)
             .toList();
     }
+
+    private void requirePet(PetId petId) {
+        if (!petRepository.existsById(petId)) {
+            throw EntityNotFoundException.withId("Pet", petId.value());
+        }
+    }
 }
\ No newline at end of file
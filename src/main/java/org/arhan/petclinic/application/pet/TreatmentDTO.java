@@ -0,0 +1,25 @@
+package org.arhan.petclinic.application.pet;
+
+import org.arhan.petclinic.domain.pet.Treatment;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for Treatment value object.
+ */
+public record TreatmentDTO(
+    String description,
+    LocalDateTime administeredAt
+) {
+    /**
+     * Creates a DTO from a domain value object.
+     *
+     * @param treatment the domain value object
+     * @return a new DTO instance
+     */
+    public static TreatmentDTO fromDomain(Treatment treatment) {
+        return new TreatmentDTO(
+            treatment.description(),
+            treatment.administeredAt()
+        );
+    }
+}
@@ -10,7 +10,8 @@ public record UpdatePetCommand(
     String name,
     String species,
     LocalDate birthDate,
-    String ownerId
+    String ownerId,
+    Long version
 ) {
     /**
      * Validates the command data.
@@ -36,5 +37,11 @@ public record UpdatePetCommand(
         if (ownerId == null || ownerId.trim().isEmpty()) {
             throw new IllegalArgumentException("Owner ID cannot be null or empty");
         }
+        if (version == null) {
+            throw new IllegalArgumentException("Version cannot be null");
+        }
+        if (version < 0) {
+            throw new IllegalArgumentException("Version cannot be negative");
+        }
     }
 }
\ No newline at end of file
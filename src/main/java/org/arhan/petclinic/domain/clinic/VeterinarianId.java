@@ -1,5 +1,6 @@
 package org.arhan.petclinic.domain.clinic;
 
+import org.arhan.petclinic.domain.common.IdGenerators;
 import java.util.UUID;
 
 /**
@@ -26,10 +27,10 @@ public record VeterinarianId(String value) {
     /**
      * Generates a new unique VeterinarianId.
      *
-     * @return a new VeterinarianId instance with a randomly generated UUID
+     * @return a new VeterinarianId instance with a UUID from the current IdGenerator
      */
     public static VeterinarianId generate() {
-        return new VeterinarianId(UUID.randomUUID().toString());
+        return new VeterinarianId(IdGenerators.next().toString());
     }
 
     /**
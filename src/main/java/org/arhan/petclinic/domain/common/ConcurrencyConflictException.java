@@ -0,0 +1,29 @@
+package org.arhan.petclinic.domain.common;
+
+/**
+ * Exception thrown when an entity was changed by someone else since the caller last read it.
+ */
+public class ConcurrencyConflictException extends RuntimeException {
+
+    public ConcurrencyConflictException(String message) {
+        super(message);
+    }
+
+    public ConcurrencyConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Creates an exception for when an entity of the given type no longer has the expected version.
+     *
+     * @param entityType the type of entity that was modified concurrently
+     * @param id the ID of the entity
+     * @param expectedVersion the version the caller based its change on
+     * @return a new ConcurrencyConflictException with a descriptive message
+     */
+    public static ConcurrencyConflictException withVersion(String entityType, String id, long expectedVersion) {
+        return new ConcurrencyConflictException(
+            String.format("%s with ID %s was modified concurrently; expected version %d is stale", entityType, id, expectedVersion)
+        );
+    }
+}
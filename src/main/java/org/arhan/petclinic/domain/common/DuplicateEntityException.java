@@ -0,0 +1,29 @@
+package org.arhan.petclinic.domain.common;
+
+/**
+ * Exception thrown when an entity would take a value that must be unique and another entity already has.
+ */
+public class DuplicateEntityException extends RuntimeException {
+
+    public DuplicateEntityException(String message) {
+        super(message);
+    }
+
+    public DuplicateEntityException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Creates an exception for when an entity of the given type already has a unique value.
+     *
+     * @param entityType the type of entity
+     * @param field the name of the unique field
+     * @param value the value that is taken
+     * @return a new DuplicateEntityException with a descriptive message
+     */
+    public static DuplicateEntityException withField(String entityType, String field, String value) {
+        return new DuplicateEntityException(
+            String.format("%s with %s %s already exists", entityType, field, value)
+        );
+    }
+}
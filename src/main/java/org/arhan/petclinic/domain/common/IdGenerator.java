@@ -0,0 +1,18 @@
+package org.arhan.petclinic.domain.common;
+
+import java.util.UUID;
+
+/**
+ * IdGenerator produces the UUIDs behind the identity value objects.
+ * Implementations must be thread-safe and must never return the same value twice.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * Generates a new unique identifier.
+     *
+     * @return a new UUID
+     */
+    UUID next();
+}
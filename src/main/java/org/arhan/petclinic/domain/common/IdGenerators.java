@@ -0,0 +1,69 @@
+package org.arhan.petclinic.domain.common;
+
+import java.util.UUID;
+
+/**
+ * Holds the IdGenerator used by the {@code generate()} factories of the identity value objects.
+ * Time-ordered UUIDv7 values are used by default so that new keys are appended to the
+ * right-hand side of B-tree indexes instead of being scattered across them.
+ */
+public final class IdGenerators {
+
+    private static final IdGenerator TIME_ORDERED = new TimeOrderedIdGenerator();
+    private static final IdGenerator RANDOM = UUID::randomUUID;
+
+    private static volatile IdGenerator current = TIME_ORDERED;
+
+    private IdGenerators() {
+        // Utility class
+    }
+
+    /**
+     * Returns the shared generator of monotonic, time-ordered UUIDv7 values.
+     *
+     * @return the time-ordered generator
+     */
+    public static IdGenerator timeOrdered() {
+        return TIME_ORDERED;
+    }
+
+    /**
+     * Returns a generator of random UUIDv4 values.
+     *
+     * @return the random generator
+     */
+    public static IdGenerator random() {
+        return RANDOM;
+    }
+
+    /**
+     * Returns the generator currently in use.
+     *
+     * @return the current generator
+     */
+    public static IdGenerator current() {
+        return current;
+    }
+
+    /**
+     * Replaces the generator used by all identity value objects.
+     *
+     * @param generator the generator to use
+     * @throws IllegalArgumentException if generator is null
+     */
+    public static void use(IdGenerator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("ID generator cannot be null");
+        }
+        current = generator;
+    }
+
+    /**
+     * Generates a new identifier with the current generator.
+     *
+     * @return a new UUID
+     */
+    public static UUID next() {
+        return current.next();
+    }
+}
@@ -0,0 +1,18 @@
+package org.arhan.petclinic.domain.common;
+
+/**
+ * Keyset is a value object marking where a keyset-paginated listing stopped.
+ * It holds the sort key and ID of the last element returned, so the next page can
+ * seek straight past it instead of skipping over the preceding rows.
+ *
+ * @param sortValue the sort key of the last element, or null when listing by ID alone
+ * @param id the ID of the last element, which breaks ties between equal sort keys
+ */
+public record Keyset(String sortValue, String id) {
+
+    public Keyset {
+        if (id == null || id.isEmpty()) {
+            throw new IllegalArgumentException("Keyset ID cannot be null or empty");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.arhan.petclinic.domain.common;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * @param items the elements on this page, in listing order
+ * @param next where the following page starts, or null if this is the last page
+ */
+public record KeysetPage<T>(List<T> items, Keyset next) {
+
+    public KeysetPage {
+        if (items == null) {
+            throw new IllegalArgumentException("Items cannot be null");
+        }
+        items = List.copyOf(items);
+    }
+
+    /**
+     * Returns whether another page follows this one.
+     *
+     * @return true if there is a next page
+     */
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,50 @@
+package org.arhan.petclinic.domain.common;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TimeOrderedIdGenerator produces UUIDv7 values (RFC 9562): a 48-bit Unix timestamp in
+ * milliseconds, followed by a 12-bit counter and 62 random bits.
+ * <p>
+ * The timestamp and counter are kept together in a single lock-free {@link AtomicLong}, so
+ * values are strictly increasing across all threads. When more than 4096 values are
+ * requested within one millisecond the counter carries into the timestamp, which keeps
+ * ordering intact at the cost of running slightly ahead of the clock.
+ */
+public final class TimeOrderedIdGenerator implements IdGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION_BITS = 0x7000L;
+    private static final long VARIANT_BITS = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private final Clock clock;
+    private final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    public TimeOrderedIdGenerator() {
+        this(Clock.systemUTC());
+    }
+
+    public TimeOrderedIdGenerator(Clock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID next() {
+        long floor = clock.millis() << COUNTER_BITS;
+        long state = lastTimestampAndCounter.updateAndGet(last -> Math.max(last + 1, floor));
+
+        long timestamp = state >>> COUNTER_BITS;
+        long counter = state & COUNTER_MASK;
+        long mostSigBits = (timestamp << 16) | VERSION_BITS | counter;
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & RANDOM_MASK) | VARIANT_BITS;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
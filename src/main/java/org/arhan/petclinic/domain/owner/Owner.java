@@ -10,16 +10,23 @@ import java.util.List;
  * It contains all the essential information about the owner and maintains the list of their pets.
  */
 public class Owner {
+    /**
+     * The version a new owner is stored at when it is first persisted.
+     */
+    public static final long INITIAL_VERSION = 0L;
+
     private final OwnerId id;
     private final FullName name;
     private final ContactInformation contactInfo;
     private final List<PetId> pets;
+    private final Long version;
 
-    private Owner(OwnerId id, FullName name, ContactInformation contactInfo) {
+    private Owner(OwnerId id, FullName name, ContactInformation contactInfo, Long version) {
         this.id = id;
         this.name = name;
         this.contactInfo = contactInfo;
         this.pets = new ArrayList<>();
+        this.version = version;
     }
 
     /**
@@ -33,7 +40,25 @@ public class Owner {
      */
     public static Owner create(OwnerId id, FullName name, ContactInformation contactInfo) {
         validateCreation(id, name, contactInfo);
-        return new Owner(id, name, contactInfo);
+        return new Owner(id, name, contactInfo, null);
+    }
+
+    /**
+     * Restores an Owner instance that has already been persisted.
+     *
+     * @param id the unique identifier of the owner
+     * @param name the full name of the owner
+     * @param contactInfo the contact information of the owner
+     * @param version the persisted version of the owner
+     * @return the restored Owner instance
+     * @throws IllegalArgumentException if any parameter is null or if version is negative
+     */
+    public static Owner reconstitute(OwnerId id, FullName name, ContactInformation contactInfo, long version) {
+        validateCreation(id, name, contactInfo);
+        if (version < 0) {
+            throw new IllegalArgumentException("Version cannot be negative");
+        }
+        return new Owner(id, name, contactInfo, version);
     }
 
     private static void validateCreation(OwnerId id, FullName name, ContactInformation contactInfo) {
@@ -93,4 +118,22 @@ public class Owner {
     public List<PetId> getPets() {
         return Collections.unmodifiableList(pets);
     }
+
+    /**
+     * Returns the persisted version of this owner.
+     *
+     * @return the version, or null if the owner has never been persisted
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns whether this owner has never been persisted.
+     *
+     * @return true if the owner is new
+     */
+    public boolean isNew() {
+        return version == null;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package org.arhan.petclinic.domain.owner;
 
+import org.arhan.petclinic.domain.common.IdGenerators;
 import java.util.UUID;
 
 /**
@@ -26,10 +27,10 @@ public record OwnerId(String value) {
     /**
      * Generates a new unique OwnerId.
      *
-     * @return a new OwnerId instance with a randomly generated UUID
+     * @return a new OwnerId instance with a UUID from the current IdGenerator
      */
     public static OwnerId generate() {
-        return new OwnerId(UUID.randomUUID().toString());
+        return new OwnerId(IdGenerators.next().toString());
     }
 
     /**
@@ -1,7 +1,14 @@
 package org.arhan.petclinic.domain.owner;
 
+import org.arhan.petclinic.domain.common.ConcurrencyConflictException;
+import org.arhan.petclinic.domain.common.DuplicateEntityException;
 import org.arhan.petclinic.domain.common.EntityNotFoundException;
+import org.arhan.petclinic.domain.common.Keyset;
+import org.arhan.petclinic.domain.common.KeysetPage;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repository interface for managing Owner entities.
@@ -17,14 +24,57 @@ public interface OwnerRepository {
      */
     Owner findById(OwnerId id);
 
+    /**
+     * Checks whether an owner exists without loading it.
+     *
+     * @param id the ID of the owner to check
+     * @return true if an owner with the given ID exists
+     * @throws IllegalArgumentException if id is null
+     */
+    boolean existsById(OwnerId id);
+
     /**
      * Saves an owner.
+     * The owner's pets are derived from each pet's owner ID, so they are not written by this method.
      *
      * @param owner the owner to save
      * @throws IllegalArgumentException if owner is null
+     * @throws DuplicateEntityException if another owner already has the owner's email
      */
     void save(Owner owner);
 
+    /**
+     * Updates an existing owner with one version-checked statement. The owner is read first,
+     * usually from the second-level cache. The update only applies if the stored version still
+     * equals the owner's version.
+     *
+     * @param owner the owner to update, carrying the version the change is based on
+     * @return the updated owner at its new version, including the IDs of its pets
+     * @throws IllegalArgumentException if owner is null or has never been persisted
+     * @throws EntityNotFoundException if the owner does not exist
+     * @throws ConcurrencyConflictException if the owner was modified since the given version
+     * @throws DuplicateEntityException if another owner already has the owner's email
+     */
+    Owner update(Owner owner);
+
+    /**
+     * Saves several owners at once, writing them in JDBC batches.
+     *
+     * @param owners the owners to save
+     * @throws IllegalArgumentException if owners is null or contains null
+     * @throws DuplicateEntityException if another owner already has one of the owners' emails
+     */
+    void saveAll(List<Owner> owners);
+
+    /**
+     * Finds which of the given owner IDs exist, using set-based queries rather than one lookup per ID.
+     *
+     * @param ids the owner IDs to check
+     * @return the subset of ids that belong to existing owners
+     * @throws IllegalArgumentException if ids is null
+     */
+    Set<OwnerId> findExistingIds(Collection<OwnerId> ids);
+
     /**
      * Finds an owner by their email address.
      *
@@ -33,4 +83,36 @@ public interface OwnerRepository {
      * @throws IllegalArgumentException if email is null or empty
      */
     Optional<Owner> findByEmail(String email);
+
+    /**
+     * Checks whether an owner is registered with an email address, without loading it.
+     *
+     * @param email the email address to check
+     * @return true if an owner has the email
+     * @throws IllegalArgumentException if email is null or empty
+     */
+    boolean existsByEmail(String email);
+
+    /**
+     * Finds which of the given email addresses owners are registered with, using set-based
+     * queries rather than one check per email.
+     *
+     * @param emails the email addresses to check
+     * @return the subset of emails, normalized to lower case, that owners have
+     * @throws IllegalArgumentException if emails is null or contains a null or empty email
+     */
+    Set<String> findTakenEmails(Collection<String> emails);
+
+    /**
+     * Lists all owners one page at a time, seeking past the previous page rather than
+     * skipping over it, so every page costs the same however deep the listing goes.
+     * The pets of all owners on a page are fetched together.
+     *
+     * @param sort the order to list owners in
+     * @param after where the previous page stopped, or null for the first page
+     * @param size the maximum number of owners on the page
+     * @return the page of owners
+     * @throws IllegalArgumentException if sort is null, after is malformed or size is not positive
+     */
+    KeysetPage<Owner> findPage(OwnerSort sort, Keyset after, int size);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package org.arhan.petclinic.domain.owner;
+
+/**
+ * Orders in which all owners can be listed. Every order ends with the owner ID,
+ * so it is total and stable across pages.
+ */
+public enum OwnerSort {
+    ID,
+    LAST_NAME,
+    CREATED_AT
+}
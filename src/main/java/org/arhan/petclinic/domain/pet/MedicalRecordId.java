@@ -1,5 +1,6 @@
 package org.arhan.petclinic.domain.pet;
 
+import org.arhan.petclinic.domain.common.IdGenerators;
 import java.util.UUID;
 
 /**
@@ -26,10 +27,10 @@ public record MedicalRecordId(String value) {
     /**
      * Generates a new unique MedicalRecordId.
      *
-     * @return a new MedicalRecordId instance with a randomly generated UUID
+     * @return a new MedicalRecordId instance with a UUID from the current IdGenerator
      */
     public static MedicalRecordId generate() {
-        return new MedicalRecordId(UUID.randomUUID().toString());
+        return new MedicalRecordId(IdGenerators.next().toString());
     }
 
     /**
@@ -0,0 +1,30 @@
+package org.arhan.petclinic.domain.pet;
+
+import java.util.List;
+
+/**
+ * Repository interface for managing the medical history of pets.
+ * Medical records are stored apart from the Pet aggregate so that loading a pet
+ * never loads its history; history is only read one page at a time.
+ */
+public interface MedicalRecordRepository {
+    /**
+     * Saves a medical record, including its treatments, for the given pet.
+     *
+     * @param petId the ID of the pet the record belongs to
+     * @param record the medical record to save
+     * @throws IllegalArgumentException if petId or record is null
+     */
+    void save(PetId petId, MedicalRecord record);
+
+    /**
+     * Finds one page of a pet's medical history, newest record first.
+     *
+     * @param petId the ID of the pet
+     * @param page the zero-based page number
+     * @param size the maximum number of records per page
+     * @return the records on the requested page, empty list if there are none
+     * @throws IllegalArgumentException if petId is null, page is negative or size is not positive
+     */
+    List<MedicalRecord> findByPet(PetId petId, int page, int size);
+}
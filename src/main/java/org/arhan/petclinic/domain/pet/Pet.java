@@ -11,20 +11,27 @@ import java.util.List;
  * It contains all the essential information about a pet and maintains its medical history.
  */
 public class Pet {
+    /**
+     * The version a new pet is stored at when it is first persisted.
+     */
+    public static final long INITIAL_VERSION = 0L;
+
     private final PetId id;
     private final PetName name;
     private final Species species;
     private final LocalDate birthDate;
     private final OwnerId ownerId;
     private final List<MedicalRecord> medicalHistory;
+    private final Long version;
 
-    private Pet(PetId id, PetName name, Species species, LocalDate birthDate, OwnerId ownerId) {
+    private Pet(PetId id, PetName name, Species species, LocalDate birthDate, OwnerId ownerId, Long version) {
         this.id = id;
         this.name = name;
         this.species = species;
         this.birthDate = birthDate;
         this.ownerId = ownerId;
         this.medicalHistory = new ArrayList<>();
+        this.version = version;
     }
 
     /**
@@ -40,7 +47,27 @@ public class Pet {
      */
     public static Pet create(PetId id, PetName name, Species species, LocalDate birthDate, OwnerId ownerId) {
         validateCreation(id, name, species, birthDate, ownerId);
-        return new Pet(id, name, species, birthDate, ownerId);
+        return new Pet(id, name, species, birthDate, ownerId, null);
+    }
+
+    /**
+     * Restores a Pet instance that has already been persisted.
+     *
+     * @param id the unique identifier of the pet
+     * @param name the name of the pet
+     * @param species the species of the pet
+     * @param birthDate the birth date of the pet
+     * @param ownerId the ID of the pet's owner
+     * @param version the persisted version of the pet
+     * @return the restored Pet instance
+     * @throws IllegalArgumentException if any parameter is null, if birthDate is in the future or if version is negative
+     */
+    public static Pet reconstitute(PetId id, PetName name, Species species, LocalDate birthDate, OwnerId ownerId, long version) {
+        validateCreation(id, name, species, birthDate, ownerId);
+        if (version < 0) {
+            throw new IllegalArgumentException("Version cannot be negative");
+        }
+        return new Pet(id, name, species, birthDate, ownerId, version);
     }
 
     private static void validateCreation(PetId id, PetName name, Species species, LocalDate birthDate, OwnerId ownerId) {
@@ -87,4 +114,22 @@ public class Pet {
     public List<MedicalRecord> getMedicalHistory() {
         return Collections.unmodifiableList(medicalHistory);
     }
+
+    /**
+     * Returns the persisted version of this pet.
+     *
+     * @return the version, or null if the pet has never been persisted
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns whether this pet has never been persisted.
+     *
+     * @return true if the pet is new
+     */
+    public boolean isNew() {
+        return version == null;
+    }
 }
\ No newline at end of file
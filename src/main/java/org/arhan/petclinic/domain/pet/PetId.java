@@ -1,5 +1,6 @@
 package org.arhan.petclinic.domain.pet;
 
+import org.arhan.petclinic.domain.common.IdGenerators;
 import java.util.UUID;
 
 /**
@@ -26,10 +27,10 @@ public record PetId(String value) {
     /**
      * Generates a new unique PetId.
      *
-     * @return a new PetId instance with a randomly generated UUID
+     * @return a new PetId instance with a UUID from the current IdGenerator
      */
     public static PetId generate() {
-        return new PetId(UUID.randomUUID().toString());
+        return new PetId(IdGenerators.next().toString());
     }
 
     /**
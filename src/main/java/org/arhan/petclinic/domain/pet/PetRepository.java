@@ -1,13 +1,26 @@
 package org.arhan.petclinic.domain.pet;
 
 import org.arhan.petclinic.domain.owner.OwnerId;
+import org.arhan.petclinic.domain.common.ConcurrencyConflictException;
 import org.arhan.petclinic.domain.common.EntityNotFoundException;
+import org.arhan.petclinic.domain.common.Keyset;
+import org.arhan.petclinic.domain.common.KeysetPage;
 import java.util.List;
 
 /**
  * Repository interface for managing Pet entities.
  */
 public interface PetRepository {
+    /**
+     * Returns a new ID for a pet of the given owner. Pets are stored with their owner, and
+     * the ID is chosen so that the pet can be found from it alone.
+     *
+     * @param ownerId the ID of the pet's owner
+     * @return a new pet ID
+     * @throws IllegalArgumentException if ownerId is null
+     */
+    PetId nextId(OwnerId ownerId);
+
     /**
      * Finds a pet by its ID.
      *
@@ -17,14 +30,46 @@ public interface PetRepository {
      */
     Pet findById(PetId id);
 
+    /**
+     * Checks whether a pet exists without loading it.
+     *
+     * @param id the ID of the pet to check
+     * @return true if a pet with the given ID exists
+     * @throws IllegalArgumentException if id is null
+     */
+    boolean existsById(PetId id);
+
     /**
      * Saves a pet.
      *
      * @param pet the pet to save
-     * @throws IllegalArgumentException if pet is null
+     * @throws IllegalArgumentException if pet is null, or is new and its ID was not given by {@link #nextId}
+     *     for its owner
      */
     void save(Pet pet);
 
+    /**
+     * Updates an existing pet with one version-checked statement. The pet is read first,
+     * usually from the second-level cache. The update only applies if the stored version still
+     * equals the pet's version and, for a pet moving to another owner, that owner exists.
+     *
+     * @param pet the pet to update, carrying the version the change is based on
+     * @return the updated pet at its new version
+     * @throws IllegalArgumentException if pet is null, has never been persisted, or cannot move to its new owner
+     * @throws EntityNotFoundException if the pet or its owner does not exist
+     * @throws ConcurrencyConflictException if the pet was modified since the given version
+     */
+    Pet update(Pet pet);
+
+    /**
+     * Saves several pets at once, writing them in JDBC batches.
+     *
+     * @param pets the pets to save
+     * @throws IllegalArgumentException if pets is null or contains null, or a new pet's ID was not given
+     *     by {@link #nextId} for its owner
+     */
+    void saveAll(List<Pet> pets);
+
     /**
      * Finds all pets owned by the given owner.
      *
@@ -33,4 +78,16 @@ public interface PetRepository {
      * @throws IllegalArgumentException if ownerId is null
      */
     List<Pet> findByOwner(OwnerId ownerId);
+
+    /**
+     * Lists all pets one page at a time, seeking past the previous page rather than
+     * skipping over it, so every page costs the same however deep the listing goes.
+     *
+     * @param sort the order to list pets in
+     * @param after where the previous page stopped, or null for the first page
+     * @param size the maximum number of pets on the page
+     * @return the page of pets
+     * @throws IllegalArgumentException if sort is null, after is malformed or size is not positive
+     */
+    KeysetPage<Pet> findPage(PetSort sort, Keyset after, int size);
 }
\ No newline at end of file
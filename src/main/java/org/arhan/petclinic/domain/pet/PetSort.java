@@ -0,0 +1,10 @@
+package org.arhan.petclinic.domain.pet;
+
+/**
+ * Orders in which all pets can be listed. Every order ends with the pet ID,
+ * so it is total and stable across pages.
+ */
+public enum PetSort {
+    ID,
+    CREATED_AT
+}
@@ -1,10 +1,25 @@
 package org.arhan.petclinic.domain.pet;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Species is a value object representing the type of pet (e.g., "Dog", "Cat", etc.).
  * It ensures that the species name is never null or empty and is properly trimmed.
+ * <p>
+ * There are only a few distinct species among many pets, so {@link #of(String)} hands out
+ * one shared instance per name instead of a new one for every pet.
  */
 public record Species(String name) {
+
+    /**
+     * The most names interned. Species are free text, so past this bound new names
+     * get ordinary instances rather than growing the pool without limit.
+     */
+    static final int MAX_INTERNED = 1024;
+
+    private static final Map<String, Species> INTERNED = new ConcurrentHashMap<>();
+
     public Species {
         if (name == null) {
             throw new IllegalArgumentException("Species name cannot be null");
@@ -14,4 +29,24 @@ public record Species(String name) {
             throw new IllegalArgumentException("Species name cannot be empty");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the shared instance for a species name, creating it on first use.
+     *
+     * @param name the species name; surrounding whitespace is ignored
+     * @return a species equal to {@code new Species(name)}
+     * @throws IllegalArgumentException if name is null or blank
+     */
+    public static Species of(String name) {
+        var interned = name != null ? INTERNED.get(name) : null;
+        if (interned != null) {
+            return interned;
+        }
+        var species = new Species(name);
+        if (INTERNED.size() >= MAX_INTERNED) {
+            return species;
+        }
+        var existing = INTERNED.putIfAbsent(species.name(), species);
+        return existing != null ? existing : species;
+    }
+}
@@ -0,0 +1,84 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import org.arhan.petclinic.application.owner.OwnerQueries;
+import org.arhan.petclinic.application.pet.PetQueries;
+import org.arhan.petclinic.domain.owner.OwnerRepository;
+import org.arhan.petclinic.domain.pet.PetRepository;
+import org.arhan.petclinic.infrastructure.persistence.cache.AggregateCache;
+import org.arhan.petclinic.infrastructure.persistence.owner.CachingOwnerQueries;
+import org.arhan.petclinic.infrastructure.persistence.owner.CachingOwnerRepository;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerQueriesImpl;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.CachingPetQueries;
+import org.arhan.petclinic.infrastructure.persistence.pet.CachingPetRepository;
+import org.arhan.petclinic.infrastructure.persistence.pet.CoalescingPetQueries;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetJpaRepository;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetQueriesImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.sharding.Shards;
+import org.arhan.petclinic.infrastructure.persistence.warmup.HotKeys;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Puts size-bounded caches in front of the owner and pet repositories and queries. The caching
+ * decorators are primary, so the application services use them while they in turn delegate to the
+ * JPA repositories and queries, or to the coalescing pet queries when those are enabled. Lookups by
+ * ID through the queries, which serve the GET endpoints, read through the caching repositories.
+ * Hit, miss and eviction counts and the hit ratio are published as {@code cache.*} meters tagged
+ * {@code cache=owners} and {@code cache=pets}.
+ */
+@Configuration
+@EnableConfigurationProperties(AggregateCacheProperties.class)
+@ConditionalOnProperty(prefix = "petclinic.cache.aggregates", name = "enabled", havingValue = "true")
+public class AggregateCacheConfiguration {
+
+    @Bean
+    public AggregateCache ownerAggregateCache(AggregateCacheProperties properties) {
+        return new AggregateCache("owners", properties.ownersMaxSize().toBytes());
+    }
+
+    @Bean
+    public AggregateCache petAggregateCache(AggregateCacheProperties properties) {
+        return new AggregateCache("pets", properties.petsMaxSize().toBytes());
+    }
+
+    @Bean
+    @Primary
+    public OwnerRepository cachingOwnerRepository(OwnerRepositoryImpl delegate,
+                                                  @Qualifier("ownerAggregateCache") AggregateCache cache) {
+        return new CachingOwnerRepository(delegate, cache);
+    }
+
+    @Bean
+    @Primary
+    public PetRepository cachingPetRepository(PetRepositoryImpl delegate,
+                                              @Qualifier("petAggregateCache") AggregateCache cache,
+                                              @Qualifier("ownerAggregateCache") AggregateCache ownerCache,
+                                              PetJpaRepository jpaRepository, ObjectProvider<Shards> shards) {
+        return new CachingPetRepository(delegate, cache, ownerCache, jpaRepository,
+            shards.getIfAvailable(Shards::single));
+    }
+
+    @Bean
+    @Primary
+    public OwnerQueries cachingOwnerQueries(OwnerQueriesImpl delegate,
+                                            @Qualifier("cachingOwnerRepository") OwnerRepository repository,
+                                            ObjectProvider<HotKeys> hotKeys) {
+        return new CachingOwnerQueries(delegate, repository, hotKeys.getIfAvailable(HotKeys::disabled));
+    }
+
+    @Bean
+    @Primary
+    public PetQueries cachingPetQueries(PetQueriesImpl queries, ObjectProvider<CoalescingPetQueries> coalescing,
+                                        @Qualifier("cachingPetRepository") PetRepository repository,
+                                        ObjectProvider<HotKeys> hotKeys) {
+        return new CachingPetQueries(coalescing.getIfAvailable(() -> queries), repository,
+            hotKeys.getIfAvailable(HotKeys::disabled));
+    }
+}
@@ -0,0 +1,20 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Aggregate cache settings, bound from {@code petclinic.cache.aggregates.*}.
+ *
+ * @param enabled whether owner and pet point reads are cached in front of the repositories
+ * @param ownersMaxSize the memory budget of the owner cache
+ * @param petsMaxSize the memory budget of the pet cache
+ */
+@ConfigurationProperties("petclinic.cache.aggregates")
+public record AggregateCacheProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("32MB") DataSize ownersMaxSize,
+    @DefaultValue("32MB") DataSize petsMaxSize
+) {
+}
@@ -0,0 +1,105 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.arhan.petclinic.infrastructure.persistence.cache.AggregateCache;
+import org.arhan.petclinic.infrastructure.persistence.changelog.Change;
+import org.arhan.petclinic.infrastructure.persistence.changelog.ChangeLog;
+import org.arhan.petclinic.infrastructure.persistence.changelog.ChangeLogPoller;
+import org.arhan.petclinic.infrastructure.persistence.common.CacheRegions;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerEmailFilter;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerEmailIndex;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerJpaEntity;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetJpaEntity;
+import org.arhan.petclinic.infrastructure.persistence.sharding.Shards;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.time.Clock;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Switches on cross-node cache invalidation through the cache_invalidations table. Owner and pet
+ * writes append what they change in their own transaction, and every node polls the table to
+ * evict those keys from whichever of its caches are enabled. Only the shared database is needed.
+ * <p>
+ * Hibernate's second-level cache is local to each node too: a changed owner or pet is evicted
+ * from its entity region, and the query regions that may list it are cleared, since Hibernate
+ * only invalidates cached query results for writes made through this node's session factory.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(CacheInvalidationProperties.class)
+@ConditionalOnProperty(prefix = "petclinic.cache.invalidation", name = "enabled", havingValue = "true")
+public class CacheInvalidationConfiguration {
+
+    @Bean
+    public ChangeLog changeLog(EntityManager entityManager) {
+        return new ChangeLog(entityManager);
+    }
+
+    @Bean
+    public ChangeLogPoller changeLogPoller(EntityManager entityManager, EntityManagerFactory entityManagerFactory,
+                                           ObjectProvider<Shards> shards,
+                                           PlatformTransactionManager transactionManager,
+                                           ObjectProvider<MeterRegistry> registry,
+                                           CacheInvalidationProperties properties,
+                                           @Qualifier("ownerAggregateCache") ObjectProvider<AggregateCache> ownerCache,
+                                           @Qualifier("petAggregateCache") ObjectProvider<AggregateCache> petCache,
+                                           ObjectProvider<OwnerEmailIndex> emailIndex,
+                                           ObjectProvider<OwnerEmailFilter> emailFilter) {
+        return new ChangeLogPoller(entityManager, shards.getIfAvailable(Shards::single), transactionManager,
+            evictor(entityManagerFactory.getCache().unwrap(Cache.class), ownerCache.getIfAvailable(),
+                petCache.getIfAvailable(), emailIndex.getIfAvailable(), emailFilter.getIfAvailable()),
+            registry.getIfAvailable(SimpleMeterRegistry::new), Clock.systemDefaultZone(),
+            properties.batchSize(), properties.gapTimeout(), properties.retention());
+    }
+
+    private static Consumer<Change> evictor(Cache secondLevelCache, AggregateCache ownerCache,
+                                            AggregateCache petCache, OwnerEmailIndex emailIndex,
+                                            OwnerEmailFilter emailFilter) {
+        return change -> {
+            switch (change.kind()) {
+                case OWNER -> {
+                    var ownerId = UUID.fromString(change.key());
+                    if (ownerCache != null) {
+                        ownerCache.evict(ownerId);
+                    }
+                    secondLevelCache.evict(OwnerJpaEntity.class, ownerId);
+                    secondLevelCache.evictQueryRegion(CacheRegions.OWNER_VIEWS);
+                    secondLevelCache.evictQueryRegion(CacheRegions.OWNER_PET_IDS);
+                    secondLevelCache.evictDefaultQueryRegion();
+                }
+                case PET -> {
+                    var petId = UUID.fromString(change.key());
+                    if (petCache != null) {
+                        petCache.evict(petId);
+                    }
+                    secondLevelCache.evict(PetJpaEntity.class, petId);
+                    secondLevelCache.evictQueryRegion(CacheRegions.PET_VIEWS);
+                    secondLevelCache.evictQueryRegion(CacheRegions.PETS_BY_OWNER);
+                    secondLevelCache.evictQueryRegion(CacheRegions.OWNER_PET_IDS);
+                    secondLevelCache.evictDefaultQueryRegion();
+                }
+                case OWNER_EMAIL -> {
+                    if (emailIndex != null) {
+                        emailIndex.evict(change.key());
+                    }
+                    // Another node registered an owner with the email; the filter must not call it free
+                    if (emailFilter != null) {
+                        emailFilter.add(change.key());
+                    }
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import java.time.Duration;
+
+/**
+ * Cross-node cache invalidation settings, bound from {@code petclinic.cache.invalidation.*}.
+ * The polling and purging schedules are read from {@code poll-interval} and {@code purge-interval}.
+ *
+ * @param enabled whether writes are logged and every node tails the log to evict them from its caches
+ * @param batchSize the maximum number of log entries read per query
+ * @param gapTimeout how long an out-of-order sequence number is waited for; must exceed the longest write transaction
+ * @param retention how long log entries are kept before they are purged
+ */
+@ConfigurationProperties("petclinic.cache.invalidation")
+public record CacheInvalidationProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("30s") Duration gapTimeout,
+    @DefaultValue("1h") Duration retention
+) {
+}
@@ -0,0 +1,38 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import org.arhan.petclinic.application.owner.OwnerQueries;
+import org.arhan.petclinic.application.pet.PetQueries;
+import org.arhan.petclinic.domain.owner.OwnerRepository;
+import org.arhan.petclinic.domain.pet.PetRepository;
+import org.arhan.petclinic.infrastructure.persistence.warmup.CacheWarmer;
+import org.arhan.petclinic.infrastructure.persistence.warmup.HotKeys;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Switches on hot key recording and the startup warm-up. Without this configuration
+ * the queries fall back to {@link HotKeys#disabled()} and the application starts cold.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(CacheWarmUpProperties.class)
+@ConditionalOnProperty(prefix = "petclinic.cache.warm-up", name = "enabled", havingValue = "true")
+public class CacheWarmUpConfiguration {
+
+    @Bean
+    public HotKeys hotKeys(CacheWarmUpProperties properties) {
+        return new HotKeys(properties.maxKeys());
+    }
+
+    @Bean(destroyMethod = "record")
+    public CacheWarmer cacheWarmer(HotKeys hotKeys, OwnerQueries ownerQueries, OwnerRepository ownerRepository,
+                                   PetQueries petQueries, PetRepository petRepository,
+                                   PlatformTransactionManager transactionManager, CacheWarmUpProperties properties) {
+        return new CacheWarmer(hotKeys, ownerQueries, ownerRepository, petQueries, petRepository,
+            transactionManager, properties.file(), properties.budget(), properties.parallelism());
+    }
+}
@@ -0,0 +1,26 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Startup warm-up settings, bound from {@code petclinic.cache.warm-up.*}.
+ * The recording schedule itself is read from {@code petclinic.cache.warm-up.record-interval}.
+ *
+ * @param enabled whether hot keys are recorded and preloaded at startup
+ * @param file the local file the hot keys are recorded to
+ * @param maxKeys the number of owner IDs, and of pet IDs, that are tracked and recorded
+ * @param budget how long startup may spend preloading before it reports ready
+ * @param parallelism the number of entities preloaded at once
+ */
+@ConfigurationProperties("petclinic.cache.warm-up")
+public record CacheWarmUpProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("data/hot-keys") Path file,
+    @DefaultValue("1000") int maxKeys,
+    @DefaultValue("30s") Duration budget,
+    @DefaultValue("4") int parallelism
+) {
+}
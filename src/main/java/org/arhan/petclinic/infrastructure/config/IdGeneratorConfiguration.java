@@ -0,0 +1,26 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import org.arhan.petclinic.domain.common.IdGenerator;
+import org.arhan.petclinic.domain.common.IdGenerators;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the IdGenerator used by the identity value objects.
+ * Supported strategies are {@code time-ordered} (UUIDv7, the default) and {@code random} (UUIDv4).
+ */
+@Configuration
+public class IdGeneratorConfiguration {
+
+    @Bean
+    public IdGenerator idGenerator(@Value("${petclinic.ids.generator:time-ordered}") String strategy) {
+        var generator = switch (strategy) {
+            case "time-ordered" -> IdGenerators.timeOrdered();
+            case "random" -> IdGenerators.random();
+            default -> throw new IllegalArgumentException("Unknown ID generator strategy: " + strategy);
+        };
+        IdGenerators.use(generator);
+        return generator;
+    }
+}
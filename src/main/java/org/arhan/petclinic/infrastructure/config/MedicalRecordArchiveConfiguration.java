@@ -0,0 +1,40 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import org.arhan.petclinic.infrastructure.persistence.archive.MedicalRecordArchive;
+import org.arhan.petclinic.infrastructure.persistence.archive.MedicalRecordArchiver;
+import org.arhan.petclinic.infrastructure.persistence.pet.MedicalRecordJpaRepository;
+import org.arhan.petclinic.infrastructure.persistence.sharding.Shards;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.time.Clock;
+
+/**
+ * Switches on cold-tier archival of old medical records. Without this configuration
+ * the repositories fall back to {@link MedicalRecordArchive#disabled()}.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(MedicalRecordArchiveProperties.class)
+@ConditionalOnProperty(prefix = "petclinic.archive", name = "enabled", havingValue = "true")
+public class MedicalRecordArchiveConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public MedicalRecordArchive medicalRecordArchive(MedicalRecordArchiveProperties properties) {
+        return MedicalRecordArchive.open(properties.directory(), properties.segmentSize().toBytes());
+    }
+
+    @Bean
+    public MedicalRecordArchiver medicalRecordArchiver(MedicalRecordJpaRepository jpaRepository,
+                                                       MedicalRecordArchive archive,
+                                                       ObjectProvider<Shards> shards,
+                                                       PlatformTransactionManager transactionManager,
+                                                       MedicalRecordArchiveProperties properties) {
+        return new MedicalRecordArchiver(jpaRepository, archive, shards.getIfAvailable(Shards::single),
+            transactionManager, Clock.systemDefaultZone(), properties.maxAge(), properties.batchSize());
+    }
+}
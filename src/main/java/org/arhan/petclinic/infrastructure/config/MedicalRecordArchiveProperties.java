@@ -0,0 +1,28 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Medical record archival settings, bound from {@code petclinic.archive.*}.
+ * The schedule itself is read from {@code petclinic.archive.interval}.
+ *
+ * @param enabled whether old medical records are moved into the archive
+ * @param directory the directory holding the archive's segment and index files, which must be
+ *                  storage shared by every node when several run the application
+ * @param maxAge the age after which a medical record is archived
+ * @param batchSize the number of pets whose records are archived per transaction
+ * @param segmentSize the size after which a new segment file is started
+ */
+@ConfigurationProperties("petclinic.archive")
+public record MedicalRecordArchiveProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("data/archive") Path directory,
+    @DefaultValue("730d") Duration maxAge,
+    @DefaultValue("100") int batchSize,
+    @DefaultValue("64MB") DataSize segmentSize
+) {
+}
@@ -0,0 +1,44 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerEmailFilter;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerEmailFilterLoader;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerJpaRepository;
+import org.arhan.petclinic.infrastructure.persistence.sharding.Shards;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Switches on the Bloom filter of owner emails, which lets registrations skip the uniqueness query
+ * for emails no owner has, and fills it at startup. Without this configuration the repositories fall
+ * back to {@link OwnerEmailFilter#disabled()} and every registration queries. Size, memory use and
+ * false-positive rates are published as {@code owner.email.filter.*} meters.
+ * <p>
+ * The filter only learns of other nodes' registrations through the change log, so it refuses to
+ * start without cross-node invalidation. Like the unique email index, it does not make emails unique
+ * across shards: two registrations on different shards can still both pass the check.
+ */
+@Configuration
+@EnableConfigurationProperties({OwnerEmailFilterProperties.class, CacheInvalidationProperties.class})
+@ConditionalOnProperty(prefix = "petclinic.persistence.owner-email-filter", name = "enabled", havingValue = "true")
+public class OwnerEmailFilterConfiguration {
+
+    @Bean
+    public OwnerEmailFilter ownerEmailFilter(OwnerEmailFilterProperties properties,
+                                             CacheInvalidationProperties invalidationProperties) {
+        if (!invalidationProperties.enabled()) {
+            throw new IllegalStateException("The owner email filter requires cross-node cache invalidation");
+        }
+        return new OwnerEmailFilter(properties.expectedOwners(), properties.falsePositiveRate());
+    }
+
+    @Bean
+    public OwnerEmailFilterLoader ownerEmailFilterLoader(OwnerEmailFilter filter, OwnerJpaRepository jpaRepository,
+                                                         ObjectProvider<Shards> shards,
+                                                         PlatformTransactionManager transactionManager) {
+        return new OwnerEmailFilterLoader(filter, jpaRepository, shards, transactionManager);
+    }
+}
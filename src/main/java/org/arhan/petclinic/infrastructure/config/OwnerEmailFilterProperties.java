@@ -0,0 +1,20 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Owner email filter settings, bound from {@code petclinic.persistence.owner-email-filter.*}.
+ * Enabling the filter requires {@code petclinic.cache.invalidation.enabled=true}.
+ *
+ * @param enabled whether registrations check emails against the in-process Bloom filter first
+ * @param expectedOwners the number of owners the filter is sized for before it first grows
+ * @param falsePositiveRate the highest share of free emails the filter may report as possibly taken
+ */
+@ConfigurationProperties("petclinic.persistence.owner-email-filter")
+public record OwnerEmailFilterProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("100000") int expectedOwners,
+    @DefaultValue("0.01") double falsePositiveRate
+) {
+}
@@ -0,0 +1,22 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerEmailIndex;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Switches on the in-process email index of owners. Without this configuration
+ * the repositories fall back to {@link OwnerEmailIndex#disabled()}.
+ */
+@Configuration
+@EnableConfigurationProperties(OwnerEmailIndexProperties.class)
+@ConditionalOnProperty(prefix = "petclinic.cache.owner-emails", name = "enabled", havingValue = "true")
+public class OwnerEmailIndexConfiguration {
+
+    @Bean
+    public OwnerEmailIndex ownerEmailIndex(OwnerEmailIndexProperties properties) {
+        return new OwnerEmailIndex(properties.maximumOwners(), properties.maximumMissing(), properties.missingTtl());
+    }
+}
@@ -0,0 +1,23 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import java.time.Duration;
+
+/**
+ * Owner email index settings, bound from {@code petclinic.cache.owner-emails.*}.
+ *
+ * @param enabled whether lookups by email go through the in-process index
+ * @param maximumOwners the maximum number of known emails held
+ * @param maximumMissing the maximum number of known-missing emails held
+ * @param missingTtl how long a known-missing email is trusted, which bounds how long
+ *                   an owner registered on another node can go unseen
+ */
+@ConfigurationProperties("petclinic.cache.owner-emails")
+public record OwnerEmailIndexProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("100000") long maximumOwners,
+    @DefaultValue("10000") long maximumMissing,
+    @DefaultValue("10m") Duration missingTtl
+) {
+}
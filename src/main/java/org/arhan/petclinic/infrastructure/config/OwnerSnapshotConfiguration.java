@@ -0,0 +1,24 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import jakarta.persistence.EntityManager;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerJpaRepository;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerSnapshotJpaRepository;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerSnapshots;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Switches on snapshot storage for the Owner aggregate. Without this configuration
+ * the repositories fall back to {@link OwnerSnapshots#disabled()}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "petclinic.persistence.owner-snapshots", name = "enabled", havingValue = "true")
+public class OwnerSnapshotConfiguration {
+
+    @Bean
+    public OwnerSnapshots ownerSnapshots(OwnerSnapshotJpaRepository snapshotRepository,
+                                         OwnerJpaRepository ownerRepository, EntityManager entityManager) {
+        return new OwnerSnapshots(snapshotRepository, ownerRepository, entityManager);
+    }
+}
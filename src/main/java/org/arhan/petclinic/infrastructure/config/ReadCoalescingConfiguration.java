@@ -0,0 +1,23 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import org.arhan.petclinic.infrastructure.persistence.pet.CoalescingPetQueries;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetQueriesImpl;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Coalesces concurrent identical pet reads into one query. The JPA queries are only a fallback,
+ * so the application services use the coalescing decorator while it delegates to them, unless
+ * the aggregate caches are enabled too and put their primary decorator in front. Loads and coalesced
+ * calls are published as {@code singleflight.*} meters tagged with the kind of read.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "petclinic.persistence.read-coalescing", name = "enabled", havingValue = "true")
+public class ReadCoalescingConfiguration {
+
+    @Bean
+    public CoalescingPetQueries coalescingPetQueries(PetQueriesImpl delegate) {
+        return new CoalescingPetQueries(delegate);
+    }
+}
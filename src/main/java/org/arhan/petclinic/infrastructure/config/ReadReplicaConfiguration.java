@@ -0,0 +1,62 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.arhan.petclinic.infrastructure.persistence.routing.ReadReplicaRoutingDataSource;
+import org.arhan.petclinic.infrastructure.persistence.routing.Replica;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+
+/**
+ * Replaces the auto-configured DataSource with one that routes read-only transactions
+ * to read replicas. The primary pool is still configured through {@code spring.datasource.*}.
+ * Replicas are expected to be kept in sync by the database's own replication;
+ * schema migrations only run against the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "petclinic.datasource.read-replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties({DataSourceProperties.class, ReadReplicaProperties.class})
+public class ReadReplicaConfiguration {
+
+    /**
+     * The routing DataSource is a bean of its own, so the container closes its pools on shutdown.
+     */
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(DataSourceProperties primaryProperties,
+                                                                     ReadReplicaProperties replicaProperties) {
+        if (replicaProperties.replicas().isEmpty()) {
+            throw new IllegalArgumentException("At least one read replica must be configured");
+        }
+        var primary = primaryProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        primary.setPoolName("primary");
+
+        var replicas = new ArrayList<Replica>();
+        for (int i = 0; i < replicaProperties.replicas().size(); i++) {
+            var connection = replicaProperties.replicas().get(i);
+            var replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(connection.url());
+            replica.setUsername(connection.username() != null ? connection.username() : primaryProperties.getUsername());
+            replica.setPassword(connection.password() != null ? connection.password() : primaryProperties.getPassword());
+            replica.setReadOnly(true);
+            replicas.add(new Replica(replica.getPoolName(), replica));
+        }
+
+        return new ReadReplicaRoutingDataSource(
+            primary, replicas, replicaProperties.selection(), replicaProperties.retryInterval());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+}
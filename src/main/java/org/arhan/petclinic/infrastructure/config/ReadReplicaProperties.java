@@ -0,0 +1,33 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import org.arhan.petclinic.infrastructure.persistence.routing.ReplicaSelection;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replica settings, bound from {@code petclinic.datasource.read-replicas.*}.
+ *
+ * @param enabled whether read-only transactions are routed to replicas
+ * @param selection how a replica is chosen for each read-only transaction
+ * @param retryInterval how long a replica that failed to connect is skipped
+ * @param replicas the connection settings of each replica
+ */
+@ConfigurationProperties("petclinic.datasource.read-replicas")
+public record ReadReplicaProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("round-robin") ReplicaSelection selection,
+    @DefaultValue("30s") Duration retryInterval,
+    @DefaultValue List<Connection> replicas
+) {
+    /**
+     * Connection settings of one replica.
+     *
+     * @param url the JDBC URL
+     * @param username the user name
+     * @param password the password
+     */
+    public record Connection(String url, String username, String password) {
+    }
+}
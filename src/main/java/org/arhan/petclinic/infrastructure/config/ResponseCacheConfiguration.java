@@ -0,0 +1,24 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.arhan.petclinic.interfaces.rest.common.JsonResponseCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches the JSON encoding of owner and pet responses. Without this configuration the
+ * controllers fall back to {@link JsonResponseCache#disabled()} and serialize every response.
+ * Hit, miss and eviction counts are published as {@code cache.*} meters tagged {@code cache=responses}.
+ */
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+@ConditionalOnProperty(prefix = "petclinic.cache.responses", name = "enabled", havingValue = "true")
+public class ResponseCacheConfiguration {
+
+    @Bean
+    public JsonResponseCache jsonResponseCache(ObjectMapper objectMapper, ResponseCacheProperties properties) {
+        return new JsonResponseCache(objectMapper, properties.maxSize().toBytes());
+    }
+}
@@ -0,0 +1,18 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Encoded response cache settings, bound from {@code petclinic.cache.responses.*}.
+ *
+ * @param enabled whether owner and pet JSON bodies are cached once encoded
+ * @param maxSize the memory budget of the cache
+ */
+@ConfigurationProperties("petclinic.cache.responses")
+public record ResponseCacheProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("16MB") DataSize maxSize
+) {
+}
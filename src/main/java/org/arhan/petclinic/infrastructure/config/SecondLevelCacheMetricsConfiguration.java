@@ -0,0 +1,32 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes hit, miss, put and eviction counts of every Hibernate cache region as Micrometer
+ * {@code cache.*} meters tagged with the region name, available under {@code /actuator/metrics}.
+ */
+@Configuration
+public class SecondLevelCacheMetricsConfiguration {
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            var regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache()
+                .getRegionFactory();
+            if (regionFactory instanceof JCacheRegionFactory jCacheRegionFactory) {
+                var cacheManager = jCacheRegionFactory.getCacheManager();
+                for (var name : cacheManager.getCacheNames()) {
+                    JCacheMetrics.monitor(registry, cacheManager.getCache(name));
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.arhan.petclinic.infrastructure.persistence.sharding.ShardRoutingDataSource;
+import org.arhan.petclinic.infrastructure.persistence.sharding.Shards;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+
+/**
+ * Replaces the auto-configured DataSource with one that spreads owners and their pets over several shards.
+ * Each shard gets its own pool; {@code spring.datasource.*} only supplies default credentials.
+ * Schema migrations run against every shard.
+ * <p>
+ * Unique indexes only hold within a shard. Owner registration checks every shard for the email
+ * before inserting, but nothing serializes concurrent registrations that land on different shards,
+ * so global email uniqueness is not guaranteed.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "petclinic.datasource.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties({DataSourceProperties.class, ShardingProperties.class, ReadReplicaProperties.class})
+public class ShardingConfiguration {
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties defaults,
+                                                         ShardingProperties shardingProperties,
+                                                         ReadReplicaProperties replicaProperties) {
+        if (shardingProperties.shards().size() < 2) {
+            throw new IllegalArgumentException("At least two shards must be configured");
+        }
+        if (replicaProperties.enabled()) {
+            throw new IllegalStateException("Sharding cannot be combined with read replicas");
+        }
+        var shards = new ArrayList<DataSource>();
+        for (int i = 0; i < shardingProperties.shards().size(); i++) {
+            var connection = shardingProperties.shards().get(i);
+            var shard = new HikariDataSource();
+            shard.setPoolName("shard-" + i);
+            shard.setJdbcUrl(connection.url());
+            shard.setUsername(connection.username() != null ? connection.username() : defaults.getUsername());
+            shard.setPassword(connection.password() != null ? connection.password() : defaults.getPassword());
+            shards.add(shard);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public Shards shards(ShardRoutingDataSource shardRoutingDataSource, PlatformTransactionManager transactionManager) {
+        // Scattered work mostly waits on JDBC, so each part gets a cheap virtual thread;
+        // the shard pools bound how many actually run at once
+        return Shards.of(shardRoutingDataSource.getShards().size(), transactionManager,
+            Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean
+    public FlywayMigrationStrategy shardedMigration(ShardRoutingDataSource shardRoutingDataSource) {
+        return flyway -> shardRoutingDataSource.getShards().forEach(shard -> Flyway.configure()
+            .configuration(flyway.getConfiguration())
+            .dataSource(shard)
+            .load()
+            .migrate());
+    }
+}
@@ -0,0 +1,27 @@
+package org.arhan.petclinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import java.util.List;
+
+/**
+ * Sharding settings, bound from {@code petclinic.datasource.sharding.*}.
+ *
+ * @param enabled whether owners and pets are spread over the shards below
+ * @param shards the connection settings of each shard, in shard order
+ */
+@ConfigurationProperties("petclinic.datasource.sharding")
+public record ShardingProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue List<Connection> shards
+) {
+    /**
+     * Connection settings of one shard.
+     *
+     * @param url the JDBC URL
+     * @param username the user name
+     * @param password the password
+     */
+    public record Connection(String url, String username, String password) {
+    }
+}
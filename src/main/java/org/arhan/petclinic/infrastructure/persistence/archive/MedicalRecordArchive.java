@@ -0,0 +1,341 @@
+package org.arhan.petclinic.infrastructure.persistence.archive;
+
+import org.arhan.petclinic.domain.pet.MedicalRecord;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Cold tier for medical records that have aged out of the medical_records table.
+ * <p>
+ * Records are appended to numbered segment files as compressed blocks, one block per pet
+ * and archiving run, and a new segment is started once the current one reaches the segment
+ * size. An index file lists each block as its pet ID, segment, offset and length; it is
+ * loaded into memory on open, so finding a pet's blocks never touches the disk. A block is
+ * forced to disk before its index entry is written, so a crash leaves at worst an unindexed
+ * block or a torn index entry, both of which are ignored on the next open.
+ * <p>
+ * When several nodes run the application, the directory must be on storage they all share.
+ * Exactly one of them writes: the archive whose {@link #acquireWriter()} takes the lock on
+ * the index file. Every other archive only reads, catching up with the entries appended to
+ * the index since it last looked before each lookup, so records archived by the writer stay
+ * in every node's pet histories.
+ */
+public class MedicalRecordArchive implements Closeable {
+
+    /**
+     * Orders records the way the pet history API returns them: newest first, ties broken by ID.
+     */
+    public static final Comparator<MedicalRecord> NEWEST_FIRST = Comparator
+        .comparing(MedicalRecord::getDate)
+        .thenComparing((a, b) -> IdConverters.compareBinary(IdConverters.toUuid(a.getId()),
+            IdConverters.toUuid(b.getId())))
+        .reversed();
+
+    private static final String INDEX_FILE = "index";
+    private static final int INDEX_ENTRY_SIZE = 32;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final Map<UUID, List<BlockRef>> index = new ConcurrentHashMap<>();
+    private final Map<Integer, FileChannel> readers = new ConcurrentHashMap<>();
+    private FileChannel indexChannel;
+    private volatile FileLock writerLock;
+    private volatile long indexedBytes;
+    private FileChannel segment;
+    private int segmentNumber;
+
+    private MedicalRecordArchive(Path directory, long segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Creates an archive that holds nothing and accepts nothing, used when archival is switched off.
+     *
+     * @return the disabled archive
+     */
+    public static MedicalRecordArchive disabled() {
+        return new MedicalRecordArchive(null, 0);
+    }
+
+    /**
+     * Opens the archive in a directory, creating it if necessary, and loads its index.
+     * The archive is opened for writing unless another archive already writes to the directory.
+     *
+     * @param directory the directory holding the segment and index files
+     * @param segmentSize the size in bytes after which a new segment file is started
+     * @return the open archive
+     * @throws IllegalArgumentException if segmentSize is not positive
+     * @throws UncheckedIOException if the directory cannot be read or written
+     */
+    public static MedicalRecordArchive open(Path directory, long segmentSize) {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive");
+        }
+        var archive = new MedicalRecordArchive(directory, segmentSize);
+        try {
+            Files.createDirectories(directory);
+            archive.indexChannel = FileChannel.open(directory.resolve(INDEX_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            archive.acquireWriter();
+            archive.catchUp();
+        } catch (IOException e) {
+            archive.close();
+            throw new UncheckedIOException(e);
+        } catch (UncheckedIOException e) {
+            archive.close();
+            throw e;
+        }
+        return archive;
+    }
+
+    /**
+     * Makes this archive the one that writes to its directory, if no other archive does.
+     * Any entries appended by a previous writer are loaded first. Called again after the
+     * writer has gone, this lets another node take over.
+     *
+     * @return true if this archive writes, false if another one holds the directory
+     * @throws UncheckedIOException if the index cannot be locked or read
+     */
+    public synchronized boolean acquireWriter() {
+        if (!isEnabled()) {
+            return false;
+        }
+        if (writerLock != null) {
+            return true;
+        }
+        try {
+            FileLock lock;
+            try {
+                lock = indexChannel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                // Another archive in this process holds the directory
+                return false;
+            }
+            if (lock == null) {
+                return false;
+            }
+            loadEntries();
+            // Drop a torn trailing entry so the next one starts on an entry boundary
+            indexChannel.truncate(indexedBytes);
+            segment = openSegment(segmentNumber);
+            writerLock = lock;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns whether records are archived at all.
+     *
+     * @return true unless this is the disabled archive
+     */
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Returns whether any records of a pet have been archived.
+     *
+     * @param petId the ID of the pet
+     * @return true if the archive holds at least one block for the pet
+     */
+    public boolean contains(UUID petId) {
+        catchUp();
+        return index.containsKey(petId);
+    }
+
+    /**
+     * Appends a pet's records to the archive and makes them durable before returning.
+     *
+     * @param petId the ID of the pet
+     * @param records the records to archive
+     * @throws IllegalStateException if the archive is disabled or another archive writes to its directory
+     * @throws UncheckedIOException if the block or its index entry cannot be written
+     */
+    public synchronized void append(UUID petId, List<MedicalRecord> records) {
+        if (!isEnabled()) {
+            throw new IllegalStateException("Medical record archive is disabled");
+        }
+        if (writerLock == null) {
+            throw new IllegalStateException("Medical record archive is written by another node");
+        }
+        if (records.isEmpty()) {
+            return;
+        }
+        var block = MedicalRecordBlockCodec.encode(records);
+        try {
+            if (segment.size() >= segmentSize) {
+                segment.close();
+                segment = openSegment(++segmentNumber);
+            }
+            var ref = new BlockRef(segmentNumber, segment.size(), block.length);
+            writeFully(segment, ByteBuffer.wrap(block), ref.offset());
+            segment.force(false);
+
+            var entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE)
+                .putLong(petId.getMostSignificantBits())
+                .putLong(petId.getLeastSignificantBits())
+                .putInt(ref.segment())
+                .putLong(ref.offset())
+                .putInt(ref.length())
+                .flip();
+            writeFully(indexChannel, entry, indexedBytes);
+            indexChannel.force(false);
+            indexedBytes += INDEX_ENTRY_SIZE;
+            index.computeIfAbsent(petId, id -> new CopyOnWriteArrayList<>()).add(ref);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads every archived record of a pet.
+     *
+     * @param petId the ID of the pet
+     * @return the records, newest first, or an empty list if none are archived
+     * @throws UncheckedIOException if a segment file cannot be read
+     */
+    public List<MedicalRecord> read(UUID petId) {
+        catchUp();
+        var blocks = index.getOrDefault(petId, List.of());
+        if (blocks.isEmpty()) {
+            return List.of();
+        }
+        // A record archived twice, by a run that failed after writing its block, is read once
+        var records = new LinkedHashMap<UUID, MedicalRecord>();
+        for (var block : blocks) {
+            for (var record : MedicalRecordBlockCodec.decode(readBlock(block))) {
+                records.putIfAbsent(IdConverters.toUuid(record.getId()), record);
+            }
+        }
+        var result = new ArrayList<>(records.values());
+        result.sort(NEWEST_FIRST);
+        return result;
+    }
+
+    @Override
+    public synchronized void close() {
+        var channels = Stream.concat(Stream.of(indexChannel, segment), readers.values().stream()).toList();
+        readers.clear();
+        for (var channel : channels) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    // Nothing is buffered, every write was forced before it returned
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads the index entries another archive has appended since the last lookup.
+     * The writer's own index is always current.
+     */
+    private void catchUp() {
+        if (!isEnabled() || writerLock != null) {
+            return;
+        }
+        try {
+            if (indexChannel.size() - indexedBytes >= INDEX_ENTRY_SIZE) {
+                synchronized (this) {
+                    loadEntries();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void loadEntries() throws IOException {
+        var segmentSizes = new LinkedHashMap<Integer, Long>();
+        long end = indexChannel.size() / INDEX_ENTRY_SIZE * INDEX_ENTRY_SIZE;
+        var entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+        for (long position = indexedBytes; position < end; position += INDEX_ENTRY_SIZE) {
+            entry.clear();
+            readFully(indexChannel, entry, position);
+            entry.flip();
+            var petId = new UUID(entry.getLong(), entry.getLong());
+            var ref = new BlockRef(entry.getInt(), entry.getLong(), entry.getInt());
+            long available = segmentSizes.computeIfAbsent(ref.segment(), this::sizeOf);
+            if (ref.offset() + ref.length() <= available) {
+                index.computeIfAbsent(petId, id -> new CopyOnWriteArrayList<>()).add(ref);
+            }
+            segmentNumber = Math.max(segmentNumber, ref.segment());
+        }
+        indexedBytes = end;
+    }
+
+    private long sizeOf(int segmentNumber) {
+        try {
+            var file = segmentFile(segmentNumber);
+            return Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private FileChannel openSegment(int number) throws IOException {
+        return FileChannel.open(segmentFile(number), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    private Path segmentFile(int number) {
+        return directory.resolve("segment-%06d".formatted(number));
+    }
+
+    private byte[] readBlock(BlockRef block) {
+        try {
+            var channel = readers.computeIfAbsent(block.segment(), number -> {
+                try {
+                    return FileChannel.open(segmentFile(number), StandardOpenOption.READ);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            var buffer = ByteBuffer.allocate(block.length());
+            readFully(channel, buffer, block.offset());
+            return buffer.array();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of archive file");
+            }
+            position += read;
+        }
+    }
+
+    private record BlockRef(int segment, long offset, int length) {
+    }
+}
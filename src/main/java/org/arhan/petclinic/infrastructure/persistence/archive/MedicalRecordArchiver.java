@@ -0,0 +1,105 @@
+package org.arhan.petclinic.infrastructure.persistence.archive;
+
+import org.arhan.petclinic.infrastructure.persistence.pet.MedicalRecordJpaEntity;
+import org.arhan.petclinic.infrastructure.persistence.pet.MedicalRecordJpaRepository;
+import org.arhan.petclinic.infrastructure.persistence.sharding.Shards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+/**
+ * Moves medical records older than the maximum age from the medical_records table into the
+ * {@link MedicalRecordArchive}, keeping the hot table and its indexes small.
+ * <p>
+ * Each pet's old records are archived and then deleted in one transaction per batch of pets.
+ * The block is durable before the delete commits, so a failure can leave a record in both
+ * tiers, which reads tolerate, but never in neither.
+ * <p>
+ * Every node schedules the archiver, but only the node whose archive writes to the shared
+ * directory archives anything; on the others a run only checks whether the writer has gone.
+ */
+public class MedicalRecordArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(MedicalRecordArchiver.class);
+
+    private final MedicalRecordJpaRepository jpaRepository;
+    private final MedicalRecordArchive archive;
+    private final Shards shards;
+    private final TransactionTemplate transaction;
+    private final Clock clock;
+    private final Duration maxAge;
+    private final int batchSize;
+
+    public MedicalRecordArchiver(MedicalRecordJpaRepository jpaRepository, MedicalRecordArchive archive,
+                                 Shards shards, PlatformTransactionManager transactionManager,
+                                 Clock clock, Duration maxAge, int batchSize) {
+        if (maxAge == null || maxAge.isNegative()) {
+            throw new IllegalArgumentException("Maximum age cannot be null or negative");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.jpaRepository = jpaRepository;
+        this.archive = archive;
+        this.shards = shards;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.maxAge = maxAge;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Runs {@link #archive()} on the schedule set by {@code petclinic.archive.interval}.
+     */
+    @Scheduled(initialDelayString = "${petclinic.archive.interval:PT1H}",
+               fixedDelayString = "${petclinic.archive.interval:PT1H}")
+    public void archiveOnSchedule() {
+        int archived = archive();
+        if (archived > 0) {
+            log.info("Archived {} medical records older than {}", archived, maxAge);
+        }
+    }
+
+    /**
+     * Archives every medical record older than the maximum age, on every shard, unless
+     * another node writes the archive.
+     *
+     * @return the number of records archived
+     */
+    public int archive() {
+        if (!archive.acquireWriter()) {
+            return 0;
+        }
+        var cutoff = LocalDateTime.now(clock).minus(maxAge);
+        var allShards = IntStream.range(0, shards.count()).boxed().toList();
+        int total = 0;
+        int archived;
+        do {
+            // Each shard's batch commits on its own; with several shards the transaction is the one
+            // inParallel already opened for that shard, and with one shard it is opened here
+            archived = shards.inParallel(allShards, false, shard -> transaction.execute(status -> archiveBatch(cutoff)))
+                .stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+            total += archived;
+        } while (archived > 0);
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        int archived = 0;
+        for (var petId : jpaRepository.findPetIdsWithRecordsBefore(cutoff, PageRequest.ofSize(batchSize))) {
+            var entities = jpaRepository.findByPetIdAndDateBeforeOrderByDateDescIdDesc(petId, cutoff);
+            archive.append(petId, entities.stream().map(MedicalRecordJpaEntity::toDomain).toList());
+            archived += jpaRepository.deleteByIds(entities.stream().map(MedicalRecordJpaEntity::getId).toList());
+        }
+        return archived;
+    }
+}
@@ -0,0 +1,118 @@
+package org.arhan.petclinic.infrastructure.persistence.archive;
+
+import org.arhan.petclinic.domain.pet.MedicalRecord;
+import org.arhan.petclinic.domain.pet.Treatment;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Encodes one pet's archived medical records as a gzip-compressed block.
+ * <p>
+ * Layout before compression: a format byte and the record count, then for each record its ID,
+ * date, description, veterinarian ID and treatments. IDs are 16 bytes, timestamps are UTC epoch
+ * seconds plus nanoseconds and text is modified UTF-8. The gzip trailer's CRC rejects torn or
+ * corrupted blocks. Bump {@link #FORMAT} whenever the layout changes.
+ */
+final class MedicalRecordBlockCodec {
+
+    private static final byte FORMAT = 1;
+
+    private MedicalRecordBlockCodec() {
+        // Utility class
+    }
+
+    /**
+     * Encodes and compresses a block of records.
+     *
+     * @param records the records to encode
+     * @return the compressed block
+     */
+    static byte[] encode(List<MedicalRecord> records) {
+        var bytes = new ByteArrayOutputStream(64 + 64 * records.size());
+        try (var out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeByte(FORMAT);
+            out.writeInt(records.size());
+            for (var record : records) {
+                writeUuid(out, IdConverters.toUuid(record.getId()));
+                writeTimestamp(out, record.getDate());
+                out.writeUTF(record.getDescription());
+                writeUuid(out, IdConverters.toUuid(record.getVeterinarianId()));
+                out.writeInt(record.getTreatments().size());
+                for (var treatment : record.getTreatments()) {
+                    out.writeUTF(treatment.description());
+                    writeTimestamp(out, treatment.administeredAt());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decompresses and decodes a block of records.
+     *
+     * @param block the compressed block
+     * @return the records, in the order they were encoded
+     * @throws IllegalArgumentException if the block is truncated, corrupted or in an unknown format
+     */
+    static List<MedicalRecord> decode(byte[] block) {
+        try (var in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(block)))) {
+            var format = in.readByte();
+            if (format != FORMAT) {
+                throw new IllegalArgumentException("Unknown archive block format: " + format);
+            }
+            int count = in.readInt();
+            var records = new ArrayList<MedicalRecord>(count);
+            for (int i = 0; i < count; i++) {
+                var record = MedicalRecord.create(
+                    IdConverters.toMedicalRecordId(readUuid(in)),
+                    readTimestamp(in),
+                    in.readUTF(),
+                    IdConverters.toVeterinarianId(readUuid(in)));
+                int treatments = in.readInt();
+                for (int j = 0; j < treatments; j++) {
+                    record.addTreatment(new Treatment(in.readUTF(), readTimestamp(in)));
+                }
+                records.add(record);
+            }
+            return records;
+        } catch (EOFException | ZipException e) {
+            throw new IllegalArgumentException("Archive block is truncated or corrupted", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeTimestamp(DataOutputStream out, LocalDateTime timestamp) throws IOException {
+        out.writeLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(timestamp.getNano());
+    }
+
+    private static LocalDateTime readTimestamp(DataInputStream in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,157 @@
+package org.arhan.petclinic.infrastructure.persistence.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, in-memory cache of encoded aggregates keyed by ID.
+ * <p>
+ * Entries are held as encoded bytes, so every hit decodes a fresh aggregate that callers may
+ * modify freely, and the budget is a number of bytes rather than entries. Admission and eviction
+ * follow Caffeine's W-TinyLFU policy: an entry only displaces another if its key has been asked
+ * for more often recently, which keeps the frequently visited owners and pets resident while
+ * one-off lookups pass through.
+ * <p>
+ * An ID written in a transaction is evicted at once and again when the transaction completes, and
+ * is read past the cache until then, so neither uncommitted nor superseded state is ever cached.
+ * Loads run under the entry's lock, so the eviction on completion also waits for, and removes,
+ * a load that raced with the commit.
+ */
+public class AggregateCache implements MeterBinder {
+
+    /**
+     * Approximate bytes each entry costs on top of its payload: the key, the array header and the
+     * cache's own node and table slot.
+     */
+    static final int ENTRY_OVERHEAD = 112;
+
+    private final String name;
+    private final Cache<UUID, byte[]> cache;
+
+    /**
+     * Creates a cache.
+     *
+     * @param name the name the cache's meters are tagged with
+     * @param maximumBytes the memory budget, payloads and per-entry overhead included
+     * @throws IllegalArgumentException if maximumBytes is not positive
+     */
+    public AggregateCache(String name, long maximumBytes) {
+        this(name, maximumBytes, null);
+    }
+
+    AggregateCache(String name, long maximumBytes, Executor maintenanceExecutor) {
+        if (maximumBytes <= 0) {
+            throw new IllegalArgumentException("Cache budget must be positive");
+        }
+        this.name = name;
+        var builder = Caffeine.newBuilder()
+            .maximumWeight(maximumBytes)
+            .<UUID, byte[]>weigher((id, payload) -> ENTRY_OVERHEAD + payload.length)
+            .recordStats();
+        if (maintenanceExecutor != null) {
+            builder.executor(maintenanceExecutor);
+        }
+        this.cache = builder.build();
+    }
+
+    /**
+     * Returns the encoded aggregate with the given ID, loading and caching it on a miss.
+     * An exception thrown by the loader propagates and nothing is cached.
+     *
+     * @param id the ID of the aggregate
+     * @param loader loads and encodes the aggregate
+     * @return the encoded aggregate
+     */
+    public byte[] get(UUID id, Function<UUID, byte[]> loader) {
+        if (writtenInCurrentTransaction(id)) {
+            return loader.apply(id);
+        }
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Returns the encoded aggregate with the given ID if it is cached, without loading it.
+     *
+     * @param id the ID of the aggregate
+     * @return the encoded aggregate, or null if it is not cached
+     */
+    public byte[] getIfPresent(UUID id) {
+        if (writtenInCurrentTransaction(id)) {
+            return null;
+        }
+        return cache.getIfPresent(id);
+    }
+
+    /**
+     * Evicts an aggregate that is being written. Inside a transaction the aggregate is evicted
+     * again when the transaction completes and bypasses the cache until then.
+     *
+     * @param id the ID of the aggregate
+     */
+    public void invalidate(UUID id) {
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            writtenIds().add(id);
+        }
+    }
+
+    /**
+     * Evicts an aggregate written elsewhere, such as on another node, after that write committed.
+     *
+     * @param id the ID of the aggregate
+     */
+    public void evict(UUID id) {
+        cache.invalidate(id);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+            .tag("cache", name)
+            .description("The ratio of cache requests which were hits")
+            .register(registry);
+    }
+
+    Cache<UUID, byte[]> cache() {
+        return cache;
+    }
+
+    private boolean writtenInCurrentTransaction(UUID id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        @SuppressWarnings("unchecked")
+        var written = (Set<UUID>) TransactionSynchronizationManager.getResource(this);
+        return written != null && written.contains(id);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<UUID> writtenIds() {
+        var written = (Set<UUID>) TransactionSynchronizationManager.getResource(this);
+        if (written == null) {
+            var ids = new HashSet<UUID>();
+            TransactionSynchronizationManager.bindResource(this, ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AggregateCache.this);
+                    cache.invalidateAll(ids);
+                }
+            });
+            written = ids;
+        }
+        return written;
+    }
+}
@@ -0,0 +1,217 @@
+package org.arhan.petclinic.infrastructure.persistence.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of strings that grows with what is put into it, after Almeida et al.,
+ * "Scalable Bloom Filters" (2007).
+ * <p>
+ * Strings are added to the newest of a series of plain Bloom filters, called stages. When the
+ * newest stage holds as many strings as it was sized for, a stage twice as large is added, with
+ * half the false-positive rate of the one before. The rates of all stages then sum to at most the
+ * rate asked for, however many strings are added, and memory grows linearly with them.
+ * <p>
+ * A string that was added is always reported as possibly present; a string that was not is
+ * reported present only with the false-positive probability. Strings cannot be removed.
+ * Lookups are lock-free; additions are serialized.
+ */
+public class ScalableBloomFilter {
+
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+
+    private final double falsePositiveRate;
+    private volatile Stage[] stages;
+    private volatile long count;
+
+    /**
+     * Creates a filter.
+     *
+     * @param initialCapacity the number of strings the first stage is sized for
+     * @param falsePositiveRate the highest probability of reporting an absent string as present
+     * @throws IllegalArgumentException if initialCapacity is not positive or falsePositiveRate
+     *     is not strictly between 0 and 1
+     */
+    public ScalableBloomFilter(int initialCapacity, double falsePositiveRate) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        this.stages = new Stage[] {new Stage(initialCapacity, falsePositiveRate * (1 - TIGHTENING))};
+    }
+
+    /**
+     * Tells whether a string may have been added.
+     *
+     * @param value the string
+     * @return false if the string was certainly never added
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        for (var stage : stages) {
+            if (stage.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a string. A string the filter already reports as present is not added again,
+     * so it does not use up a stage's capacity.
+     *
+     * @param value the string
+     */
+    public synchronized void put(String value) {
+        long hash = hash(value);
+        for (var stage : stages) {
+            if (stage.mightContain(hash)) {
+                return;
+            }
+        }
+        var current = stages;
+        var newest = current[current.length - 1];
+        if (newest.count >= newest.capacity) {
+            var grown = new Stage[current.length + 1];
+            System.arraycopy(current, 0, grown, 0, current.length);
+            newest = new Stage(newest.capacity * GROWTH, newest.falsePositiveRate * TIGHTENING);
+            grown[current.length] = newest;
+            stages = grown;
+        }
+        newest.put(hash);
+        newest.count++;
+        count++;
+    }
+
+    /**
+     * Returns the number of strings added, not counting those the filter already reported as
+     * present, which includes repeats and a small share of false positives.
+     *
+     * @return the number of strings added
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns the number of stages the filter has grown to.
+     *
+     * @return the number of stages
+     */
+    public int stageCount() {
+        return stages.length;
+    }
+
+    /**
+     * Returns the false-positive rate the filter was configured with, which it never exceeds.
+     *
+     * @return the configured rate
+     */
+    public double falsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    /**
+     * Estimates the current false-positive rate from how full each stage is. It rises towards
+     * the configured rate as stages fill up and drops back when a new stage is added.
+     *
+     * @return the estimated probability that an absent string is reported present
+     */
+    public double expectedFalsePositiveRate() {
+        double allNegative = 1;
+        for (var stage : stages) {
+            allNegative *= 1 - stage.expectedFalsePositiveRate();
+        }
+        return 1 - allNegative;
+    }
+
+    /**
+     * Returns the memory taken by the bit arrays of all stages.
+     *
+     * @return the size in bytes
+     */
+    public long bitsInBytes() {
+        long bytes = 0;
+        for (var stage : stages) {
+            bytes += (long) stage.bits.length() * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    /**
+     * Hashes a string with 64-bit FNV-1a over its characters, then the MurmurHash3 finalizer,
+     * which spreads the small differences between similar strings over all bits.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * A plain Bloom filter sized for a number of strings and a false-positive rate. Its bit
+     * positions are derived from two hashes by double hashing (Kirsch and Mitzenmacher), so
+     * each string is hashed once whatever the number of positions.
+     */
+    private static final class Stage {
+
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+        private long count;
+
+        Stage(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            var optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            var words = Math.toIntExact(Math.max(1, (optimalBits + Long.SIZE - 1) / Long.SIZE));
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = (long) words * Long.SIZE;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        }
+
+        boolean mightContain(long hash) {
+            long first = hash;
+            long second = mix(hash ^ 0x9e3779b97f4a7c15L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Long.remainderUnsigned(first + i * second, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void put(long hash) {
+            long first = hash;
+            long second = mix(hash ^ 0x9e3779b97f4a7c15L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Long.remainderUnsigned(first + i * second, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                bits.getAndUpdate(word, value -> value | mask);
+            }
+        }
+
+        double expectedFalsePositiveRate() {
+            return Math.pow(1 - Math.exp(-(double) hashCount * count / bitCount), hashCount);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.arhan.petclinic.infrastructure.persistence.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key. The first caller for a key runs the load, and every
+ * caller asking for that key while the load is running waits for it and shares its result or its
+ * exception.
+ * <p>
+ * Nothing is retained once a load completes, so this bounds the work per key rather than caching
+ * it: a caller arriving after the load finished starts a new one and never sees a result older
+ * than its own request. Results are handed to several threads and must therefore be immutable.
+ * <p>
+ * A load that started before a write may still return the state before it. Writers therefore call
+ * {@link #invalidate()} once the write is visible, which starts a new generation: callers arriving
+ * afterwards only join loads started in the same generation, and start a new load otherwise.
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+public class SingleFlight<K, V> implements MeterBinder {
+
+    private final String name;
+    private final ConcurrentMap<K, Call<V>> calls = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Creates a single-flight group.
+     *
+     * @param name the name the group's meters are tagged with
+     */
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the result of loading the given key, joining a load of the same key already in flight.
+     *
+     * @param key the key to load
+     * @param loader runs the load when no other caller is loading the key
+     * @return the loaded value, shared with every caller that joined the same load
+     */
+    public V load(K key, Supplier<V> loader) {
+        var call = new Call<V>(generation.get(), new CompletableFuture<>());
+        while (true) {
+            var inFlight = calls.putIfAbsent(key, call);
+            if (inFlight == null) {
+                break;
+            }
+            if (inFlight.generation() >= call.generation()) {
+                coalesced.increment();
+                return await(inFlight.result());
+            }
+            // The load in flight started before the last write; later callers join this one instead
+            if (calls.replace(key, inFlight, call)) {
+                break;
+            }
+        }
+        loads.increment();
+        try {
+            var value = loader.get();
+            calls.remove(key, call);
+            call.result().complete(value);
+            return value;
+        } catch (Throwable e) {
+            calls.remove(key, call);
+            call.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Starts a new generation after a write has become visible, so that no caller arriving from
+     * now on joins a load that started before the write. Loads in flight run to completion and
+     * still answer the callers that joined them.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("singleflight.loads", loads, LongAdder::sum)
+            .tag("name", name)
+            .description("Loads that were run")
+            .register(registry);
+        FunctionCounter.builder("singleflight.coalesced", coalesced, LongAdder::sum)
+            .tag("name", name)
+            .description("Calls answered by joining a load already in flight")
+            .register(registry);
+        Gauge.builder("singleflight.in.flight", calls, ConcurrentMap::size)
+            .tag("name", name)
+            .description("Loads currently running")
+            .register(registry);
+    }
+
+    long loads() {
+        return loads.sum();
+    }
+
+    long coalesced() {
+        return coalesced.sum();
+    }
+
+    private record Call<V>(long generation, CompletableFuture<V> result) {
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
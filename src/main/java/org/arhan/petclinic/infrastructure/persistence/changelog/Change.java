@@ -0,0 +1,42 @@
+package org.arhan.petclinic.infrastructure.persistence.changelog;
+
+import java.util.UUID;
+
+/**
+ * A key whose cached state a write has made stale.
+ *
+ * @param kind what the key identifies
+ * @param key the owner or pet ID, or the email address
+ */
+public record Change(Kind kind, String key) {
+
+    /**
+     * What a changed key identifies.
+     */
+    public enum Kind {
+        OWNER,
+        PET,
+        OWNER_EMAIL
+    }
+
+    public Change {
+        if (kind == null) {
+            throw new IllegalArgumentException("Change kind cannot be null");
+        }
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Change key cannot be null or empty");
+        }
+    }
+
+    public static Change owner(UUID ownerId) {
+        return new Change(Kind.OWNER, ownerId.toString());
+    }
+
+    public static Change pet(UUID petId) {
+        return new Change(Kind.PET, petId.toString());
+    }
+
+    public static Change ownerEmail(String email) {
+        return new Change(Kind.OWNER_EMAIL, email.trim().toLowerCase());
+    }
+}
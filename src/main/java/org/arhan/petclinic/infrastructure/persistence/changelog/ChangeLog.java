@@ -0,0 +1,61 @@
+package org.arhan.petclinic.infrastructure.persistence.changelog;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import java.util.Collection;
+
+/**
+ * Appends invalidation entries to the cache_invalidations table in the current transaction,
+ * so they commit or roll back together with the write they describe.
+ * The entries of one call are inserted in a single JDBC batch.
+ */
+public class ChangeLog {
+
+    static final String INSERT =
+        "insert into cache_invalidations (kind, entity_key, written_at) values (?, ?, localtimestamp)";
+
+    private final EntityManager entityManager;
+
+    public ChangeLog(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Creates a change log that records nothing, used when cross-node invalidation is switched off.
+     *
+     * @return the disabled change log
+     */
+    public static ChangeLog disabled() {
+        return new ChangeLog(null);
+    }
+
+    /**
+     * Returns whether changes are recorded at all.
+     *
+     * @return true unless this is the disabled change log
+     */
+    public boolean isEnabled() {
+        return entityManager != null;
+    }
+
+    /**
+     * Appends changes to the log within the current transaction.
+     *
+     * @param changes the changes to append
+     */
+    public void append(Collection<Change> changes) {
+        if (!isEnabled() || changes.isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (var statement = connection.prepareStatement(INSERT)) {
+                for (var change : changes) {
+                    statement.setString(1, change.kind().name());
+                    statement.setString(2, change.key());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+}
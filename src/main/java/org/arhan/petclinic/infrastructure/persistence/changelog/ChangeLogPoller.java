@@ -0,0 +1,227 @@
+package org.arhan.petclinic.infrastructure.persistence.changelog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.arhan.petclinic.infrastructure.persistence.common.Batches;
+import org.arhan.petclinic.infrastructure.persistence.sharding.Shards;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Tails the cache_invalidations table of every shard and hands each change to a listener,
+ * which evicts it from this node's caches.
+ * <p>
+ * Each poll reads everything past the highest sequence number seen so far, in batches. Sequence
+ * numbers are handed out when a row is inserted but become visible when its transaction commits,
+ * so a lower number can appear after a higher one. Numbers skipped over are therefore remembered
+ * as gaps and looked up again on every poll until they show up or the gap timeout passes, which
+ * must exceed the longest write transaction. Invalidation lag is thus bounded by the poll interval
+ * for ordinary writes and by the gap timeout for writes that commit out of order.
+ * <p>
+ * The lag of every applied change, measured from its insert to the poll that read it on the
+ * database's own clock, is published as the {@code cache.invalidation.lag} timer.
+ */
+public class ChangeLogPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogPoller.class);
+
+    private static final String COLUMNS = "select seq, kind, entity_key, written_at, localtimestamp from cache_invalidations";
+    private static final String SELECT_AFTER = COLUMNS + " where seq > ? order by seq fetch first ? rows only";
+    private static final String SELECT_MAX = "select coalesce(max(seq), 0) from cache_invalidations";
+    private static final int MAX_TRACKED_GAPS = 10_000;
+
+    private final EntityManager entityManager;
+    private final Shards shards;
+    private final TransactionTemplate transaction;
+    private final Consumer<Change> listener;
+    private final Clock clock;
+    private final int batchSize;
+    private final Duration gapTimeout;
+    private final Duration retention;
+    private final List<Cursor> cursors;
+    private final Timer lag;
+    private final Counter applied;
+
+    public ChangeLogPoller(EntityManager entityManager, Shards shards, PlatformTransactionManager transactionManager,
+                           Consumer<Change> listener, MeterRegistry registry, Clock clock,
+                           int batchSize, Duration gapTimeout, Duration retention) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.entityManager = entityManager;
+        this.shards = shards;
+        // Read-write on purpose: read-only transactions may be routed to a lagging replica
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.listener = listener;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+        this.cursors = IntStream.range(0, shards.count())
+            .mapToObj(shard -> new Cursor())
+            .toList();
+        this.lag = Timer.builder("cache.invalidation.lag")
+            .description("Time from a cache invalidation being written to it being applied on this node")
+            .publishPercentiles(0.5, 0.99)
+            .register(registry);
+        this.applied = Counter.builder("cache.invalidation.applied")
+            .description("Cache invalidations applied on this node")
+            .register(registry);
+        Gauge.builder("cache.invalidation.gaps", cursors, all -> all.stream().mapToInt(Cursor::gapCount).sum())
+            .description("Sequence numbers awaiting an out-of-order commit")
+            .register(registry);
+    }
+
+    /**
+     * Runs {@link #poll()} on the schedule set by {@code petclinic.cache.invalidation.poll-interval}.
+     */
+    @Scheduled(fixedDelayString = "${petclinic.cache.invalidation.poll-interval:PT0.2S}")
+    public void pollOnSchedule() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            log.warn("Polling the cache invalidation log failed, retrying on the next poll", e);
+        }
+    }
+
+    /**
+     * Reads the changes committed since the previous poll on every shard and applies them.
+     * The first poll only finds where each log ends.
+     *
+     * @return the number of changes applied
+     */
+    public synchronized int poll() {
+        var allShards = IntStream.range(0, shards.count()).boxed().toList();
+        var read = transaction.execute(status -> shards.inParallel(allShards, false,
+            shard -> entityManager.unwrap(Session.class).doReturningWork(cursors.get(shard)::read)));
+        int count = 0;
+        for (var entries : read) {
+            for (var entry : entries) {
+                listener.accept(entry.change());
+                lag.record(entry.lag());
+                count++;
+            }
+        }
+        applied.increment(count);
+        return count;
+    }
+
+    /**
+     * Deletes log entries older than the retention period from every shard, on the schedule set by
+     * {@code petclinic.cache.invalidation.purge-interval}. Every node may purge; deleting twice is harmless.
+     */
+    @Scheduled(fixedDelayString = "${petclinic.cache.invalidation.purge-interval:PT5M}")
+    public void purge() {
+        var cutoff = LocalDateTime.now(clock).minus(retention);
+        var allShards = IntStream.range(0, shards.count()).boxed().toList();
+        transaction.execute(status -> shards.inParallel(allShards, false, shard -> entityManager
+            .createNativeQuery("delete from cache_invalidations where written_at < :cutoff")
+            .setParameter("cutoff", cutoff)
+            .executeUpdate()));
+    }
+
+    private record Entry(Change change, Duration lag) {
+    }
+
+    /**
+     * How far one shard's log has been read. Only touched by one poll at a time.
+     */
+    private final class Cursor {
+
+        private long highWater = -1;
+        private final Map<Long, Instant> gaps = Collections.synchronizedMap(new HashMap<>());
+
+        int gapCount() {
+            return gaps.size();
+        }
+
+        List<Entry> read(Connection connection) throws SQLException {
+            if (highWater < 0) {
+                highWater = readMax(connection);
+                return List.of();
+            }
+            var now = clock.instant();
+            var entries = new ArrayList<Entry>();
+            readGaps(connection, entries);
+            gaps.values().removeIf(since -> since.plus(gapTimeout).isBefore(now));
+            int read;
+            do {
+                read = readAfterHighWater(connection, entries, now);
+            } while (read == batchSize);
+            return entries;
+        }
+
+        private long readMax(Connection connection) throws SQLException {
+            try (var statement = connection.prepareStatement(SELECT_MAX);
+                 var rows = statement.executeQuery()) {
+                rows.next();
+                return rows.getLong(1);
+            }
+        }
+
+        private void readGaps(Connection connection, List<Entry> entries) throws SQLException {
+            for (var chunk : Batches.partition(List.copyOf(gaps.keySet()), Batches.IN_LIST_SIZE)) {
+                var placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                try (var statement = connection.prepareStatement(COLUMNS + " where seq in (" + placeholders + ")")) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        statement.setLong(i + 1, chunk.get(i));
+                    }
+                    readRows(statement, seq -> gaps.remove(seq), entries);
+                }
+            }
+        }
+
+        private int readAfterHighWater(Connection connection, List<Entry> entries, Instant now) throws SQLException {
+            try (var statement = connection.prepareStatement(SELECT_AFTER)) {
+                statement.setLong(1, highWater);
+                statement.setInt(2, batchSize);
+                return readRows(statement, seq -> {
+                    for (long skipped = highWater + 1; skipped < seq && gaps.size() < MAX_TRACKED_GAPS; skipped++) {
+                        gaps.put(skipped, now);
+                    }
+                    highWater = seq;
+                }, entries);
+            }
+        }
+
+        private int readRows(PreparedStatement statement, Consumer<Long> seen, List<Entry> entries) throws SQLException {
+            int count = 0;
+            try (var rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    count++;
+                    seen.accept(rows.getLong(1));
+                    var writtenAt = rows.getTimestamp(4).toLocalDateTime();
+                    var readAt = rows.getTimestamp(5).toLocalDateTime();
+                    try {
+                        var change = new Change(Change.Kind.valueOf(rows.getString(2)), rows.getString(3));
+                        entries.add(new Entry(change, Duration.between(writtenAt, readAt)));
+                    } catch (IllegalArgumentException e) {
+                        log.debug("Skipping cache invalidation of unknown kind {}", rows.getString(2));
+                    }
+                }
+            }
+            return count;
+        }
+    }
+}
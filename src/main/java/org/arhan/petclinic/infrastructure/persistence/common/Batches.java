@@ -0,0 +1,39 @@
+package org.arhan.petclinic.infrastructure.persistence.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers for splitting bulk operations into chunks.
+ */
+public final class Batches {
+
+    /**
+     * Number of entities written per flush; matches {@code hibernate.jdbc.batch_size}.
+     */
+    public static final int WRITE_SIZE = 50;
+
+    /**
+     * Maximum number of parameters bound to a single IN list.
+     */
+    public static final int IN_LIST_SIZE = 1000;
+
+    private Batches() {
+        // Utility class
+    }
+
+    /**
+     * Splits a list into consecutive sublists of at most the given size.
+     *
+     * @param list the list to split
+     * @param size the maximum size of each sublist
+     * @return the sublists, in order
+     */
+    public static <T> List<List<T>> partition(List<T> list, int size) {
+        var chunks = new ArrayList<List<T>>((list.size() + size - 1) / size);
+        for (int from = 0; from < list.size(); from += size) {
+            chunks.add(list.subList(from, Math.min(from + size, list.size())));
+        }
+        return chunks;
+    }
+}
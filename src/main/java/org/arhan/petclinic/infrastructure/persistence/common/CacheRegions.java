@@ -0,0 +1,43 @@
+package org.arhan.petclinic.infrastructure.persistence.common;
+
+/**
+ * Names of the Hibernate second-level and query cache regions.
+ * Each region must have a bounded entry in {@code application.conf}; Hibernate refuses
+ * to start if a region is missing there.
+ */
+public final class CacheRegions {
+
+    /**
+     * Owner entities, keyed by ID.
+     */
+    public static final String OWNERS = "owners";
+
+    /**
+     * Pet entities, keyed by ID.
+     */
+    public static final String PETS = "pets";
+
+    /**
+     * Owner projections selected by ID or email.
+     */
+    public static final String OWNER_VIEWS = "owner-views";
+
+    /**
+     * The IDs of each owner's pets, which stand in for the former owner_pets collection.
+     */
+    public static final String OWNER_PET_IDS = "owner-pet-ids";
+
+    /**
+     * Pet projections selected by ID or owner.
+     */
+    public static final String PET_VIEWS = "pet-views";
+
+    /**
+     * Pet entities selected by owner.
+     */
+    public static final String PETS_BY_OWNER = "pets-by-owner";
+
+    private CacheRegions() {
+        // Utility class
+    }
+}
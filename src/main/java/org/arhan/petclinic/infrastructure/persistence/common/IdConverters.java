@@ -0,0 +1,93 @@
+package org.arhan.petclinic.infrastructure.persistence.common;
+
+import org.arhan.petclinic.domain.clinic.VeterinarianId;
+import org.arhan.petclinic.domain.owner.OwnerId;
+import org.arhan.petclinic.domain.pet.MedicalRecordId;
+import org.arhan.petclinic.domain.pet.PetId;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Converts identity value objects to and from their persistent representation.
+ * Identifiers are stored as 16-byte binary UUIDs (most significant bits first)
+ * rather than as 36-character strings, which keeps primary and join indexes compact.
+ */
+public final class IdConverters {
+
+    private IdConverters() {
+        // Utility class
+    }
+
+    public static UUID toUuid(OwnerId id) {
+        return UUID.fromString(id.value());
+    }
+
+    public static UUID toUuid(PetId id) {
+        return UUID.fromString(id.value());
+    }
+
+    public static UUID toUuid(MedicalRecordId id) {
+        return UUID.fromString(id.value());
+    }
+
+    public static UUID toUuid(VeterinarianId id) {
+        return UUID.fromString(id.value());
+    }
+
+    public static OwnerId toOwnerId(UUID uuid) {
+        return OwnerId.fromString(uuid.toString());
+    }
+
+    public static PetId toPetId(UUID uuid) {
+        return PetId.fromString(uuid.toString());
+    }
+
+    public static MedicalRecordId toMedicalRecordId(UUID uuid) {
+        return MedicalRecordId.fromString(uuid.toString());
+    }
+
+    public static VeterinarianId toVeterinarianId(UUID uuid) {
+        return VeterinarianId.fromString(uuid.toString());
+    }
+
+    /**
+     * Encodes a UUID in the same big-endian layout used by the binary(16) key columns.
+     *
+     * @param uuid the UUID to encode
+     * @return the 16-byte representation
+     */
+    public static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+            .putLong(uuid.getMostSignificantBits())
+            .putLong(uuid.getLeastSignificantBits())
+            .array();
+    }
+
+    /**
+     * Compares UUIDs in the order the database sorts their binary(16) encoding,
+     * which treats both halves as unsigned unlike {@link UUID#compareTo}.
+     *
+     * @param a the first UUID
+     * @param b the second UUID
+     * @return a negative number, zero or a positive number as a sorts before, with or after b
+     */
+    public static int compareBinary(UUID a, UUID b) {
+        int result = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return result != 0 ? result : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    /**
+     * Decodes a UUID from its 16-byte binary(16) representation.
+     *
+     * @param bytes the 16-byte representation
+     * @return the decoded UUID
+     * @throws IllegalArgumentException if bytes is not exactly 16 bytes long
+     */
+    public static UUID fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != 16) {
+            throw new IllegalArgumentException("Binary UUID must be exactly 16 bytes");
+        }
+        var buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
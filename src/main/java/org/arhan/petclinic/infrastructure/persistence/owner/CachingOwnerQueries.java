@@ -0,0 +1,47 @@
+package org.arhan.petclinic.infrastructure.persistence.owner;
+
+import org.arhan.petclinic.application.owner.OwnerDTO;
+import org.arhan.petclinic.application.owner.OwnerQueries;
+import org.arhan.petclinic.domain.common.EntityNotFoundException;
+import org.arhan.petclinic.domain.owner.OwnerId;
+import org.arhan.petclinic.domain.owner.OwnerRepository;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import org.arhan.petclinic.infrastructure.persistence.warmup.HotKeys;
+import java.util.Optional;
+
+/**
+ * OwnerQueries decorator that serves lookups by ID from the owner cache.
+ * Lookups by ID read through the caching owner repository, so a cached owner is returned
+ * without touching JPA and a missing one is loaded and cached for the next request. Since such
+ * lookups no longer reach the delegate, they are recorded as hot keys here.
+ */
+public class CachingOwnerQueries implements OwnerQueries {
+
+    private final OwnerQueries delegate;
+    private final OwnerRepository repository;
+    private final HotKeys hotKeys;
+
+    public CachingOwnerQueries(OwnerQueries delegate, OwnerRepository repository, HotKeys hotKeys) {
+        this.delegate = delegate;
+        this.repository = repository;
+        this.hotKeys = hotKeys;
+    }
+
+    @Override
+    public Optional<OwnerDTO> findById(OwnerId id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Owner ID cannot be null");
+        }
+        hotKeys.record(HotKeys.Kind.OWNER, IdConverters.toUuid(id));
+        try {
+            return Optional.of(OwnerDTO.fromDomain(repository.findById(id)));
+        } catch (EntityNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<OwnerDTO> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+}
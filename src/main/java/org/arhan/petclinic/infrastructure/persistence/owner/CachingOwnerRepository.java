@@ -0,0 +1,101 @@
+package org.arhan.petclinic.infrastructure.persistence.owner;
+
+import org.arhan.petclinic.domain.common.Keyset;
+import org.arhan.petclinic.domain.common.KeysetPage;
+import org.arhan.petclinic.domain.owner.Owner;
+import org.arhan.petclinic.domain.owner.OwnerId;
+import org.arhan.petclinic.domain.owner.OwnerRepository;
+import org.arhan.petclinic.domain.owner.OwnerSort;
+import org.arhan.petclinic.infrastructure.persistence.cache.AggregateCache;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Read-through caching decorator of an OwnerRepository.
+ * Point reads of cached owners are served from memory without touching JPA; every write
+ * evicts the owners it touches. Owners are cached in their snapshot encoding, pets included.
+ */
+public class CachingOwnerRepository implements OwnerRepository {
+
+    private final OwnerRepository delegate;
+    private final AggregateCache cache;
+
+    public CachingOwnerRepository(OwnerRepository delegate, AggregateCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Owner findById(OwnerId id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Owner ID cannot be null");
+        }
+        var uuid = IdConverters.toUuid(id);
+        return OwnerSnapshotCodec.decode(uuid,
+            cache.get(uuid, key -> OwnerSnapshotCodec.encode(delegate.findById(id))));
+    }
+
+    @Override
+    public boolean existsById(OwnerId id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Owner ID cannot be null");
+        }
+        return cache.getIfPresent(IdConverters.toUuid(id)) != null || delegate.existsById(id);
+    }
+
+    @Override
+    public void save(Owner owner) {
+        if (owner == null) {
+            throw new IllegalArgumentException("Owner cannot be null");
+        }
+        cache.invalidate(IdConverters.toUuid(owner.getId()));
+        delegate.save(owner);
+    }
+
+    @Override
+    public Owner update(Owner owner) {
+        if (owner == null) {
+            throw new IllegalArgumentException("Owner cannot be null");
+        }
+        cache.invalidate(IdConverters.toUuid(owner.getId()));
+        return delegate.update(owner);
+    }
+
+    @Override
+    public void saveAll(List<Owner> owners) {
+        if (owners == null || owners.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Owners cannot be null");
+        }
+        owners.forEach(owner -> cache.invalidate(IdConverters.toUuid(owner.getId())));
+        delegate.saveAll(owners);
+    }
+
+    @Override
+    public Set<OwnerId> findExistingIds(Collection<OwnerId> ids) {
+        return delegate.findExistingIds(ids);
+    }
+
+    @Override
+    public Optional<Owner> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public Set<String> findTakenEmails(Collection<String> emails) {
+        return delegate.findTakenEmails(emails);
+    }
+
+    @Override
+    public KeysetPage<Owner> findPage(OwnerSort sort, Keyset after, int size) {
+        return delegate.findPage(sort, after, size);
+    }
+}
@@ -0,0 +1,196 @@
+package org.arhan.petclinic.infrastructure.persistence.owner;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.arhan.petclinic.infrastructure.persistence.cache.ScalableBloomFilter;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process Bloom filter of the emails owners are registered with, which answers most
+ * "is this email taken?" checks without a query. Emails are compared trimmed and lower-cased,
+ * as they are stored.
+ * <p>
+ * The filter is filled once at startup by streaming every owner's email, and every write adds
+ * the email it saves an owner with before the write commits. Until it has been filled it reports
+ * every email as possibly taken, so it never answers "absent" for an email it has not seen.
+ * An email given up by an owner stays in the filter until the next start, which only costs a query.
+ * <p>
+ * Another node's registrations are seen through {@link #add} by way of the change log, so the
+ * filter is only switched on together with cross-node invalidation. Until the log is polled, and
+ * when two owners register the same email at the same moment, the unique index rejects the second.
+ * The filter does not enforce uniqueness across shards: it only skips queries, and each shard's
+ * unique index only covers the owners stored on it.
+ */
+public class OwnerEmailFilter implements MeterBinder {
+
+    private final ScalableBloomFilter filter;
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder confirmed = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private volatile boolean loaded;
+
+    /**
+     * Creates a filter.
+     *
+     * @param expectedOwners the number of owners the first stage of the filter is sized for
+     * @param falsePositiveRate the highest probability of reporting a free email as possibly taken
+     * @throws IllegalArgumentException if expectedOwners is not positive or falsePositiveRate
+     *     is not strictly between 0 and 1
+     */
+    public OwnerEmailFilter(int expectedOwners, double falsePositiveRate) {
+        this.filter = new ScalableBloomFilter(expectedOwners, falsePositiveRate);
+    }
+
+    private OwnerEmailFilter() {
+        this.filter = null;
+    }
+
+    /**
+     * Creates a filter that reports every email as possibly taken, used when the filter is switched off.
+     *
+     * @return the disabled filter
+     */
+    public static OwnerEmailFilter disabled() {
+        return new OwnerEmailFilter();
+    }
+
+    /**
+     * Returns whether emails are filtered at all.
+     *
+     * @return true unless this is the disabled filter
+     */
+    public boolean isEnabled() {
+        return filter != null;
+    }
+
+    /**
+     * Tells whether an email may belong to an owner. Only a true answer needs checking against the database.
+     *
+     * @param email the email address
+     * @return false if no owner has the email
+     */
+    public boolean mightContain(String email) {
+        if (!isEnabled() || !loaded) {
+            return true;
+        }
+        if (filter.mightContain(key(email))) {
+            return true;
+        }
+        skipped.increment();
+        return false;
+    }
+
+    /**
+     * Records what the database said about an email the filter reported as possibly taken.
+     *
+     * @param taken whether an owner has the email
+     */
+    public void checked(boolean taken) {
+        if (isEnabled() && loaded) {
+            (taken ? confirmed : falsePositives).increment();
+        }
+    }
+
+    /**
+     * Adds an email an owner is being saved with, here or on another node.
+     *
+     * @param email the email address
+     */
+    public void add(String email) {
+        if (isEnabled()) {
+            filter.put(key(email));
+        }
+    }
+
+    /**
+     * Starts answering "absent", once the emails of all owners already stored have been added.
+     * Emails saved while they were being added went through {@link #add} too and are not lost.
+     */
+    public void markLoaded() {
+        loaded = isEnabled();
+    }
+
+    /**
+     * Returns whether the stored emails have been loaded.
+     *
+     * @return true once {@link #markLoaded} has been called
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Returns the number of distinct emails in the filter.
+     *
+     * @return the number of emails
+     */
+    public long size() {
+        return isEnabled() ? filter.count() : 0;
+    }
+
+    /**
+     * Returns the memory the filter's bits take.
+     *
+     * @return the size in bytes
+     */
+    public long memoryBytes() {
+        return isEnabled() ? filter.bitsInBytes() : 0;
+    }
+
+    /**
+     * Estimates the probability that a free email is reported as possibly taken, from how full the filter is.
+     *
+     * @return the estimated false-positive rate
+     */
+    public double expectedFalsePositiveRate() {
+        return isEnabled() ? filter.expectedFalsePositiveRate() : 1;
+    }
+
+    /**
+     * Returns the share of free emails checked so far that the filter reported as possibly taken.
+     *
+     * @return the observed false-positive rate, or 0 if no free email has been checked
+     */
+    public double observedFalsePositiveRate() {
+        long free = skipped.sum() + falsePositives.sum();
+        return free == 0 ? 0 : (double) falsePositives.sum() / free;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!isEnabled()) {
+            return;
+        }
+        Gauge.builder("owner.email.filter.size", this, OwnerEmailFilter::size)
+            .description("The number of distinct emails in the filter")
+            .register(registry);
+        Gauge.builder("owner.email.filter.memory", this, OwnerEmailFilter::memoryBytes)
+            .baseUnit("bytes")
+            .description("The memory taken by the filter's bits")
+            .register(registry);
+        Gauge.builder("owner.email.filter.false.positive.rate", this, OwnerEmailFilter::expectedFalsePositiveRate)
+            .tag("source", "expected")
+            .description("The probability that a free email is reported as possibly taken")
+            .register(registry);
+        Gauge.builder("owner.email.filter.false.positive.rate", this, OwnerEmailFilter::observedFalsePositiveRate)
+            .tag("source", "observed")
+            .description("The probability that a free email is reported as possibly taken")
+            .register(registry);
+        registerChecks(registry, "skipped", skipped);
+        registerChecks(registry, "confirmed", confirmed);
+        registerChecks(registry, "false-positive", falsePositives);
+    }
+
+    private static void registerChecks(MeterRegistry registry, String result, LongAdder adder) {
+        FunctionCounter.builder("owner.email.filter.checks", adder, LongAdder::sum)
+            .tag("result", result)
+            .description("Email checks, by whether the database query was skipped or what it found")
+            .register(registry);
+    }
+
+    private static String key(String email) {
+        return email.trim().toLowerCase();
+    }
+}
@@ -0,0 +1,66 @@
+package org.arhan.petclinic.infrastructure.persistence.owner;
+
+import org.arhan.petclinic.infrastructure.persistence.sharding.Shards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills the owner email filter at startup by streaming the email of every owner, before the
+ * application reports ready. When sharded, the shards are streamed in parallel.
+ * <p>
+ * If loading fails the filter stays unloaded and keeps reporting every email as possibly taken,
+ * so registrations still check the database and the application starts regardless.
+ */
+public class OwnerEmailFilterLoader implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(OwnerEmailFilterLoader.class);
+
+    private final OwnerEmailFilter filter;
+    private final OwnerJpaRepository jpaRepository;
+    private final Shards shards;
+    private final TransactionTemplate readOnly;
+
+    public OwnerEmailFilterLoader(OwnerEmailFilter filter, OwnerJpaRepository jpaRepository,
+                                  ObjectProvider<Shards> shards, PlatformTransactionManager transactionManager) {
+        this.filter = filter;
+        this.jpaRepository = jpaRepository;
+        this.shards = shards.getIfAvailable(Shards::single);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        load();
+    }
+
+    /**
+     * Adds every stored email to the filter, then lets it answer "absent".
+     *
+     * @return true if the filter was loaded
+     */
+    public boolean load() {
+        long started = System.nanoTime();
+        try {
+            readOnly.executeWithoutResult(status -> shards.scatter(shard -> {
+                try (var emails = jpaRepository.streamAllEmails()) {
+                    emails.forEach(filter::add);
+                }
+                return null;
+            }));
+        } catch (RuntimeException e) {
+            log.warn("Could not load owner emails into the email filter; every registration will query", e);
+            return false;
+        }
+        filter.markLoaded();
+        log.info("Loaded {} owner emails into the email filter in {} ms; {} KiB, expected false-positive rate {}",
+            filter.size(), (System.nanoTime() - started) / 1_000_000, filter.memoryBytes() / 1024,
+            String.format("%.4f%%", filter.expectedFalsePositiveRate() * 100));
+        return true;
+    }
+}
@@ -0,0 +1,220 @@
+package org.arhan.petclinic.infrastructure.persistence.owner;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process index from email address to owner ID, with bounded negative caching.
+ * Emails are compared trimmed and lower-cased, as they are stored.
+ * <p>
+ * A known email resolves to its owner ID, which callers load by primary key and check against
+ * the email, so an entry left behind by an email change is detected on use and forgotten.
+ * A known-missing email is answered without touching the database at all. Such an entry only
+ * becomes wrong when an owner is saved with that email, so every write evicts the email it sets,
+ * immediately and again when its transaction completes.
+ * <p>
+ * A lookup that raced with a write could still cache what it read before the write committed.
+ * Lookups therefore take a {@link #stamp()} before querying, and a result is only kept if no
+ * write has completed since. Within a transaction that has written emails nothing is recorded.
+ * <p>
+ * Another node's writes are only seen through {@link #evict}, when cross-node invalidation is
+ * enabled; missing entries also expire after a fixed time to bound how long they go unseen.
+ */
+public class OwnerEmailIndex implements MeterBinder {
+
+    private final Cache<String, UUID> owners;
+    private final Cache<String, Boolean> missing;
+    private final AtomicLong completedWrites = new AtomicLong();
+
+    /**
+     * Creates an index.
+     *
+     * @param maximumOwners the maximum number of known emails held
+     * @param maximumMissing the maximum number of known-missing emails held
+     * @param missingTtl how long a known-missing email is trusted
+     * @throws IllegalArgumentException if a maximum is not positive or missingTtl is not positive
+     */
+    public OwnerEmailIndex(long maximumOwners, long maximumMissing, Duration missingTtl) {
+        if (maximumOwners <= 0 || maximumMissing <= 0) {
+            throw new IllegalArgumentException("Index bounds must be positive");
+        }
+        if (missingTtl == null || missingTtl.isNegative() || missingTtl.isZero()) {
+            throw new IllegalArgumentException("Missing email TTL must be positive");
+        }
+        this.owners = Caffeine.newBuilder()
+            .maximumSize(maximumOwners)
+            .recordStats()
+            .build();
+        this.missing = Caffeine.newBuilder()
+            .maximumSize(maximumMissing)
+            .expireAfterWrite(missingTtl)
+            .recordStats()
+            .build();
+    }
+
+    private OwnerEmailIndex() {
+        this.owners = null;
+        this.missing = null;
+    }
+
+    /**
+     * Creates an index that knows nothing and records nothing, used when the index is switched off.
+     *
+     * @return the disabled index
+     */
+    public static OwnerEmailIndex disabled() {
+        return new OwnerEmailIndex();
+    }
+
+    /**
+     * Returns whether lookups are indexed at all.
+     *
+     * @return true unless this is the disabled index
+     */
+    public boolean isEnabled() {
+        return owners != null;
+    }
+
+    /**
+     * Returns whether an email is known to belong to no owner.
+     *
+     * @param email the email address
+     * @return true if the email was recently looked up and not found
+     */
+    public boolean isKnownMissing(String email) {
+        return isEnabled() && !writtenInCurrentTransaction() && missing.getIfPresent(key(email)) != null;
+    }
+
+    /**
+     * Returns the ID of the owner an email was last seen with. The caller must check that the
+     * owner still has the email and {@link #forget} it if not.
+     *
+     * @param email the email address
+     * @return the owner ID, or empty if the email is not indexed
+     */
+    public Optional<UUID> ownerIdOf(String email) {
+        if (!isEnabled() || writtenInCurrentTransaction()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(owners.getIfPresent(key(email)));
+    }
+
+    /**
+     * Returns the stamp to pass to {@link #record} for a lookup about to query the database.
+     *
+     * @return the number of writes completed so far
+     */
+    public long stamp() {
+        return completedWrites.get();
+    }
+
+    /**
+     * Records what a database lookup found, unless a write completed since the lookup's stamp was taken.
+     *
+     * @param email the email address
+     * @param ownerId the ID of the owner found, or null if none was
+     * @param stamp the stamp taken before the lookup queried the database
+     */
+    public void record(String email, UUID ownerId, long stamp) {
+        if (!isEnabled() || writtenInCurrentTransaction()) {
+            return;
+        }
+        if (ownerId != null) {
+            owners.put(key(email), ownerId);
+        } else {
+            missing.put(key(email), Boolean.TRUE);
+        }
+        // The write may have evicted the email just before the put above; drop what was put
+        if (completedWrites.get() != stamp) {
+            forget(email);
+        }
+    }
+
+    /**
+     * Forgets an email, for example because its indexed owner turned out to have another email.
+     *
+     * @param email the email address
+     */
+    public void forget(String email) {
+        if (isEnabled()) {
+            owners.invalidate(key(email));
+            missing.invalidate(key(email));
+        }
+    }
+
+    /**
+     * Evicts an email an owner is being saved with. Inside a transaction it is evicted again
+     * once the transaction completes.
+     *
+     * @param email the email address
+     */
+    public void written(String email) {
+        if (!isEnabled()) {
+            return;
+        }
+        forget(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            writtenEmails().add(email);
+        } else {
+            evict(email);
+        }
+    }
+
+    /**
+     * Evicts an email an owner was saved with elsewhere, such as on another node, after that write committed.
+     *
+     * @param email the email address
+     */
+    public void evict(String email) {
+        if (isEnabled()) {
+            completedWrites.incrementAndGet();
+            forget(email);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (isEnabled()) {
+            CaffeineCacheMetrics.monitor(registry, owners, "owner-emails");
+            CaffeineCacheMetrics.monitor(registry, missing, "owner-emails-missing");
+        }
+    }
+
+    private static String key(String email) {
+        return email.trim().toLowerCase();
+    }
+
+    private boolean writtenInCurrentTransaction() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+            && TransactionSynchronizationManager.hasResource(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> writtenEmails() {
+        var written = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (written == null) {
+            var emails = new HashSet<String>();
+            TransactionSynchronizationManager.bindResource(this, emails);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OwnerEmailIndex.this);
+                    emails.forEach(OwnerEmailIndex.this::evict);
+                }
+            });
+            written = emails;
+        }
+        return written;
+    }
+}
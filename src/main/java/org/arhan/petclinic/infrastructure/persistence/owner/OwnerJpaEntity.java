@@ -2,20 +2,35 @@ package org.arhan.petclinic.infrastructure.persistence.owner;
 
 import jakarta.persistence.*;
 import org.arhan.petclinic.domain.owner.*;
-import org.arhan.petclinic.domain.pet.PetId;
-import java.util.ArrayList;
+import org.arhan.petclinic.infrastructure.persistence.common.CacheRegions;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
 /**
  * JPA entity for persisting Owner aggregate root.
+ * The owner's pets are not stored here: they are derived from {@code pets.owner_id},
+ * so saving an owner never rewrites its pet associations.
+ * A null version marks an entity that has never been persisted, which lets Spring Data
+ * insert it directly instead of merging it with a preceding SELECT.
+ * Owners are kept in the second-level cache, which every save and update path keeps current.
  */
 @Entity
 @Table(name = "owners")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.OWNERS)
 public class OwnerJpaEntity {
     
     @Id
-    private String id;
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(length = 16)
+    private UUID id;
     
     @Column(name = "first_name", nullable = false)
     private String firstName;
@@ -41,10 +56,12 @@ public class OwnerJpaEntity {
     @Column(name = "postal_code", nullable = false)
     private String postalCode;
     
-    @ElementCollection
-    @CollectionTable(name = "owner_pets", joinColumns = @JoinColumn(name = "owner_id"))
-    @Column(name = "pet_id")
-    private List<String> petIds = new ArrayList<>();
+    @Version
+    private Long version;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
 
     protected OwnerJpaEntity() {
         // Required by JPA
@@ -52,7 +69,7 @@ public class OwnerJpaEntity {
 
     public static OwnerJpaEntity fromDomain(Owner owner) {
         var entity = new OwnerJpaEntity();
-        entity.id = owner.getId().value();
+        entity.id = IdConverters.toUuid(owner.getId());
         entity.firstName = owner.getName().firstName();
         entity.lastName = owner.getName().lastName();
         entity.email = owner.getContactInfo().email();
@@ -61,29 +78,50 @@ public class OwnerJpaEntity {
         entity.city = owner.getContactInfo().address().city();
         entity.state = owner.getContactInfo().address().state();
         entity.postalCode = owner.getContactInfo().address().postalCode();
-        entity.petIds = owner.getPets().stream()
-            .map(PetId::value)
-            .collect(Collectors.toList());
+        entity.version = owner.getVersion();
         return entity;
     }
 
-    public Owner toDomain() {
+    /**
+     * Copies an owner's attributes onto this managed entity. The ID and version are left to the
+     * persistence context, which checks and increments the version when the change is flushed.
+     *
+     * @param owner the owner, with its new attribute values
+     */
+    public void updateFrom(Owner owner) {
+        firstName = owner.getName().firstName();
+        lastName = owner.getName().lastName();
+        email = owner.getContactInfo().email();
+        phone = owner.getContactInfo().phone();
+        street = owner.getContactInfo().address().street();
+        city = owner.getContactInfo().address().city();
+        state = owner.getContactInfo().address().state();
+        postalCode = owner.getContactInfo().address().postalCode();
+    }
+
+    /**
+     * Rebuilds the Owner aggregate from this entity and the IDs of the pets it owns.
+     *
+     * @param petIds the IDs of the owner's pets, as found in {@code pets.owner_id}
+     * @return the Owner aggregate
+     */
+    public Owner toDomain(List<UUID> petIds) {
         var fullName = new FullName(firstName, lastName);
         var address = new Address(street, city, state, postalCode);
         var contactInfo = new ContactInformation(email, phone, address);
-        var owner = Owner.create(OwnerId.fromString(id), fullName, contactInfo);
+        var owner = Owner.reconstitute(IdConverters.toOwnerId(id), fullName, contactInfo, version);
         petIds.stream()
-            .map(PetId::fromString)
+            .map(IdConverters::toPetId)
             .forEach(owner::addPet);
         return owner;
     }
 
     // Getters and setters required by JPA
-    public String getId() {
+    public UUID getId() {
         return id;
     }
 
-    public void setId(String id) {
+    public void setId(UUID id) {
         this.id = id;
     }
 
@@ -151,11 +189,15 @@ public class OwnerJpaEntity {
         this.postalCode = postalCode;
     }
 
-    public List<String> getPetIds() {
-        return petIds;
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
     }
 
-    public void setPetIds(List<String> petIds) {
-        this.petIds = petIds;
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
     }
 }
\ No newline at end of file
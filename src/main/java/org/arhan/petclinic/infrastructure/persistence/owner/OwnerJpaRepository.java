@@ -1,12 +1,26 @@
 package org.arhan.petclinic.infrastructure.persistence.owner;
 
+import jakarta.persistence.QueryHint;
+import org.arhan.petclinic.infrastructure.persistence.common.CacheRegions;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for Owner entities.
+ * Read queries are cached in the Hibernate query cache; any write to the tables they read
+ * invalidates their cached results.
  */
-public interface OwnerJpaRepository extends JpaRepository<OwnerJpaEntity, String> {
+public interface OwnerJpaRepository extends JpaRepository<OwnerJpaEntity, UUID> {
     
     /**
      * Finds an owner by their email address.
@@ -15,4 +29,186 @@ public interface OwnerJpaRepository extends JpaRepository<OwnerJpaEntity, String
      * @return an Optional containing the owner if found, or empty if not found
      */
     Optional<OwnerJpaEntity> findByEmail(String email);
+
+    /**
+     * Selects an owner straight into a read-only projection.
+     *
+     * @param id the ID of the owner
+     * @return an Optional containing the projection if found, or empty if not found
+     */
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.OWNER_VIEWS)
+    })
+    @Query("""
+        select new org.arhan.petclinic.infrastructure.persistence.owner.OwnerView(
+            o.id, o.firstName, o.lastName, o.email, o.phone, o.street, o.city, o.state, o.postalCode, o.version)
+        from OwnerJpaEntity o
+        where o.id = :id
+        """)
+    Optional<OwnerView> findViewById(@Param("id") UUID id);
+
+    /**
+     * Selects an owner by email straight into a read-only projection.
+     *
+     * @param email the normalized email address
+     * @return an Optional containing the projection if found, or empty if not found
+     */
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.OWNER_VIEWS)
+    })
+    @Query("""
+        select new org.arhan.petclinic.infrastructure.persistence.owner.OwnerView(
+            o.id, o.firstName, o.lastName, o.email, o.phone, o.street, o.city, o.state, o.postalCode, o.version)
+        from OwnerJpaEntity o
+        where o.email = :email
+        """)
+    Optional<OwnerView> findViewByEmail(@Param("email") String email);
+
+    /**
+     * Probes for an owner by ID with a {@code SELECT 1} that the primary key index answers alone.
+     *
+     * @param id the ID of the owner
+     * @return an Optional containing 1 if the owner exists, or empty if not
+     */
+    @Query("select 1 from OwnerJpaEntity o where o.id = :id")
+    Optional<Integer> probeById(@Param("id") UUID id);
+
+    /**
+     * Probes for an owner by email with a {@code SELECT 1} that the unique email index answers alone.
+     * Unlike the lookups by email, the probe is never cached, so it is safe to run against a shard
+     * that does not hold the owner.
+     *
+     * @param email the normalized email address
+     * @return an Optional containing 1 if the owner exists, or empty if not
+     */
+    @Query("select 1 from OwnerJpaEntity o where o.email = :email")
+    Optional<Integer> probeByEmail(@Param("email") String email);
+
+    /**
+     * Returns those of the given emails that owners are registered with, answered from the
+     * unique email index. Like the probe, it is never cached.
+     *
+     * @param emails the normalized email addresses to check
+     * @return the emails that are taken
+     */
+    @Query("select o.email from OwnerJpaEntity o where o.email in :emails")
+    List<String> findTakenEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Streams the email of every owner, fetching the rows in chunks rather than all at once.
+     * The stream must be consumed within a transaction and closed.
+     *
+     * @return the emails, in no particular order
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select o.email from OwnerJpaEntity o")
+    Stream<String> streamAllEmails();
+
+    /**
+     * Finds the IDs of all pets owned by the given owner.
+     * Ownership is derived from {@code pets.owner_id}; there is no separate association table.
+     *
+     * @param ownerId the ID of the owner
+     * @return the IDs of the owner's pets, ordered by ID
+     */
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.OWNER_PET_IDS)
+    })
+    @Query("select p.id from PetJpaEntity p where p.ownerId = :ownerId order by p.id")
+    List<UUID> findPetIdsByOwnerId(@Param("ownerId") UUID ownerId);
+
+    /**
+     * Finds the IDs of the pets of several owners at once.
+     *
+     * @param ownerIds the IDs of the owners
+     * @return owner and pet ID pairs, with each owner's pets ordered by ID
+     */
+    @Query("""
+        select new org.arhan.petclinic.infrastructure.persistence.owner.OwnerPetId(p.ownerId, p.id)
+        from PetJpaEntity p
+        where p.ownerId in :ownerIds
+        order by p.id
+        """)
+    List<OwnerPetId> findPetIdsByOwnerIds(@Param("ownerIds") Collection<UUID> ownerIds);
+
+    /**
+     * Finds the first page of owners ordered by ID.
+     *
+     * @param pageable the page size; the offset is always 0
+     * @return the owners on the page
+     */
+    @Query("select o from OwnerJpaEntity o order by o.id")
+    List<OwnerJpaEntity> findFirstPageById(Pageable pageable);
+
+    /**
+     * Finds the page of owners ordered by ID that follows the given ID.
+     *
+     * @param afterId the ID of the last owner on the previous page
+     * @param pageable the page size; the offset is always 0
+     * @return the owners on the page
+     */
+    @Query("select o from OwnerJpaEntity o where o.id > :afterId order by o.id")
+    List<OwnerJpaEntity> findPageByIdAfter(@Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Finds the first page of owners ordered by last name, then ID.
+     *
+     * @param pageable the page size; the offset is always 0
+     * @return the owners on the page
+     */
+    @Query("select o from OwnerJpaEntity o order by o.lastName, o.id")
+    List<OwnerJpaEntity> findFirstPageByLastName(Pageable pageable);
+
+    /**
+     * Finds the page of owners ordered by last name, then ID, that follows the given owner.
+     *
+     * @param lastName the last name of the last owner on the previous page
+     * @param afterId the ID of the last owner on the previous page
+     * @param pageable the page size; the offset is always 0
+     * @return the owners on the page
+     */
+    @Query("""
+        select o from OwnerJpaEntity o
+        where o.lastName > :lastName or (o.lastName = :lastName and o.id > :afterId)
+        order by o.lastName, o.id
+        """)
+    List<OwnerJpaEntity> findPageByLastNameAfter(@Param("lastName") String lastName,
+                                                 @Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Finds the first page of owners ordered by creation time, then ID.
+     *
+     * @param pageable the page size; the offset is always 0
+     * @return the owners on the page
+     */
+    @Query("select o from OwnerJpaEntity o order by o.createdAt, o.id")
+    List<OwnerJpaEntity> findFirstPageByCreatedAt(Pageable pageable);
+
+    /**
+     * Finds the page of owners ordered by creation time, then ID, that follows the given owner.
+     *
+     * @param createdAt the creation time of the last owner on the previous page
+     * @param afterId the ID of the last owner on the previous page
+     * @param pageable the page size; the offset is always 0
+     * @return the owners on the page
+     */
+    @Query("""
+        select o from OwnerJpaEntity o
+        where o.createdAt > :createdAt or (o.createdAt = :createdAt and o.id > :afterId)
+        order by o.createdAt, o.id
+        """)
+    List<OwnerJpaEntity> findPageByCreatedAtAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Returns those of the given IDs that belong to existing owners.
+     *
+     * @param ids the owner IDs to check
+     * @return the IDs that exist
+     */
+    @Query("select o.id from OwnerJpaEntity o where o.id in :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package org.arhan.petclinic.infrastructure.persistence.owner;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection pairing a pet ID with the ID of its owner.
+ */
+public record OwnerPetId(UUID ownerId, UUID petId) {
+}
@@ -0,0 +1,87 @@
+package org.arhan.petclinic.infrastructure.persistence.owner;
+
+import org.arhan.petclinic.application.owner.OwnerDTO;
+import org.arhan.petclinic.application.owner.OwnerQueries;
+import org.arhan.petclinic.domain.owner.OwnerId;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import org.arhan.petclinic.infrastructure.persistence.sharding.Shards;
+import org.arhan.petclinic.infrastructure.persistence.warmup.HotKeys;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * JPA implementation of OwnerQueries backed by constructor-expression projections.
+ * When the database is sharded, a lookup by email first probes every shard for the owner.
+ * When owner snapshots are enabled, a lookup by ID decodes the owner's snapshot instead.
+ * When the email index is enabled, emails known to be missing are answered from memory
+ * and known emails are resolved by owner ID.
+ * When cache warm-up is enabled, lookups by ID are recorded as hot keys.
+ */
+@Repository
+public class OwnerQueriesImpl implements OwnerQueries {
+
+    private final OwnerJpaRepository jpaRepository;
+    private final Shards shards;
+    private final OwnerSnapshots snapshots;
+    private final OwnerEmailIndex emailIndex;
+    private final HotKeys hotKeys;
+
+    public OwnerQueriesImpl(OwnerJpaRepository jpaRepository, ObjectProvider<Shards> shards,
+                            ObjectProvider<OwnerSnapshots> snapshots, ObjectProvider<OwnerEmailIndex> emailIndex,
+                            ObjectProvider<HotKeys> hotKeys) {
+        this.jpaRepository = jpaRepository;
+        this.shards = shards.getIfAvailable(Shards::single);
+        this.snapshots = snapshots.getIfAvailable(OwnerSnapshots::disabled);
+        this.emailIndex = emailIndex.getIfAvailable(OwnerEmailIndex::disabled);
+        this.hotKeys = hotKeys.getIfAvailable(HotKeys::disabled);
+    }
+
+    @Override
+    public Optional<OwnerDTO> findById(OwnerId id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Owner ID cannot be null");
+        }
+        var uuid = IdConverters.toUuid(id);
+        hotKeys.record(HotKeys.Kind.OWNER, uuid);
+        shards.bindTo(uuid);
+        var snapshot = snapshots.find(uuid);
+        if (snapshot.isPresent()) {
+            return snapshot.map(OwnerDTO::fromDomain);
+        }
+        return jpaRepository.findViewById(uuid)
+            .map(this::toDTO);
+    }
+
+    @Override
+    public Optional<OwnerDTO> findByEmail(String email) {
+        if (email == null || email.isEmpty()) {
+            throw new IllegalArgumentException("Email cannot be null or empty");
+        }
+        if (emailIndex.isKnownMissing(email)) {
+            return Optional.empty();
+        }
+        var indexed = emailIndex.ownerIdOf(email)
+            .flatMap(ownerId -> findById(IdConverters.toOwnerId(ownerId)));
+        if (indexed.isPresent() && indexed.get().email().equals(email)) {
+            return indexed;
+        }
+        var stamp = emailIndex.stamp();
+        var found = findByEmailInDatabase(email);
+        emailIndex.record(email, found.map(owner -> UUID.fromString(owner.id())).orElse(null), stamp);
+        return found;
+    }
+
+    private Optional<OwnerDTO> findByEmailInDatabase(String email) {
+        if (!shards.bindWhere(() -> jpaRepository.probeByEmail(email).isPresent())) {
+            return Optional.empty();
+        }
+        return jpaRepository.findViewByEmail(email)
+            .map(this::toDTO);
+    }
+
+    private OwnerDTO toDTO(OwnerView view) {
+        return view.toDTO(jpaRepository.findPetIdsByOwnerId(view.id()));
+    }
+}
@@ -1,22 +1,80 @@
 package org.arhan.petclinic.infrastructure.persistence.owner;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceException;
+import org.arhan.petclinic.domain.common.ConcurrencyConflictException;
+import org.arhan.petclinic.domain.common.DuplicateEntityException;
 import org.arhan.petclinic.domain.common.EntityNotFoundException;
+import org.arhan.petclinic.domain.common.Keyset;
+import org.arhan.petclinic.domain.common.KeysetPage;
 import org.arhan.petclinic.domain.owner.Owner;
 import org.arhan.petclinic.domain.owner.OwnerId;
 import org.arhan.petclinic.domain.owner.OwnerRepository;
+import org.arhan.petclinic.domain.owner.OwnerSort;
+import org.arhan.petclinic.domain.pet.PetId;
+import org.arhan.petclinic.infrastructure.persistence.changelog.Change;
+import org.arhan.petclinic.infrastructure.persistence.changelog.ChangeLog;
+import org.arhan.petclinic.infrastructure.persistence.common.Batches;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import org.arhan.petclinic.infrastructure.persistence.sharding.Shards;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * JPA implementation of OwnerRepository.
+ * When the database is sharded, each owner is stored on the shard its ID hashes to;
+ * lookups by email and listings are scattered to every shard. The email index of each shard
+ * only rejects duplicates stored on that shard.
+ * When owner snapshots are enabled, point reads decode the owner's snapshot and every write refreshes it.
+ * When the email index is enabled, every write evicts the email it saves the owner with.
+ * When the email filter is enabled, every write adds that email to it.
+ * When cross-node invalidation is enabled, every write appends the owner and its email to the change log.
+ * <p>
+ * Writes are flushed before they return, so an email another owner already has, which the
+ * registration check can miss when the other owner commits at the same moment or was just
+ * registered on another node, fails as a {@link DuplicateEntityException} rather than at commit.
  */
 @Repository
 public class OwnerRepositoryImpl implements OwnerRepository {
     
+    private static final String EMAIL_CONSTRAINT = "uk_owners_email";
+
     private final OwnerJpaRepository jpaRepository;
+    private final EntityManager entityManager;
+    private final Shards shards;
+    private final OwnerSnapshots snapshots;
+    private final OwnerEmailIndex emailIndex;
+    private final OwnerEmailFilter emailFilter;
+    private final ChangeLog changeLog;
 
-    public OwnerRepositoryImpl(OwnerJpaRepository jpaRepository) {
+    public OwnerRepositoryImpl(OwnerJpaRepository jpaRepository, EntityManager entityManager,
+                               ObjectProvider<Shards> shards, ObjectProvider<OwnerSnapshots> snapshots,
+                               ObjectProvider<OwnerEmailIndex> emailIndex, ObjectProvider<OwnerEmailFilter> emailFilter,
+                               ObjectProvider<ChangeLog> changeLog) {
         this.jpaRepository = jpaRepository;
+        this.entityManager = entityManager;
+        this.shards = shards.getIfAvailable(Shards::single);
+        this.snapshots = snapshots.getIfAvailable(OwnerSnapshots::disabled);
+        this.emailIndex = emailIndex.getIfAvailable(OwnerEmailIndex::disabled);
+        this.emailFilter = emailFilter.getIfAvailable(OwnerEmailFilter::disabled);
+        this.changeLog = changeLog.getIfAvailable(ChangeLog::disabled);
     }
 
     @Override
@@ -24,18 +82,169 @@ public class OwnerRepositoryImpl implements OwnerRepository {
         if (id == null) {
             throw new IllegalArgumentException("Owner ID cannot be null");
         }
-        return jpaRepository.findById(id.value())
-            .map(OwnerJpaEntity::toDomain)
+        var uuid = IdConverters.toUuid(id);
+        shards.bindTo(uuid);
+        var snapshot = snapshots.find(uuid);
+        if (snapshot.isPresent()) {
+            return snapshot.get();
+        }
+        return jpaRepository.findById(uuid)
+            .map(this::toDomain)
             .orElseThrow(() -> EntityNotFoundException.withId("Owner", id.value()));
     }
 
+    @Override
+    public boolean existsById(OwnerId id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Owner ID cannot be null");
+        }
+        shards.bindTo(IdConverters.toUuid(id));
+        return jpaRepository.probeById(IdConverters.toUuid(id)).isPresent();
+    }
+
     @Override
     public void save(Owner owner) {
         if (owner == null) {
             throw new IllegalArgumentException("Owner cannot be null");
         }
         var entity = OwnerJpaEntity.fromDomain(owner);
+        shards.bindTo(entity.getId());
+        emailIndex.written(entity.getEmail());
+        emailFilter.add(entity.getEmail());
         jpaRepository.save(entity);
+        storeSnapshot(owner);
+        changeLog.append(changesOf(owner));
+        try {
+            entityManager.flush();
+        } catch (PersistenceException e) {
+            throw duplicateEmailOr(e, "Owner with email " + owner.getContactInfo().email() + " already exists");
+        }
+    }
+
+    private static List<Change> changesOf(Owner owner) {
+        return List.of(Change.owner(IdConverters.toUuid(owner.getId())),
+            Change.ownerEmail(owner.getContactInfo().email()));
+    }
+
+    private void storeSnapshot(Owner owner) {
+        if (owner.isNew()) {
+            snapshots.created(owner);
+        } else {
+            snapshots.refresh(IdConverters.toUuid(owner.getId()));
+        }
+    }
+
+    @Override
+    public Owner update(Owner owner) {
+        if (owner == null) {
+            throw new IllegalArgumentException("Owner cannot be null");
+        }
+        if (owner.isNew()) {
+            throw new IllegalArgumentException("Owner has never been persisted");
+        }
+        var uuid = IdConverters.toUuid(owner.getId());
+        shards.bindTo(uuid);
+        // Usually served by the second-level cache; the flush then issues the only statement
+        var entity = jpaRepository.findById(uuid)
+            .orElseThrow(() -> EntityNotFoundException.withId("Owner", owner.getId().value()));
+        if (!entity.getVersion().equals(owner.getVersion())) {
+            throw ConcurrencyConflictException.withVersion("Owner", owner.getId().value(), owner.getVersion());
+        }
+        emailIndex.written(owner.getContactInfo().email());
+        emailFilter.add(owner.getContactInfo().email());
+        entity.updateFrom(owner);
+        try {
+            entityManager.flush();
+        } catch (OptimisticLockException e) {
+            throw ConcurrencyConflictException.withVersion("Owner", owner.getId().value(), owner.getVersion());
+        } catch (PersistenceException e) {
+            throw duplicateEmailOr(e, "Owner with email " + owner.getContactInfo().email() + " already exists");
+        }
+        var updated = toDomain(entity);
+        snapshots.refresh(updated);
+        changeLog.append(changesOf(updated));
+        return updated;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Every batch is flushed and its entities detached, which keeps memory flat without
+     * detaching anything else the caller's transaction has loaded.
+     * When the owners span several shards, each shard's share is written and committed on its own.
+     */
+    @Override
+    public void saveAll(List<Owner> owners) {
+        if (owners == null || owners.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Owners cannot be null");
+        }
+        var byShard = owners.stream()
+            .collect(Collectors.groupingBy(owner -> shards.shardOf(IdConverters.toUuid(owner.getId()))));
+        owners.forEach(owner -> {
+            emailIndex.written(owner.getContactInfo().email());
+            emailFilter.add(owner.getContactInfo().email());
+        });
+        shards.inParallel(byShard.keySet(), false, shard -> {
+            for (var batch : Batches.partition(byShard.get(shard), Batches.WRITE_SIZE)) {
+                var entities = jpaRepository.saveAll(batch.stream()
+                    .map(OwnerJpaEntity::fromDomain)
+                    .toList());
+                batch.forEach(this::storeSnapshot);
+                changeLog.append(batch.stream()
+                    .flatMap(owner -> changesOf(owner).stream())
+                    .toList());
+                try {
+                    entityManager.flush();
+                } catch (PersistenceException e) {
+                    throw duplicateEmailOr(e, "Owner with one of the batch's emails already exists");
+                }
+                entities.forEach(entity -> {
+                    entityManager.detach(entity);
+                    snapshots.detach(entity.getId());
+                });
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Turns a violation of the unique email index into a {@link DuplicateEntityException},
+     * and returns any other failure unchanged.
+     */
+    private static RuntimeException duplicateEmailOr(PersistenceException e, String message) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violates(violation, EMAIL_CONSTRAINT)) {
+                return new DuplicateEntityException(message, e);
+            }
+        }
+        return e;
+    }
+
+    private static boolean violates(ConstraintViolationException violation, String constraint) {
+        // Some drivers name the index backing the constraint, which starts with the constraint's name
+        var name = violation.getConstraintName() != null ? violation.getConstraintName() : violation.getSQLException().getMessage();
+        return name != null && name.toLowerCase(Locale.ROOT).contains(constraint);
+    }
+
+    @Override
+    public Set<OwnerId> findExistingIds(Collection<OwnerId> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("Owner IDs cannot be null");
+        }
+        var byShard = ids.stream()
+            .map(IdConverters::toUuid)
+            .distinct()
+            .collect(Collectors.groupingBy(shards::shardOf));
+        var existing = new HashSet<OwnerId>();
+        shards.inParallel(byShard.keySet(), true, shard -> {
+            var found = new HashSet<OwnerId>();
+            for (var chunk : Batches.partition(byShard.get(shard), Batches.IN_LIST_SIZE)) {
+                jpaRepository.findExistingIds(chunk).stream()
+                    .map(IdConverters::toOwnerId)
+                    .forEach(found::add);
+            }
+            return found;
+        }).forEach(existing::addAll);
+        return existing;
     }
 
     @Override
@@ -43,7 +252,179 @@ public class OwnerRepositoryImpl implements OwnerRepository {
         if (email == null || email.trim().isEmpty()) {
             throw new IllegalArgumentException("Email cannot be null or empty");
         }
-        return jpaRepository.findByEmail(email.trim().toLowerCase())
-            .map(OwnerJpaEntity::toDomain);
+        var normalized = email.trim().toLowerCase();
+        if (!shards.bindWhere(() -> jpaRepository.probeByEmail(normalized).isPresent())) {
+            return Optional.empty();
+        }
+        return jpaRepository.findByEmail(normalized)
+            .map(this::toDomain);
+    }
+
+    /**
+     * {@inheritDoc}
+     * When the email filter is enabled, an email it has never seen is answered without a query.
+     * Otherwise every shard is probed; unlike {@link #findByEmail}, the transaction is not bound
+     * to the shard that has the email.
+     */
+    @Override
+    public boolean existsByEmail(String email) {
+        if (email == null || email.trim().isEmpty()) {
+            throw new IllegalArgumentException("Email cannot be null or empty");
+        }
+        var normalized = email.trim().toLowerCase();
+        if (!emailFilter.mightContain(normalized)) {
+            return false;
+        }
+        var exists = shards.scatter(shard -> jpaRepository.probeByEmail(normalized).isPresent()).contains(true);
+        emailFilter.checked(exists);
+        return exists;
+    }
+
+    /**
+     * {@inheritDoc}
+     * When the email filter is enabled, emails it has never seen are answered without a query.
+     * The rest are looked up on every shard, one query per chunk of emails.
+     */
+    @Override
+    public Set<String> findTakenEmails(Collection<String> emails) {
+        if (emails == null || emails.stream().anyMatch(email -> email == null || email.trim().isEmpty())) {
+            throw new IllegalArgumentException("Emails cannot be null or empty");
+        }
+        var candidates = emails.stream()
+            .map(email -> email.trim().toLowerCase())
+            .distinct()
+            .filter(emailFilter::mightContain)
+            .toList();
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        var taken = new HashSet<String>();
+        shards.scatter(shard -> {
+            var found = new HashSet<String>();
+            for (var chunk : Batches.partition(candidates, Batches.IN_LIST_SIZE)) {
+                found.addAll(jpaRepository.findTakenEmails(chunk));
+            }
+            return found;
+        }).forEach(taken::addAll);
+        candidates.forEach(email -> emailFilter.checked(taken.contains(email)));
+        return taken;
+    }
+
+    /**
+     * {@inheritDoc}
+     * One row more than requested is read to learn whether another page follows,
+     * and the pets of the whole page are loaded with one query per batch of owners.
+     * When sharded, every shard reads a page past the same keyset and the pages are merged.
+     */
+    @Override
+    public KeysetPage<Owner> findPage(OwnerSort sort, Keyset after, int size) {
+        if (sort == null) {
+            throw new IllegalArgumentException("Sort cannot be null");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        var shardPages = shards.scatter(shard -> {
+            var rows = findRows(sort, after, PageRequest.ofSize(size + 1));
+            var hasMore = rows.size() > size;
+            var entities = hasMore ? rows.subList(0, size) : rows;
+            return new ShardPage(entities, findPetIds(entities), hasMore);
+        });
+
+        var petIds = new HashMap<UUID, List<PetId>>();
+        shardPages.forEach(shardPage -> petIds.putAll(shardPage.petIds()));
+        var merged = shardPages.stream()
+            .flatMap(shardPage -> shardPage.entities().stream())
+            .sorted(listingOrder(sort))
+            .toList();
+        var hasNext = merged.size() > size || shardPages.stream().anyMatch(ShardPage::hasMore);
+        var entities = merged.size() > size ? merged.subList(0, size) : merged;
+
+        var owners = entities.stream()
+            .map(entity -> entity.toDomain(petIds.getOrDefault(entity.getId(), List.of())))
+            .toList();
+        var next = hasNext ? keysetOf(sort, entities.get(entities.size() - 1)) : null;
+        return new KeysetPage<>(owners, next);
+    }
+
+    /**
+     * One shard's contribution to a page of the listing.
+     */
+    private record ShardPage(List<OwnerJpaEntity> entities, Map<UUID, List<PetId>> petIds, boolean hasMore) {
+    }
+
+    private static Comparator<OwnerJpaEntity> listingOrder(OwnerSort sort) {
+        Comparator<OwnerJpaEntity> byId = (a, b) -> IdConverters.compareBinary(a.getId(), b.getId());
+        return switch (sort) {
+            case ID -> byId;
+            case LAST_NAME -> Comparator.comparing(OwnerJpaEntity::getLastName).thenComparing(byId);
+            case CREATED_AT -> Comparator.comparing(OwnerJpaEntity::getCreatedAt).thenComparing(byId);
+        };
+    }
+
+    private List<OwnerJpaEntity> findRows(OwnerSort sort, Keyset after, PageRequest page) {
+        if (after == null) {
+            return switch (sort) {
+                case ID -> jpaRepository.findFirstPageById(page);
+                case LAST_NAME -> jpaRepository.findFirstPageByLastName(page);
+                case CREATED_AT -> jpaRepository.findFirstPageByCreatedAt(page);
+            };
+        }
+        var afterId = parseId(after.id());
+        return switch (sort) {
+            case ID -> jpaRepository.findPageByIdAfter(afterId, page);
+            case LAST_NAME -> jpaRepository.findPageByLastNameAfter(requireSortValue(after), afterId, page);
+            case CREATED_AT -> jpaRepository.findPageByCreatedAtAfter(parseCreatedAt(after), afterId, page);
+        };
+    }
+
+    private Map<UUID, List<PetId>> findPetIds(List<OwnerJpaEntity> entities) {
+        var ownerIds = entities.stream()
+            .map(OwnerJpaEntity::getId)
+            .toList();
+        var petIds = new HashMap<UUID, List<PetId>>();
+        for (var chunk : Batches.partition(ownerIds, Batches.IN_LIST_SIZE)) {
+            jpaRepository.findPetIdsByOwnerIds(chunk).stream()
+                .collect(Collectors.groupingBy(OwnerPetId::ownerId,
+                    Collectors.mapping(pair -> IdConverters.toPetId(pair.petId()), Collectors.toList())))
+                .forEach(petIds::put);
+        }
+        return petIds;
+    }
+
+    private static Keyset keysetOf(OwnerSort sort, OwnerJpaEntity last) {
+        var sortValue = switch (sort) {
+            case ID -> null;
+            case LAST_NAME -> last.getLastName();
+            case CREATED_AT -> last.getCreatedAt().toString();
+        };
+        return new Keyset(sortValue, last.getId().toString());
+    }
+
+    private static UUID parseId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid keyset ID: " + id, e);
+        }
+    }
+
+    private static String requireSortValue(Keyset after) {
+        if (after.sortValue() == null) {
+            throw new IllegalArgumentException("Keyset sort value cannot be null");
+        }
+        return after.sortValue();
+    }
+
+    private static LocalDateTime parseCreatedAt(Keyset after) {
+        try {
+            return LocalDateTime.parse(requireSortValue(after));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid keyset creation time: " + after.sortValue(), e);
+        }
+    }
+
+    private Owner toDomain(OwnerJpaEntity entity) {
+        return entity.toDomain(jpaRepository.findPetIdsByOwnerId(entity.getId()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package org.arhan.petclinic.infrastructure.persistence.owner;
+
+import org.arhan.petclinic.domain.owner.*;
+import org.arhan.petclinic.domain.pet.PetId;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+/**
+ * Encodes the Owner aggregate as a compact binary snapshot.
+ * <p>
+ * Layout: a format byte, the version, the eight name and contact fields as modified UTF-8,
+ * then the pet count followed by each pet ID as 16 bytes. The owner ID is the row key and
+ * is not repeated. Bump {@link #FORMAT} whenever the layout changes.
+ */
+final class OwnerSnapshotCodec {
+
+    /**
+     * The largest encoded snapshot the owner_snapshots table can hold.
+     */
+    static final int MAX_SIZE = 1_048_576;
+
+    private static final byte FORMAT = 1;
+
+    private OwnerSnapshotCodec() {
+        // Utility class
+    }
+
+    /**
+     * Encodes a persisted owner.
+     *
+     * @param owner the owner, with its current version and pets
+     * @return the encoded snapshot
+     * @throws IllegalArgumentException if the owner has never been persisted or its snapshot is too large
+     */
+    static byte[] encode(Owner owner) {
+        if (owner.isNew()) {
+            throw new IllegalArgumentException("Owner has never been persisted");
+        }
+        var contact = owner.getContactInfo();
+        var bytes = new ByteArrayOutputStream(128 + 16 * owner.getPets().size());
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT);
+            out.writeLong(owner.getVersion());
+            out.writeUTF(owner.getName().firstName());
+            out.writeUTF(owner.getName().lastName());
+            out.writeUTF(contact.email());
+            out.writeUTF(contact.phone());
+            out.writeUTF(contact.address().street());
+            out.writeUTF(contact.address().city());
+            out.writeUTF(contact.address().state());
+            out.writeUTF(contact.address().postalCode());
+            out.writeInt(owner.getPets().size());
+            for (var petId : owner.getPets()) {
+                var uuid = IdConverters.toUuid(petId);
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (bytes.size() > MAX_SIZE) {
+            throw new IllegalArgumentException("Owner snapshot exceeds " + MAX_SIZE + " bytes");
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a snapshot back into the Owner aggregate.
+     *
+     * @param ownerId the ID of the owner the snapshot belongs to
+     * @param payload the encoded snapshot
+     * @return the owner
+     * @throws IllegalArgumentException if the snapshot is truncated or in an unknown format
+     */
+    static Owner decode(UUID ownerId, byte[] payload) {
+        try (var in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            var format = in.readByte();
+            if (format != FORMAT) {
+                throw new IllegalArgumentException("Unknown owner snapshot format: " + format);
+            }
+            var version = in.readLong();
+            var name = new FullName(in.readUTF(), in.readUTF());
+            var email = in.readUTF();
+            var phone = in.readUTF();
+            var address = new Address(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF());
+            var owner = Owner.reconstitute(IdConverters.toOwnerId(ownerId), name,
+                new ContactInformation(email, phone, address), version);
+            var petCount = in.readInt();
+            for (int i = 0; i < petCount; i++) {
+                owner.addPet(IdConverters.toPetId(new UUID(in.readLong(), in.readLong())));
+            }
+            return owner;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Truncated owner snapshot", e);
+        }
+    }
+}
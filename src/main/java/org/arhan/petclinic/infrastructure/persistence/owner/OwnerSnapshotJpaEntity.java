@@ -0,0 +1,40 @@
+package org.arhan.petclinic.infrastructure.persistence.owner;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.util.UUID;
+
+/**
+ * JPA entity holding the encoded snapshot of one Owner aggregate.
+ * Kept in its own table so that loading an OwnerJpaEntity never drags the snapshot along.
+ */
+@Entity
+@Table(name = "owner_snapshots")
+public class OwnerSnapshotJpaEntity {
+
+    @Id
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "owner_id", length = 16)
+    private UUID ownerId;
+
+    @Column(nullable = false, length = OwnerSnapshotCodec.MAX_SIZE)
+    private byte[] payload;
+
+    protected OwnerSnapshotJpaEntity() {
+        // Required by JPA
+    }
+
+    public OwnerSnapshotJpaEntity(UUID ownerId, byte[] payload) {
+        this.ownerId = ownerId;
+        this.payload = payload;
+    }
+
+    public UUID getOwnerId() {
+        return ownerId;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+}
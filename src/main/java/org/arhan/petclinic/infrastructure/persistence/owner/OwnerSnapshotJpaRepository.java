@@ -0,0 +1,35 @@
+package org.arhan.petclinic.infrastructure.persistence.owner;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA repository for owner snapshots.
+ */
+public interface OwnerSnapshotJpaRepository extends JpaRepository<OwnerSnapshotJpaEntity, UUID> {
+
+    /**
+     * Selects the encoded snapshot of an owner without loading it into the persistence context.
+     *
+     * @param ownerId the ID of the owner
+     * @return an Optional containing the encoded snapshot, or empty if the owner has none
+     */
+    @Query("select s.payload from OwnerSnapshotJpaEntity s where s.ownerId = :ownerId")
+    Optional<byte[]> findPayloadByOwnerId(@Param("ownerId") UUID ownerId);
+
+    /**
+     * Replaces the encoded snapshot of an owner.
+     * Pending changes are flushed first, so the owner row the snapshot depends on exists.
+     *
+     * @param ownerId the ID of the owner
+     * @param payload the new encoded snapshot
+     * @return 1 if the snapshot was replaced, or 0 if the owner had none
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update OwnerSnapshotJpaEntity s set s.payload = :payload where s.ownerId = :ownerId")
+    int updatePayload(@Param("ownerId") UUID ownerId, @Param("payload") byte[] payload);
+}
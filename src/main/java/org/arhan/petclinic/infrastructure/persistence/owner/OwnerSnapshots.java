@@ -0,0 +1,161 @@
+package org.arhan.petclinic.infrastructure.persistence.owner;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.arhan.petclinic.domain.owner.Owner;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Optional snapshot storage for the Owner aggregate.
+ * <p>
+ * When enabled, every owner and pet write path refreshes the snapshot of each owner it
+ * affects, and point reads decode the snapshot from one row instead of rebuilding the owner
+ * from its own row and the pets table. Owners without a snapshot yet, such as those stored
+ * before snapshots were enabled, are still read the normalized way.
+ * When disabled, every method is a no-op and no snapshot is ever read.
+ */
+public class OwnerSnapshots {
+
+    private final OwnerSnapshotJpaRepository snapshotRepository;
+    private final OwnerJpaRepository ownerRepository;
+    private final EntityManager entityManager;
+
+    public OwnerSnapshots(OwnerSnapshotJpaRepository snapshotRepository, OwnerJpaRepository ownerRepository,
+                          EntityManager entityManager) {
+        if (snapshotRepository == null || ownerRepository == null || entityManager == null) {
+            throw new IllegalArgumentException("Repositories and entity manager cannot be null");
+        }
+        this.snapshotRepository = snapshotRepository;
+        this.ownerRepository = ownerRepository;
+        this.entityManager = entityManager;
+    }
+
+    private OwnerSnapshots() {
+        this.snapshotRepository = null;
+        this.ownerRepository = null;
+        this.entityManager = null;
+    }
+
+    /**
+     * Returns snapshot storage that is switched off.
+     *
+     * @return disabled snapshot storage
+     */
+    public static OwnerSnapshots disabled() {
+        return new OwnerSnapshots();
+    }
+
+    /**
+     * Returns whether snapshots are stored and read.
+     *
+     * @return true if snapshots are enabled
+     */
+    public boolean isEnabled() {
+        return snapshotRepository != null;
+    }
+
+    /**
+     * Reads an owner from its snapshot.
+     *
+     * @param ownerId the ID of the owner
+     * @return the owner, or empty if snapshots are disabled or the owner has no snapshot
+     */
+    public Optional<Owner> find(UUID ownerId) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        return snapshotRepository.findPayloadByOwnerId(ownerId)
+            .map(payload -> OwnerSnapshotCodec.decode(ownerId, payload));
+    }
+
+    /**
+     * Stores the first snapshot of an owner that is being inserted. A new owner has no pets yet.
+     *
+     * @param owner the new owner
+     */
+    public void created(Owner owner) {
+        if (!isEnabled()) {
+            return;
+        }
+        var stored = Owner.reconstitute(owner.getId(), owner.getName(), owner.getContactInfo(), Owner.INITIAL_VERSION);
+        entityManager.persist(new OwnerSnapshotJpaEntity(
+            IdConverters.toUuid(owner.getId()), OwnerSnapshotCodec.encode(stored)));
+    }
+
+    /**
+     * Detaches the snapshot of an owner from the persistence context once it has been flushed,
+     * so bulk writes do not accumulate snapshots. Never queries.
+     *
+     * @param ownerId the ID of the owner
+     */
+    public void detach(UUID ownerId) {
+        if (!isEnabled()) {
+            return;
+        }
+        // A managed snapshot is returned as is; otherwise only an uninitialized reference is created
+        entityManager.detach(entityManager.getReference(OwnerSnapshotJpaEntity.class, ownerId));
+    }
+
+    /**
+     * Replaces the snapshot of an owner with its given current state.
+     *
+     * @param owner the owner, with its current version and pets
+     */
+    public void refresh(Owner owner) {
+        if (!isEnabled()) {
+            return;
+        }
+        var ownerId = IdConverters.toUuid(owner.getId());
+        var payload = OwnerSnapshotCodec.encode(owner);
+        if (snapshotRepository.updatePayload(ownerId, payload) == 0) {
+            entityManager.persist(new OwnerSnapshotJpaEntity(ownerId, payload));
+        }
+    }
+
+    /**
+     * Rebuilds the snapshot of an owner from the normalized tables, after a write that
+     * changed the owner indirectly, such as one of its pets being added or moved.
+     * <p>
+     * The owner row is locked first, so concurrent writers rebuilding the same snapshot take
+     * turns and each one reads the pets committed by the writers before it. Without the lock,
+     * two transactions adding a pet each could both read only their own pet, and the one
+     * committing last would drop the other's pet from the snapshot.
+     *
+     * @param ownerId the ID of the owner
+     */
+    public void refresh(UUID ownerId) {
+        if (!isEnabled()) {
+            return;
+        }
+        // Settle pending writes first, so the version and pets read below are current
+        entityManager.flush();
+        var entity = entityManager.find(OwnerJpaEntity.class, ownerId, LockModeType.PESSIMISTIC_WRITE);
+        if (entity == null) {
+            return;
+        }
+        // Read past the query cache, which cannot see pets committed while waiting for the lock
+        var petIds = ownerRepository.findPetIdsByOwnerIds(List.of(ownerId)).stream()
+            .map(OwnerPetId::petId)
+            .toList();
+        refresh(entity.toDomain(petIds));
+    }
+
+    /**
+     * Rebuilds the snapshots of several owners, locking their rows in ID order so that two
+     * writers affecting the same owners, such as a pet moving between them, cannot deadlock.
+     *
+     * @param ownerIds the IDs of the owners
+     */
+    public void refreshAll(Collection<UUID> ownerIds) {
+        if (!isEnabled()) {
+            return;
+        }
+        ownerIds.stream()
+            .sorted()
+            .forEach(this::refresh);
+    }
+}
@@ -0,0 +1,43 @@
+package org.arhan.petclinic.infrastructure.persistence.owner;
+
+import org.arhan.petclinic.application.owner.AddressDTO;
+import org.arhan.petclinic.application.owner.OwnerDTO;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read-only projection of an owner row, selected directly by JPQL constructor expressions.
+ */
+public record OwnerView(
+    UUID id,
+    String firstName,
+    String lastName,
+    String email,
+    String phone,
+    String street,
+    String city,
+    String state,
+    String postalCode,
+    long version
+) {
+    /**
+     * Converts this projection to an application DTO.
+     *
+     * @param petIds the IDs of the owner's pets
+     * @return the DTO
+     */
+    public OwnerDTO toDTO(List<UUID> petIds) {
+        return new OwnerDTO(
+            id.toString(),
+            firstName,
+            lastName,
+            email,
+            phone,
+            new AddressDTO(street, city, state, postalCode),
+            petIds.stream()
+                .map(UUID::toString)
+                .toList(),
+            version
+        );
+    }
+}
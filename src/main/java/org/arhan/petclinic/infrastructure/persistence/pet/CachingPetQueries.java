@@ -0,0 +1,55 @@
+package org.arhan.petclinic.infrastructure.persistence.pet;
+
+import org.arhan.petclinic.application.pet.PetDTO;
+import org.arhan.petclinic.application.pet.PetQueries;
+import org.arhan.petclinic.domain.common.EntityNotFoundException;
+import org.arhan.petclinic.domain.owner.OwnerId;
+import org.arhan.petclinic.domain.pet.PetId;
+import org.arhan.petclinic.domain.pet.PetRepository;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import org.arhan.petclinic.infrastructure.persistence.warmup.HotKeys;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * PetQueries decorator that serves lookups by ID from the pet cache.
+ * Lookups by ID read through the caching pet repository, so a cached pet is returned without
+ * touching JPA and a missing one is loaded and cached for the next request. Since such lookups
+ * no longer reach the delegate, they are recorded as hot keys here. Version checks and lookups
+ * by owner go to the delegate.
+ */
+public class CachingPetQueries implements PetQueries {
+
+    private final PetQueries delegate;
+    private final PetRepository repository;
+    private final HotKeys hotKeys;
+
+    public CachingPetQueries(PetQueries delegate, PetRepository repository, HotKeys hotKeys) {
+        this.delegate = delegate;
+        this.repository = repository;
+        this.hotKeys = hotKeys;
+    }
+
+    @Override
+    public Optional<PetDTO> findById(PetId id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Pet ID cannot be null");
+        }
+        hotKeys.record(HotKeys.Kind.PET, IdConverters.toUuid(id));
+        try {
+            return Optional.of(PetDTO.fromDomain(repository.findById(id)));
+        } catch (EntityNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<Long> findVersion(PetId id) {
+        return delegate.findVersion(id);
+    }
+
+    @Override
+    public List<PetDTO> findByOwner(OwnerId ownerId) {
+        return delegate.findByOwner(ownerId);
+    }
+}
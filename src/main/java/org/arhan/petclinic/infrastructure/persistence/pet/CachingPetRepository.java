@@ -0,0 +1,126 @@
+package org.arhan.petclinic.infrastructure.persistence.pet;
+
+import org.arhan.petclinic.domain.common.Keyset;
+import org.arhan.petclinic.domain.common.KeysetPage;
+import org.arhan.petclinic.domain.owner.OwnerId;
+import org.arhan.petclinic.domain.pet.Pet;
+import org.arhan.petclinic.domain.pet.PetId;
+import org.arhan.petclinic.domain.pet.PetRepository;
+import org.arhan.petclinic.domain.pet.PetSort;
+import org.arhan.petclinic.infrastructure.persistence.cache.AggregateCache;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import org.arhan.petclinic.infrastructure.persistence.sharding.Shards;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read-through caching decorator of a PetRepository.
+ * Point reads of cached pets are served from memory without touching JPA. Every write evicts
+ * the pet and, since an owner's pets are derived from the pets table, its old and new owner
+ * from the owner cache. The owner a pet belongs to until the write is taken from the cached pet,
+ * or else read on its own, without loading or caching the pet.
+ */
+public class CachingPetRepository implements PetRepository {
+
+    private final PetRepository delegate;
+    private final AggregateCache cache;
+    private final AggregateCache ownerCache;
+    private final PetJpaRepository jpaRepository;
+    private final Shards shards;
+
+    public CachingPetRepository(PetRepository delegate, AggregateCache cache, AggregateCache ownerCache,
+                                PetJpaRepository jpaRepository, Shards shards) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.ownerCache = ownerCache;
+        this.jpaRepository = jpaRepository;
+        this.shards = shards;
+    }
+
+    @Override
+    public PetId nextId(OwnerId ownerId) {
+        return delegate.nextId(ownerId);
+    }
+
+    @Override
+    public Pet findById(PetId id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Pet ID cannot be null");
+        }
+        var uuid = IdConverters.toUuid(id);
+        return PetSnapshotCodec.decode(uuid, cache.get(uuid, key -> PetSnapshotCodec.encode(delegate.findById(id))));
+    }
+
+    @Override
+    public boolean existsById(PetId id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Pet ID cannot be null");
+        }
+        return cache.getIfPresent(IdConverters.toUuid(id)) != null || delegate.existsById(id);
+    }
+
+    @Override
+    public void save(Pet pet) {
+        if (pet == null) {
+            throw new IllegalArgumentException("Pet cannot be null");
+        }
+        invalidate(pet);
+        delegate.save(pet);
+    }
+
+    @Override
+    public Pet update(Pet pet) {
+        if (pet == null) {
+            throw new IllegalArgumentException("Pet cannot be null");
+        }
+        invalidate(pet);
+        return delegate.update(pet);
+    }
+
+    @Override
+    public void saveAll(List<Pet> pets) {
+        if (pets == null || pets.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Pets cannot be null");
+        }
+        pets.forEach(this::invalidate);
+        delegate.saveAll(pets);
+    }
+
+    @Override
+    public List<Pet> findByOwner(OwnerId ownerId) {
+        return delegate.findByOwner(ownerId);
+    }
+
+    @Override
+    public KeysetPage<Pet> findPage(PetSort sort, Keyset after, int size) {
+        return delegate.findPage(sort, after, size);
+    }
+
+    /**
+     * Evicts a pet about to be written together with its new owner and, for a pet that
+     * already exists, the owner it belongs to until the write.
+     */
+    private void invalidate(Pet pet) {
+        var uuid = IdConverters.toUuid(pet.getId());
+        var owner = IdConverters.toUuid(pet.getOwnerId());
+        ownerCache.invalidate(owner);
+        if (!pet.isNew()) {
+            currentOwnerOf(uuid)
+                .filter(previousOwner -> !previousOwner.equals(owner))
+                .ifPresent(ownerCache::invalidate);
+        }
+        cache.invalidate(uuid);
+    }
+
+    private Optional<UUID> currentOwnerOf(UUID petId) {
+        var cached = cache.getIfPresent(petId);
+        if (cached != null) {
+            return Optional.of(IdConverters.toUuid(PetSnapshotCodec.decode(petId, cached).getOwnerId()));
+        }
+        // Read in a transaction of its own on the pet's shard, leaving the caller's unbound for the write
+        return shards.inParallel(List.of(shards.shardOf(petId)), true, shard -> jpaRepository.findOwnerIdById(petId))
+            .get(0);
+    }
+}
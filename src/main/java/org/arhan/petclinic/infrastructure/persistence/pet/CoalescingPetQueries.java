@@ -0,0 +1,93 @@
+package org.arhan.petclinic.infrastructure.persistence.pet;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.arhan.petclinic.application.pet.PetDTO;
+import org.arhan.petclinic.application.pet.PetQueries;
+import org.arhan.petclinic.domain.owner.OwnerId;
+import org.arhan.petclinic.domain.pet.PetId;
+import org.arhan.petclinic.infrastructure.persistence.cache.SingleFlight;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * PetQueries decorator that lets concurrent identical reads share one query.
+ * <p>
+ * Reads from a read-write transaction go straight to the delegate: that transaction may have
+ * written the pet itself and must see its own uncommitted changes, which a query run by another
+ * caller would miss. Once a pet write commits, later reads start new queries instead of joining
+ * ones that began before the commit, so a client never reads back less than it has just written.
+ * The DTOs and lists returned by the delegate are immutable, so sharing them between callers is safe.
+ */
+public class CoalescingPetQueries implements PetQueries, MeterBinder {
+
+    private final PetQueries delegate;
+    private final SingleFlight<PetId, Optional<PetDTO>> byId = new SingleFlight<>("pet-by-id");
+    private final SingleFlight<PetId, Optional<Long>> versions = new SingleFlight<>("pet-version");
+    private final SingleFlight<OwnerId, List<PetDTO>> byOwner = new SingleFlight<>("pets-by-owner");
+
+    public CoalescingPetQueries(PetQueries delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Optional<PetDTO> findById(PetId id) {
+        if (id == null || !shareable()) {
+            return delegate.findById(id);
+        }
+        return byId.load(id, () -> delegate.findById(id));
+    }
+
+    @Override
+    public Optional<Long> findVersion(PetId id) {
+        if (id == null || !shareable()) {
+            return delegate.findVersion(id);
+        }
+        return versions.load(id, () -> delegate.findVersion(id));
+    }
+
+    @Override
+    public List<PetDTO> findByOwner(OwnerId ownerId) {
+        if (ownerId == null || !shareable()) {
+            return delegate.findByOwner(ownerId);
+        }
+        return byOwner.load(ownerId, () -> delegate.findByOwner(ownerId));
+    }
+
+    /**
+     * Records a pet write. Reads arriving once the current transaction has committed, or at once
+     * outside a transaction, do not join queries that started before.
+     */
+    public void written() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        byId.bindTo(registry);
+        versions.bindTo(registry);
+        byOwner.bindTo(registry);
+    }
+
+    private void invalidate() {
+        byId.invalidate();
+        versions.invalidate();
+        byOwner.invalidate();
+    }
+
+    private static boolean shareable() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+            || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+}
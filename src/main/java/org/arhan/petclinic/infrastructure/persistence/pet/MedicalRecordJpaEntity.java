@@ -0,0 +1,103 @@
+package org.arhan.petclinic.infrastructure.persistence.pet;
+
+import jakarta.persistence.*;
+import org.arhan.petclinic.domain.pet.MedicalRecord;
+import org.arhan.petclinic.domain.pet.PetId;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * JPA entity for persisting MedicalRecord entities of a pet.
+ * Records are kept out of PetJpaEntity so that loading a pet never loads its history.
+ * Treatments are fetched lazily, in batches, for all records on a page at once.
+ */
+@Entity
+@Table(name = "medical_records")
+public class MedicalRecordJpaEntity {
+
+    @Id
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(length = 16)
+    private UUID id;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "pet_id", nullable = false, length = 16)
+    private UUID petId;
+
+    @Column(name = "record_date", nullable = false)
+    private LocalDateTime date;
+
+    @Column(nullable = false, length = 2000)
+    private String description;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "veterinarian_id", nullable = false, length = 16)
+    private UUID veterinarianId;
+
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "treatments", joinColumns = @JoinColumn(name = "medical_record_id"))
+    @OrderColumn(name = "position")
+    @BatchSize(size = 50)
+    private List<TreatmentEmbeddable> treatments = new ArrayList<>();
+
+    protected MedicalRecordJpaEntity() {
+        // Required by JPA
+    }
+
+    public static MedicalRecordJpaEntity fromDomain(PetId petId, MedicalRecord record) {
+        var entity = new MedicalRecordJpaEntity();
+        entity.id = IdConverters.toUuid(record.getId());
+        entity.petId = IdConverters.toUuid(petId);
+        entity.date = record.getDate();
+        entity.description = record.getDescription();
+        entity.veterinarianId = IdConverters.toUuid(record.getVeterinarianId());
+        entity.treatments = record.getTreatments().stream()
+            .map(TreatmentEmbeddable::fromDomain)
+            .collect(Collectors.toCollection(ArrayList::new));
+        return entity;
+    }
+
+    public MedicalRecord toDomain() {
+        var record = MedicalRecord.create(
+            IdConverters.toMedicalRecordId(id),
+            date,
+            description,
+            IdConverters.toVeterinarianId(veterinarianId)
+        );
+        treatments.stream()
+            .map(TreatmentEmbeddable::toDomain)
+            .forEach(record::addTreatment);
+        return record;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getPetId() {
+        return petId;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public UUID getVeterinarianId() {
+        return veterinarianId;
+    }
+
+    public List<TreatmentEmbeddable> getTreatments() {
+        return treatments;
+    }
+}
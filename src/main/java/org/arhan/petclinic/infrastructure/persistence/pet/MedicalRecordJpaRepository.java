@@ -0,0 +1,66 @@
+package org.arhan.petclinic.infrastructure.persistence.pet;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA repository for MedicalRecord entities.
+ */
+public interface MedicalRecordJpaRepository extends JpaRepository<MedicalRecordJpaEntity, UUID> {
+
+    /**
+     * Finds one page of a pet's medical records, newest first.
+     * Returning a List rather than a Page avoids an extra count query.
+     *
+     * @param petId the ID of the pet
+     * @param pageable the page to fetch
+     * @return the records on the page
+     */
+    List<MedicalRecordJpaEntity> findByPetIdOrderByDateDescIdDesc(UUID petId, Pageable pageable);
+
+    /**
+     * Probes for a pet by ID with a {@code SELECT 1} that the primary key index answers alone.
+     *
+     * @param petId the ID of the pet
+     * @return an Optional containing 1 if the pet exists, or empty if not
+     */
+    @Query("select 1 from PetJpaEntity p where p.id = :petId")
+    Optional<Integer> probePetById(@Param("petId") UUID petId);
+
+    /**
+     * Finds pets that have medical records dated before a cutoff.
+     *
+     * @param cutoff the date before which records are old
+     * @param pageable the maximum number of pets to return
+     * @return the IDs of the pets
+     */
+    @Query("select distinct r.petId from MedicalRecordJpaEntity r where r.date < :cutoff")
+    List<UUID> findPetIdsWithRecordsBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Finds a pet's medical records dated before a cutoff, treatments included.
+     *
+     * @param petId the ID of the pet
+     * @param cutoff the date before which records are old
+     * @return the records, newest first
+     */
+    List<MedicalRecordJpaEntity> findByPetIdAndDateBeforeOrderByDateDescIdDesc(UUID petId, LocalDateTime cutoff);
+
+    /**
+     * Deletes medical records in one statement; their treatments go with them by cascade.
+     *
+     * @param ids the IDs of the records
+     * @return the number of records deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from MedicalRecordJpaEntity r where r.id in :ids")
+    int deleteByIds(@Param("ids") Collection<UUID> ids);
+}
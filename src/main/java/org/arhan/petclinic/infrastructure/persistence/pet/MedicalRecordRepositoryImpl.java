@@ -0,0 +1,104 @@
+package org.arhan.petclinic.infrastructure.persistence.pet;
+
+import jakarta.persistence.EntityManager;
+import org.arhan.petclinic.domain.common.EntityNotFoundException;
+import org.arhan.petclinic.domain.pet.MedicalRecord;
+import org.arhan.petclinic.domain.pet.MedicalRecordId;
+import org.arhan.petclinic.domain.pet.MedicalRecordRepository;
+import org.arhan.petclinic.domain.pet.PetId;
+import org.arhan.petclinic.infrastructure.persistence.archive.MedicalRecordArchive;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import org.arhan.petclinic.infrastructure.persistence.sharding.Shards;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * JPA implementation of MedicalRecordRepository.
+ * When the database is sharded, records are stored on their pet's shard, which the pet's ID hashes to.
+ * When archival is enabled, a pet's history reads through to the records archived from it.
+ */
+@Repository
+public class MedicalRecordRepositoryImpl implements MedicalRecordRepository {
+
+    private final MedicalRecordJpaRepository jpaRepository;
+    private final EntityManager entityManager;
+    private final Shards shards;
+    private final MedicalRecordArchive archive;
+
+    public MedicalRecordRepositoryImpl(MedicalRecordJpaRepository jpaRepository, EntityManager entityManager,
+                                       ObjectProvider<Shards> shards, ObjectProvider<MedicalRecordArchive> archive) {
+        this.jpaRepository = jpaRepository;
+        this.entityManager = entityManager;
+        this.shards = shards.getIfAvailable(Shards::single);
+        this.archive = archive.getIfAvailable(MedicalRecordArchive::disabled);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Medical records are append-only, so they are always inserted without a preceding merge SELECT.
+     * When sharded, a pet missing from its shard is reported with an EntityNotFoundException.
+     */
+    @Override
+    public void save(PetId petId, MedicalRecord record) {
+        if (petId == null) {
+            throw new IllegalArgumentException("Pet ID cannot be null");
+        }
+        if (record == null) {
+            throw new IllegalArgumentException("Medical record cannot be null");
+        }
+        var uuid = IdConverters.toUuid(petId);
+        shards.bindTo(uuid);
+        if (shards.count() > 1 && jpaRepository.probePetById(uuid).isEmpty()) {
+            throw EntityNotFoundException.withId("Pet", petId.value());
+        }
+        entityManager.persist(MedicalRecordJpaEntity.fromDomain(petId, record));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Pets with archived records have the hot rows up to the end of the page merged with the archive.
+     */
+    @Override
+    public List<MedicalRecord> findByPet(PetId petId, int page, int size) {
+        if (petId == null) {
+            throw new IllegalArgumentException("Pet ID cannot be null");
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("Page cannot be negative");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        var uuid = IdConverters.toUuid(petId);
+        shards.bindTo(uuid);
+        if (archive.contains(uuid)) {
+            return findMergedWithArchive(uuid, page, size);
+        }
+        return jpaRepository.findByPetIdOrderByDateDescIdDesc(uuid, PageRequest.of(page, size))
+            .stream()
+            .map(MedicalRecordJpaEntity::toDomain)
+            .toList();
+    }
+
+    private List<MedicalRecord> findMergedWithArchive(UUID petId, int page, int size) {
+        long end = (long) page * size + size;
+        var hot = jpaRepository.findByPetIdOrderByDateDescIdDesc(petId,
+                PageRequest.ofSize((int) Math.min(end, Integer.MAX_VALUE)))
+            .stream()
+            .map(MedicalRecordJpaEntity::toDomain);
+        // The hot copy wins when a failed archiving run left a record in both tiers
+        var records = new LinkedHashMap<MedicalRecordId, MedicalRecord>();
+        Stream.concat(hot, archive.read(petId).stream())
+            .forEach(record -> records.putIfAbsent(record.getId(), record));
+        return records.values().stream()
+            .sorted(MedicalRecordArchive.NEWEST_FIRST)
+            .skip((long) page * size)
+            .limit(size)
+            .toList();
+    }
+}
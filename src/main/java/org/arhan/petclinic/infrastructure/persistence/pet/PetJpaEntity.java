@@ -1,65 +1,120 @@
 package org.arhan.petclinic.infrastructure.persistence.pet;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
-import org.arhan.petclinic.domain.owner.OwnerId;
+import jakarta.persistence.Version;
 import org.arhan.petclinic.domain.pet.*;
+import org.arhan.petclinic.infrastructure.persistence.common.CacheRegions;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * JPA entity for persisting Pet aggregate root.
+ * A null version marks an entity that has never been persisted, which lets Spring Data
+ * insert it directly instead of merging it with a preceding SELECT.
+ * Pets are kept in the second-level cache, which every save and update path keeps current.
+ * The species is stored as an ID from the {@link SpeciesDictionary} of the pet's shard.
  */
 @Entity
 @Table(name = "pets")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PETS)
 public class PetJpaEntity {
     
     @Id
-    private String id;
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(length = 16)
+    private UUID id;
     
     @Column(nullable = false)
     private String name;
     
-    @Column(nullable = false)
-    private String species;
+    @Column(name = "species_id", nullable = false)
+    private int speciesId;
     
     @Column(name = "birth_date", nullable = false)
     private LocalDate birthDate;
     
-    @Column(name = "owner_id", nullable = false)
-    private String ownerId;
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "owner_id", nullable = false, length = 16)
+    private UUID ownerId;
+    
+    @Version
+    private Long version;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
 
     protected PetJpaEntity() {
         // Required by JPA
     }
 
-    public static PetJpaEntity fromDomain(Pet pet) {
+    /**
+     * Creates an entity from a pet.
+     *
+     * @param pet the pet
+     * @param speciesId the ID the species dictionary gives the pet's species
+     * @return the entity
+     */
+    public static PetJpaEntity fromDomain(Pet pet, int speciesId) {
         var entity = new PetJpaEntity();
-        entity.id = pet.getId().value();
+        entity.id = IdConverters.toUuid(pet.getId());
         entity.name = pet.getName().value();
-        entity.species = pet.getSpecies().name();
+        entity.speciesId = speciesId;
         entity.birthDate = pet.getBirthDate();
-        entity.ownerId = pet.getOwnerId().value();
+        entity.ownerId = IdConverters.toUuid(pet.getOwnerId());
+        entity.version = pet.getVersion();
         return entity;
     }
 
-    public Pet toDomain() {
-        return Pet.create(
-            PetId.fromString(id),
+    /**
+     * Copies a pet's attributes onto this managed entity. The ID and version are left to the
+     * persistence context, which checks and increments the version when the change is flushed.
+     *
+     * @param pet the pet, with its new attribute values
+     * @param speciesId the ID the species dictionary gives the pet's species
+     */
+    public void updateFrom(Pet pet, int speciesId) {
+        name = pet.getName().value();
+        this.speciesId = speciesId;
+        birthDate = pet.getBirthDate();
+        ownerId = IdConverters.toUuid(pet.getOwnerId());
+    }
+
+    /**
+     * Converts this entity to a pet.
+     *
+     * @param species the species the entity's species ID stands for
+     * @return the pet
+     */
+    public Pet toDomain(Species species) {
+        return Pet.reconstitute(
+            IdConverters.toPetId(id),
             new PetName(name),
-            new Species(species),
+            species,
             birthDate,
-            OwnerId.fromString(ownerId)
+            IdConverters.toOwnerId(ownerId),
+            version
         );
     }
 
     // Getters and setters required by JPA
-    public String getId() {
+    public UUID getId() {
         return id;
     }
 
-    public void setId(String id) {
+    public void setId(UUID id) {
         this.id = id;
     }
 
@@ -71,12 +126,12 @@ public class PetJpaEntity {
         this.name = name;
     }
 
-    public String getSpecies() {
-        return species;
+    public int getSpeciesId() {
+        return speciesId;
     }
 
-    public void setSpecies(String species) {
-        this.species = species;
+    public void setSpeciesId(int speciesId) {
+        this.speciesId = speciesId;
     }
 
     public LocalDate getBirthDate() {
@@ -87,11 +142,23 @@ public class PetJpaEntity {
         this.birthDate = birthDate;
     }
 
-    public String getOwnerId() {
+    public UUID getOwnerId() {
         return ownerId;
     }
 
-    public void setOwnerId(String ownerId) {
+    public void setOwnerId(UUID ownerId) {
         this.ownerId = ownerId;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
 }
\ No newline at end of file
@@ -1,12 +1,24 @@
 package org.arhan.petclinic.infrastructure.persistence.pet;
 
+import jakarta.persistence.QueryHint;
+import org.arhan.petclinic.infrastructure.persistence.common.CacheRegions;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Spring Data JPA repository for Pet entities.
+ * Read queries are cached in the Hibernate query cache; any write to the tables they read
+ * invalidates their cached results.
  */
-public interface PetJpaRepository extends JpaRepository<PetJpaEntity, String> {
+public interface PetJpaRepository extends JpaRepository<PetJpaEntity, UUID> {
     
     /**
      * Finds all pets owned by the given owner.
@@ -14,5 +26,126 @@ public interface PetJpaRepository extends JpaRepository<PetJpaEntity, String> {
      * @param ownerId the ID of the owner
      * @return list of pets owned by the owner
      */
-    List<PetJpaEntity> findByOwnerId(String ownerId);
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.PETS_BY_OWNER)
+    })
+    List<PetJpaEntity> findByOwnerId(UUID ownerId);
+
+    /**
+     * Finds the first page of pets ordered by ID.
+     *
+     * @param pageable the page size; the offset is always 0
+     * @return the pets on the page
+     */
+    @Query("select p from PetJpaEntity p order by p.id")
+    List<PetJpaEntity> findFirstPageById(Pageable pageable);
+
+    /**
+     * Finds the page of pets ordered by ID that follows the given ID.
+     *
+     * @param afterId the ID of the last pet on the previous page
+     * @param pageable the page size; the offset is always 0
+     * @return the pets on the page
+     */
+    @Query("select p from PetJpaEntity p where p.id > :afterId order by p.id")
+    List<PetJpaEntity> findPageByIdAfter(@Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Finds the first page of pets ordered by creation time, then ID.
+     *
+     * @param pageable the page size; the offset is always 0
+     * @return the pets on the page
+     */
+    @Query("select p from PetJpaEntity p order by p.createdAt, p.id")
+    List<PetJpaEntity> findFirstPageByCreatedAt(Pageable pageable);
+
+    /**
+     * Finds the page of pets ordered by creation time, then ID, that follows the given pet.
+     *
+     * @param createdAt the creation time of the last pet on the previous page
+     * @param afterId the ID of the last pet on the previous page
+     * @param pageable the page size; the offset is always 0
+     * @return the pets on the page
+     */
+    @Query("""
+        select p from PetJpaEntity p
+        where p.createdAt > :createdAt or (p.createdAt = :createdAt and p.id > :afterId)
+        order by p.createdAt, p.id
+        """)
+    List<PetJpaEntity> findPageByCreatedAtAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                @Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Probes for a pet by ID with a {@code SELECT 1} that the primary key index answers alone.
+     *
+     * @param id the ID of the pet
+     * @return an Optional containing 1 if the pet exists, or empty if not
+     */
+    @Query("select 1 from PetJpaEntity p where p.id = :id")
+    Optional<Integer> probeById(@Param("id") UUID id);
+
+    /**
+     * Reads only the version column of a pet, which is all a conditional request needs.
+     *
+     * @param id the ID of the pet
+     * @return an Optional containing the pet's version if it exists, or empty if not
+     */
+    @Query("select p.version from PetJpaEntity p where p.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    /**
+     * Finds the current owner of a pet.
+     *
+     * @param id the ID of the pet
+     * @return an Optional containing the owner's ID, or empty if the pet does not exist
+     */
+    @Query("select p.ownerId from PetJpaEntity p where p.id = :id")
+    Optional<UUID> findOwnerIdById(@Param("id") UUID id);
+
+    /**
+     * Probes for an owner by ID with a {@code SELECT 1} that the primary key index answers alone.
+     *
+     * @param ownerId the ID of the owner
+     * @return an Optional containing 1 if the owner exists, or empty if not
+     */
+    @Query("select 1 from OwnerJpaEntity o where o.id = :ownerId")
+    Optional<Integer> probeOwnerById(@Param("ownerId") UUID ownerId);
+
+    /**
+     * Selects a pet straight into a read-only projection.
+     *
+     * @param id the ID of the pet
+     * @return an Optional containing the projection if found, or empty if not found
+     */
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.PET_VIEWS)
+    })
+    @Query("""
+        select new org.arhan.petclinic.infrastructure.persistence.pet.PetView(
+            p.id, p.name, p.speciesId, p.birthDate, p.ownerId, p.version)
+        from PetJpaEntity p
+        where p.id = :id
+        """)
+    Optional<PetView> findViewById(@Param("id") UUID id);
+
+    /**
+     * Selects all pets of the given owner straight into read-only projections.
+     *
+     * @param ownerId the ID of the owner
+     * @return the projections, ordered by ID
+     */
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.PET_VIEWS)
+    })
+    @Query("""
+        select new org.arhan.petclinic.infrastructure.persistence.pet.PetView(
+            p.id, p.name, p.speciesId, p.birthDate, p.ownerId, p.version)
+        from PetJpaEntity p
+        where p.ownerId = :ownerId
+        order by p.id
+        """)
+    List<PetView> findViewsByOwnerId(@Param("ownerId") UUID ownerId);
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package org.arhan.petclinic.infrastructure.persistence.pet;
+
+import org.arhan.petclinic.application.pet.PetDTO;
+import org.arhan.petclinic.application.pet.PetQueries;
+import org.arhan.petclinic.domain.owner.OwnerId;
+import org.arhan.petclinic.domain.pet.PetId;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import org.arhan.petclinic.infrastructure.persistence.sharding.Shards;
+import org.arhan.petclinic.infrastructure.persistence.warmup.HotKeys;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Fallback;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JPA implementation of PetQueries backed by constructor-expression projections.
+ * When the database is sharded, a pet looked up by its ID alone is read from the shard its ID hashes to.
+ * When cache warm-up is enabled, lookups by ID are recorded as hot keys.
+ * It is a fallback bean, so the decorators in front of it are used wherever PetQueries is injected.
+ */
+@Repository
+@Fallback
+public class PetQueriesImpl implements PetQueries {
+
+    private final PetJpaRepository jpaRepository;
+    private final Shards shards;
+    private final HotKeys hotKeys;
+    private final SpeciesDictionary speciesDictionary;
+
+    public PetQueriesImpl(PetJpaRepository jpaRepository, SpeciesDictionary speciesDictionary,
+                          ObjectProvider<Shards> shards, ObjectProvider<HotKeys> hotKeys) {
+        this.jpaRepository = jpaRepository;
+        this.speciesDictionary = speciesDictionary;
+        this.shards = shards.getIfAvailable(Shards::single);
+        this.hotKeys = hotKeys.getIfAvailable(HotKeys::disabled);
+    }
+
+    @Override
+    public Optional<PetDTO> findById(PetId id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Pet ID cannot be null");
+        }
+        var uuid = IdConverters.toUuid(id);
+        hotKeys.record(HotKeys.Kind.PET, uuid);
+        shards.bindTo(uuid);
+        return jpaRepository.findViewById(uuid)
+            .map(this::toDTO);
+    }
+
+    @Override
+    public Optional<Long> findVersion(PetId id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Pet ID cannot be null");
+        }
+        var uuid = IdConverters.toUuid(id);
+        shards.bindTo(uuid);
+        return jpaRepository.findVersionById(uuid);
+    }
+
+    @Override
+    public List<PetDTO> findByOwner(OwnerId ownerId) {
+        if (ownerId == null) {
+            throw new IllegalArgumentException("Owner ID cannot be null");
+        }
+        shards.bindTo(IdConverters.toUuid(ownerId));
+        return jpaRepository.findViewsByOwnerId(IdConverters.toUuid(ownerId))
+            .stream()
+            .map(this::toDTO)
+            .toList();
+    }
+
+    private PetDTO toDTO(PetView view) {
+        return view.toDTO(speciesDictionary.speciesOf(shards.shardOf(view.ownerId()), view.speciesId()));
+    }
+}
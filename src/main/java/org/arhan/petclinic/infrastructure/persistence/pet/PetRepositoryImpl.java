@@ -1,23 +1,76 @@
 package org.arhan.petclinic.infrastructure.persistence.pet;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import org.arhan.petclinic.domain.common.ConcurrencyConflictException;
 import org.arhan.petclinic.domain.common.EntityNotFoundException;
+import org.arhan.petclinic.domain.common.IdGenerators;
+import org.arhan.petclinic.domain.common.Keyset;
+import org.arhan.petclinic.domain.common.KeysetPage;
 import org.arhan.petclinic.domain.owner.OwnerId;
 import org.arhan.petclinic.domain.pet.Pet;
 import org.arhan.petclinic.domain.pet.PetId;
 import org.arhan.petclinic.domain.pet.PetRepository;
+import org.arhan.petclinic.domain.pet.PetSort;
+import org.arhan.petclinic.infrastructure.persistence.changelog.Change;
+import org.arhan.petclinic.infrastructure.persistence.changelog.ChangeLog;
+import org.arhan.petclinic.infrastructure.persistence.common.Batches;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerSnapshots;
+import org.arhan.petclinic.infrastructure.persistence.sharding.Shards;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * JPA implementation of PetRepository.
+ * When the database is sharded, each pet is stored on its owner's shard, and new pets are given
+ * IDs that hash to that shard, so a pet looked up by its ID alone is read from one shard.
+ * A pet cannot be moved to an owner on another shard.
+ * When owner snapshots are enabled, every write refreshes the snapshots of the owners it affects.
+ * When cross-node invalidation is enabled, every write appends the pet and those owners to the change log.
+ * When read coalescing is enabled, every write keeps later reads from joining queries that started before it.
  */
 @Repository
 public class PetRepositoryImpl implements PetRepository {
     
     private final PetJpaRepository jpaRepository;
+    private final EntityManager entityManager;
+    private final Shards shards;
+    private final OwnerSnapshots snapshots;
+    private final ChangeLog changeLog;
+    private final SpeciesDictionary speciesDictionary;
+    private final ObjectProvider<CoalescingPetQueries> readCoalescing;
 
-    public PetRepositoryImpl(PetJpaRepository jpaRepository) {
+    public PetRepositoryImpl(PetJpaRepository jpaRepository, EntityManager entityManager,
+                             SpeciesDictionary speciesDictionary, ObjectProvider<Shards> shards,
+                             ObjectProvider<OwnerSnapshots> snapshots, ObjectProvider<ChangeLog> changeLog,
+                             ObjectProvider<CoalescingPetQueries> readCoalescing) {
         this.jpaRepository = jpaRepository;
+        this.entityManager = entityManager;
+        this.speciesDictionary = speciesDictionary;
+        this.shards = shards.getIfAvailable(Shards::single);
+        this.snapshots = snapshots.getIfAvailable(OwnerSnapshots::disabled);
+        this.changeLog = changeLog.getIfAvailable(ChangeLog::disabled);
+        this.readCoalescing = readCoalescing;
+    }
+
+    @Override
+    public PetId nextId(OwnerId ownerId) {
+        if (ownerId == null) {
+            throw new IllegalArgumentException("Owner ID cannot be null");
+        }
+        return new PetId(shards.newIdOnShardOf(IdConverters.toUuid(ownerId), IdGenerators::next).toString());
     }
 
     @Override
@@ -25,18 +78,146 @@ public class PetRepositoryImpl implements PetRepository {
         if (id == null) {
             throw new IllegalArgumentException("Pet ID cannot be null");
         }
-        return jpaRepository.findById(id.value())
-            .map(PetJpaEntity::toDomain)
+        var uuid = IdConverters.toUuid(id);
+        shards.bindTo(uuid);
+        return jpaRepository.findById(uuid)
+            .map(this::toDomain)
             .orElseThrow(() -> EntityNotFoundException.withId("Pet", id.value()));
     }
 
+    @Override
+    public boolean existsById(PetId id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Pet ID cannot be null");
+        }
+        var uuid = IdConverters.toUuid(id);
+        shards.bindTo(uuid);
+        return jpaRepository.probeById(uuid).isPresent();
+    }
+
     @Override
     public void save(Pet pet) {
         if (pet == null) {
             throw new IllegalArgumentException("Pet cannot be null");
         }
-        var entity = PetJpaEntity.fromDomain(pet);
+        requireOnOwnersShard(pet);
+        var entity = toEntity(pet);
+        shards.bindTo(entity.getOwnerId());
+        var affectedOwners = ownersAffectedBy(pet);
         jpaRepository.save(entity);
+        snapshots.refreshAll(affectedOwners);
+        changeLog.append(changesOf(List.of(pet), affectedOwners));
+        readCoalescing.ifAvailable(CoalescingPetQueries::written);
+    }
+
+    /**
+     * Rejects a new pet whose ID would not lead a lookup to its owner's shard.
+     */
+    private void requireOnOwnersShard(Pet pet) {
+        if (pet.isNew() && !onSameShard(pet.getId(), pet.getOwnerId())) {
+            throw new IllegalArgumentException(String.format(
+                "Pet ID %s was not given for owner %s, whose pets are stored on another shard",
+                pet.getId().value(), pet.getOwnerId().value()));
+        }
+    }
+
+    private boolean onSameShard(PetId petId, OwnerId ownerId) {
+        return shards.shardOf(IdConverters.toUuid(petId)) == shards.shardOf(IdConverters.toUuid(ownerId));
+    }
+
+    /**
+     * Returns the owners whose snapshots and cached state a write of the pet changes: its new owner
+     * and, for a pet that already exists, the owner it currently belongs to.
+     */
+    private Set<UUID> ownersAffectedBy(Pet pet) {
+        if (!snapshots.isEnabled() && !changeLog.isEnabled()) {
+            return Set.of();
+        }
+        var owners = new HashSet<UUID>();
+        owners.add(IdConverters.toUuid(pet.getOwnerId()));
+        if (!pet.isNew()) {
+            jpaRepository.findOwnerIdById(IdConverters.toUuid(pet.getId())).ifPresent(owners::add);
+        }
+        return owners;
+    }
+
+    @Override
+    public Pet update(Pet pet) {
+        if (pet == null) {
+            throw new IllegalArgumentException("Pet cannot be null");
+        }
+        if (pet.isNew()) {
+            throw new IllegalArgumentException("Pet has never been persisted");
+        }
+        var uuid = IdConverters.toUuid(pet.getId());
+        var ownerId = IdConverters.toUuid(pet.getOwnerId());
+        shards.bindTo(uuid);
+        // Usually served by the second-level cache; the flush then issues the only statement
+        var entity = jpaRepository.findById(uuid)
+            .orElseThrow(() -> EntityNotFoundException.withId("Pet", pet.getId().value()));
+        // A pet cannot move between shards, as its row and medical history would have to move
+        // between databases without a common transaction
+        if (!onSameShard(pet.getId(), pet.getOwnerId())) {
+            throw new IllegalArgumentException(String.format(
+                "Pet %s cannot move to owner %s, whose pets are stored on another shard",
+                pet.getId().value(), pet.getOwnerId().value()));
+        }
+        if (!entity.getOwnerId().equals(ownerId) && jpaRepository.probeOwnerById(ownerId).isEmpty()) {
+            throw EntityNotFoundException.withId("Owner", pet.getOwnerId().value());
+        }
+        if (!entity.getVersion().equals(pet.getVersion())) {
+            throw ConcurrencyConflictException.withVersion("Pet", pet.getId().value(), pet.getVersion());
+        }
+        // The pet's current owner and its new one, which may be the same
+        var affectedOwners = new HashSet<>(List.of(entity.getOwnerId(), ownerId));
+        entity.updateFrom(pet, speciesIdOf(pet));
+        try {
+            entityManager.flush();
+        } catch (OptimisticLockException e) {
+            throw ConcurrencyConflictException.withVersion("Pet", pet.getId().value(), pet.getVersion());
+        }
+        snapshots.refreshAll(affectedOwners);
+        changeLog.append(changesOf(List.of(pet), affectedOwners));
+        readCoalescing.ifAvailable(CoalescingPetQueries::written);
+        return entity.toDomain(pet.getSpecies());
+    }
+
+    /**
+     * {@inheritDoc}
+     * Every batch is flushed and its entities detached, which keeps memory flat without
+     * detaching anything else the caller's transaction has loaded.
+     * When the pets' owners span several shards, each shard's share is written and committed on its own.
+     */
+    @Override
+    public void saveAll(List<Pet> pets) {
+        if (pets == null || pets.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Pets cannot be null");
+        }
+        pets.forEach(this::requireOnOwnersShard);
+        var byShard = pets.stream()
+            .collect(Collectors.groupingBy(pet -> shards.shardOf(IdConverters.toUuid(pet.getOwnerId()))));
+        shards.inParallel(byShard.keySet(), false, shard -> {
+            var affectedOwners = new HashSet<UUID>();
+            byShard.get(shard).forEach(pet -> affectedOwners.addAll(ownersAffectedBy(pet)));
+            for (var batch : Batches.partition(byShard.get(shard), Batches.WRITE_SIZE)) {
+                var entities = jpaRepository.saveAll(batch.stream()
+                    .map(this::toEntity)
+                    .toList());
+                entityManager.flush();
+                entities.forEach(entityManager::detach);
+            }
+            snapshots.refreshAll(affectedOwners);
+            changeLog.append(changesOf(byShard.get(shard), affectedOwners));
+            readCoalescing.ifAvailable(CoalescingPetQueries::written);
+            return null;
+        });
+    }
+
+    private static List<Change> changesOf(List<Pet> pets, Set<UUID> affectedOwners) {
+        var changes = new ArrayList<Change>(pets.size() + affectedOwners.size());
+        pets.forEach(pet -> changes.add(Change.pet(IdConverters.toUuid(pet.getId()))));
+        affectedOwners.forEach(ownerId -> changes.add(Change.owner(ownerId)));
+        return changes;
     }
 
     @Override
@@ -44,9 +225,99 @@ public class PetRepositoryImpl implements PetRepository {
         if (ownerId == null) {
             throw new IllegalArgumentException("Owner ID cannot be null");
         }
-        return jpaRepository.findByOwnerId(ownerId.value())
+        shards.bindTo(IdConverters.toUuid(ownerId));
+        return jpaRepository.findByOwnerId(IdConverters.toUuid(ownerId))
             .stream()
-            .map(PetJpaEntity::toDomain)
+            .map(this::toDomain)
             .toList();
     }
+
+    /**
+     * {@inheritDoc}
+     * One row more than requested is read to learn whether another page follows.
+     * When sharded, every shard reads a page past the same keyset and the pages are merged.
+     */
+    @Override
+    public KeysetPage<Pet> findPage(PetSort sort, Keyset after, int size) {
+        if (sort == null) {
+            throw new IllegalArgumentException("Sort cannot be null");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        var rows = shards.scatter(shard -> findRows(sort, after, PageRequest.ofSize(size + 1)))
+            .stream()
+            .flatMap(List::stream)
+            .sorted(listingOrder(sort))
+            .toList();
+        var hasNext = rows.size() > size;
+        var entities = hasNext ? rows.subList(0, size) : rows;
+
+        var pets = entities.stream()
+            .map(this::toDomain)
+            .toList();
+        var next = hasNext ? keysetOf(sort, entities.get(entities.size() - 1)) : null;
+        return new KeysetPage<>(pets, next);
+    }
+
+    private List<PetJpaEntity> findRows(PetSort sort, Keyset after, PageRequest page) {
+        if (after == null) {
+            return switch (sort) {
+                case ID -> jpaRepository.findFirstPageById(page);
+                case CREATED_AT -> jpaRepository.findFirstPageByCreatedAt(page);
+            };
+        }
+        var afterId = parseId(after.id());
+        return switch (sort) {
+            case ID -> jpaRepository.findPageByIdAfter(afterId, page);
+            case CREATED_AT -> jpaRepository.findPageByCreatedAtAfter(parseCreatedAt(after), afterId, page);
+        };
+    }
+
+    private static Comparator<PetJpaEntity> listingOrder(PetSort sort) {
+        Comparator<PetJpaEntity> byId = (a, b) -> IdConverters.compareBinary(a.getId(), b.getId());
+        return switch (sort) {
+            case ID -> byId;
+            case CREATED_AT -> Comparator.comparing(PetJpaEntity::getCreatedAt).thenComparing(byId);
+        };
+    }
+
+    private static Keyset keysetOf(PetSort sort, PetJpaEntity last) {
+        var sortValue = switch (sort) {
+            case ID -> null;
+            case CREATED_AT -> last.getCreatedAt().toString();
+        };
+        return new Keyset(sortValue, last.getId().toString());
+    }
+
+    private static UUID parseId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid keyset ID: " + id, e);
+        }
+    }
+
+    private static LocalDateTime parseCreatedAt(Keyset after) {
+        if (after.sortValue() == null) {
+            throw new IllegalArgumentException("Keyset sort value cannot be null");
+        }
+        try {
+            return LocalDateTime.parse(after.sortValue());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid keyset creation time: " + after.sortValue(), e);
+        }
+    }
+
+    private PetJpaEntity toEntity(Pet pet) {
+        return PetJpaEntity.fromDomain(pet, speciesIdOf(pet));
+    }
+
+    private int speciesIdOf(Pet pet) {
+        return speciesDictionary.idOf(shards.shardOf(IdConverters.toUuid(pet.getOwnerId())), pet.getSpecies());
+    }
+
+    private Pet toDomain(PetJpaEntity entity) {
+        return entity.toDomain(speciesDictionary.speciesOf(shards.shardOf(entity.getOwnerId()), entity.getSpeciesId()));
+    }
 }
\ No newline at end of file
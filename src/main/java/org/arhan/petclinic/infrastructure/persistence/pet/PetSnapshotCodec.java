@@ -0,0 +1,82 @@
+package org.arhan.petclinic.infrastructure.persistence.pet;
+
+import org.arhan.petclinic.domain.pet.Pet;
+import org.arhan.petclinic.domain.pet.PetName;
+import org.arhan.petclinic.domain.pet.Species;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Encodes the Pet aggregate as a compact binary snapshot.
+ * <p>
+ * Layout: a format byte, the version, the name and species as modified UTF-8, the birth date
+ * as an epoch day and the owner ID as 16 bytes. The pet ID is the key and is not repeated.
+ * Bump {@link #FORMAT} whenever the layout changes.
+ */
+final class PetSnapshotCodec {
+
+    private static final byte FORMAT = 1;
+
+    private PetSnapshotCodec() {
+        // Utility class
+    }
+
+    /**
+     * Encodes a persisted pet. Its medical history is not part of the snapshot.
+     *
+     * @param pet the pet, with its current version
+     * @return the encoded snapshot
+     * @throws IllegalArgumentException if the pet has never been persisted
+     */
+    static byte[] encode(Pet pet) {
+        if (pet.isNew()) {
+            throw new IllegalArgumentException("Pet has never been persisted");
+        }
+        var ownerId = IdConverters.toUuid(pet.getOwnerId());
+        var bytes = new ByteArrayOutputStream(64);
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT);
+            out.writeLong(pet.getVersion());
+            out.writeUTF(pet.getName().value());
+            out.writeUTF(pet.getSpecies().name());
+            out.writeLong(pet.getBirthDate().toEpochDay());
+            out.writeLong(ownerId.getMostSignificantBits());
+            out.writeLong(ownerId.getLeastSignificantBits());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a snapshot back into the Pet aggregate.
+     *
+     * @param petId the ID of the pet the snapshot belongs to
+     * @param payload the encoded snapshot
+     * @return the pet
+     * @throws IllegalArgumentException if the snapshot is truncated or in an unknown format
+     */
+    static Pet decode(UUID petId, byte[] payload) {
+        try (var in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            var format = in.readByte();
+            if (format != FORMAT) {
+                throw new IllegalArgumentException("Unknown pet snapshot format: " + format);
+            }
+            var version = in.readLong();
+            var name = new PetName(in.readUTF());
+            var species = Species.of(in.readUTF());
+            var birthDate = LocalDate.ofEpochDay(in.readLong());
+            var ownerId = IdConverters.toOwnerId(new UUID(in.readLong(), in.readLong()));
+            return Pet.reconstitute(IdConverters.toPetId(petId), name, species, birthDate, ownerId, version);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Truncated pet snapshot", e);
+        }
+    }
+}
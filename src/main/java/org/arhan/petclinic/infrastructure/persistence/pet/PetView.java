@@ -0,0 +1,35 @@
+package org.arhan.petclinic.infrastructure.persistence.pet;
+
+import org.arhan.petclinic.application.pet.PetDTO;
+import org.arhan.petclinic.domain.pet.Species;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a pet row, selected directly by JPQL constructor expressions.
+ */
+public record PetView(
+    UUID id,
+    String name,
+    int speciesId,
+    LocalDate birthDate,
+    UUID ownerId,
+    long version
+) {
+    /**
+     * Converts this projection to an application DTO.
+     *
+     * @param species the species the projection's species ID stands for
+     * @return the DTO
+     */
+    public PetDTO toDTO(Species species) {
+        return new PetDTO(
+            id.toString(),
+            name,
+            species.name(),
+            birthDate,
+            ownerId.toString(),
+            version
+        );
+    }
+}
@@ -0,0 +1,207 @@
+package org.arhan.petclinic.infrastructure.persistence.pet;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import org.arhan.petclinic.domain.pet.Species;
+import org.arhan.petclinic.infrastructure.persistence.sharding.Shards;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Maps species to the small integer IDs that pet rows store in place of the species name.
+ * <p>
+ * The dictionary is small and rarely grows, so both directions are held in memory and only a
+ * species never seen before reaches the database. A new species is given the next free ID in the
+ * transaction of the pet that refers to it, on the connection that transaction already holds, so a
+ * burst of new species cannot exhaust the pool. Its ID is cached only once that transaction
+ * commits, since a rollback takes the species row with it. IDs come from an identity column, so
+ * writers adding different species never wait on each other. Two writers adding the same species
+ * at once collide on the unique name; the loser waits for the winner to commit, rolls back to a
+ * savepoint and reads the winner's ID.
+ * <p>
+ * With several shards, the pet's transaction may not be bound to a shard yet, so a new species is
+ * added on its shard in a transaction of its own and cached as soon as that commits.
+ * <p>
+ * IDs are local to a shard, since every shard numbers its existing species on its own when
+ * migrated, so each lookup names the shard of the pet's owner. Species are free text, so the
+ * in-memory maps of each shard are bounded.
+ */
+@Repository
+public class SpeciesDictionary {
+
+    /**
+     * The most species remembered per shard and direction.
+     */
+    static final int MAX_ENTRIES = 10_000;
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String SELECT_ID = "select id from species where name = ?";
+    private static final String SELECT_NAME = "select name from species where id = ?";
+    private static final String INSERT = "insert into species (name) values (?)";
+
+    /**
+     * The SQLSTATE class of integrity constraint violations, such as a duplicate species name.
+     */
+    private static final String CONSTRAINT_VIOLATION = "23";
+
+    private final EntityManager entityManager;
+    private final Shards shards;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate transaction;
+    private final List<Cache<String, Integer>> ids;
+    private final List<Cache<Integer, Species>> species;
+
+    public SpeciesDictionary(EntityManager entityManager, ObjectProvider<Shards> shards,
+                             PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.shards = shards.getIfAvailable(Shards::single);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.ids = IntStream.range(0, this.shards.count())
+            .mapToObj(shard -> Caffeine.newBuilder().maximumSize(MAX_ENTRIES).<String, Integer>build())
+            .toList();
+        this.species = IntStream.range(0, this.shards.count())
+            .mapToObj(shard -> Caffeine.newBuilder().maximumSize(MAX_ENTRIES).<Integer, Species>build())
+            .toList();
+    }
+
+    /**
+     * Returns the ID of a species on a shard, adding the species to that shard's dictionary
+     * if it is not there yet.
+     *
+     * @param shard the shard of the pet that refers to the species
+     * @param species the species
+     * @return the species ID
+     * @throws IllegalArgumentException if species is null
+     */
+    public int idOf(int shard, Species species) {
+        if (species == null) {
+            throw new IllegalArgumentException("Species cannot be null");
+        }
+        var id = ids.get(shard).getIfPresent(species.name());
+        if (id == null) {
+            id = allocate(shard, species.name());
+        }
+        return id;
+    }
+
+    /**
+     * Returns the species with an ID on a shard. The instance is shared by every pet of that species.
+     *
+     * @param shard the shard of the pet that refers to the species
+     * @param id the species ID
+     * @return the species
+     * @throws IllegalStateException if the shard has no species with that ID
+     */
+    public Species speciesOf(int shard, int id) {
+        var found = species.get(shard).getIfPresent(id);
+        if (found == null) {
+            var name = lookUp(shard, id);
+            if (name == null) {
+                throw new IllegalStateException("Unknown species ID " + id + " on shard " + shard);
+            }
+            found = Species.of(name);
+            remember(shard, id, found);
+        }
+        return found;
+    }
+
+    private void remember(int shard, int id, Species found) {
+        ids.get(shard).put(found.name(), id);
+        species.get(shard).put(id, found);
+    }
+
+    private String lookUp(int shard, int id) {
+        if (shards.count() == 1) {
+            return readTransaction.execute(status -> selectName(id));
+        }
+        return shards.inParallel(List.of(shard), true, s -> selectName(id)).get(0);
+    }
+
+    private int allocate(int shard, String name) {
+        if (shards.count() == 1) {
+            // Joins the caller's transaction, if any, rather than taking a second connection
+            return transaction.execute(status -> {
+                int id = findOrInsert(name);
+                rememberOnCommit(shard, id, Species.of(name));
+                return id;
+            });
+        }
+        int id = shards.inParallel(List.of(shard), false, s -> findOrInsert(name)).get(0);
+        remember(shard, id, Species.of(name));
+        return id;
+    }
+
+    private void rememberOnCommit(int shard, int id, Species found) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(shard, id, found);
+            }
+        });
+    }
+
+    private int findOrInsert(String name) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            for (int attempt = 1; ; attempt++) {
+                var existing = selectId(connection, name);
+                if (existing != null) {
+                    return existing;
+                }
+                var savepoint = connection.setSavepoint();
+                int id;
+                try (var statement = connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+                    statement.setString(1, name);
+                    statement.executeUpdate();
+                    try (var keys = statement.getGeneratedKeys()) {
+                        keys.next();
+                        id = keys.getInt(1);
+                    }
+                } catch (SQLException e) {
+                    var sqlState = e.getSQLState();
+                    if (sqlState == null || !sqlState.startsWith(CONSTRAINT_VIOLATION) || attempt == MAX_ATTEMPTS) {
+                        throw e;
+                    }
+                    // Another writer added the same species and has committed; the next attempt reads its ID
+                    connection.rollback(savepoint);
+                    continue;
+                }
+                connection.releaseSavepoint(savepoint);
+                return id;
+            }
+        });
+    }
+
+    private static Integer selectId(Connection connection, String name) throws SQLException {
+        try (var statement = connection.prepareStatement(SELECT_ID)) {
+            statement.setString(1, name);
+            try (var result = statement.executeQuery()) {
+                return result.next() ? result.getInt(1) : null;
+            }
+        }
+    }
+
+    private String selectName(int id) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (var statement = connection.prepareStatement(SELECT_NAME)) {
+                statement.setInt(1, id);
+                try (var result = statement.executeQuery()) {
+                    return result.next() ? result.getString(1) : null;
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package org.arhan.petclinic.infrastructure.persistence.pet;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import org.arhan.petclinic.domain.pet.Treatment;
+import java.time.LocalDateTime;
+
+/**
+ * JPA embeddable for persisting Treatment value objects.
+ */
+@Embeddable
+public class TreatmentEmbeddable {
+
+    @Column(nullable = false, length = 2000)
+    private String description;
+
+    @Column(name = "administered_at", nullable = false)
+    private LocalDateTime administeredAt;
+
+    protected TreatmentEmbeddable() {
+        // Required by JPA
+    }
+
+    public static TreatmentEmbeddable fromDomain(Treatment treatment) {
+        var embeddable = new TreatmentEmbeddable();
+        embeddable.description = treatment.description();
+        embeddable.administeredAt = treatment.administeredAt();
+        return embeddable;
+    }
+
+    public Treatment toDomain() {
+        return new Treatment(description, administeredAt);
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDateTime getAdministeredAt() {
+        return administeredAt;
+    }
+}
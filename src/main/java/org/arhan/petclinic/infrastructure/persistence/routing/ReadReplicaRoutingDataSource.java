@@ -0,0 +1,132 @@
+package org.arhan.petclinic.infrastructure.persistence.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource that sends read-only transactions to a replica and everything else to the primary.
+ * If no replica is healthy, or every replica tried fails to connect, the primary serves the read.
+ * <p>
+ * The read-only flag is only set once a transaction has begun, so this DataSource must sit behind
+ * a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers fetching
+ * the connection until the first statement runs.
+ * <p>
+ * Closing it closes the primary and replica pools, so it should be registered as a bean of its own.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaSelection selection;
+    private final Duration retryInterval;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, ReplicaSelection selection,
+                                        Duration retryInterval) {
+        if (primary == null) {
+            throw new IllegalArgumentException("Primary DataSource cannot be null");
+        }
+        if (replicas == null || replicas.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Replicas cannot be null");
+        }
+        if (selection == null) {
+            throw new IllegalArgumentException("Replica selection cannot be null");
+        }
+        if (retryInterval == null || retryInterval.isNegative()) {
+            throw new IllegalArgumentException("Retry interval cannot be null or negative");
+        }
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.retryInterval = retryInterval;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    /**
+     * Closes the primary and every replica whose DataSource can be closed.
+     *
+     * @throws IOException if a pool fails to close
+     */
+    @Override
+    public void close() throws IOException {
+        closePool(primary);
+        for (var replica : replicas) {
+            closePool(replica.getDataSource());
+        }
+    }
+
+    private static void closePool(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable pool) {
+            pool.close();
+        }
+    }
+
+    private Connection connect(ConnectionSource source) throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            for (var replica : candidates()) {
+                try {
+                    var connection = source.connect(replica.getDataSource());
+                    replica.markHealthy();
+                    return connection;
+                } catch (SQLException ex) {
+                    replica.markUnhealthy(System.nanoTime(), retryInterval);
+                    log.warn("Replica {} is unavailable, retrying it in {}", replica.getName(), retryInterval, ex);
+                }
+            }
+        }
+        return source.connect(primary);
+    }
+
+    /**
+     * Orders the available replicas by preference. Every call starts one position further along,
+     * so round-robin rotates and least-busy breaks ties in turn.
+     */
+    private List<Replica> candidates() {
+        if (replicas.isEmpty()) {
+            return List.of();
+        }
+        var now = System.nanoTime();
+        var start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        var candidates = new ArrayList<Replica>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            var replica = replicas.get((start + i) % replicas.size());
+            if (replica.isAvailable(now)) {
+                candidates.add(replica);
+            }
+        }
+        if (selection == ReplicaSelection.LEAST_BUSY) {
+            // List.sort is stable, so equally busy replicas keep their rotated order
+            candidates.sort(Comparator.comparingInt(Replica::activeConnections));
+        }
+        return candidates;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+}
@@ -0,0 +1,67 @@
+package org.arhan.petclinic.infrastructure.persistence.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * A read replica and its health as observed by the routing DataSource.
+ * A replica that fails to hand out a connection is skipped until its retry interval has passed.
+ */
+public final class Replica {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile long unavailableUntilNanos;
+    private volatile boolean unhealthy;
+
+    public Replica(String name, DataSource dataSource) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Replica name cannot be null or empty");
+        }
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Replica DataSource cannot be null");
+        }
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Returns whether this replica may be tried at the given time.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return true if the replica is healthy or its retry interval has passed
+     */
+    boolean isAvailable(long nowNanos) {
+        return !unhealthy || nowNanos - unavailableUntilNanos >= 0;
+    }
+
+    void markUnhealthy(long nowNanos, Duration retryInterval) {
+        unavailableUntilNanos = nowNanos + retryInterval.toNanos();
+        unhealthy = true;
+    }
+
+    void markHealthy() {
+        unhealthy = false;
+    }
+
+    /**
+     * Returns the number of connections currently borrowed from this replica's pool.
+     *
+     * @return the active connection count, or 0 if the pool does not report it
+     */
+    int activeConnections() {
+        if (dataSource instanceof HikariDataSource hikari && hikari.getHikariPoolMXBean() != null) {
+            return hikari.getHikariPoolMXBean().getActiveConnections();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,17 @@
+package org.arhan.petclinic.infrastructure.persistence.routing;
+
+/**
+ * Strategies for choosing which replica serves a read-only transaction.
+ */
+public enum ReplicaSelection {
+
+    /**
+     * Rotates through the healthy replicas in turn.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Picks the healthy replica with the fewest connections in use, rotating between ties.
+     */
+    LEAST_BUSY
+}
@@ -0,0 +1,70 @@
+package org.arhan.petclinic.infrastructure.persistence.sharding;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.OptionalInt;
+
+/**
+ * Tracks which shard the current transaction is bound to.
+ * A transaction is bound on its first sharded access and stays bound until it completes,
+ * so every statement it runs, including those flushed at commit, reaches the same shard.
+ * The binding is suspended and resumed along with the transaction it belongs to.
+ */
+final class ShardContext {
+
+    private static final Object KEY = ShardContext.class;
+
+    private ShardContext() {
+        // Utility class
+    }
+
+    /**
+     * Returns the shard the current transaction is bound to.
+     *
+     * @return the shard, or empty if the current transaction is not bound
+     */
+    static OptionalInt current() {
+        var shard = (Integer) TransactionSynchronizationManager.getResource(KEY);
+        return shard != null ? OptionalInt.of(shard) : OptionalInt.empty();
+    }
+
+    /**
+     * Binds the current transaction to a shard.
+     *
+     * @param shard the shard
+     * @throws IllegalStateException if there is no transaction, or it is already bound to another shard
+     */
+    static void bind(int shard) {
+        var bound = current();
+        if (bound.isPresent()) {
+            if (bound.getAsInt() != shard) {
+                throw new IllegalStateException(
+                    "Transaction is bound to shard " + bound.getAsInt() + " and cannot reach shard " + shard);
+            }
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Sharded data can only be accessed within a transaction");
+        }
+        TransactionSynchronizationManager.bindResource(KEY, shard);
+        TransactionSynchronizationManager.registerSynchronization(new Binding(shard));
+    }
+
+    private record Binding(int shard) implements TransactionSynchronization {
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(KEY);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(KEY, shard);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(KEY);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.arhan.petclinic.infrastructure.persistence.sharding;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * DataSource that hands out connections to the shard the current transaction is bound to.
+ * Connections opened outside any transaction, such as for Hibernate's schema validation at startup,
+ * go to shard 0. A transaction that opens a connection before it is bound is bound to shard 0,
+ * so a later attempt to reach another shard fails instead of silently running on the wrong one.
+ * <p>
+ * Transactions are only bound by their first repository call, so this DataSource must sit behind
+ * a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers fetching
+ * the connection until the first statement runs.
+ * <p>
+ * Closing it closes the pools of all shards.
+ */
+public class ShardRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private final List<DataSource> shards;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        if (shards == null || shards.isEmpty() || shards.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Shards cannot be null or empty");
+        }
+        this.shards = List.copyOf(shards);
+    }
+
+    /**
+     * Returns the DataSources of all shards, in shard order.
+     *
+     * @return the shard DataSources
+     */
+    public List<DataSource> getShards() {
+        return shards;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return currentShard().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return currentShard().getConnection(username, password);
+    }
+
+    /**
+     * Closes every shard whose DataSource can be closed.
+     *
+     * @throws IOException if a pool fails to close
+     */
+    @Override
+    public void close() throws IOException {
+        for (var shard : shards) {
+            if (shard instanceof Closeable pool) {
+                pool.close();
+            }
+        }
+    }
+
+    private DataSource currentShard() {
+        var bound = ShardContext.current();
+        if (bound.isPresent()) {
+            return shards.get(bound.getAsInt());
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            ShardContext.bind(0);
+        }
+        return shards.get(0);
+    }
+}
@@ -0,0 +1,226 @@
+package org.arhan.petclinic.infrastructure.persistence.sharding;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Places owners, and the pets co-located with them, on one of several shards by a hash of the owner ID.
+ * Pets are given IDs that hash to their owner's shard, so a pet is found from its ID alone.
+ * <p>
+ * A transaction only ever reaches one shard: repositories bind it to the shard of the owner they
+ * work on before running their first statement. Work that spans shards, such as lookups by a
+ * secondary key or batches of owners, is scattered to every shard involved in parallel, each part
+ * in its own transaction, and the results gathered.
+ * <p>
+ * With a single shard nothing is bound and all work runs inline in the caller's transaction.
+ * <p>
+ * Closing the shards shuts down the executor that runs scattered work.
+ */
+public class Shards implements AutoCloseable {
+
+    private final int count;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final Executor executor;
+
+    private Shards(int count, PlatformTransactionManager transactionManager, Executor executor) {
+        this.count = count;
+        this.executor = executor;
+        if (transactionManager != null) {
+            this.writeTransaction = new TransactionTemplate(transactionManager);
+            this.readTransaction = new TransactionTemplate(transactionManager);
+            this.readTransaction.setReadOnly(true);
+        } else {
+            this.writeTransaction = null;
+            this.readTransaction = null;
+        }
+    }
+
+    /**
+     * Creates the layout of an unsharded database.
+     *
+     * @return a single shard
+     */
+    public static Shards single() {
+        return new Shards(1, null, null);
+    }
+
+    /**
+     * Creates a layout of several shards.
+     *
+     * @param count the number of shards
+     * @param transactionManager the transaction manager used for work scattered across shards
+     * @param executor the executor that runs scattered work in parallel
+     * @return the shards
+     * @throws IllegalArgumentException if count is less than 2 or any other argument is null
+     */
+    public static Shards of(int count, PlatformTransactionManager transactionManager, Executor executor) {
+        if (count < 2) {
+            throw new IllegalArgumentException("Sharding needs at least 2 shards");
+        }
+        if (transactionManager == null) {
+            throw new IllegalArgumentException("Transaction manager cannot be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        return new Shards(count, transactionManager, executor);
+    }
+
+    /**
+     * Returns the number of shards.
+     *
+     * @return the number of shards
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Returns the shard an owner and its pets are stored on.
+     *
+     * @param ownerId the ID of the owner
+     * @return the shard, between 0 and {@link #count()} - 1
+     */
+    public int shardOf(UUID ownerId) {
+        if (ownerId == null) {
+            throw new IllegalArgumentException("Owner ID cannot be null");
+        }
+        // Finalizer of MurmurHash3; spreads IDs evenly whichever of their bits are random
+        long hash = ownerId.getMostSignificantBits() ^ ownerId.getLeastSignificantBits();
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) Long.remainderUnsigned(hash, count);
+    }
+
+    /**
+     * Returns a new ID that hashes to the same shard as an owner, for data stored with the owner
+     * that must also be found by its own ID. IDs are drawn from the generator until one does,
+     * which takes {@link #count()} draws on average.
+     *
+     * @param ownerId the ID of the owner
+     * @param generator the source of candidate IDs
+     * @return an ID whose shard is the owner's
+     * @throws IllegalArgumentException if ownerId or generator is null
+     */
+    public UUID newIdOnShardOf(UUID ownerId, Supplier<UUID> generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("Generator cannot be null");
+        }
+        int shard = shardOf(ownerId);
+        var id = generator.get();
+        while (count > 1 && shardOf(id) != shard) {
+            id = generator.get();
+        }
+        return id;
+    }
+
+    /**
+     * Binds the current transaction to the shard of an owner, or of data whose ID was
+     * given by {@link #newIdOnShardOf}.
+     *
+     * @param ownerId the ID of the owner, or of data stored with it
+     * @throws IllegalStateException if the transaction is already bound to another shard
+     */
+    public void bindTo(UUID ownerId) {
+        if (count > 1) {
+            ShardContext.bind(shardOf(ownerId));
+        }
+    }
+
+    /**
+     * Binds the current transaction to the shard on which a probe succeeds, for data whose shard
+     * cannot be computed from its key. An unbound transaction probes every shard in parallel;
+     * a bound one only probes its own shard.
+     *
+     * @param probe checks whether the data is on the shard it runs against
+     * @return false if the data is on no reachable shard; true if it was found, or if there is
+     *     only one shard and the probe was skipped
+     */
+    public boolean bindWhere(BooleanSupplier probe) {
+        if (count == 1) {
+            return true;
+        }
+        if (ShardContext.current().isPresent()) {
+            return probe.getAsBoolean();
+        }
+        var found = scatter(shard -> probe.getAsBoolean());
+        for (int shard = 0; shard < count; shard++) {
+            if (found.get(shard)) {
+                ShardContext.bind(shard);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs read-only work against every shard.
+     *
+     * @param work the work, given the shard it runs against
+     * @return the result from each shard, in shard order
+     */
+    public <T> List<T> scatter(IntFunction<T> work) {
+        return inParallel(IntStream.range(0, count).boxed().toList(), true, work);
+    }
+
+    /**
+     * Runs work against several shards in parallel, each in its own transaction bound to that shard.
+     * The parts commit independently, so a failure on one shard does not undo the others.
+     * With a single shard the work runs inline in the caller's transaction.
+     *
+     * @param shards the shards to run against
+     * @param readOnly whether the work only reads
+     * @param work the work, given the shard it runs against
+     * @return the result from each shard, in the order of shards
+     */
+    public <T> List<T> inParallel(Collection<Integer> shards, boolean readOnly, IntFunction<T> work) {
+        if (count == 1) {
+            return shards.stream()
+                .map(work::apply)
+                .toList();
+        }
+        var transaction = readOnly ? readTransaction : writeTransaction;
+        var futures = shards.stream()
+            .map(shard -> CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+                ShardContext.bind(shard);
+                return work.apply(shard);
+            }), executor))
+            .toList();
+        try {
+            return futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Shuts down the executor, if it is an {@link ExecutorService}, after the work already
+     * scattered has finished. Does nothing for a single shard.
+     */
+    @Override
+    public void close() {
+        if (executor instanceof ExecutorService service) {
+            service.close();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package org.arhan.petclinic.infrastructure.persistence.warmup;
+
+import org.arhan.petclinic.application.owner.OwnerQueries;
+import org.arhan.petclinic.application.pet.PetQueries;
+import org.arhan.petclinic.domain.owner.OwnerRepository;
+import org.arhan.petclinic.domain.pet.PetRepository;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the hottest owner and pet IDs to a local file and preloads them when the application starts.
+ * <p>
+ * The warm-up runs as an application runner, which Spring Boot completes before it reports the
+ * application ready to accept traffic. Each recorded entity is read the way requests read it, through
+ * the queries and the repository in a read-only transaction, which fills the caches in front of them
+ * along with Hibernate's and the database's own. Owners and pets are loaded hottest first, interleaved,
+ * by a fixed number of threads; whatever has not started when the time budget runs out is skipped.
+ * The warm-up's own reads are not recorded as hot keys.
+ * <p>
+ * The file is rewritten on a schedule and when the application shuts down.
+ */
+public class CacheWarmer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheWarmer.class);
+
+    private final HotKeys hotKeys;
+    private final OwnerQueries ownerQueries;
+    private final OwnerRepository ownerRepository;
+    private final PetQueries petQueries;
+    private final PetRepository petRepository;
+    private final TransactionTemplate readOnly;
+    private final Path file;
+    private final Duration budget;
+    private final int parallelism;
+
+    public CacheWarmer(HotKeys hotKeys, OwnerQueries ownerQueries, OwnerRepository ownerRepository,
+                       PetQueries petQueries, PetRepository petRepository,
+                       PlatformTransactionManager transactionManager, Path file, Duration budget, int parallelism) {
+        if (budget == null || budget.isNegative()) {
+            throw new IllegalArgumentException("Warm-up budget cannot be null or negative");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Warm-up parallelism must be positive");
+        }
+        this.hotKeys = hotKeys;
+        this.ownerQueries = ownerQueries;
+        this.ownerRepository = ownerRepository;
+        this.petQueries = petQueries;
+        this.petRepository = petRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.file = file;
+        this.budget = budget;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * Runs {@link #record()} on the schedule set by {@code petclinic.cache.warm-up.record-interval}.
+     */
+    @Scheduled(initialDelayString = "${petclinic.cache.warm-up.record-interval:PT1M}",
+               fixedDelayString = "${petclinic.cache.warm-up.record-interval:PT1M}")
+    public void recordOnSchedule() {
+        record();
+    }
+
+    /**
+     * Writes the currently hottest keys to the file. A failure is logged rather than thrown,
+     * as the next attempt may well succeed and the previous file is left intact.
+     */
+    public void record() {
+        try {
+            hotKeys.writeTo(file);
+        } catch (IOException e) {
+            log.warn("Could not record hot keys to {}", file, e);
+        }
+    }
+
+    /**
+     * Preloads the entities listed in the file, within the time budget.
+     *
+     * @return what was preloaded
+     */
+    public WarmUpReport warmUp() {
+        long start = System.nanoTime();
+        Map<HotKeys.Kind, List<UUID>> recorded;
+        try {
+            recorded = HotKeys.readFrom(file);
+        } catch (IOException e) {
+            log.warn("Could not read hot keys from {}; starting cold", file, e);
+            return new WarmUpReport(0, 0, 0, 0, 0, Duration.ZERO);
+        }
+        var owners = recorded.get(HotKeys.Kind.OWNER);
+        var pets = recorded.get(HotKeys.Kind.PET);
+        var tasks = new ArrayList<Runnable>(owners.size() + pets.size());
+        var warmedOwners = new AtomicInteger();
+        var warmedPets = new AtomicInteger();
+        var missing = new AtomicInteger();
+        var failed = new AtomicInteger();
+        for (int i = 0; i < Math.max(owners.size(), pets.size()); i++) {
+            if (i < owners.size()) {
+                var id = owners.get(i);
+                tasks.add(() -> count(warmOwner(id), warmedOwners, missing));
+            }
+            if (i < pets.size()) {
+                var id = pets.get(i);
+                tasks.add(() -> count(warmPet(id), warmedPets, missing));
+            }
+        }
+
+        long deadline = start + budget.toNanos();
+        var executor = Executors.newFixedThreadPool(parallelism, Thread.ofPlatform().name("cache-warm-up-", 0).factory());
+        try {
+            for (Runnable task : tasks) {
+                executor.execute(() -> {
+                    if (System.nanoTime() - deadline >= 0) {
+                        return;
+                    }
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                        log.debug("Could not warm up hot key", e);
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+            // Awaits termination, so reads still running when the budget ran out are counted below
+            executor.close();
+        }
+
+        int done = warmedOwners.get() + warmedPets.get() + missing.get() + failed.get();
+        var report = new WarmUpReport(warmedOwners.get(), warmedPets.get(), missing.get(), failed.get(),
+            Math.max(0, tasks.size() - done), Duration.ofNanos(System.nanoTime() - start));
+        if (!tasks.isEmpty()) {
+            log.info("Warmed up {} owners and {} pets in {} ms; {} no longer exist, {} failed, {} skipped after the {} budget",
+                report.owners(), report.pets(), report.elapsed().toMillis(), report.missing(), report.failed(),
+                report.skipped(), budget);
+        }
+        return report;
+    }
+
+    private boolean warmOwner(UUID id) {
+        var ownerId = IdConverters.toOwnerId(id);
+        return hotKeys.withoutRecording(() -> readOnly.execute(status -> {
+            if (ownerQueries.findById(ownerId).isEmpty()) {
+                return false;
+            }
+            ownerRepository.findById(ownerId);
+            return true;
+        }));
+    }
+
+    private boolean warmPet(UUID id) {
+        var petId = IdConverters.toPetId(id);
+        return hotKeys.withoutRecording(() -> readOnly.execute(status -> {
+            if (petQueries.findById(petId).isEmpty()) {
+                return false;
+            }
+            petRepository.findById(petId);
+            return true;
+        }));
+    }
+
+    private static void count(boolean found, AtomicInteger warmed, AtomicInteger missing) {
+        (found ? warmed : missing).incrementAndGet();
+    }
+}
@@ -0,0 +1,180 @@
+package org.arhan.petclinic.infrastructure.persistence.warmup;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Tracks which owners and pets are read most often, so they can be preloaded after a restart.
+ * <p>
+ * Each kind of entity is tracked by a size-bounded Caffeine cache of bare keys: its W-TinyLFU
+ * sketch estimates how often every key is asked for and only admits a key over a resident one
+ * that is asked for less, so the tracker holds approximately the most frequently read keys in
+ * fixed memory and can list them hottest first.
+ * <p>
+ * The list is persisted as a text file with one {@code <kind> <uuid>} line per key, hottest first
+ * within each kind. The file is replaced atomically, so a crash while writing leaves the previous one.
+ */
+public class HotKeys {
+
+    /**
+     * The kinds of entity whose reads are tracked.
+     */
+    public enum Kind { OWNER, PET }
+
+    private static final HotKeys DISABLED = new HotKeys();
+
+    private final Map<Kind, Cache<UUID, Boolean>> trackers;
+    private final ThreadLocal<Boolean> paused = new ThreadLocal<>();
+
+    /**
+     * Creates a tracker.
+     *
+     * @param maximumKeys the number of keys tracked of each kind
+     * @throws IllegalArgumentException if maximumKeys is not positive
+     */
+    public HotKeys(int maximumKeys) {
+        if (maximumKeys <= 0) {
+            throw new IllegalArgumentException("Maximum number of hot keys must be positive");
+        }
+        this.trackers = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            trackers.put(kind, Caffeine.newBuilder().maximumSize(maximumKeys).build());
+        }
+    }
+
+    private HotKeys() {
+        this.trackers = null;
+    }
+
+    /**
+     * Returns a tracker that records nothing, for when warm-up is switched off.
+     *
+     * @return the disabled tracker
+     */
+    public static HotKeys disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Tells whether reads are tracked.
+     *
+     * @return true unless this is the disabled tracker
+     */
+    public boolean isEnabled() {
+        return trackers != null;
+    }
+
+    /**
+     * Records a read of an entity.
+     *
+     * @param kind the kind of entity
+     * @param id the ID of the entity
+     */
+    public void record(Kind kind, UUID id) {
+        if (trackers != null && paused.get() == null) {
+            trackers.get(kind).get(id, key -> Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Runs work without recording the reads it makes on the calling thread. The warm-up reads
+     * through this, since its reads would otherwise count towards the frequencies they were
+     * chosen by.
+     *
+     * @param work the work to run
+     * @return the result of the work
+     */
+    public <T> T withoutRecording(Supplier<T> work) {
+        var previous = paused.get();
+        paused.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                paused.remove();
+            }
+        }
+    }
+
+    /**
+     * Lists the most frequently read entities of a kind.
+     *
+     * @param kind the kind of entity
+     * @param limit the maximum number of keys to list
+     * @return the keys, hottest first
+     */
+    public List<UUID> hottest(Kind kind, int limit) {
+        if (trackers == null) {
+            return List.of();
+        }
+        var tracker = trackers.get(kind);
+        tracker.cleanUp();
+        return List.copyOf(tracker.policy().eviction().orElseThrow().hottest(limit).keySet());
+    }
+
+    /**
+     * Writes every tracked key to a file, replacing it atomically.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(Path file) throws IOException {
+        var lines = new ArrayList<String>();
+        for (Kind kind : Kind.values()) {
+            for (UUID id : hottest(kind, Integer.MAX_VALUE)) {
+                lines.add(kind.name().toLowerCase(Locale.ROOT) + " " + id);
+            }
+        }
+        var directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        var temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporary, lines, StandardCharsets.UTF_8);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Reads the keys written by {@link #writeTo(Path)}. Lines that cannot be parsed are skipped.
+     *
+     * @param file the file to read
+     * @return the keys of each kind, hottest first; empty lists if the file does not exist
+     * @throws IOException if the file exists but cannot be read
+     */
+    public static Map<Kind, List<UUID>> readFrom(Path file) throws IOException {
+        var keys = new EnumMap<Kind, List<UUID>>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            keys.put(kind, new ArrayList<>());
+        }
+        if (!Files.exists(file)) {
+            return keys;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            var fields = line.trim().split(" ");
+            if (fields.length != 2) {
+                continue;
+            }
+            try {
+                var kind = Kind.valueOf(fields[0].toUpperCase(Locale.ROOT));
+                keys.get(kind).add(UUID.fromString(fields[1]));
+            } catch (IllegalArgumentException e) {
+                // Not a hot key line, for example one edited by hand
+            }
+        }
+        return keys;
+    }
+}
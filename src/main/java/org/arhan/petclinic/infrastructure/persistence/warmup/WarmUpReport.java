@@ -0,0 +1,16 @@
+package org.arhan.petclinic.infrastructure.persistence.warmup;
+
+import java.time.Duration;
+
+/**
+ * What a startup warm-up preloaded.
+ *
+ * @param owners the number of owners loaded
+ * @param pets the number of pets loaded
+ * @param missing the number of recorded keys whose entity no longer exists
+ * @param failed the number of keys whose load threw
+ * @param skipped the number of keys not loaded because the time budget ran out
+ * @param elapsed how long the warm-up took
+ */
+public record WarmUpReport(int owners, int pets, int missing, int failed, int skipped, Duration elapsed) {
+}
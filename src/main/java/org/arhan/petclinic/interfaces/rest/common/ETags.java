@@ -0,0 +1,99 @@
+package org.arhan.petclinic.interfaces.rest.common;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Builds strong entity tags for REST representations.
+ * A resource backed by a single versioned row is tagged with that version, so the tag can be
+ * checked with a one-column read; a representation assembled from several rows is tagged with
+ * a digest of the versions and keys it was built from.
+ */
+public final class ETags {
+
+    private static final int DIGEST_BYTES = 16;
+
+    private ETags() {
+        // Utility class
+    }
+
+    /**
+     * Tags a representation of a single versioned entity.
+     *
+     * @param version the entity's optimistic-locking version
+     * @return the quoted entity tag
+     */
+    public static String ofVersion(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Tags a representation assembled from several parts, such as a list of versioned entities.
+     * The parts are hashed in order, so a representation listing the same parts in another order
+     * gets a different tag.
+     *
+     * @param parts the values that determine the representation, typically IDs and versions
+     * @return the quoted entity tag
+     */
+    public static String ofParts(List<?> parts) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        for (Object part : parts) {
+            digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        var hash = digest.digest();
+        return "\"" + HexFormat.of().formatHex(hash, 0, DIGEST_BYTES) + "\"";
+    }
+
+    /**
+     * Evaluates an If-None-Match header, which compares tags weakly.
+     *
+     * @param header the header value, or null if the request has none
+     * @param etag the current entity tag
+     * @return true if the header lists the tag or "*"
+     */
+    public static boolean matchesWeakly(String header, String etag) {
+        return matches(header, etag, true);
+    }
+
+    /**
+     * Evaluates an If-Match header, which compares tags strongly so a weak tag never matches.
+     *
+     * @param header the header value, or null if the request has none
+     * @param etag the current entity tag
+     * @return true if the header lists the tag or "*"
+     */
+    public static boolean matchesStrongly(String header, String etag) {
+        return matches(header, etag, false);
+    }
+
+    private static boolean matches(String header, String etag, boolean weak) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            var tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                if (!weak) {
+                    continue;
+                }
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
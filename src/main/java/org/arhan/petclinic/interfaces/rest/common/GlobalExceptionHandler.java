@@ -1,5 +1,7 @@
 package org.arhan.petclinic.interfaces.rest.common;
 
+import org.arhan.petclinic.domain.common.ConcurrencyConflictException;
+import org.arhan.petclinic.domain.common.DuplicateEntityException;
 import org.arhan.petclinic.domain.common.EntityNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.FieldError;
@@ -49,6 +51,30 @@ public class GlobalExceptionHandler {
         );
     }
 
+    /**
+     * Handles updates based on a stale version.
+     */
+    @ExceptionHandler(ConcurrencyConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConcurrencyConflict(ConcurrencyConflictException ex) {
+        return ErrorResponse.of(
+            ex.getMessage(),
+            "CONFLICT"
+        );
+    }
+
+    /**
+     * Handles registrations with a value another entity already has.
+     */
+    @ExceptionHandler(DuplicateEntityException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleDuplicateEntity(DuplicateEntityException ex) {
+        return ErrorResponse.of(
+            ex.getMessage(),
+            "DUPLICATE"
+        );
+    }
+
     /**
      * Handles illegal argument errors.
      */
@@ -0,0 +1,182 @@
+package org.arhan.petclinic.interfaces.rest.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import java.util.List;
+
+/**
+ * Size-bounded cache of response bodies already encoded as JSON.
+ * <p>
+ * Entries are keyed by the response type, the resource ID and the representation's entity tag,
+ * which changes whenever the resource does, so an entry can only be served for the exact
+ * representation it was encoded from; entries for superseded tags are never asked for again and
+ * age out under Caffeine's W-TinyLFU policy, or are evicted as soon as the resource is saved
+ * through this node. Bodies are encoded with the application's own {@link ObjectMapper}, so they
+ * are byte-for-byte what Jackson would have written, and a controller returns them as a
+ * {@code byte[]} that is copied to the response stream unchanged.
+ * <p>
+ * Only JSON is cached. A request whose Accept header prefers another media type bypasses the
+ * cache and is negotiated as usual.
+ */
+public class JsonResponseCache implements MeterBinder {
+
+    /**
+     * Approximate bytes each entry costs on top of its body: the key with its ID and tag strings,
+     * the array header and the cache's own node and table slot.
+     */
+    static final int ENTRY_OVERHEAD = 256;
+
+    private static final JsonResponseCache DISABLED = new JsonResponseCache();
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, byte[]> cache;
+
+    /**
+     * Creates a cache.
+     *
+     * @param objectMapper the mapper the application's JSON message converter uses
+     * @param maximumBytes the memory budget, bodies and per-entry overhead included
+     * @throws IllegalArgumentException if objectMapper is null or maximumBytes is not positive
+     */
+    public JsonResponseCache(ObjectMapper objectMapper, long maximumBytes) {
+        if (objectMapper == null) {
+            throw new IllegalArgumentException("Object mapper cannot be null");
+        }
+        if (maximumBytes <= 0) {
+            throw new IllegalArgumentException("Cache budget must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumBytes)
+            .<Key, byte[]>weigher((key, body) -> ENTRY_OVERHEAD + body.length)
+            .recordStats()
+            .build();
+    }
+
+    private JsonResponseCache() {
+        this.objectMapper = null;
+        this.cache = null;
+    }
+
+    /**
+     * Returns a cache that never serves a request, for when response caching is switched off.
+     *
+     * @return the disabled cache
+     */
+    public static JsonResponseCache disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Tells whether a request may be answered from this cache: the cache is enabled and
+     * JSON is among the media types the client prefers most.
+     *
+     * @param accept the request's Accept header, or null if it has none
+     * @return true if a cached JSON body is an acceptable answer
+     */
+    public boolean isServable(String accept) {
+        if (cache == null) {
+            return false;
+        }
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        double preferred = 0;
+        double json = 0;
+        for (MediaType mediaType : mediaTypes) {
+            double quality = mediaType.getQualityValue();
+            preferred = Math.max(preferred, quality);
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                json = Math.max(json, quality);
+            }
+        }
+        return json > 0 && json >= preferred;
+    }
+
+    /**
+     * Returns the encoded body of a representation if it is cached.
+     *
+     * @param type the response type
+     * @param id the ID of the resource
+     * @param etag the entity tag of the representation
+     * @return the encoded body, or null if it is not cached
+     */
+    public byte[] getIfPresent(Class<?> type, String id, String etag) {
+        if (cache == null) {
+            return null;
+        }
+        return cache.getIfPresent(new Key(type, id, etag));
+    }
+
+    /**
+     * Encodes a representation as JSON and caches the result.
+     *
+     * @param type the response type
+     * @param id the ID of the resource
+     * @param etag the entity tag of the representation
+     * @param body the response to encode
+     * @return the encoded body
+     * @throws IllegalStateException if the cache is disabled
+     * @throws HttpMessageNotWritableException if the response cannot be encoded
+     */
+    public byte[] encode(Class<?> type, String id, String etag, Object body) {
+        if (cache == null) {
+            throw new IllegalStateException("Response cache is disabled");
+        }
+        byte[] encoded;
+        try {
+            encoded = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + e.getOriginalMessage(), e);
+        }
+        cache.put(new Key(type, id, etag), encoded);
+        return encoded;
+    }
+
+    /**
+     * Evicts a representation that has just been superseded.
+     *
+     * @param type the response type
+     * @param id the ID of the resource
+     * @param etag the entity tag the representation had before it was saved
+     */
+    public void evict(Class<?> type, String id, String etag) {
+        if (cache != null) {
+            cache.invalidate(new Key(type, id, etag));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache == null) {
+            return;
+        }
+        CaffeineCacheMetrics.monitor(registry, cache, "responses");
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+            .tag("cache", "responses")
+            .description("The ratio of cache requests which were hits")
+            .register(registry);
+    }
+
+    Cache<Key, byte[]> cache() {
+        return cache;
+    }
+
+    record Key(Class<?> type, String id, String etag) {
+    }
+}
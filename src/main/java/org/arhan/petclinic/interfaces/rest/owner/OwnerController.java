@@ -0,0 +1,100 @@
+package org.arhan.petclinic.interfaces.rest.owner;
+
+import jakarta.validation.Valid;
+import org.arhan.petclinic.application.owner.OwnerService;
+import org.arhan.petclinic.interfaces.rest.common.ETags;
+import org.arhan.petclinic.interfaces.rest.common.JsonResponseCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * REST controller for managing owners.
+ */
+@RestController
+@RequestMapping("/owners")
+public class OwnerController {
+    
+    private final OwnerService ownerService;
+    private final JsonResponseCache responseCache;
+
+    public OwnerController(OwnerService ownerService, ObjectProvider<JsonResponseCache> responseCache) {
+        this.ownerService = ownerService;
+        this.responseCache = responseCache.getIfAvailable(JsonResponseCache::disabled);
+    }
+
+    /**
+     * Registers several owners in one transaction.
+     *
+     * @param request the bulk registration request
+     * @return the registered owners, in request order
+     */
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<OwnerResponse> registerOwners(@Valid @RequestBody RegisterOwnersRequest request) {
+        return ownerService.registerOwners(request.toCommands())
+            .stream()
+            .map(OwnerResponse::fromDTO)
+            .toList();
+    }
+
+    /**
+     * Finds an owner by their ID.
+     * The representation lists the owner's pets, which move between owners without changing the
+     * owner's version, so it is tagged with a digest of the version and the pet IDs rather than
+     * the version alone. A matching If-None-Match is answered with 304 Not Modified, and when a
+     * {@link JsonResponseCache} is configured the encoded body is reused while the tag is unchanged.
+     *
+     * @param id the ID of the owner to find
+     * @param ifNoneMatch the If-None-Match header, if any
+     * @param accept the Accept header, if any
+     * @return the owner, or its cached JSON encoding
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> findById(
+        @PathVariable String id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        var owner = ownerService.findById(id);
+        var parts = new ArrayList<Object>(owner.petIds().size() + 1);
+        parts.add(owner.version());
+        parts.addAll(owner.petIds());
+        var etag = ETags.ofParts(parts);
+        if (ETags.matchesWeakly(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        if (responseCache.isServable(accept)) {
+            var body = responseCache.getIfPresent(OwnerResponse.class, id, etag);
+            if (body == null) {
+                body = responseCache.encode(OwnerResponse.class, id, etag, OwnerResponse.fromDTO(owner));
+            }
+            return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .body(OwnerResponse.fromDTO(owner));
+    }
+
+    /**
+     * Lists all owners one page at a time.
+     *
+     * @param sort the listing order: "id", "last-name" or "created-at"
+     * @param pageToken the token returned with the previous page, omitted for the first page
+     * @param size the maximum number of owners on the page
+     * @return the page of owners and the token for the next one
+     */
+    @GetMapping
+    public OwnerPageResponse listOwners(
+        @RequestParam(defaultValue = "id") String sort,
+        @RequestParam(required = false) String pageToken,
+        @RequestParam(defaultValue = "100") int size
+    ) {
+        return OwnerPageResponse.fromDTO(ownerService.listOwners(sort, pageToken, size));
+    }
+}
\ No newline at end of file
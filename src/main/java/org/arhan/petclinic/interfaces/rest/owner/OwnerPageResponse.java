@@ -0,0 +1,27 @@
+package org.arhan.petclinic.interfaces.rest.owner;
+
+import org.arhan.petclinic.application.owner.OwnerPageDTO;
+import java.util.List;
+
+/**
+ * Response DTO for one page of the owner listing.
+ */
+public record OwnerPageResponse(
+    List<OwnerResponse> owners,
+    String nextPageToken
+) {
+    /**
+     * Creates a response DTO from an application DTO.
+     *
+     * @param dto the application DTO
+     * @return the response DTO
+     */
+    public static OwnerPageResponse fromDTO(OwnerPageDTO dto) {
+        return new OwnerPageResponse(
+            dto.owners().stream()
+                .map(OwnerResponse::fromDTO)
+                .toList(),
+            dto.nextPageToken()
+        );
+    }
+}
\ No newline at end of file
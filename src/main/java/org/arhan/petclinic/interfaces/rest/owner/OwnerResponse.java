@@ -13,7 +13,8 @@ public record OwnerResponse(
     String email,
     String phone,
     AddressResponse address,
-    List<String> petIds
+    List<String> petIds,
+    long version
 ) {
     /**
      * Creates a response DTO from an application DTO.
@@ -34,7 +35,8 @@ public record OwnerResponse(
                 dto.address().state(),
                 dto.address().postalCode()
             ),
-            dto.petIds()
+            dto.petIds(),
+            dto.version()
         );
     }
 }
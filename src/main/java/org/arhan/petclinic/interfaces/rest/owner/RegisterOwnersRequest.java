@@ -0,0 +1,27 @@
+package org.arhan.petclinic.interfaces.rest.owner;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import org.arhan.petclinic.application.owner.RegisterOwnerCommand;
+import java.util.List;
+
+/**
+ * Request DTO for registering several owners at once.
+ */
+public record RegisterOwnersRequest(
+    @NotEmpty(message = "At least one owner is required")
+    @Size(max = 10000, message = "At most 10000 owners can be registered per request")
+    List<@Valid RegisterOwnerRequest> owners
+) {
+    /**
+     * Converts this request to command objects.
+     *
+     * @return the command objects, in request order
+     */
+    public List<RegisterOwnerCommand> toCommands() {
+        return owners.stream()
+            .map(RegisterOwnerRequest::toCommand)
+            .toList();
+    }
+}
@@ -2,7 +2,9 @@ package org.arhan.petclinic.interfaces.rest.owner;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
 import org.arhan.petclinic.application.owner.UpdateOwnerCommand;
 
 /**
@@ -39,7 +41,11 @@ public record UpdateOwnerRequest(
     String state,
 
     @NotBlank(message = "Postal code is required")
-    String postalCode
+    String postalCode,
+
+    @NotNull(message = "Version is required")
+    @PositiveOrZero(message = "Version cannot be negative")
+    Long version
 ) {
     /**
      * Converts this request to a command object.
@@ -56,7 +62,8 @@ public record UpdateOwnerRequest(
             street,
             city,
             state,
-            postalCode
+            postalCode,
+            version
         );
     }
 }
\ No newline at end of file
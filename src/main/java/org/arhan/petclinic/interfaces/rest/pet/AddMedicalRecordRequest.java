@@ -0,0 +1,43 @@
+package org.arhan.petclinic.interfaces.rest.pet;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Request DTO for adding a medical record to a pet's history.
+ */
+public record AddMedicalRecordRequest(
+    @NotNull(message = "Date is required")
+    @PastOrPresent(message = "Date cannot be in the future")
+    LocalDateTime date,
+
+    @NotBlank(message = "Description is required")
+    String description,
+
+    @NotBlank(message = "Veterinarian ID is required")
+    String veterinarianId,
+
+    List<@Valid @NotNull TreatmentRequest> treatments
+) {
+    /**
+     * Converts this request to a command object.
+     *
+     * @param petId the ID of the pet the record belongs to
+     * @return the command object
+     */
+    public org.arhan.petclinic.application.pet.AddMedicalRecordCommand toCommand(String petId) {
+        return new org.arhan.petclinic.application.pet.AddMedicalRecordCommand(
+            petId,
+            date,
+            description,
+            veterinarianId,
+            treatments == null ? List.of() : treatments.stream()
+                .map(TreatmentRequest::toDTO)
+                .toList()
+        );
+    }
+}
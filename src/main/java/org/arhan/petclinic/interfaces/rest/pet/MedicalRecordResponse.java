@@ -0,0 +1,34 @@
+package org.arhan.petclinic.interfaces.rest.pet;
+
+import org.arhan.petclinic.application.pet.MedicalRecordDTO;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO for medical record data.
+ */
+public record MedicalRecordResponse(
+    String id,
+    LocalDateTime date,
+    String description,
+    String veterinarianId,
+    List<TreatmentResponse> treatments
+) {
+    /**
+     * Creates a response DTO from an application DTO.
+     *
+     * @param dto the application DTO
+     * @return the response DTO
+     */
+    public static MedicalRecordResponse fromDTO(MedicalRecordDTO dto) {
+        return new MedicalRecordResponse(
+            dto.id(),
+            dto.date(),
+            dto.description(),
+            dto.veterinarianId(),
+            dto.treatments().stream()
+                .map(TreatmentResponse::fromDTO)
+                .toList()
+        );
+    }
+}
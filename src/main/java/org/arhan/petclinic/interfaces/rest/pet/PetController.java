@@ -2,21 +2,34 @@ package org.arhan.petclinic.interfaces.rest.pet;
 
 import jakarta.validation.Valid;
 import org.arhan.petclinic.application.pet.PetService;
+import org.arhan.petclinic.interfaces.rest.common.ETags;
+import org.arhan.petclinic.interfaces.rest.common.JsonResponseCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * REST controller for managing pets.
+ * Pet representations carry their version as a strong ETag. Conditional requests are checked
+ * against the version column alone, so a 304 or 412 is answered without loading the pet.
+ * When a {@link JsonResponseCache} is configured, a pet whose encoded body is cached under its
+ * current tag is answered from the cache without being loaded or serialized either.
  */
 @RestController
 @RequestMapping("/pets")
 public class PetController {
     
     private final PetService petService;
+    private final JsonResponseCache responseCache;
 
-    public PetController(PetService petService) {
+    public PetController(PetService petService, ObjectProvider<JsonResponseCache> responseCache) {
         this.petService = petService;
+        this.responseCache = responseCache.getIfAvailable(JsonResponseCache::disabled);
     }
 
     /**
@@ -32,48 +45,161 @@ public class PetController {
         return PetResponse.fromDTO(pet);
     }
 
+    /**
+     * Registers several pets in one transaction.
+     *
+     * @param request the bulk registration request
+     * @return the registered pets, in request order
+     */
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<PetResponse> registerPets(@Valid @RequestBody RegisterPetsRequest request) {
+        return petService.registerPets(request.toCommands())
+            .stream()
+            .map(PetResponse::fromDTO)
+            .toList();
+    }
+
     /**
      * Updates an existing pet.
+     * With an If-Match header the update only proceeds while the pet still has the tagged version;
+     * otherwise the response is 412 Precondition Failed.
      *
      * @param id the ID of the pet to update
      * @param request the update request
+     * @param ifMatch the If-Match header, if any
      * @return the updated pet
      */
     @PutMapping("/{id}")
-    public PetResponse updatePet(
+    public ResponseEntity<PetResponse> updatePet(
         @PathVariable String id,
-        @Valid @RequestBody UpdatePetRequest request
+        @Valid @RequestBody UpdatePetRequest request,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         if (!id.equals(request.id())) {
             throw new IllegalArgumentException("ID in path must match ID in request body");
         }
+        if (ifMatch != null && !ETags.matchesStrongly(ifMatch, ETags.ofVersion(petService.findVersion(id)))) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
         var pet = petService.updatePet(request.toCommand());
-        return PetResponse.fromDTO(pet);
+        responseCache.evict(PetResponse.class, id, ETags.ofVersion(request.version()));
+        return ResponseEntity.ok()
+            .eTag(ETags.ofVersion(pet.version()))
+            .body(PetResponse.fromDTO(pet));
     }
 
     /**
      * Finds a pet by its ID.
+     * With an If-None-Match header the pet's version is checked first, and a matching tag is
+     * answered with 304 Not Modified without loading the pet.
      *
      * @param id the ID of the pet to find
-     * @return the pet
+     * @param ifNoneMatch the If-None-Match header, if any
+     * @param accept the Accept header, if any
+     * @return the pet, or its cached JSON encoding
      */
     @GetMapping("/{id}")
-    public PetResponse findById(@PathVariable String id) {
+    public ResponseEntity<?> findById(
+        @PathVariable String id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        var cacheable = responseCache.isServable(accept);
+        if (ifNoneMatch != null || cacheable) {
+            var etag = ETags.ofVersion(petService.findVersion(id));
+            if (ETags.matchesWeakly(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            var cached = responseCache.getIfPresent(PetResponse.class, id, etag);
+            if (cached != null) {
+                return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON).body(cached);
+            }
+        }
         var pet = petService.findById(id);
-        return PetResponse.fromDTO(pet);
+        var etag = ETags.ofVersion(pet.version());
+        var response = PetResponse.fromDTO(pet);
+        if (cacheable) {
+            return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(responseCache.encode(PetResponse.class, id, etag, response));
+        }
+        return ResponseEntity.ok().eTag(etag).body(response);
     }
 
     /**
      * Finds all pets owned by the given owner.
+     * The list is tagged with a digest of its pets' IDs and versions; a matching If-None-Match
+     * is answered with 304 Not Modified before the list is serialized.
      *
      * @param ownerId the ID of the owner
      * @return list of pets owned by the owner
      */
-    @GetMapping
-    public List<PetResponse> findByOwner(@RequestParam String ownerId) {
-        return petService.findByOwner(ownerId)
+    @GetMapping(params = "ownerId")
+    public ResponseEntity<List<PetResponse>> findByOwner(@RequestParam String ownerId) {
+        var pets = petService.findByOwner(ownerId);
+        var etag = ETags.ofParts(pets.stream()
+            .flatMap(pet -> Stream.of(pet.id(), pet.version()))
+            .toList());
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .body(pets.stream()
+                .map(PetResponse::fromDTO)
+                .toList());
+    }
+
+    /**
+     * Lists all pets one page at a time.
+     *
+     * @param sort the listing order: "id" or "created-at"
+     * @param pageToken the token returned with the previous page, omitted for the first page
+     * @param size the maximum number of pets on the page
+     * @return the page of pets and the token for the next one
+     */
+    @GetMapping(params = "!ownerId")
+    public PetPageResponse listPets(
+        @RequestParam(defaultValue = "id") String sort,
+        @RequestParam(required = false) String pageToken,
+        @RequestParam(defaultValue = "100") int size
+    ) {
+        return PetPageResponse.fromDTO(petService.listPets(sort, pageToken, size));
+    }
+
+    /**
+     * Adds a medical record to a pet's history.
+     *
+     * @param id the ID of the pet
+     * @param request the medical record request
+     * @return the added medical record
+     */
+    @PostMapping("/{id}/medical-records")
+    @ResponseStatus(HttpStatus.CREATED)
+    public MedicalRecordResponse addMedicalRecord(
+        @PathVariable String id,
+        @Valid @RequestBody AddMedicalRecordRequest request
+    ) {
+        var record = petService.addMedicalRecord(request.toCommand(id));
+        return MedicalRecordResponse.fromDTO(record);
+    }
+
+    /**
+     * Finds one page of a pet's medical history, newest record first.
+     *
+     * @param id the ID of the pet
+     * @param page the zero-based page number
+     * @param size the number of records per page
+     * @return the records on the requested page
+     */
+    @GetMapping("/{id}/medical-records")
+    public List<MedicalRecordResponse> findMedicalHistory(
+        @PathVariable String id,
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        return petService.findMedicalHistory(id, page, size)
             .stream()
-            .map(PetResponse::fromDTO)
+            .map(MedicalRecordResponse::fromDTO)
             .toList();
     }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package org.arhan.petclinic.interfaces.rest.pet;
+
+import org.arhan.petclinic.application.pet.PetPageDTO;
+import java.util.List;
+
+/**
+ * Response DTO for one page of the pet listing.
+ */
+public record PetPageResponse(
+    List<PetResponse> pets,
+    String nextPageToken
+) {
+    /**
+     * Creates a response DTO from an application DTO.
+     *
+     * @param dto the application DTO
+     * @return the response DTO
+     */
+    public static PetPageResponse fromDTO(PetPageDTO dto) {
+        return new PetPageResponse(
+            dto.pets().stream()
+                .map(PetResponse::fromDTO)
+                .toList(),
+            dto.nextPageToken()
+        );
+    }
+}
\ No newline at end of file
@@ -11,7 +11,8 @@ public record PetResponse(
     String name,
     String species,
     LocalDate birthDate,
-    String ownerId
+    String ownerId,
+    long version
 ) {
     /**
      * Creates a response DTO from an application DTO.
@@ -25,7 +26,8 @@ public record PetResponse(
             dto.name(),
             dto.species(),
             dto.birthDate(),
-            dto.ownerId()
+            dto.ownerId(),
+            dto.version()
         );
     }
 }
\ No newline at end of file
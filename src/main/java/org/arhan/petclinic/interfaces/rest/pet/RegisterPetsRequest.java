@@ -0,0 +1,27 @@
+package org.arhan.petclinic.interfaces.rest.pet;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import org.arhan.petclinic.application.pet.RegisterPetCommand;
+import java.util.List;
+
+/**
+ * Request DTO for registering several pets at once.
+ */
+public record RegisterPetsRequest(
+    @NotEmpty(message = "At least one pet is required")
+    @Size(max = 10000, message = "At most 10000 pets can be registered per request")
+    List<@Valid RegisterPetRequest> pets
+) {
+    /**
+     * Converts this request to command objects.
+     *
+     * @return the command objects, in request order
+     */
+    public List<RegisterPetCommand> toCommands() {
+        return pets.stream()
+            .map(RegisterPetRequest::toCommand)
+            .toList();
+    }
+}
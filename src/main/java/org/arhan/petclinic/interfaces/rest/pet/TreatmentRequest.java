@@ -0,0 +1,28 @@
+package org.arhan.petclinic.interfaces.rest.pet;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import org.arhan.petclinic.application.pet.TreatmentDTO;
+import java.time.LocalDateTime;
+
+/**
+ * Request DTO for a treatment within a medical record.
+ */
+public record TreatmentRequest(
+    @NotBlank(message = "Treatment description is required")
+    String description,
+
+    @NotNull(message = "Administration date is required")
+    @PastOrPresent(message = "Administration date cannot be in the future")
+    LocalDateTime administeredAt
+) {
+    /**
+     * Converts this request to an application DTO.
+     *
+     * @return the application DTO
+     */
+    public TreatmentDTO toDTO() {
+        return new TreatmentDTO(description, administeredAt);
+    }
+}
@@ -0,0 +1,25 @@
+package org.arhan.petclinic.interfaces.rest.pet;
+
+import org.arhan.petclinic.application.pet.TreatmentDTO;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for treatment data.
+ */
+public record TreatmentResponse(
+    String description,
+    LocalDateTime administeredAt
+) {
+    /**
+     * Creates a response DTO from an application DTO.
+     *
+     * @param dto the application DTO
+     * @return the response DTO
+     */
+    public static TreatmentResponse fromDTO(TreatmentDTO dto) {
+        return new TreatmentResponse(
+            dto.description(),
+            dto.administeredAt()
+        );
+    }
+}
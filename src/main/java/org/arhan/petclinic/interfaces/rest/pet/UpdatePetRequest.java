@@ -3,6 +3,7 @@ package org.arhan.petclinic.interfaces.rest.pet;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.PositiveOrZero;
 import java.time.LocalDate;
 
 /**
@@ -23,7 +24,11 @@ public record UpdatePetRequest(
     LocalDate birthDate,
 
     @NotBlank(message = "Owner ID is required")
-    String ownerId
+    String ownerId,
+
+    @NotNull(message = "Version is required")
+    @PositiveOrZero(message = "Version cannot be negative")
+    Long version
 ) {
     /**
      * Converts this request to a command object.
@@ -36,7 +41,8 @@ public record UpdatePetRequest(
             name,
             species,
             birthDate,
-            ownerId
+            ownerId,
+            version
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+-- Owners. Emails are normalized to lower case before they are written,
+-- so the unique index on email also serves case-insensitive lookups.
+CREATE TABLE owners (
+    id          BINARY(16)   NOT NULL,
+    first_name  VARCHAR(255) NOT NULL,
+    last_name   VARCHAR(255) NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    phone       VARCHAR(255) NOT NULL,
+    street      VARCHAR(255) NOT NULL,
+    city        VARCHAR(255) NOT NULL,
+    state       VARCHAR(255) NOT NULL,
+    postal_code VARCHAR(255) NOT NULL,
+    version     BIGINT       NOT NULL,
+    CONSTRAINT pk_owners PRIMARY KEY (id),
+    CONSTRAINT uk_owners_email UNIQUE (email)
+);
+
+-- Pets. Ownership lives in pets.owner_id; an owner's pet list is derived from it.
+CREATE TABLE pets (
+    id         BINARY(16)   NOT NULL,
+    name       VARCHAR(255) NOT NULL,
+    species    VARCHAR(255) NOT NULL,
+    birth_date DATE         NOT NULL,
+    owner_id   BINARY(16)   NOT NULL,
+    version    BIGINT       NOT NULL,
+    CONSTRAINT pk_pets PRIMARY KEY (id)
+);
+
+-- Serves findByOwnerId, and answers the owner's pet-ID query from the index alone.
+CREATE INDEX idx_pets_owner_id ON pets (owner_id, id);
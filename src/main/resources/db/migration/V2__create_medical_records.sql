@@ -0,0 +1,23 @@
+-- Medical history, stored apart from pets so that loading a pet never loads it.
+CREATE TABLE medical_records (
+    id              BINARY(16)    NOT NULL,
+    pet_id          BINARY(16)    NOT NULL,
+    record_date     TIMESTAMP     NOT NULL,
+    description     VARCHAR(2000) NOT NULL,
+    veterinarian_id BINARY(16)    NOT NULL,
+    CONSTRAINT pk_medical_records PRIMARY KEY (id),
+    CONSTRAINT fk_medical_records_pet FOREIGN KEY (pet_id) REFERENCES pets (id) ON DELETE CASCADE
+);
+
+-- Serves newest-first paging of one pet's history.
+CREATE INDEX idx_medical_records_pet_date ON medical_records (pet_id, record_date DESC, id DESC);
+
+CREATE TABLE treatments (
+    medical_record_id BINARY(16)    NOT NULL,
+    position          INTEGER       NOT NULL,
+    description       VARCHAR(2000) NOT NULL,
+    administered_at   TIMESTAMP     NOT NULL,
+    CONSTRAINT pk_treatments PRIMARY KEY (medical_record_id, position),
+    CONSTRAINT fk_treatments_medical_record FOREIGN KEY (medical_record_id)
+        REFERENCES medical_records (id) ON DELETE CASCADE
+);
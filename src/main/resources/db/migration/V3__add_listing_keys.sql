@@ -0,0 +1,9 @@
+-- Creation times, so that owners and pets can be listed in the order they were registered.
+ALTER TABLE owners ADD COLUMN created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL;
+ALTER TABLE pets ADD COLUMN created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+-- Serve keyset pagination: each listing order seeks on (sort key, id).
+-- Listing by id alone uses the primary keys.
+CREATE INDEX idx_owners_last_name ON owners (last_name, id);
+CREATE INDEX idx_owners_created_at ON owners (created_at, id);
+CREATE INDEX idx_pets_created_at ON pets (created_at, id);
@@ -0,0 +1,8 @@
+-- Optional snapshot storage: the whole Owner aggregate, pets included, encoded in one row,
+-- so that a point read is a single primary-key fetch. Only written when snapshots are enabled.
+CREATE TABLE owner_snapshots (
+    owner_id BINARY(16)        NOT NULL,
+    payload  VARBINARY(1048576) NOT NULL,
+    CONSTRAINT pk_owner_snapshots PRIMARY KEY (owner_id),
+    CONSTRAINT fk_owner_snapshots_owner FOREIGN KEY (owner_id) REFERENCES owners (id) ON DELETE CASCADE
+);
@@ -0,0 +1,12 @@
+-- Change log for cross-node cache invalidation: every write of an owner or pet appends the keys
+-- it changes in the writing transaction, and every node tails the table by seq to evict them
+-- from its in-process caches. Rows are only needed for a short while and are purged by age.
+CREATE TABLE cache_invalidations (
+    seq        BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    kind       VARCHAR(16)  NOT NULL,
+    entity_key VARCHAR(255) NOT NULL,
+    written_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_cache_invalidations PRIMARY KEY (seq)
+);
+
+CREATE INDEX idx_cache_invalidations_written_at ON cache_invalidations (written_at);
@@ -0,0 +1,22 @@
+-- Species dictionary: each distinct species name is stored once and pets refer to it by a
+-- small integer instead of repeating the name on every row. IDs come from an identity column,
+-- so writers adding different species at once never contend for an ID, and are only
+-- meaningful within one shard.
+CREATE TABLE species (
+    id   INT          GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_species PRIMARY KEY (id),
+    CONSTRAINT uk_species_name UNIQUE (name)
+);
+
+INSERT INTO species (name)
+SELECT DISTINCT species FROM pets ORDER BY species;
+
+ALTER TABLE pets ADD COLUMN species_id INT;
+UPDATE pets SET species_id = (SELECT s.id FROM species s WHERE s.name = pets.species);
+ALTER TABLE pets ALTER COLUMN species_id SET NOT NULL;
+ALTER TABLE pets DROP COLUMN species;
+
+-- Serves filtering pets by species, and backs the foreign key.
+CREATE INDEX idx_pets_species_id ON pets (species_id, id);
+ALTER TABLE pets ADD CONSTRAINT fk_pets_species FOREIGN KEY (species_id) REFERENCES species (id);
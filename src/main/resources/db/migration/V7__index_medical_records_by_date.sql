@@ -0,0 +1,3 @@
+-- Serves the archiver's search for pets with records older than a cutoff, which the
+-- (pet_id, record_date) index cannot seek into by date.
+CREATE INDEX idx_medical_records_date ON medical_records (record_date, pet_id);
@@ -0,0 +1,43 @@
+-- Converts an existing schema with VARCHAR(36) identifiers to BINARY(16) keys.
+-- The byte layout (most significant bits first) matches IdConverters.toBytes
+-- and Hibernate's UUID-to-BINARY mapping used by the JPA entities.
+-- Run once, offline, against databases created before identifiers became binary.
+-- Drop the generated owner_pets -> owners foreign key first; its name differs per database.
+
+ALTER TABLE owner_pets ADD COLUMN owner_id_bin BINARY(16);
+ALTER TABLE owner_pets ADD COLUMN pet_id_bin BINARY(16);
+UPDATE owner_pets SET
+    owner_id_bin = CAST(CAST(owner_id AS UUID) AS BINARY(16)),
+    pet_id_bin = CAST(CAST(pet_id AS UUID) AS BINARY(16));
+
+ALTER TABLE pets ADD COLUMN id_bin BINARY(16);
+ALTER TABLE pets ADD COLUMN owner_id_bin BINARY(16);
+UPDATE pets SET
+    id_bin = CAST(CAST(id AS UUID) AS BINARY(16)),
+    owner_id_bin = CAST(CAST(owner_id AS UUID) AS BINARY(16));
+
+ALTER TABLE owners ADD COLUMN id_bin BINARY(16);
+UPDATE owners SET id_bin = CAST(CAST(id AS UUID) AS BINARY(16));
+
+ALTER TABLE owner_pets DROP COLUMN owner_id;
+ALTER TABLE owner_pets DROP COLUMN pet_id;
+ALTER TABLE owner_pets ALTER COLUMN owner_id_bin RENAME TO owner_id;
+ALTER TABLE owner_pets ALTER COLUMN pet_id_bin RENAME TO pet_id;
+ALTER TABLE owner_pets ALTER COLUMN owner_id SET NOT NULL;
+
+ALTER TABLE pets DROP PRIMARY KEY;
+ALTER TABLE pets DROP COLUMN id;
+ALTER TABLE pets DROP COLUMN owner_id;
+ALTER TABLE pets ALTER COLUMN id_bin RENAME TO id;
+ALTER TABLE pets ALTER COLUMN owner_id_bin RENAME TO owner_id;
+ALTER TABLE pets ALTER COLUMN id SET NOT NULL;
+ALTER TABLE pets ALTER COLUMN owner_id SET NOT NULL;
+ALTER TABLE pets ADD PRIMARY KEY (id);
+
+ALTER TABLE owners DROP PRIMARY KEY;
+ALTER TABLE owners DROP COLUMN id;
+ALTER TABLE owners ALTER COLUMN id_bin RENAME TO id;
+ALTER TABLE owners ALTER COLUMN id SET NOT NULL;
+ALTER TABLE owners ADD PRIMARY KEY (id);
+
+ALTER TABLE owner_pets ADD CONSTRAINT fk_owner_pets_owner FOREIGN KEY (owner_id) REFERENCES owners (id);
@@ -0,0 +1,4 @@
+-- Owner/pet associations are now derived from pets.owner_id.
+-- Run once after deploying; pets.owner_id already holds the authoritative ownership.
+
+DROP TABLE IF EXISTS owner_pets;
@@ -0,0 +1,5 @@
+-- Adds the optimistic-locking version columns used to tell new aggregates from existing ones.
+-- Rows that predate the column start at version 0.
+
+ALTER TABLE owners ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE pets ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
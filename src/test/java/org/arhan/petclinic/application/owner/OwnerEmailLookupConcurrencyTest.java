@@ -0,0 +1,168 @@
+package org.arhan.petclinic.application.owner;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.arhan.petclinic.infrastructure.config.OwnerEmailIndexConfiguration;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerQueriesImpl;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerRepositoryImpl;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lookups by email through the owner email index while owners are registered and change their
+ * emails concurrently, all drawn from a small pool of addresses. A lookup must never return an
+ * owner with another email, and once the writers stop every email must resolve exactly as the
+ * owners table says, including emails whose absence had been cached.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "petclinic.cache.owner-emails.enabled=true"
+})
+@Import({OwnerServiceImpl.class, OwnerRepositoryImpl.class, OwnerQueriesImpl.class, OwnerEmailIndexConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OwnerEmailLookupConcurrencyTest {
+
+    private static final int EMAILS = 16;
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int WRITES_PER_WRITER = 150;
+
+    @Autowired
+    private OwnerService ownerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void shouldStayConsistentUnderConcurrentRegistrationsAndUpdates() throws Exception {
+        // Given
+        var prefix = UUID.randomUUID().toString().substring(0, 8);
+        var emails = IntStream.range(0, EMAILS)
+            .mapToObj(i -> prefix + "." + i + "@example.com")
+            .toList();
+        var registered = new CopyOnWriteArrayList<String>();
+        var violations = new ConcurrentLinkedQueue<String>();
+        var writing = new AtomicBoolean(true);
+        var executor = Executors.newFixedThreadPool(WRITERS + READERS);
+
+        // When
+        var writers = new ArrayList<Future<?>>();
+        for (int w = 0; w < WRITERS; w++) {
+            writers.add(executor.submit(() -> {
+                var random = ThreadLocalRandom.current();
+                for (int i = 0; i < WRITES_PER_WRITER; i++) {
+                    var email = emails.get(random.nextInt(EMAILS));
+                    try {
+                        if (registered.isEmpty() || random.nextBoolean()) {
+                            registered.add(ownerService.registerOwner(registerCommand(email)).id());
+                        } else {
+                            var owner = ownerService.findById(registered.get(random.nextInt(registered.size())));
+                            ownerService.updateOwner(updateCommand(owner, email));
+                        }
+                    } catch (RuntimeException e) {
+                        // The email is taken or the owner changed concurrently; both are expected here
+                    }
+                }
+            }));
+        }
+        var readers = new ArrayList<Future<?>>();
+        for (int r = 0; r < READERS; r++) {
+            readers.add(executor.submit(() -> {
+                var random = ThreadLocalRandom.current();
+                while (writing.get()) {
+                    var email = emails.get(random.nextInt(EMAILS));
+                    ownerService.findByEmail(email)
+                        .filter(owner -> !owner.email().equals(email))
+                        .ifPresent(owner -> violations.add(email + " resolved to " + owner.email()));
+                }
+            }));
+        }
+        for (var writer : writers) {
+            writer.get(2, TimeUnit.MINUTES);
+        }
+        writing.set(false);
+        for (var reader : readers) {
+            reader.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        // Then
+        assertTrue(violations.isEmpty(), () -> "Lookups returned owners with other emails: " + violations);
+        assertFalse(registered.isEmpty());
+        for (var email : emails) {
+            assertEquals(ownerIdInDatabase(email), ownerService.findByEmail(email).map(OwnerDTO::id),
+                "Lookup of " + email + " disagrees with the owners table");
+        }
+    }
+
+    @Test
+    void shouldAnswerRepeatedLookupOfUnknownEmailWithoutQuery() {
+        // Given
+        var email = UUID.randomUUID() + "@example.com";
+        ownerService.findByEmail(email);
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        var found = ownerService.findByEmail(email);
+
+        // Then
+        assertTrue(found.isEmpty());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldFindOwnerRegisteredAfterEmailWasLookedUp() {
+        // Given
+        var email = UUID.randomUUID() + "@example.com";
+        assertTrue(ownerService.findByEmail(email).isEmpty());
+
+        // When
+        var registered = ownerService.registerOwner(registerCommand(email));
+
+        // Then
+        assertEquals(Optional.of(registered.id()), ownerService.findByEmail(email).map(OwnerDTO::id));
+    }
+
+    private Optional<String> ownerIdInDatabase(String email) {
+        var entityManager = entityManagerFactory.createEntityManager();
+        try {
+            List<UUID> ids = entityManager
+                .createQuery("select o.id from OwnerJpaEntity o where o.email = :email", UUID.class)
+                .setParameter("email", email)
+                .getResultList();
+            return ids.stream().findFirst().map(id -> IdConverters.toOwnerId(id).value());
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static RegisterOwnerCommand registerCommand(String email) {
+        return new RegisterOwnerCommand("John", "Doe", email, "+12345678901",
+            "123 Main St", "Springfield", "IL", "62701");
+    }
+
+    private static UpdateOwnerCommand updateCommand(OwnerDTO owner, String email) {
+        return new UpdateOwnerCommand(owner.id(), owner.firstName(), owner.lastName(), email, owner.phone(),
+            owner.address().street(), owner.address().city(), owner.address().state(), owner.address().postalCode(),
+            owner.version());
+    }
+}
\ No newline at end of file
@@ -1,6 +1,10 @@
 package org.arhan.petclinic.application.owner;
 
+import org.arhan.petclinic.domain.common.ConcurrencyConflictException;
+import org.arhan.petclinic.domain.common.DuplicateEntityException;
 import org.arhan.petclinic.domain.common.EntityNotFoundException;
+import org.arhan.petclinic.domain.common.Keyset;
+import org.arhan.petclinic.domain.common.KeysetPage;
 import org.arhan.petclinic.domain.owner.*;
 import org.arhan.petclinic.domain.pet.PetId;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,7 +12,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -18,6 +24,9 @@ class OwnerServiceTest {
     @Mock
     private OwnerRepository ownerRepository;
     
+    @Mock
+    private OwnerQueries ownerQueries;
+    
     private OwnerService ownerService;
     
     private static final String VALID_EMAIL = "john.doe@example.com";
@@ -29,7 +38,7 @@ class OwnerServiceTest {
 
     @BeforeEach
     void setUp() {
-        ownerService = new OwnerServiceImpl(ownerRepository);
+        ownerService = new OwnerServiceImpl(ownerRepository, ownerQueries);
     }
 
     @Test
@@ -73,21 +82,16 @@ class OwnerServiceTest {
             VALID_STREET,
             VALID_CITY,
             VALID_STATE,
-            VALID_POSTAL_CODE
-        );
-        
-        var existingOwner = Owner.create(
-            OwnerId.fromString(ownerId),
-            new FullName("John", "Doe"),
-            new ContactInformation(
-                VALID_EMAIL,
-                VALID_PHONE,
-                new Address(VALID_STREET, VALID_CITY, VALID_STATE, VALID_POSTAL_CODE)
-            )
+            VALID_POSTAL_CODE,
+            2L
         );
-        existingOwner.addPet(PetId.generate());
         
-        when(ownerRepository.findById(any(OwnerId.class))).thenReturn(existingOwner);
+        when(ownerRepository.update(any(Owner.class))).thenAnswer(invocation -> {
+            Owner owner = invocation.getArgument(0);
+            var updated = Owner.reconstitute(owner.getId(), owner.getName(), owner.getContactInfo(), owner.getVersion() + 1);
+            updated.addPet(PetId.generate());
+            return updated;
+        });
         
         // When
         var result = ownerService.updateOwner(command);
@@ -97,7 +101,33 @@ class OwnerServiceTest {
         assertEquals(command.firstName(), result.firstName());
         assertEquals(command.lastName(), result.lastName());
         assertEquals(1, result.petIds().size());
-        verify(ownerRepository).save(any(Owner.class));
+        assertEquals(3L, result.version());
+        verify(ownerRepository).update(argThat(owner -> owner.getVersion() == 2L));
+        verify(ownerRepository, never()).findById(any(OwnerId.class));
+    }
+    
+    @Test
+    void shouldPropagateConflictWhenOwnerVersionIsStale() {
+        // Given
+        var ownerId = "123e4567-e89b-12d3-a456-426614174000";
+        var command = new UpdateOwnerCommand(
+            ownerId,
+            "Jonathan",
+            "Doe",
+            VALID_EMAIL,
+            VALID_PHONE,
+            VALID_STREET,
+            VALID_CITY,
+            VALID_STATE,
+            VALID_POSTAL_CODE,
+            2L
+        );
+        
+        when(ownerRepository.update(any(Owner.class)))
+            .thenThrow(ConcurrencyConflictException.withVersion("Owner", ownerId, 2L));
+        
+        // When/Then
+        assertThrows(ConcurrencyConflictException.class, () -> ownerService.updateOwner(command));
     }
     
     @Test
@@ -114,7 +144,7 @@ class OwnerServiceTest {
             )
         );
         
-        when(ownerRepository.findById(any(OwnerId.class))).thenReturn(owner);
+        when(ownerQueries.findById(any(OwnerId.class))).thenReturn(Optional.of(OwnerDTO.fromDomain(owner)));
         
         // When
         var result = ownerService.findById(ownerId);
@@ -139,7 +169,7 @@ class OwnerServiceTest {
             )
         );
         
-        when(ownerRepository.findByEmail(VALID_EMAIL)).thenReturn(Optional.of(owner));
+        when(ownerQueries.findByEmail(VALID_EMAIL)).thenReturn(Optional.of(OwnerDTO.fromDomain(owner)));
         
         // When
         var result = ownerService.findByEmail(VALID_EMAIL);
@@ -152,7 +182,7 @@ class OwnerServiceTest {
     @Test
     void shouldReturnEmptyOptionalWhenEmailNotFound() {
         // Given
-        when(ownerRepository.findByEmail(any())).thenReturn(Optional.empty());
+        when(ownerQueries.findByEmail(any())).thenReturn(Optional.empty());
         
         // When
         var result = ownerService.findByEmail("nonexistent@example.com");
@@ -165,13 +195,66 @@ class OwnerServiceTest {
     void shouldThrowExceptionWhenOwnerNotFound() {
         // Given
         var nonExistentId = "123e4567-e89b-12d3-a456-426614174999";
-        when(ownerRepository.findById(any(OwnerId.class)))
-            .thenThrow(new EntityNotFoundException("Owner not found"));
+        when(ownerQueries.findById(any(OwnerId.class))).thenReturn(Optional.empty());
         
         // When/Then
         assertThrows(EntityNotFoundException.class, () -> ownerService.findById(nonExistentId));
     }
     
+    @Test
+    void shouldRejectRegistrationWithTakenEmail() {
+        // Given
+        var command = new RegisterOwnerCommand(
+            "John",
+            "Doe",
+            " John.Doe@Example.com ",
+            VALID_PHONE,
+            VALID_STREET,
+            VALID_CITY,
+            VALID_STATE,
+            VALID_POSTAL_CODE
+        );
+        when(ownerRepository.existsByEmail(VALID_EMAIL)).thenReturn(true);
+        
+        // When/Then
+        assertThrows(DuplicateEntityException.class, () -> ownerService.registerOwner(command));
+        verify(ownerRepository, never()).save(any(Owner.class));
+    }
+    
+    @Test
+    void shouldRejectBatchRegisteringOneEmailTwice() {
+        // Given
+        var commands = List.of(
+            new RegisterOwnerCommand("John", "Doe", VALID_EMAIL, VALID_PHONE,
+                VALID_STREET, VALID_CITY, VALID_STATE, VALID_POSTAL_CODE),
+            new RegisterOwnerCommand("Johnny", "Doe", "JOHN.DOE@example.com", VALID_PHONE,
+                VALID_STREET, VALID_CITY, VALID_STATE, VALID_POSTAL_CODE)
+        );
+        
+        // When/Then
+        assertThrows(DuplicateEntityException.class, () -> ownerService.registerOwners(commands));
+        verify(ownerRepository, never()).saveAll(anyList());
+    }
+    
+    @Test
+    void shouldCheckEmailsOfWholeBatchAtOnce() {
+        // Given
+        var commands = List.of(
+            new RegisterOwnerCommand("Jane", "Doe", "jane.doe@example.com", VALID_PHONE,
+                VALID_STREET, VALID_CITY, VALID_STATE, VALID_POSTAL_CODE),
+            new RegisterOwnerCommand("John", "Doe", VALID_EMAIL, VALID_PHONE,
+                VALID_STREET, VALID_CITY, VALID_STATE, VALID_POSTAL_CODE)
+        );
+        when(ownerRepository.findTakenEmails(anyCollection())).thenReturn(Set.of(VALID_EMAIL));
+        
+        // When/Then
+        var exception = assertThrows(DuplicateEntityException.class, () -> ownerService.registerOwners(commands));
+        assertTrue(exception.getMessage().contains(VALID_EMAIL));
+        verify(ownerRepository, times(1)).findTakenEmails(anyCollection());
+        verify(ownerRepository, never()).existsByEmail(anyString());
+        verify(ownerRepository, never()).saveAll(anyList());
+    }
+    
     @Test
     void shouldNormalizeEmailOnRegistration() {
         // Given
@@ -192,4 +275,74 @@ class OwnerServiceTest {
         // Then
         assertEquals("john.doe@example.com", result.email());
     }
+    
+    @Test
+    void shouldRegisterSeveralOwners() {
+        // Given
+        var commands = List.of(
+            new RegisterOwnerCommand("John", "Doe", VALID_EMAIL, VALID_PHONE,
+                VALID_STREET, VALID_CITY, VALID_STATE, VALID_POSTAL_CODE),
+            new RegisterOwnerCommand("Jane", "Doe", "jane.doe@example.com", VALID_PHONE,
+                VALID_STREET, VALID_CITY, VALID_STATE, VALID_POSTAL_CODE)
+        );
+        
+        // When
+        var results = ownerService.registerOwners(commands);
+        
+        // Then
+        assertEquals(2, results.size());
+        assertNotEquals(results.get(0).id(), results.get(1).id());
+        verify(ownerRepository).saveAll(anyList());
+        verify(ownerRepository, never()).save(any(Owner.class));
+    }
+    
+    @Test
+    void shouldContinueListingFromReturnedPageToken() {
+        // Given
+        var owner = Owner.create(OwnerId.generate(), new FullName("John", "Doe"),
+            new ContactInformation(VALID_EMAIL, VALID_PHONE,
+                new Address(VALID_STREET, VALID_CITY, VALID_STATE, VALID_POSTAL_CODE)));
+        var keyset = new Keyset("Doe", owner.getId().value());
+        when(ownerRepository.findPage(OwnerSort.LAST_NAME, null, 1))
+            .thenReturn(new KeysetPage<>(List.of(owner), keyset));
+        when(ownerRepository.findPage(OwnerSort.LAST_NAME, keyset, 1))
+            .thenReturn(new KeysetPage<>(List.of(), null));
+        
+        // When
+        var first = ownerService.listOwners("last-name", null, 1);
+        var second = ownerService.listOwners("last-name", first.nextPageToken(), 1);
+        
+        // Then
+        assertEquals(List.of(owner.getId().value()), first.owners().stream().map(OwnerDTO::id).toList());
+        assertNotNull(first.nextPageToken());
+        assertTrue(second.owners().isEmpty());
+        assertNull(second.nextPageToken());
+    }
+    
+    @Test
+    void shouldRejectPageTokenIssuedForAnotherSort() {
+        // Given
+        var owner = Owner.create(OwnerId.generate(), new FullName("John", "Doe"),
+            new ContactInformation(VALID_EMAIL, VALID_PHONE,
+                new Address(VALID_STREET, VALID_CITY, VALID_STATE, VALID_POSTAL_CODE)));
+        when(ownerRepository.findPage(OwnerSort.ID, null, 1))
+            .thenReturn(new KeysetPage<>(List.of(owner), new Keyset(null, owner.getId().value())));
+        var token = ownerService.listOwners("id", null, 1).nextPageToken();
+        
+        // When/Then
+        assertThrows(IllegalArgumentException.class,
+            () -> ownerService.listOwners("last-name", token, 1));
+        assertThrows(IllegalArgumentException.class,
+            () -> ownerService.listOwners("id", "%%%", 1));
+    }
+    
+    @Test
+    void shouldRejectUnknownSortOrOversizedPage() {
+        // When/Then
+        assertThrows(IllegalArgumentException.class,
+            () -> ownerService.listOwners("email", null, 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> ownerService.listOwners("id", null, 1001));
+        verifyNoInteractions(ownerRepository);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package org.arhan.petclinic.application.pet;
+
+import org.arhan.petclinic.domain.owner.OwnerId;
+import org.arhan.petclinic.domain.pet.*;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetQueriesImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.SpeciesDictionary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import java.time.LocalDate;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({PetQueriesImpl.class, PetRepositoryImpl.class, SpeciesDictionary.class})
+class PetQueriesTest {
+
+    @Autowired
+    private PetQueries queries;
+
+    @Autowired
+    private PetRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private static final LocalDate VALID_BIRTH_DATE = LocalDate.now().minusYears(2);
+
+    @Test
+    void shouldProjectPetById() {
+        // Given
+        OwnerId ownerId = OwnerId.generate();
+        Pet pet = Pet.create(PetId.generate(), new PetName("Max"), new Species("Dog"), VALID_BIRTH_DATE, ownerId);
+        repository.save(pet);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        var found = queries.findById(pet.getId());
+
+        // Then
+        assertTrue(found.isPresent());
+        assertEquals(PetDTO.fromDomain(pet), found.get());
+    }
+
+    @Test
+    void shouldReturnEmptyWhenPetNotFound() {
+        // When/Then
+        assertTrue(queries.findById(PetId.generate()).isEmpty());
+    }
+
+    @Test
+    void shouldProjectPetsByOwnerInRegistrationOrder() {
+        // Given
+        OwnerId ownerId = OwnerId.generate();
+        Pet first = Pet.create(PetId.generate(), new PetName("Max"), new Species("Dog"), VALID_BIRTH_DATE, ownerId);
+        Pet second = Pet.create(PetId.generate(), new PetName("Bella"), new Species("Cat"), VALID_BIRTH_DATE, ownerId);
+        repository.save(first);
+        repository.save(second);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        var found = queries.findByOwner(ownerId);
+
+        // Then
+        assertEquals(2, found.size());
+        assertEquals(first.getId().value(), found.get(0).id());
+        assertEquals(second.getId().value(), found.get(1).id());
+    }
+}
@@ -0,0 +1,275 @@
+package org.arhan.petclinic.application.pet;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.arhan.petclinic.domain.owner.OwnerId;
+import org.arhan.petclinic.domain.pet.*;
+import org.arhan.petclinic.infrastructure.persistence.pet.CoalescingPetQueries;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetJpaRepository;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetQueriesImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.SpeciesDictionary;
+import org.arhan.petclinic.infrastructure.persistence.sharding.Shards;
+import org.arhan.petclinic.infrastructure.persistence.warmup.HotKeys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bursts of concurrent reads of one hot pet and one hot owner's pets, each request in its own
+ * read-only transaction as the pet service runs them. The first query of a burst is held until
+ * every other request of the burst has joined it, so with coalescing a burst costs exactly one query.
+ */
+@DataJpaTest
+@Import({PetRepositoryImpl.class, SpeciesDictionary.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PetReadCoalescingLoadTest {
+
+    private static final int CONCURRENT_REQUESTS = 32;
+    private static final int BURSTS = 10;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private PetJpaRepository jpaRepository;
+
+    @Autowired
+    private SpeciesDictionary speciesDictionary;
+
+    @Autowired
+    private ObjectProvider<Shards> shards;
+
+    @Autowired
+    private ObjectProvider<HotKeys> hotKeys;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private CountingPetQueries database;
+    private Pet pet;
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        database = new CountingPetQueries(new PetQueriesImpl(jpaRepository, speciesDictionary, shards, hotKeys));
+        var ownerId = OwnerId.generate();
+        pet = Pet.create(PetId.generate(), new PetName("Max"), new Species("Dog"), LocalDate.now().minusYears(2), ownerId);
+        var sibling = Pet.create(PetId.generate(), new PetName("Bella"), new Species("Cat"), LocalDate.now().minusYears(1), ownerId);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            petRepository.save(pet);
+            petRepository.save(sibling);
+        });
+    }
+
+    @Test
+    void shouldQueryOncePerBurstWhenReadsOfSamePetCoalesce() throws Exception {
+        // Given
+        var coalescing = new CoalescingPetQueries(database);
+        var registry = new SimpleMeterRegistry();
+        coalescing.bindTo(registry);
+        var coalesced = registry.get("singleflight.coalesced").tag("name", "pet-by-id").functionCounter();
+
+        // When
+        var results = runBursts(queries -> queries.findById(pet.getId()), coalescing, coalesced::count);
+
+        // Then
+        assertTrue(results.stream().allMatch(found -> found.map(PetDTO::id).equals(Optional.of(pet.getId().value()))));
+        assertEquals(BURSTS, database.calls());
+        assertEquals(BURSTS * (CONCURRENT_REQUESTS - 1), (long) coalesced.count());
+    }
+
+    @Test
+    void shouldQueryOncePerBurstWhenReadsOfSameOwnersPetsCoalesce() throws Exception {
+        // Given
+        var coalescing = new CoalescingPetQueries(database);
+        var registry = new SimpleMeterRegistry();
+        coalescing.bindTo(registry);
+        var coalesced = registry.get("singleflight.coalesced").tag("name", "pets-by-owner").functionCounter();
+
+        // When
+        var results = runBursts(queries -> queries.findByOwner(pet.getOwnerId()), coalescing, coalesced::count);
+
+        // Then
+        assertTrue(results.stream().allMatch(found -> found.size() == 2));
+        assertEquals(BURSTS, database.calls());
+        assertEquals(BURSTS * (CONCURRENT_REQUESTS - 1), (long) coalesced.count());
+    }
+
+    @Test
+    void shouldQueryOncePerRequestWithoutCoalescing() throws Exception {
+        // When
+        runBursts(queries -> queries.findById(pet.getId()), database, null);
+
+        // Then
+        assertEquals(CONCURRENT_REQUESTS * BURSTS, database.calls());
+    }
+
+    @Test
+    void shouldNotShareReadsOfReadWriteTransactions() {
+        // Given
+        var coalescing = new CoalescingPetQueries(database);
+        var registry = new SimpleMeterRegistry();
+        coalescing.bindTo(registry);
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> coalescing.findById(pet.getId()));
+
+        // Then
+        assertEquals(1, database.calls());
+        assertEquals(0.0, registry.get("singleflight.loads").tag("name", "pet-by-id").functionCounter().count());
+    }
+
+    @Test
+    void shouldNotJoinQueryStartedBeforeCommittedWrite() throws Exception {
+        // Given
+        var coalescing = new CoalescingPetQueries(database);
+        var executor = Executors.newSingleThreadExecutor();
+        var release = database.holdNextQuery();
+        var before = executor.submit(() -> readOnly.execute(status -> coalescing.findById(pet.getId())));
+        awaitCalls(1);
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            petRepository.update(Pet.reconstitute(pet.getId(), new PetName("Charlie"), pet.getSpecies(),
+                pet.getBirthDate(), pet.getOwnerId(), Pet.INITIAL_VERSION));
+            coalescing.written();
+        });
+        var after = readOnly.execute(status -> coalescing.findById(pet.getId()));
+        release.countDown();
+        before.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Then
+        assertEquals("Charlie", after.orElseThrow().name());
+        assertEquals(2, database.calls());
+    }
+
+    /**
+     * Runs the bursts of requests. With a coalesced-calls count, the first query of each burst is
+     * held until all other requests of the burst have joined it.
+     */
+    private <T> List<T> runBursts(Function<PetQueries, T> read, PetQueries queries,
+                                  DoubleSupplier coalesced) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        var results = new ArrayList<T>();
+        try {
+            for (int burst = 0; burst < BURSTS; burst++) {
+                var release = coalesced != null ? database.holdNextQuery() : null;
+                var start = new CountDownLatch(1);
+                var requests = new ArrayList<Future<T>>();
+                for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                    requests.add(executor.submit(() -> {
+                        start.await();
+                        return readOnly.execute(status -> read.apply(queries));
+                    }));
+                }
+                start.countDown();
+                if (release != null) {
+                    awaitCoalesced(coalesced, (burst + 1L) * (CONCURRENT_REQUESTS - 1));
+                    release.countDown();
+                }
+                for (var request : requests) {
+                    results.add(request.get(1, TimeUnit.MINUTES));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return results;
+    }
+
+    private static void awaitCoalesced(DoubleSupplier coalesced, long expected) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (coalesced.getAsDouble() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Requests did not join the query");
+            Thread.sleep(1);
+        }
+    }
+
+    private void awaitCalls(int expected) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (database.calls() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Query did not start");
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Counts the queries that reach the database, and can hold the next one until released.
+     */
+    private static class CountingPetQueries implements PetQueries {
+
+        private final PetQueries delegate;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicReference<CountDownLatch> held = new AtomicReference<>();
+
+        CountingPetQueries(PetQueries delegate) {
+            this.delegate = delegate;
+        }
+
+        int calls() {
+            return calls.get();
+        }
+
+        /**
+         * Holds the next query that reaches the database until the returned latch is released.
+         */
+        CountDownLatch holdNextQuery() {
+            var release = new CountDownLatch(1);
+            held.set(release);
+            return release;
+        }
+
+        @Override
+        public Optional<PetDTO> findById(PetId id) {
+            return counted(() -> delegate.findById(id));
+        }
+
+        @Override
+        public Optional<Long> findVersion(PetId id) {
+            return counted(() -> delegate.findVersion(id));
+        }
+
+        @Override
+        public List<PetDTO> findByOwner(OwnerId ownerId) {
+            return counted(() -> delegate.findByOwner(ownerId));
+        }
+
+        private <T> T counted(Supplier<T> query) {
+            calls.incrementAndGet();
+            var release = held.getAndSet(null);
+            if (release != null) {
+                try {
+                    assertTrue(release.await(1, TimeUnit.MINUTES));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return query.get();
+        }
+    }
+}
\ No newline at end of file
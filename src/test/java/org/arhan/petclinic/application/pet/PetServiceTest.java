@@ -1,7 +1,8 @@
 package org.arhan.petclinic.application.pet;
 
+import org.arhan.petclinic.domain.clinic.VeterinarianId;
+import org.arhan.petclinic.domain.common.ConcurrencyConflictException;
 import org.arhan.petclinic.domain.common.EntityNotFoundException;
-import org.arhan.petclinic.domain.owner.Owner;
 import org.arhan.petclinic.domain.owner.OwnerId;
 import org.arhan.petclinic.domain.owner.OwnerRepository;
 import org.arhan.petclinic.domain.pet.*;
@@ -11,7 +12,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -24,6 +28,12 @@ class PetServiceTest {
     @Mock
     private OwnerRepository ownerRepository;
     
+    @Mock
+    private PetQueries petQueries;
+    
+    @Mock
+    private MedicalRecordRepository medicalRecordRepository;
+    
     private PetService petService;
     
     private static final LocalDate VALID_BIRTH_DATE = LocalDate.now().minusYears(2);
@@ -31,7 +41,7 @@ class PetServiceTest {
 
     @BeforeEach
     void setUp() {
-        petService = new PetServiceImpl(petRepository, ownerRepository);
+        petService = new PetServiceImpl(petRepository, ownerRepository, petQueries, medicalRecordRepository);
     }
 
     @Test
@@ -44,7 +54,8 @@ class PetServiceTest {
             VALID_OWNER_ID
         );
         
-        when(ownerRepository.findById(any(OwnerId.class))).thenReturn(mock(Owner.class));
+        when(ownerRepository.existsById(any(OwnerId.class))).thenReturn(true);
+        when(petRepository.nextId(any(OwnerId.class))).thenAnswer(invocation -> PetId.generate());
         
         // When
         var result = petService.registerPet(command);
@@ -68,8 +79,7 @@ class PetServiceTest {
             VALID_OWNER_ID
         );
         
-        when(ownerRepository.findById(any(OwnerId.class)))
-            .thenThrow(new EntityNotFoundException("Owner not found"));
+        when(ownerRepository.existsById(any(OwnerId.class))).thenReturn(false);
         
         // When/Then
         assertThrows(EntityNotFoundException.class, () -> petService.registerPet(command));
@@ -85,10 +95,15 @@ class PetServiceTest {
             "Maxwell",
             "Dog",
             VALID_BIRTH_DATE,
-            VALID_OWNER_ID
+            VALID_OWNER_ID,
+            3L
         );
         
-        when(ownerRepository.findById(any(OwnerId.class))).thenReturn(mock(Owner.class));
+        when(petRepository.update(any(Pet.class))).thenAnswer(invocation -> {
+            Pet pet = invocation.getArgument(0);
+            return Pet.reconstitute(pet.getId(), pet.getName(), pet.getSpecies(), pet.getBirthDate(),
+                pet.getOwnerId(), pet.getVersion() + 1);
+        });
         
         // When
         var result = petService.updatePet(command);
@@ -100,7 +115,34 @@ class PetServiceTest {
         assertEquals(command.species(), result.species());
         assertEquals(command.birthDate(), result.birthDate());
         assertEquals(command.ownerId(), result.ownerId());
-        verify(petRepository).save(any(Pet.class));
+        assertEquals(4L, result.version());
+        verify(petRepository).update(argThat(pet -> pet.getVersion() == 3L));
+        verify(petRepository, never()).findById(any(PetId.class));
+        verify(ownerRepository, never()).existsById(any(OwnerId.class));
+    }
+    
+    @Test
+    void shouldPropagateConflictWhenPetVersionIsStale() {
+        // Given
+        var petId = "123e4567-e89b-12d3-a456-426614174001";
+        var command = new UpdatePetCommand(petId, "Maxwell", "Dog", VALID_BIRTH_DATE, VALID_OWNER_ID, 3L);
+        
+        when(petRepository.update(any(Pet.class)))
+            .thenThrow(ConcurrencyConflictException.withVersion("Pet", petId, 3L));
+        
+        // When/Then
+        assertThrows(ConcurrencyConflictException.class, () -> petService.updatePet(command));
+    }
+    
+    @Test
+    void shouldRejectUpdateWithoutVersion() {
+        // Given
+        var command = new UpdatePetCommand(
+            "123e4567-e89b-12d3-a456-426614174001", "Maxwell", "Dog", VALID_BIRTH_DATE, VALID_OWNER_ID, null);
+        
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () -> petService.updatePet(command));
+        verifyNoInteractions(petRepository);
     }
     
     @Test
@@ -115,7 +157,7 @@ class PetServiceTest {
             OwnerId.fromString(VALID_OWNER_ID)
         );
         
-        when(petRepository.findById(any(PetId.class))).thenReturn(pet);
+        when(petQueries.findById(any(PetId.class))).thenReturn(Optional.of(PetDTO.fromDomain(pet)));
         
         // When
         var result = petService.findById(petId);
@@ -145,25 +187,164 @@ class PetServiceTest {
             OwnerId.fromString(VALID_OWNER_ID)
         );
         
-        when(ownerRepository.findById(any(OwnerId.class))).thenReturn(mock(Owner.class));
-        when(petRepository.findByOwner(any(OwnerId.class))).thenReturn(List.of(pet1, pet2));
+        when(ownerRepository.existsById(any(OwnerId.class))).thenReturn(true);
+        when(petQueries.findByOwner(any(OwnerId.class)))
+            .thenReturn(List.of(PetDTO.fromDomain(pet1), PetDTO.fromDomain(pet2)));
         
         // When
         var results = petService.findByOwner(VALID_OWNER_ID);
         
         // Then
         assertEquals(2, results.size());
-        verify(ownerRepository).findById(any(OwnerId.class));
+        verify(ownerRepository).existsById(any(OwnerId.class));
+        verify(ownerRepository, never()).findById(any(OwnerId.class));
     }
     
     @Test
     void shouldThrowExceptionWhenPetNotFound() {
         // Given
         var nonExistentId = "123e4567-e89b-12d3-a456-426614174999";
-        when(petRepository.findById(any(PetId.class)))
-            .thenThrow(new EntityNotFoundException("Pet not found"));
+        when(petQueries.findById(any(PetId.class))).thenReturn(Optional.empty());
         
         // When/Then
         assertThrows(EntityNotFoundException.class, () -> petService.findById(nonExistentId));
     }
+    
+    @Test
+    void shouldFindPetVersion() {
+        // Given
+        var petId = "123e4567-e89b-12d3-a456-426614174001";
+        when(petQueries.findVersion(PetId.fromString(petId))).thenReturn(Optional.of(3L));
+        
+        // When
+        var version = petService.findVersion(" " + petId + " ");
+        
+        // Then
+        assertEquals(3L, version);
+        verify(petQueries, never()).findById(any(PetId.class));
+    }
+    
+    @Test
+    void shouldThrowExceptionWhenVersionOfMissingPetIsRequested() {
+        // Given
+        var nonExistentId = "123e4567-e89b-12d3-a456-426614174999";
+        when(petQueries.findVersion(any(PetId.class))).thenReturn(Optional.empty());
+        
+        // When/Then
+        assertThrows(EntityNotFoundException.class, () -> petService.findVersion(nonExistentId));
+    }
+    
+    @Test
+    void shouldRegisterSeveralPetsWithOneOwnerLookup() {
+        // Given
+        var commands = List.of(
+            new RegisterPetCommand("Max", "Dog", VALID_BIRTH_DATE, VALID_OWNER_ID),
+            new RegisterPetCommand("Bella", "Cat", VALID_BIRTH_DATE, VALID_OWNER_ID)
+        );
+        
+        when(ownerRepository.findExistingIds(any())).thenReturn(Set.of(OwnerId.fromString(VALID_OWNER_ID)));
+        when(petRepository.nextId(any(OwnerId.class))).thenAnswer(invocation -> PetId.generate());
+        
+        // When
+        var results = petService.registerPets(commands);
+        
+        // Then
+        assertEquals(2, results.size());
+        assertEquals("Max", results.get(0).name());
+        assertEquals("Bella", results.get(1).name());
+        verify(ownerRepository, times(1)).findExistingIds(any());
+        verify(ownerRepository, never()).findById(any(OwnerId.class));
+        verify(petRepository).saveAll(anyList());
+    }
+    
+    @Test
+    void shouldNotRegisterAnyPetWhenAnOwnerIsMissing() {
+        // Given
+        var commands = List.of(
+            new RegisterPetCommand("Max", "Dog", VALID_BIRTH_DATE, VALID_OWNER_ID),
+            new RegisterPetCommand("Bella", "Cat", VALID_BIRTH_DATE, "123e4567-e89b-12d3-a456-426614174999")
+        );
+        
+        when(ownerRepository.findExistingIds(any())).thenReturn(Set.of(OwnerId.fromString(VALID_OWNER_ID)));
+        
+        // When/Then
+        assertThrows(EntityNotFoundException.class, () -> petService.registerPets(commands));
+        verify(petRepository, never()).saveAll(anyList());
+    }
+    
+    @Test
+    void shouldAddMedicalRecordWithTreatments() {
+        // Given
+        var petId = "123e4567-e89b-12d3-a456-426614174001";
+        var command = new AddMedicalRecordCommand(
+            petId,
+            LocalDateTime.now().minusDays(1),
+            "Annual checkup",
+            "123e4567-e89b-12d3-a456-426614174002",
+            List.of(new TreatmentDTO("Rabies vaccine", LocalDateTime.now().minusDays(1)))
+        );
+        
+        when(petRepository.existsById(PetId.fromString(petId))).thenReturn(true);
+        
+        // When
+        var result = petService.addMedicalRecord(command);
+        
+        // Then
+        assertEquals("Annual checkup", result.description());
+        assertEquals(1, result.treatments().size());
+        verify(medicalRecordRepository).save(eq(PetId.fromString(petId)), any(MedicalRecord.class));
+        verify(petRepository, never()).findById(any(PetId.class));
+    }
+    
+    @Test
+    void shouldNotAddMedicalRecordWhenPetNotFound() {
+        // Given
+        var command = new AddMedicalRecordCommand(
+            "123e4567-e89b-12d3-a456-426614174999",
+            LocalDateTime.now().minusDays(1),
+            "Annual checkup",
+            "123e4567-e89b-12d3-a456-426614174002",
+            List.of()
+        );
+        
+        when(petRepository.existsById(any(PetId.class))).thenReturn(false);
+        
+        // When/Then
+        assertThrows(EntityNotFoundException.class, () -> petService.addMedicalRecord(command));
+        verify(medicalRecordRepository, never()).save(any(PetId.class), any(MedicalRecord.class));
+    }
+    
+    @Test
+    void shouldFindOnePageOfMedicalHistory() {
+        // Given
+        var petId = PetId.fromString("123e4567-e89b-12d3-a456-426614174001");
+        var record = MedicalRecord.create(
+            MedicalRecordId.generate(),
+            LocalDateTime.now().minusDays(1),
+            "Annual checkup",
+            VeterinarianId.generate()
+        );
+        
+        when(petRepository.existsById(petId)).thenReturn(true);
+        when(medicalRecordRepository.findByPet(petId, 2, 10)).thenReturn(List.of(record));
+        
+        // When
+        var results = petService.findMedicalHistory(petId.value(), 2, 10);
+        
+        // Then
+        assertEquals(1, results.size());
+        assertEquals(record.getId().value(), results.get(0).id());
+    }
+    
+    @Test
+    void shouldRejectMedicalHistoryPageSizeOutOfRange() {
+        // Given
+        var petId = "123e4567-e89b-12d3-a456-426614174001";
+        
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () -> petService.findMedicalHistory(petId, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> petService.findMedicalHistory(petId, 0, 101));
+        assertThrows(IllegalArgumentException.class, () -> petService.findMedicalHistory(petId, -1, 20));
+        verifyNoInteractions(medicalRecordRepository);
+    }
 }
\ No newline at end of file
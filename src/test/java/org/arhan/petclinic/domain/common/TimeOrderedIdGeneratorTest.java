@@ -0,0 +1,90 @@
+package org.arhan.petclinic.domain.common;
+
+import org.junit.jupiter.api.Test;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdGeneratorTest {
+
+    @Test
+    void shouldGenerateVersion7Uuids() {
+        // Given
+        var generator = new TimeOrderedIdGenerator();
+
+        // When
+        UUID id = generator.next();
+
+        // Then
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void shouldEmbedCurrentTimestamp() {
+        // Given
+        var now = Instant.parse("2024-01-01T00:00:00Z");
+        var generator = new TimeOrderedIdGenerator(Clock.fixed(now, ZoneOffset.UTC));
+
+        // When
+        UUID id = generator.next();
+
+        // Then
+        assertEquals(now.toEpochMilli(), id.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void shouldBeMonotonicWithinTheSameMillisecond() {
+        // Given
+        var generator = new TimeOrderedIdGenerator(Clock.fixed(Instant.now(), ZoneOffset.UTC));
+
+        // When
+        var ids = new ArrayList<UUID>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.next());
+        }
+
+        // Then
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(Long.compareUnsigned(
+                ids.get(i - 1).getMostSignificantBits(),
+                ids.get(i).getMostSignificantBits()) < 0);
+        }
+    }
+
+    @Test
+    void shouldProduceUniqueIdsAcrossThreads() throws Exception {
+        // Given
+        var generator = new TimeOrderedIdGenerator();
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        var executor = Executors.newFixedThreadPool(8);
+
+        // When
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        ids.add(generator.next());
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertEquals(80_000, ids.size());
+    }
+}
@@ -0,0 +1,194 @@
+package org.arhan.petclinic.domain.owner;
+
+import org.arhan.petclinic.application.owner.OwnerDTO;
+import org.arhan.petclinic.application.owner.OwnerService;
+import org.arhan.petclinic.application.owner.OwnerServiceImpl;
+import org.arhan.petclinic.application.pet.PetDTO;
+import org.arhan.petclinic.application.pet.PetQueries;
+import org.arhan.petclinic.domain.pet.*;
+import org.arhan.petclinic.infrastructure.config.AggregateCacheConfiguration;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerQueriesImpl;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetQueriesImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.SpeciesDictionary;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Owner and pet reads and writes through the caching decorators. Each write runs in its own
+ * committed transaction, as it does behind the application services, since evictions are
+ * completed when the writing transaction ends.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "petclinic.cache.aggregates.enabled=true"
+})
+@Import({OwnerRepositoryImpl.class, PetRepositoryImpl.class, SpeciesDictionary.class, OwnerQueriesImpl.class,
+    PetQueriesImpl.class, OwnerServiceImpl.class, AggregateCacheConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CachingOwnerRepositoryTest {
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private OwnerService ownerService;
+
+    @Autowired
+    private PetQueries petQueries;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransactionTemplate transaction;
+
+    private Statistics statistics;
+
+    private static final FullName VALID_NAME = new FullName("John", "Doe");
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldServeRepeatedReadsWithoutJpa() {
+        // Given
+        OwnerId id = OwnerId.generate();
+        Pet pet = newPet(id);
+        inTransaction(() -> {
+            ownerRepository.save(Owner.create(id, VALID_NAME, newContact()));
+            petRepository.save(pet);
+        });
+        ownerRepository.findById(id);
+        petRepository.findById(pet.getId());
+        statistics.clear();
+
+        // When
+        Owner owner = ownerRepository.findById(id);
+        Pet found = petRepository.findById(pet.getId());
+
+        // Then
+        assertEquals(List.of(pet.getId()), owner.getPets());
+        assertEquals(id, found.getOwnerId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldServeLookupsByIdFromCacheWithoutQueries() {
+        // Given
+        OwnerId id = OwnerId.generate();
+        Pet pet = newPet(id);
+        inTransaction(() -> {
+            ownerRepository.save(Owner.create(id, VALID_NAME, newContact()));
+            petRepository.save(pet);
+        });
+        ownerService.findById(id.value());
+        transaction.execute(status -> petQueries.findById(pet.getId()));
+        statistics.clear();
+
+        // When
+        OwnerDTO owner = ownerService.findById(id.value());
+        PetDTO found = transaction.execute(status -> petQueries.findById(pet.getId())).orElseThrow();
+
+        // Then
+        assertEquals(List.of(pet.getId().value()), owner.petIds());
+        assertEquals(id.value(), found.ownerId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldEvictOwnerWhenUpdated() {
+        // Given
+        OwnerId id = OwnerId.generate();
+        var contact = newContact();
+        inTransaction(() -> ownerRepository.save(Owner.create(id, VALID_NAME, contact)));
+        ownerRepository.findById(id);
+
+        // When
+        inTransaction(() -> ownerRepository.update(
+            Owner.reconstitute(id, new FullName("Jonathan", "Doe"), contact, Owner.INITIAL_VERSION)));
+        Owner found = ownerRepository.findById(id);
+
+        // Then
+        assertEquals(new FullName("Jonathan", "Doe"), found.getName());
+        assertEquals(1L, found.getVersion());
+    }
+
+    @Test
+    void shouldNotCacheChangesOfRolledBackTransaction() {
+        // Given
+        OwnerId id = OwnerId.generate();
+        var contact = newContact();
+        inTransaction(() -> ownerRepository.save(Owner.create(id, VALID_NAME, contact)));
+
+        // When
+        transaction.executeWithoutResult(status -> {
+            ownerRepository.update(Owner.reconstitute(id, new FullName("Jonathan", "Doe"), contact, Owner.INITIAL_VERSION));
+            assertEquals(new FullName("Jonathan", "Doe"), ownerRepository.findById(id).getName());
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertEquals(VALID_NAME, ownerRepository.findById(id).getName());
+    }
+
+    @Test
+    void shouldEvictBothOwnersWhenPetMoves() {
+        // Given
+        OwnerId previousOwner = OwnerId.generate();
+        OwnerId newOwner = OwnerId.generate();
+        Pet pet = newPet(previousOwner);
+        inTransaction(() -> {
+            ownerRepository.save(Owner.create(previousOwner, VALID_NAME, newContact()));
+            ownerRepository.save(Owner.create(newOwner, VALID_NAME, newContact()));
+            petRepository.save(pet);
+        });
+        ownerRepository.findById(previousOwner);
+        ownerRepository.findById(newOwner);
+
+        // When
+        inTransaction(() -> petRepository.update(Pet.reconstitute(pet.getId(), pet.getName(), pet.getSpecies(),
+            pet.getBirthDate(), newOwner, Pet.INITIAL_VERSION)));
+
+        // Then
+        assertEquals(List.of(), ownerRepository.findById(previousOwner).getPets());
+        assertEquals(List.of(pet.getId()), ownerRepository.findById(newOwner).getPets());
+        assertEquals(newOwner, petRepository.findById(pet.getId()).getOwnerId());
+    }
+
+    private void inTransaction(Runnable work) {
+        transaction.executeWithoutResult(status -> work.run());
+    }
+
+    private static ContactInformation newContact() {
+        return new ContactInformation(UUID.randomUUID() + "@example.com", "+12345678901",
+            new Address("123 Main St", "Springfield", "IL", "62701"));
+    }
+
+    private static Pet newPet(OwnerId ownerId) {
+        return Pet.create(PetId.generate(), new PetName("Max"), new Species("Dog"), LocalDate.now().minusYears(2), ownerId);
+    }
+}
\ No newline at end of file
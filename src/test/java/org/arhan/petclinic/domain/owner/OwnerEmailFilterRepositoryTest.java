@@ -0,0 +1,129 @@
+package org.arhan.petclinic.domain.owner;
+
+import org.arhan.petclinic.infrastructure.config.CacheInvalidationProperties;
+import org.arhan.petclinic.infrastructure.config.OwnerEmailFilterConfiguration;
+import org.arhan.petclinic.infrastructure.config.OwnerEmailFilterProperties;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerEmailFilter;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerEmailFilterLoader;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerJpaEntity;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerRepositoryImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Email uniqueness checks through the owner email filter, loaded from the stored owners before each test.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "petclinic.persistence.owner-email-filter.enabled=true",
+    "petclinic.cache.invalidation.enabled=true"
+})
+@Import({OwnerRepositoryImpl.class, OwnerEmailFilterConfiguration.class})
+class OwnerEmailFilterRepositoryTest {
+
+    @Autowired
+    private OwnerRepository repository;
+
+    @Autowired
+    private OwnerEmailFilter filter;
+
+    @Autowired
+    private OwnerEmailFilterLoader loader;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        assertTrue(loader.load());
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+    }
+
+    @Test
+    void shouldAnswerFreeEmailWithoutQuery() {
+        // Given
+        statistics.clear();
+
+        // When
+        boolean taken = repository.existsByEmail("nobody@example.com");
+
+        // Then
+        assertFalse(taken);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldConfirmEmailOfSavedOwner() {
+        // Given
+        repository.save(newOwner("john.doe@example.com"));
+        entityManager.flush();
+
+        // When
+        boolean taken = repository.existsByEmail(" John.Doe@Example.com ");
+
+        // Then
+        assertTrue(taken);
+    }
+
+    @Test
+    void shouldFindTakenEmailsWithOneQueryForThoseFilterCannotRuleOut() {
+        // Given
+        repository.save(newOwner("john.doe@example.com"));
+        repository.save(newOwner("jane.doe@example.com"));
+        statistics.clear();
+
+        // When
+        var taken = repository.findTakenEmails(List.of(" John.Doe@Example.com ", "jane.doe@example.com",
+            "nobody@example.com", "somebody@example.com"));
+
+        // Then
+        assertEquals(Set.of("john.doe@example.com", "jane.doe@example.com"), taken);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldLoadEmailsAlreadyStored() {
+        // Given
+        entityManager.persist(OwnerJpaEntity.fromDomain(newOwner("jane.doe@example.com")));
+        entityManager.flush();
+        assertFalse(repository.existsByEmail("jane.doe@example.com"));
+
+        // When
+        boolean loaded = loader.load();
+
+        // Then
+        assertTrue(loaded);
+        assertTrue(filter.mightContain("jane.doe@example.com"));
+        assertTrue(repository.existsByEmail("jane.doe@example.com"));
+    }
+
+    @Test
+    void shouldRefuseToStartWithoutCrossNodeInvalidation() {
+        // Given
+        var configuration = new OwnerEmailFilterConfiguration();
+        var properties = new OwnerEmailFilterProperties(true, 100_000, 0.01);
+        var invalidation = new CacheInvalidationProperties(false, 500, Duration.ofSeconds(30), Duration.ofHours(1));
+
+        // When/Then
+        assertThrows(IllegalStateException.class, () -> configuration.ownerEmailFilter(properties, invalidation));
+    }
+
+    private static Owner newOwner(String email) {
+        return Owner.create(OwnerId.generate(), new FullName("John", "Doe"), new ContactInformation(
+            email, "+12345678901", new Address("123 Main St", "Springfield", "IL", "62701")));
+    }
+}
\ No newline at end of file
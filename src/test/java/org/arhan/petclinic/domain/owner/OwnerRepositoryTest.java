@@ -1,16 +1,27 @@
 package org.arhan.petclinic.domain.owner;
 
+import org.arhan.petclinic.domain.common.ConcurrencyConflictException;
+import org.arhan.petclinic.domain.common.DuplicateEntityException;
 import org.arhan.petclinic.domain.common.EntityNotFoundException;
+import org.arhan.petclinic.domain.common.Keyset;
+import org.arhan.petclinic.domain.pet.*;
 import org.arhan.petclinic.infrastructure.persistence.owner.OwnerRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetJpaEntity;
+import org.arhan.petclinic.infrastructure.persistence.pet.SpeciesDictionary;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
-@Import(OwnerRepositoryImpl.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({OwnerRepositoryImpl.class, SpeciesDictionary.class})
 class OwnerRepositoryTest {
     
     @Autowired
@@ -18,6 +29,9 @@ class OwnerRepositoryTest {
     
     @Autowired
     private TestEntityManager entityManager;
+    
+    @Autowired
+    private SpeciesDictionary speciesDictionary;
 
     private static final FullName VALID_NAME = new FullName("John", "Doe");
     private static final Address VALID_ADDRESS = new Address(
@@ -142,7 +156,7 @@ class OwnerRepositoryTest {
         entityManager.clear();
         
         FullName updatedName = new FullName("Jonathan", "Doe");
-        Owner updatedOwner = Owner.create(id, updatedName, VALID_CONTACT);
+        Owner updatedOwner = Owner.reconstitute(id, updatedName, VALID_CONTACT, repository.findById(id).getVersion());
         
         // When
         repository.save(updatedOwner);
@@ -154,4 +168,211 @@ class OwnerRepositoryTest {
         // Then
         assertEquals(updatedName, found.getName());
     }
+    
+    @Test
+    void shouldDerivePetsFromPetOwnership() {
+        // Given
+        OwnerId id = OwnerId.generate();
+        repository.save(Owner.create(id, VALID_NAME, VALID_CONTACT));
+        PetId petId = PetId.generate();
+        Pet pet = Pet.create(petId, new PetName("Max"), new Species("Dog"), LocalDate.now().minusYears(2), id);
+        entityManager.persist(PetJpaEntity.fromDomain(pet, speciesDictionary.idOf(0, pet.getSpecies())));
+        entityManager.flush();
+        entityManager.clear();
+        
+        // When
+        long version = repository.findById(id).getVersion();
+        repository.save(Owner.reconstitute(id, new FullName("Jonathan", "Doe"), VALID_CONTACT, version));
+        entityManager.flush();
+        entityManager.clear();
+        
+        Owner found = repository.findById(id);
+        
+        // Then
+        assertEquals(List.of(petId), found.getPets());
+    }
+    
+    @Test
+    void shouldInsertNewOwnerWithSingleStatement() {
+        // Given
+        Owner owner = Owner.create(OwnerId.generate(), VALID_NAME, VALID_CONTACT);
+        var statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.clear();
+        
+        // When
+        repository.save(owner);
+        entityManager.flush();
+        
+        // Then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+    }
+    
+    @Test
+    void shouldReportWhetherOwnerExists() {
+        // Given
+        OwnerId id = OwnerId.generate();
+        repository.save(Owner.create(id, VALID_NAME, VALID_CONTACT));
+        entityManager.flush();
+        entityManager.clear();
+        
+        // When/Then
+        assertTrue(repository.existsById(id));
+        assertFalse(repository.existsById(OwnerId.generate()));
+    }
+    
+    @Test
+    void shouldUpdateOwnerWithOneVersionCheckedStatement() {
+        // Given
+        OwnerId id = OwnerId.generate();
+        repository.save(Owner.create(id, VALID_NAME, VALID_CONTACT));
+        entityManager.flush();
+        entityManager.clear();
+        var statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.clear();
+        
+        // When
+        Owner updated = repository.update(
+            Owner.reconstitute(id, new FullName("Jonathan", "Doe"), VALID_CONTACT, Owner.INITIAL_VERSION));
+        
+        // Then
+        assertEquals(1L, updated.getVersion());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        Owner found = repository.findById(id);
+        assertEquals(new FullName("Jonathan", "Doe"), found.getName());
+        assertEquals(1L, found.getVersion());
+    }
+    
+    @Test
+    void shouldRejectUpdateBasedOnStaleVersion() {
+        // Given
+        OwnerId id = OwnerId.generate();
+        repository.save(Owner.create(id, VALID_NAME, VALID_CONTACT));
+        entityManager.flush();
+        repository.update(Owner.reconstitute(id, new FullName("Jonathan", "Doe"), VALID_CONTACT, Owner.INITIAL_VERSION));
+        
+        // When/Then
+        assertThrows(ConcurrencyConflictException.class,
+            () -> repository.update(Owner.reconstitute(id, new FullName("Johnny", "Doe"), VALID_CONTACT, Owner.INITIAL_VERSION)));
+        assertEquals(new FullName("Jonathan", "Doe"), repository.findById(id).getName());
+    }
+    
+    @Test
+    void shouldRejectSavingOwnerWithEmailAnotherOwnerHas() {
+        // Given
+        repository.save(Owner.create(OwnerId.generate(), VALID_NAME, VALID_CONTACT));
+        Owner duplicate = Owner.create(OwnerId.generate(), new FullName("Jane", "Doe"), VALID_CONTACT);
+
+        // When/Then
+        assertThrows(DuplicateEntityException.class, () -> repository.save(duplicate));
+    }
+
+    @Test
+    void shouldRejectUpdatingOwnerToEmailAnotherOwnerHas() {
+        // Given
+        OwnerId id = OwnerId.generate();
+        repository.save(Owner.create(OwnerId.generate(), VALID_NAME, VALID_CONTACT));
+        repository.save(Owner.create(id, VALID_NAME, new ContactInformation("jane.doe@example.com", "+12345678901", VALID_ADDRESS)));
+
+        // When/Then
+        assertThrows(DuplicateEntityException.class,
+            () -> repository.update(Owner.reconstitute(id, VALID_NAME, VALID_CONTACT, Owner.INITIAL_VERSION)));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenUpdatingMissingOwner() {
+        // Given
+        Owner owner = Owner.reconstitute(OwnerId.generate(), VALID_NAME, VALID_CONTACT, Owner.INITIAL_VERSION);
+        
+        // When/Then
+        assertThrows(EntityNotFoundException.class, () -> repository.update(owner));
+    }
+    
+    @Test
+    void shouldWalkAllOwnersByIdOnePageAtATime() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            repository.save(newOwner("Doe", i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        
+        // When
+        var seen = new ArrayList<OwnerId>();
+        Keyset after = null;
+        do {
+            var page = repository.findPage(OwnerSort.ID, after, 2);
+            page.items().forEach(owner -> seen.add(owner.getId()));
+            after = page.next();
+        } while (after != null);
+        
+        // Then
+        assertEquals(5, seen.size());
+        assertEquals(5, new HashSet<>(seen).size());
+    }
+    
+    @Test
+    void shouldListOwnersByLastNameAcrossPages() {
+        // Given
+        repository.save(newOwner("Carter", 0));
+        repository.save(newOwner("Adams", 1));
+        repository.save(newOwner("Baker", 2));
+        repository.save(newOwner("Adams", 3));
+        entityManager.flush();
+        entityManager.clear();
+        
+        // When
+        var first = repository.findPage(OwnerSort.LAST_NAME, null, 3);
+        var second = repository.findPage(OwnerSort.LAST_NAME, first.next(), 3);
+        
+        // Then
+        assertEquals(List.of("Adams", "Adams", "Baker"),
+            first.items().stream().map(owner -> owner.getName().lastName()).toList());
+        assertEquals(List.of("Carter"),
+            second.items().stream().map(owner -> owner.getName().lastName()).toList());
+        assertFalse(second.hasNext());
+    }
+    
+    @Test
+    void shouldLoadPetsOfWholePageInOneQuery() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            Owner owner = newOwner("Doe", i);
+            repository.save(owner);
+            Pet pet = Pet.create(PetId.generate(), new PetName("Max"), new Species("Dog"), LocalDate.now().minusYears(2), owner.getId());
+            entityManager.persist(PetJpaEntity.fromDomain(pet, speciesDictionary.idOf(0, pet.getSpecies())));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        var statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.clear();
+        
+        // When
+        var page = repository.findPage(OwnerSort.CREATED_AT, null, 10);
+        
+        // Then
+        assertEquals(3, page.items().size());
+        assertTrue(page.items().stream().allMatch(owner -> owner.getPets().size() == 1));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+    
+    @Test
+    void shouldRejectMalformedKeyset() {
+        // When/Then
+        assertThrows(IllegalArgumentException.class,
+            () -> repository.findPage(OwnerSort.CREATED_AT, new Keyset("yesterday", OwnerId.generate().value()), 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> repository.findPage(OwnerSort.ID, new Keyset(null, "not-a-uuid"), 10));
+    }
+    
+    private static Owner newOwner(String lastName, int index) {
+        return Owner.create(OwnerId.generate(), new FullName("John", lastName),
+            new ContactInformation("owner" + index + "@example.com", "+12345678901", VALID_ADDRESS));
+    }
 }
\ No newline at end of file
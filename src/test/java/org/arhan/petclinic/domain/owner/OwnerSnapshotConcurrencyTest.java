@@ -0,0 +1,92 @@
+package org.arhan.petclinic.domain.owner;
+
+import org.arhan.petclinic.domain.pet.*;
+import org.arhan.petclinic.infrastructure.config.OwnerSnapshotConfiguration;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.SpeciesDictionary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pets added to the same owner by concurrent transactions, each of which rebuilds the owner's
+ * snapshot. Once they have all committed, the snapshot must list every pet, whichever order
+ * the transactions ran and committed in.
+ */
+@DataJpaTest(properties = "petclinic.persistence.owner-snapshots.enabled=true")
+@Import({OwnerRepositoryImpl.class, PetRepositoryImpl.class, SpeciesDictionary.class, OwnerSnapshotConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OwnerSnapshotConcurrencyTest {
+
+    private static final int WRITERS = 4;
+    private static final int PETS_PER_WRITER = 25;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldKeepEveryPetInSnapshotWhenAddedConcurrently() throws Exception {
+        // Given
+        var transaction = new TransactionTemplate(transactionManager);
+        OwnerId ownerId = OwnerId.generate();
+        transaction.executeWithoutResult(status -> ownerRepository.save(Owner.create(ownerId,
+            new FullName("John", "Doe"),
+            new ContactInformation(ownerId.value() + "@example.com", "+12345678901",
+                new Address("123 Main St", "Springfield", "IL", "62701")))));
+        var added = new HashSet<PetId>();
+        var first = newPet(ownerId);
+        // Allocates the species up front, so the writers only contend for the owner
+        transaction.executeWithoutResult(status -> petRepository.save(first));
+        added.add(first.getId());
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(WRITERS);
+
+        // When
+        var writers = new ArrayList<Future<?>>();
+        for (int w = 0; w < WRITERS; w++) {
+            var pets = new ArrayList<Pet>();
+            for (int i = 0; i < PETS_PER_WRITER; i++) {
+                pets.add(newPet(ownerId));
+            }
+            pets.forEach(pet -> added.add(pet.getId()));
+            writers.add(executor.submit(() -> {
+                start.await();
+                pets.forEach(pet -> transaction.executeWithoutResult(status -> petRepository.save(pet)));
+                return null;
+            }));
+        }
+        start.countDown();
+        for (var writer : writers) {
+            writer.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        var owner = transaction.execute(status -> ownerRepository.findById(ownerId));
+        assertEquals(added, new HashSet<>(owner.getPets()));
+    }
+
+    private static Pet newPet(OwnerId ownerId) {
+        return Pet.create(PetId.generate(), new PetName("Max"), new Species("Dog"), LocalDate.now().minusYears(2), ownerId);
+    }
+}
\ No newline at end of file
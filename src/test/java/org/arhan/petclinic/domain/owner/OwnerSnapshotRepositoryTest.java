@@ -0,0 +1,125 @@
+package org.arhan.petclinic.domain.owner;
+
+import org.arhan.petclinic.domain.pet.*;
+import org.arhan.petclinic.infrastructure.config.OwnerSnapshotConfiguration;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.SpeciesDictionary;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Owner reads and writes with snapshot storage enabled. Reads of owners with 1, 10 and 1000
+ * pets are compared by statement count: the normalized mapping needs one statement for the
+ * owner and one for its pet IDs, a snapshot read needs only the single-row fetch.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "petclinic.persistence.owner-snapshots.enabled=true"
+})
+@Import({OwnerRepositoryImpl.class, PetRepositoryImpl.class, SpeciesDictionary.class, OwnerSnapshotConfiguration.class})
+class OwnerSnapshotRepositoryTest {
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    private static final FullName VALID_NAME = new FullName("John", "Doe");
+    private static final ContactInformation VALID_CONTACT = new ContactInformation(
+        "john.doe@example.com",
+        "+12345678901",
+        new Address("123 Main St", "Springfield", "IL", "62701")
+    );
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void shouldReadOwnerFromSingleRowWhateverItsPetCount(int petCount) {
+        // Given
+        OwnerId id = OwnerId.generate();
+        ownerRepository.save(Owner.create(id, VALID_NAME, VALID_CONTACT));
+        petRepository.saveAll(IntStream.range(0, petCount)
+            .mapToObj(i -> newPet(id))
+            .toList());
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // When
+        Owner found = ownerRepository.findById(id);
+
+        // Then
+        assertEquals(petCount, found.getPets().size());
+        assertEquals(VALID_NAME, found.getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void shouldRefreshSnapshotWhenOwnerIsUpdated() {
+        // Given
+        OwnerId id = OwnerId.generate();
+        ownerRepository.save(Owner.create(id, VALID_NAME, VALID_CONTACT));
+        entityManager.flush();
+
+        // When
+        ownerRepository.update(Owner.reconstitute(id, new FullName("Jonathan", "Doe"), VALID_CONTACT, Owner.INITIAL_VERSION));
+        entityManager.clear();
+        Owner found = ownerRepository.findById(id);
+
+        // Then
+        assertEquals(new FullName("Jonathan", "Doe"), found.getName());
+        assertEquals(1L, found.getVersion());
+    }
+
+    @Test
+    void shouldRefreshSnapshotsOfBothOwnersWhenPetMoves() {
+        // Given
+        OwnerId previousOwner = OwnerId.generate();
+        OwnerId newOwner = OwnerId.generate();
+        ownerRepository.save(Owner.create(previousOwner, VALID_NAME, VALID_CONTACT));
+        ownerRepository.save(Owner.create(newOwner, VALID_NAME,
+            new ContactInformation("jane.doe@example.com", "+12345678901", VALID_CONTACT.address())));
+        Pet pet = newPet(previousOwner);
+        petRepository.save(pet);
+        entityManager.flush();
+
+        // When
+        petRepository.update(Pet.reconstitute(pet.getId(), pet.getName(), pet.getSpecies(), pet.getBirthDate(),
+            newOwner, Pet.INITIAL_VERSION));
+        entityManager.clear();
+
+        // Then
+        assertEquals(List.of(), ownerRepository.findById(previousOwner).getPets());
+        assertEquals(List.of(pet.getId()), ownerRepository.findById(newOwner).getPets());
+    }
+
+    private static Pet newPet(OwnerId ownerId) {
+        return Pet.create(PetId.generate(), new PetName("Max"), new Species("Dog"), LocalDate.now().minusYears(2), ownerId);
+    }
+}
\ No newline at end of file
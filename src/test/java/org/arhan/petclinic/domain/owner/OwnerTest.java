@@ -124,4 +124,24 @@ class OwnerTest {
         assertThrows(IllegalStateException.class,
             () -> owner.removePet(petId));
     }
+    
+    @Test
+    void shouldTreatCreatedOwnerAsNew() {
+        // When
+        Owner owner = Owner.create(OwnerId.generate(), VALID_NAME, VALID_CONTACT);
+        
+        // Then
+        assertTrue(owner.isNew());
+        assertNull(owner.getVersion());
+    }
+    
+    @Test
+    void shouldReconstitutePersistedOwner() {
+        // When
+        Owner owner = Owner.reconstitute(OwnerId.generate(), VALID_NAME, VALID_CONTACT, 2L);
+        
+        // Then
+        assertFalse(owner.isNew());
+        assertEquals(2L, owner.getVersion());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package org.arhan.petclinic.domain.pet;
+
+import org.arhan.petclinic.domain.clinic.VeterinarianId;
+import org.arhan.petclinic.domain.owner.OwnerId;
+import org.arhan.petclinic.infrastructure.persistence.pet.MedicalRecordRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.SpeciesDictionary;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({MedicalRecordRepositoryImpl.class, PetRepositoryImpl.class, SpeciesDictionary.class})
+class MedicalRecordRepositoryTest {
+    
+    @Autowired
+    private MedicalRecordRepository repository;
+    
+    @Autowired
+    private PetRepository petRepository;
+    
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private static final VeterinarianId VALID_VETERINARIAN_ID = VeterinarianId.generate();
+
+    private PetId petId;
+
+    @BeforeEach
+    void setUp() {
+        petId = PetId.generate();
+        petRepository.save(Pet.create(petId, new PetName("Max"), new Species("Dog"),
+            LocalDate.now().minusYears(2), OwnerId.generate()));
+        entityManager.flush();
+    }
+
+    @Test
+    void shouldSaveAndFindRecordWithTreatments() {
+        // Given
+        var record = newRecord(LocalDateTime.now().minusDays(1), "Annual checkup");
+        record.addTreatment(new Treatment("Rabies vaccine", LocalDateTime.now().minusDays(1)));
+        record.addTreatment(new Treatment("Deworming", LocalDateTime.now().minusDays(1)));
+        
+        // When
+        repository.save(petId, record);
+        entityManager.flush();
+        entityManager.clear();
+        
+        var found = repository.findByPet(petId, 0, 20);
+        
+        // Then
+        assertEquals(1, found.size());
+        assertEquals(record.getId(), found.get(0).getId());
+        assertEquals("Annual checkup", found.get(0).getDescription());
+        assertEquals(VALID_VETERINARIAN_ID, found.get(0).getVeterinarianId());
+        assertEquals(2, found.get(0).getTreatments().size());
+        assertEquals("Rabies vaccine", found.get(0).getTreatments().get(0).description());
+        assertEquals("Deworming", found.get(0).getTreatments().get(1).description());
+    }
+    
+    @Test
+    void shouldPageHistoryNewestFirst() {
+        // Given
+        var now = LocalDateTime.now();
+        for (int i = 1; i <= 5; i++) {
+            repository.save(petId, newRecord(now.minusDays(i), "Visit " + i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        
+        // When
+        var firstPage = repository.findByPet(petId, 0, 2);
+        var lastPage = repository.findByPet(petId, 2, 2);
+        
+        // Then
+        assertEquals(2, firstPage.size());
+        assertEquals("Visit 1", firstPage.get(0).getDescription());
+        assertEquals("Visit 2", firstPage.get(1).getDescription());
+        assertEquals(1, lastPage.size());
+        assertEquals("Visit 5", lastPage.get(0).getDescription());
+    }
+    
+    @Test
+    void shouldLoadTreatmentsForWholePageInOneBatch() {
+        // Given
+        var now = LocalDateTime.now();
+        for (int i = 1; i <= 10; i++) {
+            var record = newRecord(now.minusDays(i), "Visit " + i);
+            record.addTreatment(new Treatment("Treatment " + i, now.minusDays(i)));
+            repository.save(petId, record);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        var statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.clear();
+        
+        // When
+        var page = repository.findByPet(petId, 0, 10);
+        
+        // Then
+        assertEquals(10, page.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+    
+    @Test
+    void shouldNotReturnRecordsOfOtherPets() {
+        // Given
+        repository.save(petId, newRecord(LocalDateTime.now().minusDays(1), "Annual checkup"));
+        entityManager.flush();
+        
+        // When
+        var found = repository.findByPet(PetId.generate(), 0, 20);
+        
+        // Then
+        assertTrue(found.isEmpty());
+    }
+    
+    @Test
+    void shouldThrowExceptionWhenPageIsInvalid() {
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () -> repository.findByPet(petId, -1, 20));
+        assertThrows(IllegalArgumentException.class, () -> repository.findByPet(petId, 0, 0));
+    }
+
+    private MedicalRecord newRecord(LocalDateTime date, String description) {
+        return MedicalRecord.create(MedicalRecordId.generate(), date, description, VALID_VETERINARIAN_ID);
+    }
+}
\ No newline at end of file
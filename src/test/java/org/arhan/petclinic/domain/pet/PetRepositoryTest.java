@@ -1,20 +1,30 @@
 package org.arhan.petclinic.domain.pet;
 
+import org.arhan.petclinic.domain.common.ConcurrencyConflictException;
 import org.arhan.petclinic.domain.common.EntityNotFoundException;
-import org.arhan.petclinic.domain.owner.OwnerId;
+import org.arhan.petclinic.domain.common.Keyset;
+import org.arhan.petclinic.domain.owner.*;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerJpaEntity;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetJpaEntity;
 import org.arhan.petclinic.infrastructure.persistence.pet.PetJpaRepository;
 import org.arhan.petclinic.infrastructure.persistence.pet.PetRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.SpeciesDictionary;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.TestTransaction;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
-@Import(PetRepositoryImpl.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({PetRepositoryImpl.class, SpeciesDictionary.class})
 class PetRepositoryTest {
     
     @Autowired
@@ -49,7 +59,53 @@ class PetRepositoryTest {
         assertEquals(VALID_BIRTH_DATE, found.getBirthDate());
         assertEquals(VALID_OWNER_ID, found.getOwnerId());
     }
-    
+
+    @Test
+    void shouldStoreEachSpeciesOnceAndShareItAcrossPets() {
+        // Given
+        Pet first = Pet.create(PetId.generate(), VALID_NAME, new Species("Axolotl"), VALID_BIRTH_DATE, VALID_OWNER_ID);
+        Pet second = Pet.create(PetId.generate(), new PetName("Bella"), new Species(" Axolotl "), VALID_BIRTH_DATE, VALID_OWNER_ID);
+
+        // When
+        repository.save(first);
+        repository.save(second);
+        entityManager.flush();
+        entityManager.clear();
+
+        Species firstSpecies = repository.findById(first.getId()).getSpecies();
+        Species secondSpecies = repository.findById(second.getId()).getSpecies();
+
+        // Then
+        assertEquals(new Species("Axolotl"), firstSpecies);
+        assertSame(firstSpecies, secondSpecies);
+        Number rows = (Number) entityManager.getEntityManager()
+            .createNativeQuery("select count(*) from species where name = 'Axolotl'")
+            .getSingleResult();
+        assertEquals(1, rows.intValue());
+    }
+
+    @Test
+    void shouldAddSpeciesAgainWhenTransactionThatAddedItRolledBack() {
+        // Given
+        repository.save(Pet.create(PetId.generate(), VALID_NAME, new Species("Quokka"), VALID_BIRTH_DATE, VALID_OWNER_ID));
+        entityManager.flush();
+        TestTransaction.end();
+        TestTransaction.start();
+        PetId id = PetId.generate();
+
+        // When
+        repository.save(Pet.create(id, VALID_NAME, new Species("Quokka"), VALID_BIRTH_DATE, VALID_OWNER_ID));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertEquals(new Species("Quokka"), repository.findById(id).getSpecies());
+        Number rows = (Number) entityManager.getEntityManager()
+            .createNativeQuery("select count(*) from species where name = 'Quokka'")
+            .getSingleResult();
+        assertEquals(1, rows.intValue());
+    }
+
     @Test
     void shouldThrowExceptionWhenPetNotFound() {
         // Given
@@ -122,7 +178,8 @@ class PetRepositoryTest {
         entityManager.clear();
         
         PetName updatedName = new PetName("Maxwell");
-        Pet updatedPet = Pet.create(id, updatedName, VALID_SPECIES, VALID_BIRTH_DATE, VALID_OWNER_ID);
+        long version = repository.findById(id).getVersion();
+        Pet updatedPet = Pet.reconstitute(id, updatedName, VALID_SPECIES, VALID_BIRTH_DATE, VALID_OWNER_ID, version);
         
         // When
         repository.save(updatedPet);
@@ -134,4 +191,186 @@ class PetRepositoryTest {
         // Then
         assertEquals(updatedName, found.getName());
     }
+    
+    @Test
+    void shouldInsertNewPetWithSingleStatement() {
+        // Given
+        Pet pet = Pet.create(PetId.generate(), VALID_NAME, VALID_SPECIES, VALID_BIRTH_DATE, VALID_OWNER_ID);
+        var statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.clear();
+        
+        // When
+        repository.save(pet);
+        entityManager.flush();
+        
+        // Then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+    }
+    
+    @Test
+    void shouldSaveSeveralPetsInBatches() {
+        // Given
+        OwnerId ownerId = OwnerId.generate();
+        var pets = new ArrayList<Pet>();
+        for (int i = 0; i < 120; i++) {
+            pets.add(Pet.create(PetId.generate(), new PetName("Pet " + i), VALID_SPECIES, VALID_BIRTH_DATE, ownerId));
+        }
+        var statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.clear();
+        
+        // When
+        repository.saveAll(pets);
+        
+        // Then
+        assertEquals(120, statistics.getEntityInsertCount());
+        assertEquals(120, repository.findByOwner(ownerId).size());
+    }
+    
+    @Test
+    void shouldKeepEntitiesLoadedBeforeBulkSaveManaged() {
+        // Given
+        PetId id = PetId.generate();
+        repository.save(Pet.create(id, VALID_NAME, VALID_SPECIES, VALID_BIRTH_DATE, VALID_OWNER_ID));
+        entityManager.flush();
+        entityManager.clear();
+        var loaded = entityManager.find(PetJpaEntity.class, IdConverters.toUuid(id));
+        var pets = new ArrayList<Pet>();
+        for (int i = 0; i < 60; i++) {
+            pets.add(Pet.create(PetId.generate(), new PetName("Pet " + i), VALID_SPECIES, VALID_BIRTH_DATE, VALID_OWNER_ID));
+        }
+        
+        // When
+        repository.saveAll(pets);
+        
+        // Then
+        assertTrue(entityManager.getEntityManager().contains(loaded));
+        assertEquals(61, repository.findByOwner(VALID_OWNER_ID).size());
+    }
+    
+    @Test
+    void shouldReportWhetherPetExists() {
+        // Given
+        PetId id = PetId.generate();
+        repository.save(Pet.create(id, VALID_NAME, VALID_SPECIES, VALID_BIRTH_DATE, VALID_OWNER_ID));
+        entityManager.flush();
+        entityManager.clear();
+        
+        // When/Then
+        assertTrue(repository.existsById(id));
+        assertFalse(repository.existsById(PetId.generate()));
+    }
+    
+    @Test
+    void shouldUpdatePetWithOneVersionCheckedStatement() {
+        // Given
+        OwnerId ownerId = persistOwner();
+        PetId id = PetId.generate();
+        repository.save(Pet.create(id, VALID_NAME, VALID_SPECIES, VALID_BIRTH_DATE, ownerId));
+        entityManager.flush();
+        entityManager.clear();
+        var statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.clear();
+        
+        // When
+        Pet updated = repository.update(
+            Pet.reconstitute(id, new PetName("Maxwell"), VALID_SPECIES, VALID_BIRTH_DATE, ownerId, Pet.INITIAL_VERSION));
+        
+        // Then
+        assertEquals(1L, updated.getVersion());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        Pet found = repository.findById(id);
+        assertEquals(new PetName("Maxwell"), found.getName());
+        assertEquals(1L, found.getVersion());
+    }
+    
+    @Test
+    void shouldRejectUpdateBasedOnStaleVersion() {
+        // Given
+        OwnerId ownerId = persistOwner();
+        PetId id = PetId.generate();
+        repository.save(Pet.create(id, VALID_NAME, VALID_SPECIES, VALID_BIRTH_DATE, ownerId));
+        entityManager.flush();
+        repository.update(Pet.reconstitute(id, new PetName("Maxwell"), VALID_SPECIES, VALID_BIRTH_DATE, ownerId, Pet.INITIAL_VERSION));
+        
+        // When/Then
+        assertThrows(ConcurrencyConflictException.class,
+            () -> repository.update(Pet.reconstitute(id, new PetName("Rex"), VALID_SPECIES, VALID_BIRTH_DATE, ownerId, Pet.INITIAL_VERSION)));
+        assertEquals(new PetName("Maxwell"), repository.findById(id).getName());
+    }
+    
+    @Test
+    void shouldNotMovePetToMissingOwner() {
+        // Given
+        OwnerId ownerId = persistOwner();
+        PetId id = PetId.generate();
+        repository.save(Pet.create(id, VALID_NAME, VALID_SPECIES, VALID_BIRTH_DATE, ownerId));
+        entityManager.flush();
+        OwnerId missingOwnerId = OwnerId.generate();
+        
+        // When/Then
+        var exception = assertThrows(EntityNotFoundException.class,
+            () -> repository.update(Pet.reconstitute(id, VALID_NAME, VALID_SPECIES, VALID_BIRTH_DATE, missingOwnerId, Pet.INITIAL_VERSION)));
+        assertTrue(exception.getMessage().startsWith("Owner"));
+    }
+    
+    @Test
+    void shouldThrowExceptionWhenUpdatingMissingPet() {
+        // Given
+        OwnerId ownerId = persistOwner();
+        Pet pet = Pet.reconstitute(PetId.generate(), VALID_NAME, VALID_SPECIES, VALID_BIRTH_DATE, ownerId, Pet.INITIAL_VERSION);
+        
+        // When/Then
+        assertThrows(EntityNotFoundException.class, () -> repository.update(pet));
+    }
+    
+    @Test
+    void shouldWalkAllPetsOnePageAtATime() {
+        // Given
+        OwnerId ownerId = persistOwner();
+        for (int i = 0; i < 5; i++) {
+            repository.save(Pet.create(PetId.generate(), VALID_NAME, VALID_SPECIES, VALID_BIRTH_DATE, ownerId));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        
+        for (PetSort sort : PetSort.values()) {
+            // When
+            var seen = new ArrayList<PetId>();
+            Keyset after = null;
+            do {
+                var page = repository.findPage(sort, after, 2);
+                page.items().forEach(pet -> seen.add(pet.getId()));
+                after = page.next();
+            } while (after != null);
+            
+            // Then
+            assertEquals(5, seen.size());
+            assertEquals(5, new HashSet<>(seen).size());
+        }
+    }
+    
+    @Test
+    void shouldThrowExceptionWhenPageSizeIsNotPositive() {
+        // When/Then
+        assertThrows(IllegalArgumentException.class,
+            () -> repository.findPage(PetSort.ID, null, 0));
+    }
+
+    private OwnerId persistOwner() {
+        OwnerId ownerId = OwnerId.generate();
+        entityManager.persist(OwnerJpaEntity.fromDomain(Owner.create(
+            ownerId,
+            new FullName("John", "Doe"),
+            new ContactInformation(ownerId.value() + "@example.com", "+12345678901",
+                new Address("123 Main St", "Springfield", "IL", "62701"))
+        )));
+        return ownerId;
+    }
 }
\ No newline at end of file
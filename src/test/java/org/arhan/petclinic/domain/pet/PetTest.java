@@ -106,4 +106,26 @@ class PetTest {
         assertThrows(IllegalArgumentException.class, 
             () -> Pet.create(id, name, species, birthDate, null));
     }
+    
+    @Test
+    void shouldTreatCreatedPetAsNew() {
+        // When
+        Pet pet = Pet.create(PetId.generate(), new PetName("Max"), new Species("Dog"),
+            LocalDate.now().minusYears(2), OwnerId.generate());
+        
+        // Then
+        assertTrue(pet.isNew());
+        assertNull(pet.getVersion());
+    }
+    
+    @Test
+    void shouldReconstitutePersistedPet() {
+        // When
+        Pet pet = Pet.reconstitute(PetId.generate(), new PetName("Max"), new Species("Dog"),
+            LocalDate.now().minusYears(2), OwnerId.generate(), 3L);
+        
+        // Then
+        assertFalse(pet.isNew());
+        assertEquals(3L, pet.getVersion());
+    }
 }
\ No newline at end of file
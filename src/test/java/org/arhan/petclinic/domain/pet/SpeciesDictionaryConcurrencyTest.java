@@ -0,0 +1,80 @@
+package org.arhan.petclinic.domain.pet;
+
+import org.arhan.petclinic.domain.owner.OwnerId;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.SpeciesDictionary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * New species added by transactions that are open at the same time. Each is inserted in the
+ * transaction of the pet that refers to it, so its row stays locked until that transaction ends.
+ */
+@DataJpaTest
+@Import({PetRepositoryImpl.class, SpeciesDictionary.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SpeciesDictionaryConcurrencyTest {
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldNotWaitForTransactionAddingAnotherSpecies() throws Exception {
+        // Given
+        var transaction = new TransactionTemplate(transactionManager);
+        var added = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(2);
+        var open = executor.submit(() -> transaction.executeWithoutResult(status -> {
+            petRepository.save(newPet(new Species("Ocelot")));
+            added.countDown();
+            await(release);
+        }));
+        assertTrue(added.await(5, TimeUnit.SECONDS));
+        PetId id = PetId.generate();
+
+        // When
+        var other = executor.submit(() -> transaction.executeWithoutResult(status ->
+            petRepository.save(newPet(id, new Species("Tapir")))));
+
+        // Then
+        try {
+            other.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            open.get(5, TimeUnit.SECONDS);
+            executor.shutdown();
+        }
+        assertEquals(new Species("Tapir"), transaction.execute(status -> petRepository.findById(id)).getSpecies());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Pet newPet(Species species) {
+        return newPet(PetId.generate(), species);
+    }
+
+    private static Pet newPet(PetId id, Species species) {
+        return Pet.create(id, new PetName("Max"), species, LocalDate.now().minusYears(2), OwnerId.generate());
+    }
+}
\ No newline at end of file
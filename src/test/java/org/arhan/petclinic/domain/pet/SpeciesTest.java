@@ -43,4 +43,22 @@ class SpeciesTest {
         // Then
         assertEquals("Dog", species.name());
     }
+    
+    @Test
+    void shouldShareOneInstancePerName() {
+        // When
+        Species first = Species.of("Hamster");
+        Species second = Species.of("  Hamster ");
+        
+        // Then
+        assertSame(first, second);
+        assertEquals(new Species("Hamster"), first);
+    }
+    
+    @Test
+    void shouldNotInternInvalidName() {
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () -> Species.of(null));
+        assertThrows(IllegalArgumentException.class, () -> Species.of("  "));
+    }
 }
\ No newline at end of file
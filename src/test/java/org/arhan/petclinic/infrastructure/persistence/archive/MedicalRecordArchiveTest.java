@@ -0,0 +1,160 @@
+package org.arhan.petclinic.infrastructure.persistence.archive;
+
+import org.arhan.petclinic.domain.clinic.VeterinarianId;
+import org.arhan.petclinic.domain.pet.MedicalRecord;
+import org.arhan.petclinic.domain.pet.MedicalRecordId;
+import org.arhan.petclinic.domain.pet.Treatment;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MedicalRecordArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReadBackArchivedRecordsNewestFirst() {
+        // Given
+        var petId = UUID.randomUUID();
+        var date = LocalDateTime.now().minusYears(3).withNano(123_456_789);
+        var older = newRecord(date, "Vaccination");
+        older.addTreatment(new Treatment("Rabies vaccine", date));
+        var newer = newRecord(date.plusDays(30), "Follow-up");
+
+        // When
+        try (var archive = MedicalRecordArchive.open(directory, 1024)) {
+            archive.append(petId, List.of(older));
+            archive.append(petId, List.of(newer));
+            var records = archive.read(petId);
+
+            // Then
+            assertTrue(archive.contains(petId));
+            assertEquals(List.of(newer.getId(), older.getId()), records.stream().map(MedicalRecord::getId).toList());
+            assertEquals(date, records.get(1).getDate());
+            assertEquals(older.getVeterinarianId(), records.get(1).getVeterinarianId());
+            assertEquals(List.of(new Treatment("Rabies vaccine", date)), records.get(1).getTreatments());
+        }
+    }
+
+    @Test
+    void shouldRestoreIndexWhenReopened() {
+        // Given
+        var petId = UUID.randomUUID();
+        var record = newRecord(LocalDateTime.now().minusYears(3), "Annual checkup");
+        try (var archive = MedicalRecordArchive.open(directory, 1024)) {
+            archive.append(petId, List.of(record));
+        }
+
+        // When
+        try (var archive = MedicalRecordArchive.open(directory, 1024)) {
+
+            // Then
+            assertTrue(archive.contains(petId));
+            assertEquals(record.getId(), archive.read(petId).get(0).getId());
+            assertFalse(archive.contains(UUID.randomUUID()));
+        }
+    }
+
+    @Test
+    void shouldIgnoreTornIndexEntryWhenReopened() throws IOException {
+        // Given
+        var petId = UUID.randomUUID();
+        try (var archive = MedicalRecordArchive.open(directory, 1024)) {
+            archive.append(petId, List.of(newRecord(LocalDateTime.now().minusYears(3), "Annual checkup")));
+        }
+        Files.write(directory.resolve("index"), new byte[7], StandardOpenOption.APPEND);
+
+        // When
+        try (var archive = MedicalRecordArchive.open(directory, 1024)) {
+            var otherPetId = UUID.randomUUID();
+            archive.append(otherPetId, List.of(newRecord(LocalDateTime.now().minusYears(3), "Dental cleaning")));
+
+            // Then
+            assertEquals(1, archive.read(petId).size());
+            assertEquals(1, archive.read(otherPetId).size());
+        }
+    }
+
+    @Test
+    void shouldStartNewSegmentOnceCurrentOneIsFull() throws IOException {
+        // Given
+        var petId = UUID.randomUUID();
+
+        // When
+        try (var archive = MedicalRecordArchive.open(directory, 1)) {
+            for (int i = 1; i <= 3; i++) {
+                archive.append(petId, List.of(newRecord(LocalDateTime.now().minusYears(3).plusDays(i), "Visit " + i)));
+            }
+
+            // Then
+            assertEquals(3, archive.read(petId).size());
+        }
+        try (var files = Files.list(directory)) {
+            assertEquals(3, files.filter(file -> file.getFileName().toString().startsWith("segment-")).count());
+        }
+    }
+
+    @Test
+    void shouldLetOneArchiveWriteAndOthersReadWhatItAppends() {
+        // Given
+        var petId = UUID.randomUUID();
+        var record = newRecord(LocalDateTime.now().minusYears(3), "Annual checkup");
+
+        try (var writer = MedicalRecordArchive.open(directory, 1024);
+             var reader = MedicalRecordArchive.open(directory, 1024)) {
+            assertFalse(reader.acquireWriter());
+
+            // When
+            writer.append(petId, List.of(record));
+
+            // Then
+            assertTrue(reader.contains(petId));
+            assertEquals(record.getId(), reader.read(petId).get(0).getId());
+            assertThrows(IllegalStateException.class, () -> reader.append(petId, List.of(record)));
+        }
+    }
+
+    @Test
+    void shouldTakeOverWritingOnceWriterIsClosed() {
+        // Given
+        var petId = UUID.randomUUID();
+        var writer = MedicalRecordArchive.open(directory, 1024);
+        writer.append(petId, List.of(newRecord(LocalDateTime.now().minusYears(3), "Annual checkup")));
+
+        try (var reader = MedicalRecordArchive.open(directory, 1024)) {
+            assertFalse(reader.acquireWriter());
+
+            // When
+            writer.close();
+
+            // Then
+            assertTrue(reader.acquireWriter());
+            reader.append(petId, List.of(newRecord(LocalDateTime.now().minusYears(3), "Dental cleaning")));
+            assertEquals(2, reader.read(petId).size());
+        }
+    }
+
+    @Test
+    void shouldReadNothingFromDisabledArchive() {
+        // Given
+        var archive = MedicalRecordArchive.disabled();
+
+        // When/Then
+        assertFalse(archive.isEnabled());
+        assertFalse(archive.contains(UUID.randomUUID()));
+        assertThrows(IllegalStateException.class, () -> archive.append(UUID.randomUUID(),
+            List.of(newRecord(LocalDateTime.now().minusYears(3), "Annual checkup"))));
+    }
+
+    private MedicalRecord newRecord(LocalDateTime date, String description) {
+        return MedicalRecord.create(MedicalRecordId.generate(), date, description, VeterinarianId.generate());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package org.arhan.petclinic.infrastructure.persistence.archive;
+
+import org.arhan.petclinic.domain.clinic.VeterinarianId;
+import org.arhan.petclinic.domain.owner.OwnerId;
+import org.arhan.petclinic.domain.pet.*;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import org.arhan.petclinic.infrastructure.persistence.pet.MedicalRecordJpaRepository;
+import org.arhan.petclinic.infrastructure.persistence.pet.MedicalRecordRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.SpeciesDictionary;
+import org.arhan.petclinic.infrastructure.persistence.sharding.Shards;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({MedicalRecordRepositoryImpl.class, PetRepositoryImpl.class, SpeciesDictionary.class,
+    MedicalRecordArchiverTest.ArchiveConfiguration.class})
+class MedicalRecordArchiverTest {
+
+    @Autowired
+    private MedicalRecordArchiver archiver;
+
+    @Autowired
+    private MedicalRecordRepository repository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void shouldMoveOldRecordsOutOfHotTable() {
+        // Given
+        var petId = newPet();
+        var now = LocalDateTime.now();
+        repository.save(petId, newRecord(now.minusDays(1), "Recent visit"));
+        repository.save(petId, newRecord(now.minusDays(400), "Old visit"));
+        repository.save(petId, newRecord(now.minusDays(500), "Older visit"));
+        entityManager.flush();
+
+        // When
+        int archived = archiver.archive();
+
+        // Then
+        assertEquals(2, archived);
+        assertEquals(1L, hotRecordCount(petId));
+    }
+
+    @Test
+    void shouldReadPetHistoryThroughToArchive() {
+        // Given
+        var petId = newPet();
+        var now = LocalDateTime.now();
+        for (int i = 1; i <= 4; i++) {
+            var record = newRecord(now.minusDays(i * 200L), "Visit " + i);
+            record.addTreatment(new Treatment("Treatment " + i, now.minusDays(i * 200L)));
+            repository.save(petId, record);
+        }
+        entityManager.flush();
+        archiver.archive();
+        entityManager.clear();
+
+        // When
+        var firstPage = repository.findByPet(petId, 0, 3);
+        var secondPage = repository.findByPet(petId, 1, 3);
+
+        // Then
+        assertEquals(1L, hotRecordCount(petId));
+        assertEquals(3, firstPage.size());
+        assertEquals("Visit 1", firstPage.get(0).getDescription());
+        assertEquals("Visit 2", firstPage.get(1).getDescription());
+        assertEquals("Visit 3", firstPage.get(2).getDescription());
+        assertEquals(1, secondPage.size());
+        assertEquals("Visit 4", secondPage.get(0).getDescription());
+        assertEquals("Treatment 4", secondPage.get(0).getTreatments().get(0).description());
+    }
+
+    @Test
+    void shouldArchivePetsInSeveralBatches() {
+        // Given
+        var now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            repository.save(newPet(), newRecord(now.minusDays(400), "Old visit"));
+        }
+        entityManager.flush();
+
+        // When
+        int archived = archiver.archive();
+
+        // Then
+        assertEquals(5, archived);
+        assertEquals(0, archiver.archive());
+    }
+
+    private long hotRecordCount(PetId petId) {
+        return entityManager.getEntityManager()
+            .createQuery("select count(r) from MedicalRecordJpaEntity r where r.petId = :petId", Long.class)
+            .setParameter("petId", IdConverters.toUuid(petId))
+            .getSingleResult();
+    }
+
+    private PetId newPet() {
+        var petId = PetId.generate();
+        petRepository.save(Pet.create(petId, new PetName("Max"), new Species("Dog"),
+            LocalDate.now().minusYears(2), OwnerId.generate()));
+        return petId;
+    }
+
+    private MedicalRecord newRecord(LocalDateTime date, String description) {
+        return MedicalRecord.create(MedicalRecordId.generate(), date, description, VeterinarianId.generate());
+    }
+
+    @TestConfiguration
+    static class ArchiveConfiguration {
+
+        @Bean(destroyMethod = "close")
+        MedicalRecordArchive medicalRecordArchive() throws IOException {
+            return MedicalRecordArchive.open(Files.createTempDirectory("archive"), 1024 * 1024);
+        }
+
+        @Bean
+        MedicalRecordArchiver medicalRecordArchiver(MedicalRecordJpaRepository jpaRepository,
+                                                    MedicalRecordArchive archive,
+                                                    PlatformTransactionManager transactionManager) {
+            return new MedicalRecordArchiver(jpaRepository, archive, Shards.single(), transactionManager,
+                Clock.systemDefaultZone(), Duration.ofDays(365), 2);
+        }
+    }
+}
\ No newline at end of file
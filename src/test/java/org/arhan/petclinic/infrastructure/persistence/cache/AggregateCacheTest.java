@@ -0,0 +1,102 @@
+package org.arhan.petclinic.infrastructure.persistence.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AggregateCacheTest {
+
+    private static final int PAYLOAD_SIZE = 100;
+    private static final int ENTRY_SIZE = AggregateCache.ENTRY_OVERHEAD + PAYLOAD_SIZE;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldLoadOnceAndServeLaterReadsFromMemory() {
+        // Given
+        var cache = newCache(100);
+        var id = UUID.randomUUID();
+        var loads = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            cache.get(id, key -> {
+                loads.incrementAndGet();
+                return new byte[PAYLOAD_SIZE];
+            });
+        }
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals(2, cache.cache().stats().hitCount());
+        assertEquals(1, cache.cache().stats().missCount());
+    }
+
+    @Test
+    void shouldStayWithinByteBudget() {
+        // Given
+        var cache = newCache(10);
+
+        // When
+        IntStream.range(0, 50).forEach(i -> cache.get(UUID.randomUUID(), key -> new byte[PAYLOAD_SIZE]));
+        cache.cache().cleanUp();
+
+        // Then
+        assertTrue(cache.cache().policy().eviction().orElseThrow().weightedSize().orElseThrow() <= 10L * ENTRY_SIZE);
+        assertEquals(40, cache.cache().stats().evictionCount());
+    }
+
+    @Test
+    void shouldKeepFrequentlyReadEntryWhenScannedByOneOffReads() {
+        // Given
+        var cache = newCache(20);
+        var hot = UUID.randomUUID();
+        for (int i = 0; i < 15; i++) {
+            cache.get(hot, key -> new byte[PAYLOAD_SIZE]);
+        }
+
+        // When
+        IntStream.range(0, 500).forEach(i -> cache.get(UUID.randomUUID(), key -> new byte[PAYLOAD_SIZE]));
+        cache.cache().cleanUp();
+
+        // Then
+        assertNotNull(cache.getIfPresent(hot));
+    }
+
+    @Test
+    void shouldBypassAndEvictAgainEntryWrittenInTransaction() {
+        // Given
+        var cache = newCache(100);
+        var id = UUID.randomUUID();
+        cache.get(id, key -> new byte[] {1});
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        cache.invalidate(id);
+        var uncommitted = cache.get(id, key -> new byte[] {2});
+        var cachedDuringTransaction = cache.cache().getIfPresent(id);
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+            TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // Then
+        assertArrayEquals(new byte[] {2}, uncommitted);
+        assertNull(cachedDuringTransaction);
+        assertArrayEquals(new byte[] {3}, cache.get(id, key -> new byte[] {3}));
+    }
+
+    private static AggregateCache newCache(int entries) {
+        return new AggregateCache("test", (long) entries * ENTRY_SIZE, Runnable::run);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package org.arhan.petclinic.infrastructure.persistence.cache;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void shouldReportEveryAddedValueAcrossStages() {
+        // Given
+        var filter = new ScalableBloomFilter(100, 0.01);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("owner" + i + "@example.com");
+        }
+
+        // Then
+        assertTrue(filter.stageCount() > 1);
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("owner" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    void shouldStayWithinConfiguredFalsePositiveRateAsItGrows() {
+        // Given
+        var filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            filter.put("owner" + i + "@example.com");
+        }
+
+        // When
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertTrue(filter.expectedFalsePositiveRate() <= 0.01);
+        assertTrue((double) falsePositives / probes <= 0.01);
+        // Stages grow geometrically, so memory stays linear in the values added
+        assertTrue(filter.bitsInBytes() < 50_000 * 4);
+    }
+
+    @Test
+    void shouldNotCountRepeatedValue() {
+        // Given
+        var filter = new ScalableBloomFilter(10, 0.01);
+
+        // When
+        filter.put("john.doe@example.com");
+        filter.put("john.doe@example.com");
+
+        // Then
+        assertEquals(1, filter.count());
+        assertFalse(filter.mightContain("jane.doe@example.com"));
+    }
+
+    @Test
+    void shouldRejectInvalidSettings() {
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(10, 1));
+    }
+}
\ No newline at end of file
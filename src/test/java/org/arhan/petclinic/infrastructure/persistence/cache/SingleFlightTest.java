@@ -0,0 +1,155 @@
+package org.arhan.petclinic.infrastructure.persistence.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        // Given
+        var flight = new SingleFlight<String, Object>("test");
+        var release = new CountDownLatch(1);
+        var loads = new AtomicInteger();
+        var result = new Object();
+        var executor = Executors.newFixedThreadPool(CALLERS);
+
+        // When
+        var calls = new ArrayList<Future<Object>>();
+        for (int i = 0; i < CALLERS; i++) {
+            calls.add(executor.submit(() -> flight.load("key", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return result;
+            })));
+        }
+        awaitCoalesced(flight, CALLERS - 1);
+        release.countDown();
+
+        // Then
+        for (var call : calls) {
+            assertSame(result, call.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(1, loads.get());
+        assertEquals(1, flight.loads());
+        assertEquals(CALLERS - 1, flight.coalesced());
+    }
+
+    @Test
+    void shouldShareExceptionOfFailedLoad() throws Exception {
+        // Given
+        var flight = new SingleFlight<String, Object>("test");
+        var release = new CountDownLatch(1);
+        var failure = new IllegalStateException("Database unavailable");
+        var executor = Executors.newFixedThreadPool(2);
+
+        // When
+        var leader = executor.submit(() -> flight.load("key", () -> {
+            await(release);
+            throw failure;
+        }));
+        awaitLoading(flight);
+        var follower = executor.submit(() -> flight.load("key", Object::new));
+        awaitCoalesced(flight, 1);
+        release.countDown();
+
+        // Then
+        var leaderFailure = assertThrows(Exception.class, () -> leader.get(10, TimeUnit.SECONDS));
+        var followerFailure = assertThrows(Exception.class, () -> follower.get(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertSame(failure, leaderFailure.getCause());
+        assertSame(failure, followerFailure.getCause());
+    }
+
+    @Test
+    void shouldLoadAgainOnceEarlierLoadCompleted() {
+        // Given
+        var flight = new SingleFlight<String, Integer>("test");
+        var loads = new AtomicInteger();
+
+        // When
+        var first = flight.load("key", loads::incrementAndGet);
+        var second = flight.load("key", loads::incrementAndGet);
+
+        // Then
+        assertEquals(1, first);
+        assertEquals(2, second);
+        assertEquals(0, flight.coalesced());
+    }
+
+    @Test
+    void shouldNotJoinLoadStartedBeforeInvalidation() throws Exception {
+        // Given
+        var flight = new SingleFlight<String, String>("test");
+        var release = new CountDownLatch(1);
+        var executor = Executors.newSingleThreadExecutor();
+        var stale = executor.submit(() -> flight.load("key", () -> {
+            await(release);
+            return "before write";
+        }));
+        awaitLoading(flight);
+
+        // When
+        flight.invalidate();
+        var fresh = flight.load("key", () -> "after write");
+        release.countDown();
+
+        // Then
+        assertEquals("after write", fresh);
+        assertEquals("before write", stale.get(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(2, flight.loads());
+        assertEquals(0, flight.coalesced());
+    }
+
+    @Test
+    void shouldPublishCounts() {
+        // Given
+        var flight = new SingleFlight<String, Integer>("test");
+        var registry = new SimpleMeterRegistry();
+        flight.bindTo(registry);
+
+        // When
+        flight.load("key", () -> 1);
+
+        // Then
+        assertEquals(1.0, registry.get("singleflight.loads").tag("name", "test").functionCounter().count());
+        assertEquals(0.0, registry.get("singleflight.coalesced").tag("name", "test").functionCounter().count());
+        assertEquals(0.0, registry.get("singleflight.in.flight").tag("name", "test").gauge().value());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitLoading(SingleFlight<?, ?> flight) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (flight.loads() == 0) {
+            assertTrue(System.nanoTime() < deadline, "Load did not start");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void awaitCoalesced(SingleFlight<?, ?> flight, long expected) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (flight.coalesced() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Callers did not join the load");
+            Thread.sleep(1);
+        }
+    }
+}
\ No newline at end of file
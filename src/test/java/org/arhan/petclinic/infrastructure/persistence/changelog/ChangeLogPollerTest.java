@@ -0,0 +1,230 @@
+package org.arhan.petclinic.infrastructure.persistence.changelog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.arhan.petclinic.domain.owner.*;
+import org.arhan.petclinic.domain.pet.*;
+import org.arhan.petclinic.infrastructure.config.AggregateCacheConfiguration;
+import org.arhan.petclinic.infrastructure.config.CacheInvalidationConfiguration;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerJpaEntity;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.SpeciesDictionary;
+import org.arhan.petclinic.infrastructure.persistence.sharding.Shards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes on another node are simulated by writing through the JPA repositories directly,
+ * which log their changes but bypass this node's caching decorators.
+ */
+@DataJpaTest(properties = {
+    "petclinic.cache.aggregates.enabled=true",
+    "petclinic.cache.invalidation.enabled=true"
+})
+@Import({OwnerRepositoryImpl.class, PetRepositoryImpl.class, SpeciesDictionary.class,
+    AggregateCacheConfiguration.class, CacheInvalidationConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChangeLogPollerTest {
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private OwnerRepositoryImpl otherNodeOwners;
+
+    @Autowired
+    private PetRepositoryImpl otherNodePets;
+
+    @Autowired
+    private ChangeLogPoller nodePoller;
+
+    @Autowired
+    private ChangeLog changeLog;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    private final List<Change> applied = new CopyOnWriteArrayList<>();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private ChangeLogPoller poller;
+
+    private static final FullName VALID_NAME = new FullName("John", "Doe");
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        poller = new ChangeLogPoller(entityManager, Shards.single(), transactionManager, applied::add, registry,
+            Clock.systemDefaultZone(), 2, Duration.ofSeconds(30), Duration.ofHours(1));
+        poller.poll();
+        nodePoller.poll();
+    }
+
+    @Test
+    void shouldEvictOwnerWrittenOnAnotherNode() {
+        // Given
+        OwnerId id = OwnerId.generate();
+        var contact = newContact();
+        inTransaction(() -> ownerRepository.save(Owner.create(id, VALID_NAME, contact)));
+        ownerRepository.findById(id);
+
+        // When
+        inTransaction(() -> otherNodeOwners.update(
+            Owner.reconstitute(id, new FullName("Jonathan", "Doe"), contact, Owner.INITIAL_VERSION)));
+        var staleBeforePoll = ownerRepository.findById(id).getName();
+        nodePoller.poll();
+
+        // Then
+        assertEquals(VALID_NAME, staleBeforePoll);
+        assertEquals(new FullName("Jonathan", "Doe"), ownerRepository.findById(id).getName());
+    }
+
+    @Test
+    void shouldEvictOwnerChangedOnAnotherNodeFromSecondLevelCache() {
+        // Given
+        OwnerId id = OwnerId.generate();
+        var uuid = IdConverters.toUuid(id);
+        inTransaction(() -> otherNodeOwners.save(Owner.create(id, VALID_NAME, newContact())));
+        nodePoller.poll();
+        inTransaction(() -> otherNodeOwners.findById(id));
+        var secondLevelCache = entityManager.getEntityManagerFactory().getCache();
+        assertTrue(secondLevelCache.contains(OwnerJpaEntity.class, uuid));
+
+        // When
+        inTransaction(() -> changeLog.append(List.of(Change.owner(uuid))));
+        nodePoller.poll();
+
+        // Then
+        assertFalse(secondLevelCache.contains(OwnerJpaEntity.class, uuid));
+    }
+
+    @Test
+    void shouldLogPetAndBothOwnersWhenPetMoves() {
+        // Given
+        OwnerId previousOwner = OwnerId.generate();
+        OwnerId newOwner = OwnerId.generate();
+        Pet pet = Pet.create(PetId.generate(), new PetName("Max"), new Species("Dog"),
+            LocalDate.now().minusYears(2), previousOwner);
+        inTransaction(() -> {
+            otherNodeOwners.save(Owner.create(previousOwner, VALID_NAME, newContact()));
+            otherNodeOwners.save(Owner.create(newOwner, VALID_NAME, newContact()));
+            otherNodePets.save(pet);
+        });
+        poller.poll();
+        applied.clear();
+
+        // When
+        inTransaction(() -> otherNodePets.update(Pet.reconstitute(pet.getId(), pet.getName(), pet.getSpecies(),
+            pet.getBirthDate(), newOwner, Pet.INITIAL_VERSION)));
+        poller.poll();
+
+        // Then
+        assertTrue(applied.contains(Change.pet(IdConverters.toUuid(pet.getId()))));
+        assertTrue(applied.contains(Change.owner(IdConverters.toUuid(previousOwner))));
+        assertTrue(applied.contains(Change.owner(IdConverters.toUuid(newOwner))));
+    }
+
+    @Test
+    void shouldNotLogRolledBackWrites() {
+        // Given
+        OwnerId id = OwnerId.generate();
+
+        // When
+        transaction.executeWithoutResult(status -> {
+            otherNodeOwners.save(Owner.create(id, VALID_NAME, newContact()));
+            status.setRollbackOnly();
+        });
+        poller.poll();
+
+        // Then
+        assertFalse(applied.contains(Change.owner(IdConverters.toUuid(id))));
+    }
+
+    @Test
+    void shouldReadAllChangesInBatchesAndMeasureLag() {
+        // Given
+        var changes = List.of(Change.pet(UUID.randomUUID()), Change.pet(UUID.randomUUID()),
+            Change.pet(UUID.randomUUID()), Change.pet(UUID.randomUUID()), Change.pet(UUID.randomUUID()));
+        inTransaction(() -> changeLog.append(changes));
+
+        // When
+        int count = poller.poll();
+
+        // Then
+        assertEquals(5, count);
+        assertEquals(changes, applied);
+        assertEquals(5, registry.get("cache.invalidation.lag").timer().count());
+        assertEquals(5.0, registry.get("cache.invalidation.applied").counter().count());
+    }
+
+    @Test
+    void shouldPickUpChangeCommittedAfterLaterOne() throws Exception {
+        // Given
+        var early = Change.pet(UUID.randomUUID());
+        var late = Change.pet(UUID.randomUUID());
+        var appended = new CountDownLatch(1);
+        var commit = new CountDownLatch(1);
+        var slowWriter = CompletableFuture.runAsync(() -> inTransaction(() -> {
+            changeLog.append(List.of(early));
+            appended.countDown();
+            await(commit);
+        }));
+        assertTrue(appended.await(10, TimeUnit.SECONDS));
+        inTransaction(() -> changeLog.append(List.of(late)));
+
+        // When
+        poller.poll();
+        var beforeSlowCommit = List.copyOf(applied);
+        commit.countDown();
+        slowWriter.get(10, TimeUnit.SECONDS);
+        poller.poll();
+
+        // Then
+        assertEquals(List.of(late), beforeSlowCommit);
+        assertEquals(List.of(late, early), applied);
+        assertEquals(0.0, registry.get("cache.invalidation.gaps").gauge().value());
+    }
+
+    private void inTransaction(Runnable work) {
+        transaction.executeWithoutResult(status -> work.run());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ContactInformation newContact() {
+        return new ContactInformation(UUID.randomUUID() + "@example.com", "+12345678901",
+            new Address("123 Main St", "Springfield", "IL", "62701"));
+    }
+}
\ No newline at end of file
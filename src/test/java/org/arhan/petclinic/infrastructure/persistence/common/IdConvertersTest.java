@@ -0,0 +1,55 @@
+package org.arhan.petclinic.infrastructure.persistence.common;
+
+import org.arhan.petclinic.domain.owner.OwnerId;
+import org.arhan.petclinic.domain.pet.PetId;
+import org.junit.jupiter.api.Test;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdConvertersTest {
+
+    @Test
+    void shouldRoundTripOwnerId() {
+        // Given
+        OwnerId id = OwnerId.generate();
+
+        // When
+        OwnerId converted = IdConverters.toOwnerId(IdConverters.toUuid(id));
+
+        // Then
+        assertEquals(id, converted);
+    }
+
+    @Test
+    void shouldRoundTripPetId() {
+        // Given
+        PetId id = PetId.generate();
+
+        // When
+        PetId converted = IdConverters.toPetId(IdConverters.toUuid(id));
+
+        // Then
+        assertEquals(id, converted);
+    }
+
+    @Test
+    void shouldEncodeUuidAsSixteenBigEndianBytes() {
+        // Given
+        UUID uuid = UUID.fromString("00112233-4455-6677-8899-aabbccddeeff");
+
+        // When
+        byte[] bytes = IdConverters.toBytes(uuid);
+
+        // Then
+        assertEquals(16, bytes.length);
+        assertEquals(0x00, bytes[0]);
+        assertEquals((byte) 0xff, bytes[15]);
+        assertEquals(uuid, IdConverters.fromBytes(bytes));
+    }
+
+    @Test
+    void shouldRejectBytesOfWrongLength() {
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () -> IdConverters.fromBytes(new byte[15]));
+    }
+}
@@ -0,0 +1,151 @@
+package org.arhan.petclinic.infrastructure.persistence.common;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.arhan.petclinic.domain.owner.*;
+import org.arhan.petclinic.domain.pet.*;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.SpeciesDictionary;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Each step runs in its own committed transaction, because read-write cache entries
+ * only become visible to transactions that start after they were written.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({OwnerRepositoryImpl.class, PetRepositoryImpl.class, SpeciesDictionary.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldServeRepeatedOwnerReadsFromCache() {
+        // Given
+        OwnerId id = OwnerId.generate();
+        transaction.executeWithoutResult(status -> ownerRepository.save(newOwner(id, new FullName("John", "Doe"), null)));
+        transaction.executeWithoutResult(status -> ownerRepository.findById(id));
+        statistics.clear();
+
+        // When
+        Owner found = transaction.execute(status -> ownerRepository.findById(id));
+
+        // Then
+        assertEquals(id, found.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(CacheRegions.OWNERS).getHitCount());
+        assertEquals(1, statistics.getQueryRegionStatistics(CacheRegions.OWNER_PET_IDS).getHitCount());
+    }
+
+    @Test
+    void shouldNotServeStaleOwnerAfterUpdate() {
+        // Given
+        OwnerId id = OwnerId.generate();
+        transaction.executeWithoutResult(status -> ownerRepository.save(newOwner(id, new FullName("John", "Doe"), null)));
+        transaction.executeWithoutResult(status -> ownerRepository.findById(id));
+
+        // When
+        transaction.executeWithoutResult(status ->
+            ownerRepository.update(newOwner(id, new FullName("Jonathan", "Doe"), Owner.INITIAL_VERSION)));
+        Owner found = transaction.execute(status -> ownerRepository.findById(id));
+
+        // Then
+        assertEquals(new FullName("Jonathan", "Doe"), found.getName());
+        assertEquals(1L, found.getVersion());
+    }
+
+    @Test
+    void shouldUpdateCachedOwnerWithOneStatementAndKeepOthersCached() {
+        // Given
+        OwnerId id = OwnerId.generate();
+        OwnerId otherId = OwnerId.generate();
+        transaction.executeWithoutResult(status -> {
+            ownerRepository.save(newOwner(id, new FullName("John", "Doe"), null));
+            ownerRepository.save(newOwner(otherId, new FullName("Jane", "Doe"), null));
+        });
+        transaction.executeWithoutResult(status -> {
+            ownerRepository.findById(id);
+            ownerRepository.findById(otherId);
+        });
+        statistics.clear();
+
+        // When
+        transaction.executeWithoutResult(status ->
+            ownerRepository.update(newOwner(id, new FullName("Jonathan", "Doe"), Owner.INITIAL_VERSION)));
+
+        // Then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        statistics.clear();
+        Owner other = transaction.execute(status -> ownerRepository.findById(otherId));
+        assertEquals(new FullName("Jane", "Doe"), other.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldInvalidateCachedPetsOfOwnerWhenPetIsAdded() {
+        // Given
+        OwnerId ownerId = OwnerId.generate();
+        transaction.executeWithoutResult(status -> {
+            ownerRepository.save(newOwner(ownerId, new FullName("John", "Doe"), null));
+            petRepository.save(newPet(ownerId));
+        });
+        transaction.executeWithoutResult(status -> petRepository.findByOwner(ownerId));
+        statistics.clear();
+        assertEquals(1, transaction.execute(status -> petRepository.findByOwner(ownerId)).size());
+        assertEquals(1, statistics.getQueryRegionStatistics(CacheRegions.PETS_BY_OWNER).getHitCount());
+
+        // When
+        transaction.executeWithoutResult(status -> petRepository.save(newPet(ownerId)));
+
+        // Then
+        assertEquals(2, transaction.execute(status -> petRepository.findByOwner(ownerId)).size());
+        assertEquals(2, transaction.execute(status -> ownerRepository.findById(ownerId)).getPets().size());
+    }
+
+    private Owner newOwner(OwnerId id, FullName name, Long version) {
+        var contactInfo = new ContactInformation(
+            id.value() + "@example.com",
+            "+12345678901",
+            new Address("123 Main St", "Springfield", "IL", "62701")
+        );
+        return version == null
+            ? Owner.create(id, name, contactInfo)
+            : Owner.reconstitute(id, name, contactInfo, version);
+    }
+
+    private Pet newPet(OwnerId ownerId) {
+        return Pet.create(PetId.generate(), new PetName("Max"), new Species("Dog"), LocalDate.now().minusYears(2), ownerId);
+    }
+}
\ No newline at end of file
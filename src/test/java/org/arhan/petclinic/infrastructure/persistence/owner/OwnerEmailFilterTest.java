@@ -0,0 +1,62 @@
+package org.arhan.petclinic.infrastructure.persistence.owner;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OwnerEmailFilterTest {
+
+    private static final String EMAIL = "john.doe@example.com";
+
+    private final OwnerEmailFilter filter = new OwnerEmailFilter(100, 0.01);
+
+    @Test
+    void shouldReportEveryEmailTakenUntilLoaded() {
+        // When/Then
+        assertTrue(filter.mightContain(EMAIL));
+        filter.markLoaded();
+        assertFalse(filter.mightContain(EMAIL));
+    }
+
+    @Test
+    void shouldReportAddedEmailsAsPossiblyTaken() {
+        // Given
+        filter.add(" John.Doe@Example.com ");
+        filter.markLoaded();
+
+        // When/Then
+        assertTrue(filter.mightContain(EMAIL));
+        assertFalse(filter.mightContain("jane.doe@example.com"));
+        assertEquals(1, filter.size());
+        assertTrue(filter.memoryBytes() > 0);
+    }
+
+    @Test
+    void shouldTrackObservedFalsePositiveRate() {
+        // Given
+        filter.markLoaded();
+        filter.mightContain(EMAIL);
+        filter.mightContain("jane.doe@example.com");
+        filter.mightContain("jim.doe@example.com");
+
+        // When
+        filter.checked(false);
+
+        // Then
+        assertEquals(0.25, filter.observedFalsePositiveRate());
+    }
+
+    @Test
+    void shouldReportEveryEmailTakenWhenDisabled() {
+        // Given
+        var disabled = OwnerEmailFilter.disabled();
+
+        // When
+        disabled.add(EMAIL);
+        disabled.markLoaded();
+
+        // Then
+        assertTrue(disabled.mightContain("jane.doe@example.com"));
+        assertFalse(disabled.isLoaded());
+        assertEquals(0, disabled.size());
+    }
+}
\ No newline at end of file
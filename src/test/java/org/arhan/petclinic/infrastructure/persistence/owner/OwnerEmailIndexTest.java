@@ -0,0 +1,100 @@
+package org.arhan.petclinic.infrastructure.persistence.owner;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OwnerEmailIndexTest {
+
+    private static final String EMAIL = "john.doe@example.com";
+
+    private final OwnerEmailIndex index = new OwnerEmailIndex(100, 100, Duration.ofMinutes(10));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldRememberLookupResults() {
+        // Given
+        var ownerId = UUID.randomUUID();
+
+        // When
+        index.record(EMAIL, ownerId, index.stamp());
+        index.record("jane.doe@example.com", null, index.stamp());
+
+        // Then
+        assertEquals(Optional.of(ownerId), index.ownerIdOf(" John.Doe@Example.com "));
+        assertTrue(index.isKnownMissing("jane.doe@example.com"));
+        assertFalse(index.isKnownMissing(EMAIL));
+    }
+
+    @Test
+    void shouldForgetMissingEmailWhenOwnerIsSavedWithIt() {
+        // Given
+        index.record(EMAIL, null, index.stamp());
+
+        // When
+        index.written(EMAIL);
+
+        // Then
+        assertFalse(index.isKnownMissing(EMAIL));
+    }
+
+    @Test
+    void shouldDropLookupResultWhenWriteCompletedDuringLookup() {
+        // Given
+        var stamp = index.stamp();
+        index.written(EMAIL);
+
+        // When
+        index.record(EMAIL, null, stamp);
+
+        // Then
+        assertFalse(index.isKnownMissing(EMAIL));
+    }
+
+    @Test
+    void shouldEvictWrittenEmailAgainWhenTransactionCompletes() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        index.written(EMAIL);
+        var stamp = index.stamp();
+        index.record(EMAIL, null, stamp);
+        var missingDuringTransaction = index.isKnownMissing(EMAIL);
+
+        // When
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+            TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        TransactionSynchronizationManager.clearSynchronization();
+        index.record(EMAIL, null, stamp);
+
+        // Then
+        assertFalse(missingDuringTransaction);
+        assertFalse(index.isKnownMissing(EMAIL));
+        assertNotEquals(stamp, index.stamp());
+    }
+
+    @Test
+    void shouldKnowNothingWhenDisabled() {
+        // Given
+        var disabled = OwnerEmailIndex.disabled();
+
+        // When
+        disabled.record(EMAIL, null, disabled.stamp());
+
+        // Then
+        assertFalse(disabled.isEnabled());
+        assertFalse(disabled.isKnownMissing(EMAIL));
+        assertEquals(Optional.empty(), disabled.ownerIdOf(EMAIL));
+    }
+}
\ No newline at end of file
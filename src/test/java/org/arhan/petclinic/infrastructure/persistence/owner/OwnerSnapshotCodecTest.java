@@ -0,0 +1,64 @@
+package org.arhan.petclinic.infrastructure.persistence.owner;
+
+import org.arhan.petclinic.domain.owner.*;
+import org.arhan.petclinic.domain.pet.PetId;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OwnerSnapshotCodecTest {
+
+    private static final FullName VALID_NAME = new FullName("John", "Doe");
+    private static final ContactInformation VALID_CONTACT = new ContactInformation(
+        "john.doe@example.com",
+        "+12345678901",
+        new Address("123 Main St", "Springfield", "IL", "62701")
+    );
+
+    @Test
+    void shouldRoundTripOwnerWithPets() {
+        // Given
+        OwnerId id = OwnerId.generate();
+        Owner owner = Owner.reconstitute(id, VALID_NAME, VALID_CONTACT, 7L);
+        PetId first = PetId.generate();
+        PetId second = PetId.generate();
+        owner.addPet(first);
+        owner.addPet(second);
+
+        // When
+        Owner decoded = OwnerSnapshotCodec.decode(IdConverters.toUuid(id), OwnerSnapshotCodec.encode(owner));
+
+        // Then
+        assertEquals(id, decoded.getId());
+        assertEquals(VALID_NAME, decoded.getName());
+        assertEquals(VALID_CONTACT, decoded.getContactInfo());
+        assertEquals(7L, decoded.getVersion());
+        assertEquals(owner.getPets(), decoded.getPets());
+    }
+
+    @Test
+    void shouldRejectNewOwner() {
+        // Given
+        Owner owner = Owner.create(OwnerId.generate(), VALID_NAME, VALID_CONTACT);
+
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () -> OwnerSnapshotCodec.encode(owner));
+    }
+
+    @Test
+    void shouldRejectTruncatedOrUnknownSnapshot() {
+        // Given
+        OwnerId id = OwnerId.generate();
+        byte[] payload = OwnerSnapshotCodec.encode(Owner.reconstitute(id, VALID_NAME, VALID_CONTACT, 0L));
+        byte[] truncated = Arrays.copyOf(payload, payload.length - 1);
+        byte[] unknown = payload.clone();
+        unknown[0] = 99;
+
+        // When/Then
+        assertThrows(IllegalArgumentException.class,
+            () -> OwnerSnapshotCodec.decode(IdConverters.toUuid(id), truncated));
+        assertThrows(IllegalArgumentException.class,
+            () -> OwnerSnapshotCodec.decode(IdConverters.toUuid(id), unknown));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,196 @@
+package org.arhan.petclinic.infrastructure.persistence.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Uses separate in-memory H2 databases as stand-ins for the primary and its replicas.
+ * Each database records its own name, so a query reveals where it was routed.
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    private HikariDataSource primary;
+    private HikariDataSource replica1;
+    private HikariDataSource replica2;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica1 = database("replica-1");
+        replica2 = database("replica-2");
+    }
+
+    @AfterEach
+    void tearDown() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void shouldRouteWritesToPrimary() {
+        // Given
+        var jdbc = routed(ReplicaSelection.ROUND_ROBIN, Duration.ofSeconds(30), replica(replica1));
+
+        // When
+        var name = transaction(jdbc, false);
+
+        // Then
+        assertEquals("primary", name);
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        // Given
+        var jdbc = routed(ReplicaSelection.ROUND_ROBIN, Duration.ofSeconds(30), replica(replica1));
+
+        // When
+        var name = transaction(jdbc, true);
+
+        // Then
+        assertEquals("replica-1", name);
+    }
+
+    @Test
+    void shouldRotateReadsAcrossReplicas() {
+        // Given
+        var jdbc = routed(ReplicaSelection.ROUND_ROBIN, Duration.ofSeconds(30), replica(replica1), replica(replica2));
+
+        // When
+        var names = List.of(transaction(jdbc, true), transaction(jdbc, true), transaction(jdbc, true));
+
+        // Then
+        assertEquals(List.of("replica-1", "replica-2", "replica-1"), names);
+    }
+
+    @Test
+    void shouldPreferLeastBusyReplica() throws SQLException {
+        // Given
+        var jdbc = routed(ReplicaSelection.LEAST_BUSY, Duration.ofSeconds(30), replica(replica1), replica(replica2));
+
+        // When
+        try (var held = replica1.getConnection()) {
+            var names = List.of(transaction(jdbc, true), transaction(jdbc, true));
+
+            // Then
+            assertEquals(List.of("replica-2", "replica-2"), names);
+        }
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaIsDown() {
+        // Given
+        var attempts = new AtomicInteger();
+        var jdbc = routed(ReplicaSelection.ROUND_ROBIN, Duration.ofSeconds(30), new Replica("down", failing(attempts)));
+
+        // When
+        var first = transaction(jdbc, true);
+        var second = transaction(jdbc, true);
+
+        // Then
+        assertEquals("primary", first);
+        assertEquals("primary", second);
+        assertEquals(1, attempts.get(), "an unhealthy replica is not retried within the retry interval");
+    }
+
+    @Test
+    void shouldSkipFailedReplicaInFavourOfHealthyOne() {
+        // Given
+        var attempts = new AtomicInteger();
+        var jdbc = routed(ReplicaSelection.ROUND_ROBIN, Duration.ofSeconds(30),
+            new Replica("down", failing(attempts)), replica(replica2));
+
+        // When
+        var names = List.of(transaction(jdbc, true), transaction(jdbc, true));
+
+        // Then
+        assertEquals(List.of("replica-2", "replica-2"), names);
+    }
+
+    @Test
+    void shouldRetryReplicaAfterRetryInterval() {
+        // Given
+        var attempts = new AtomicInteger();
+        var jdbc = routed(ReplicaSelection.ROUND_ROBIN, Duration.ZERO, new Replica("down", failing(attempts)));
+
+        // When
+        transaction(jdbc, true);
+        transaction(jdbc, true);
+
+        // Then
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void shouldClosePrimaryAndReplicaPoolsWhenClosed() throws IOException {
+        // Given
+        var routing = new ReadReplicaRoutingDataSource(primary, List.of(replica(replica1)),
+            ReplicaSelection.ROUND_ROBIN, Duration.ofSeconds(30));
+
+        // When
+        routing.close();
+
+        // Then
+        assertTrue(primary.isClosed());
+        assertTrue(replica1.isClosed());
+        assertFalse(replica2.isClosed());
+    }
+
+    private HikariDataSource database(String name) {
+        var pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl("jdbc:h2:mem:routing-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        pools.add(pool);
+        var jdbc = new JdbcTemplate(pool);
+        jdbc.execute("CREATE TABLE whoami (name VARCHAR(32))");
+        jdbc.update("INSERT INTO whoami VALUES (?)", name);
+        return pool;
+    }
+
+    private Replica replica(HikariDataSource pool) {
+        return new Replica(pool.getPoolName(), pool);
+    }
+
+    private DataSource failing(AtomicInteger attempts) {
+        return new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                attempts.incrementAndGet();
+                throw new SQLException("Replica is down");
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return getConnection();
+            }
+        };
+    }
+
+    private JdbcTemplate routed(ReplicaSelection selection, Duration retryInterval, Replica... replicas) {
+        var routing = new ReadReplicaRoutingDataSource(primary, List.of(replicas), selection, retryInterval);
+        return new JdbcTemplate(new LazyConnectionDataSourceProxy(routing));
+    }
+
+    private String transaction(JdbcTemplate jdbc, boolean readOnly) {
+        var transaction = new TransactionTemplate(new DataSourceTransactionManager(jdbc.getDataSource()));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbc.queryForObject("SELECT name FROM whoami", String.class));
+    }
+}
\ No newline at end of file
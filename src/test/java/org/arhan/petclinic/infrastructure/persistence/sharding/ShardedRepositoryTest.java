@@ -0,0 +1,214 @@
+package org.arhan.petclinic.infrastructure.persistence.sharding;
+
+import org.arhan.petclinic.domain.common.Keyset;
+import org.arhan.petclinic.domain.owner.*;
+import org.arhan.petclinic.domain.pet.*;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the repositories against three separate in-memory H2 databases acting as shards.
+ * Each step runs in its own transaction, as a transaction only ever reaches one shard.
+ */
+@SpringBootTest(properties = {
+    "petclinic.datasource.sharding.enabled=true",
+    "petclinic.datasource.sharding.shards[0].url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1",
+    "petclinic.datasource.sharding.shards[1].url=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1",
+    "petclinic.datasource.sharding.shards[2].url=jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1"
+})
+class ShardedRepositoryTest {
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private Shards shards;
+
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void shouldStoreOwnerAndPetsOnOwnersShardOnly() {
+        // Given
+        Owner owner = newOwner(OwnerId.generate());
+        PetId petId = petRepository.nextId(owner.getId());
+
+        // When
+        transaction.executeWithoutResult(status -> ownerRepository.save(owner));
+        transaction.executeWithoutResult(status -> petRepository.save(newPet(petId, owner.getId())));
+
+        // Then
+        int home = shards.shardOf(IdConverters.toUuid(owner.getId()));
+        for (int shard = 0; shard < shards.count(); shard++) {
+            int expected = shard == home ? 1 : 0;
+            assertEquals(expected, count(shard, "owners", IdConverters.toUuid(owner.getId())));
+            assertEquals(expected, count(shard, "pets", IdConverters.toUuid(petId)));
+        }
+    }
+
+    @Test
+    void shouldFindOwnersAndPetsWithoutKnowingTheirShard() {
+        // Given
+        var owners = new ArrayList<Owner>();
+        for (int i = 0; i < 6; i++) {
+            owners.add(newOwner(OwnerId.generate()));
+        }
+        transaction.executeWithoutResult(status -> ownerRepository.saveAll(owners));
+        Owner owner = owners.get(4);
+        PetId petId = petRepository.nextId(owner.getId());
+        transaction.executeWithoutResult(status -> petRepository.save(newPet(petId, owner.getId())));
+
+        // When
+        var byEmail = transaction.execute(status -> ownerRepository.findByEmail(owner.getContactInfo().email()));
+        var pet = transaction.execute(status -> petRepository.findById(petId));
+        var existing = transaction.execute(status ->
+            ownerRepository.findExistingIds(owners.stream().map(Owner::getId).toList()));
+
+        // Then
+        assertEquals(owner.getId(), byEmail.orElseThrow().getId());
+        assertEquals(owner.getId(), pet.getOwnerId());
+        assertEquals(6, existing.size());
+        assertFalse(transaction.execute(status -> petRepository.existsById(PetId.generate())));
+    }
+
+    @Test
+    void shouldListOwnersOfAllShardsInIdOrder() {
+        // Given
+        var saved = new ArrayList<OwnerId>();
+        for (int i = 0; i < 7; i++) {
+            saved.add(OwnerId.generate());
+        }
+        transaction.executeWithoutResult(status -> ownerRepository.saveAll(saved.stream().map(this::newOwner).toList()));
+
+        // When
+        var listed = new ArrayList<UUID>();
+        Keyset after = null;
+        do {
+            var current = after;
+            var page = transaction.execute(status -> ownerRepository.findPage(OwnerSort.ID, current, 3));
+            page.items().forEach(owner -> listed.add(IdConverters.toUuid(owner.getId())));
+            after = page.next();
+        } while (after != null);
+
+        // Then
+        assertTrue(listed.containsAll(saved.stream().map(IdConverters::toUuid).toList()));
+        for (int i = 1; i < listed.size(); i++) {
+            assertTrue(IdConverters.compareBinary(listed.get(i - 1), listed.get(i)) < 0);
+        }
+    }
+
+    @Test
+    void shouldRejectTransactionThatReachesSecondShard() {
+        // Given
+        OwnerId first = OwnerId.generate();
+        OwnerId second = OwnerId.generate();
+        while (shards.shardOf(IdConverters.toUuid(second)) == shards.shardOf(IdConverters.toUuid(first))) {
+            second = OwnerId.generate();
+        }
+        var other = second;
+
+        // When/Then
+        assertThrows(IllegalStateException.class, () -> transaction.executeWithoutResult(status -> {
+            ownerRepository.existsById(first);
+            ownerRepository.existsById(other);
+        }));
+    }
+
+    @Test
+    void shouldRejectMovingPetToOwnerOnAnotherShard() {
+        // Given
+        Owner owner = newOwner(OwnerId.generate());
+        OwnerId otherId = OwnerId.generate();
+        while (shards.shardOf(IdConverters.toUuid(otherId)) == shards.shardOf(IdConverters.toUuid(owner.getId()))) {
+            otherId = OwnerId.generate();
+        }
+        Owner other = newOwner(otherId);
+        PetId petId = petRepository.nextId(owner.getId());
+        transaction.executeWithoutResult(status -> ownerRepository.saveAll(List.of(owner, other)));
+        transaction.executeWithoutResult(status -> petRepository.save(newPet(petId, owner.getId())));
+        Pet moved = Pet.reconstitute(petId, new PetName("Max"), new Species("Dog"), LocalDate.now().minusYears(2),
+            otherId, Pet.INITIAL_VERSION);
+
+        // When
+        var exception = assertThrows(IllegalArgumentException.class,
+            () -> transaction.executeWithoutResult(status -> petRepository.update(moved)));
+
+        // Then
+        assertTrue(exception.getMessage().contains("another shard"));
+        assertEquals(owner.getId(), transaction.execute(status -> petRepository.findById(petId)).getOwnerId());
+    }
+
+    @Test
+    void shouldReadPetFromItsShardWithinTransactionBoundToIt() {
+        // Given
+        Owner owner = newOwner(OwnerId.generate());
+        PetId petId = petRepository.nextId(owner.getId());
+        transaction.executeWithoutResult(status -> ownerRepository.save(owner));
+        transaction.executeWithoutResult(status -> petRepository.save(newPet(petId, owner.getId())));
+
+        // When
+        var pet = transaction.execute(status -> {
+            ownerRepository.existsById(owner.getId());
+            return petRepository.findById(petId);
+        });
+
+        // Then
+        assertEquals(shards.shardOf(IdConverters.toUuid(owner.getId())), shards.shardOf(IdConverters.toUuid(petId)));
+        assertEquals(owner.getId(), pet.getOwnerId());
+    }
+
+    @Test
+    void shouldRejectNewPetWhoseIdLeadsToAnotherShard() {
+        // Given
+        Owner owner = newOwner(OwnerId.generate());
+        PetId petId = PetId.generate();
+        while (shards.shardOf(IdConverters.toUuid(petId)) == shards.shardOf(IdConverters.toUuid(owner.getId()))) {
+            petId = PetId.generate();
+        }
+        var pet = newPet(petId, owner.getId());
+        transaction.executeWithoutResult(status -> ownerRepository.save(owner));
+
+        // When/Then
+        assertThrows(IllegalArgumentException.class,
+            () -> transaction.executeWithoutResult(status -> petRepository.save(pet)));
+    }
+
+    private int count(int shard, String table, UUID id) {
+        return new JdbcTemplate(shardRoutingDataSource.getShards().get(shard))
+            .queryForObject("select count(*) from " + table + " where id = ?", Integer.class, IdConverters.toBytes(id));
+    }
+
+    private Owner newOwner(OwnerId id) {
+        return Owner.create(id, new FullName("John", "Doe"),
+            new ContactInformation(id.value() + "@example.com", "+12345678901",
+                new Address("123 Main St", "Springfield", "IL", "62701")));
+    }
+
+    private static Pet newPet(PetId id, OwnerId ownerId) {
+        return Pet.create(id, new PetName("Max"), new Species("Dog"), LocalDate.now().minusYears(2), ownerId);
+    }
+}
\ No newline at end of file
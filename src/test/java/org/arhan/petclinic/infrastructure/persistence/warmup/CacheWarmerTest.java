@@ -0,0 +1,173 @@
+package org.arhan.petclinic.infrastructure.persistence.warmup;
+
+import org.arhan.petclinic.application.owner.OwnerDTO;
+import org.arhan.petclinic.application.owner.OwnerQueries;
+import org.arhan.petclinic.application.pet.PetQueries;
+import org.arhan.petclinic.domain.owner.*;
+import org.arhan.petclinic.domain.pet.*;
+import org.arhan.petclinic.infrastructure.persistence.common.IdConverters;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerQueriesImpl;
+import org.arhan.petclinic.infrastructure.persistence.owner.OwnerRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetQueriesImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.PetRepositoryImpl;
+import org.arhan.petclinic.infrastructure.persistence.pet.SpeciesDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({OwnerQueriesImpl.class, OwnerRepositoryImpl.class, PetQueriesImpl.class, PetRepositoryImpl.class,
+    SpeciesDictionary.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheWarmerTest {
+
+    @Autowired
+    private OwnerQueries ownerQueries;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private PetQueries petQueries;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private HotKeys hotKeys;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("hot-keys");
+        hotKeys = new HotKeys(100);
+    }
+
+    @Test
+    void shouldPreloadRecordedOwnersAndPets() throws Exception {
+        // Given
+        var ownerIds = IntStream.range(0, 5).mapToObj(i -> OwnerId.generate()).toList();
+        var pet = newPet(ownerIds.get(0));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            ownerIds.forEach(id -> ownerRepository.save(newOwner(id)));
+            petRepository.save(pet);
+        });
+        ownerIds.forEach(id -> hotKeys.record(HotKeys.Kind.OWNER, IdConverters.toUuid(id)));
+        hotKeys.record(HotKeys.Kind.PET, IdConverters.toUuid(pet.getId()));
+        hotKeys.record(HotKeys.Kind.PET, UUID.randomUUID());
+        hotKeys.writeTo(file);
+
+        // When
+        var report = newWarmer(Duration.ofSeconds(30)).warmUp();
+
+        // Then
+        assertEquals(5, report.owners());
+        assertEquals(1, report.pets());
+        assertEquals(1, report.missing());
+        assertEquals(0, report.failed());
+        assertEquals(0, report.skipped());
+    }
+
+    @Test
+    void shouldSkipWhatDoesNotFitInBudget() throws Exception {
+        // Given
+        IntStream.range(0, 10).forEach(i -> hotKeys.record(HotKeys.Kind.OWNER, UUID.randomUUID()));
+        hotKeys.writeTo(file);
+
+        // When
+        var report = newWarmer(Duration.ZERO).warmUp();
+
+        // Then
+        assertEquals(0, report.owners() + report.missing());
+        assertEquals(10, report.skipped());
+    }
+
+    @Test
+    void shouldNotRecordItsOwnReadsAsHotKeys() throws Exception {
+        // Given
+        var id = OwnerId.generate();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> ownerRepository.save(newOwner(id)));
+        var recorded = new HotKeys(100);
+        recorded.record(HotKeys.Kind.OWNER, IdConverters.toUuid(id));
+        recorded.writeTo(file);
+        var recordingQueries = new OwnerQueries() {
+            @Override
+            public Optional<OwnerDTO> findById(OwnerId ownerId) {
+                hotKeys.record(HotKeys.Kind.OWNER, IdConverters.toUuid(ownerId));
+                return ownerQueries.findById(ownerId);
+            }
+
+            @Override
+            public Optional<OwnerDTO> findByEmail(String email) {
+                return ownerQueries.findByEmail(email);
+            }
+        };
+
+        // When
+        var report = new CacheWarmer(hotKeys, recordingQueries, ownerRepository, petQueries, petRepository,
+            transactionManager, file, Duration.ofSeconds(30), 4).warmUp();
+
+        // Then
+        assertEquals(1, report.owners());
+        assertEquals(List.of(), hotKeys.hottest(HotKeys.Kind.OWNER, 10));
+    }
+
+    @Test
+    void shouldStartColdWithoutRecordedKeys() {
+        // When
+        var report = newWarmer(Duration.ofSeconds(30)).warmUp();
+
+        // Then
+        assertEquals(new WarmUpReport(0, 0, 0, 0, 0, report.elapsed()), report);
+    }
+
+    @Test
+    void shouldRecordHotKeysToFile() throws Exception {
+        // Given
+        var id = UUID.randomUUID();
+        hotKeys.record(HotKeys.Kind.PET, id);
+
+        // When
+        newWarmer(Duration.ofSeconds(30)).record();
+
+        // Then
+        assertEquals(List.of(id), HotKeys.readFrom(file).get(HotKeys.Kind.PET));
+    }
+
+    private CacheWarmer newWarmer(Duration budget) {
+        return new CacheWarmer(hotKeys, ownerQueries, ownerRepository, petQueries, petRepository,
+            transactionManager, file, budget, 4);
+    }
+
+    private static Owner newOwner(OwnerId id) {
+        return Owner.create(id, new FullName("John", "Doe"), new ContactInformation(
+            id.value() + "@example.com",
+            "+12345678901",
+            new Address("123 Main St", "Springfield", "IL", "62701")
+        ));
+    }
+
+    private static Pet newPet(OwnerId ownerId) {
+        return Pet.create(PetId.generate(), new PetName("Max"), new Species("Dog"), LocalDate.now().minusYears(2), ownerId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package org.arhan.petclinic.infrastructure.persistence.warmup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotKeysTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldListMostFrequentlyReadKeyFirst() {
+        // Given
+        var hotKeys = new HotKeys(4);
+        var hot = UUID.randomUUID();
+        IntStream.range(0, 4).forEach(i -> hotKeys.record(HotKeys.Kind.OWNER, UUID.randomUUID()));
+        hotKeys.record(HotKeys.Kind.OWNER, hot);
+
+        // When
+        IntStream.range(0, 20).forEach(i -> hotKeys.record(HotKeys.Kind.OWNER, hot));
+        IntStream.range(0, 8).forEach(i -> hotKeys.record(HotKeys.Kind.OWNER, UUID.randomUUID()));
+
+        // Then
+        var hottest = hotKeys.hottest(HotKeys.Kind.OWNER, 4);
+        assertTrue(hottest.size() <= 4);
+        assertEquals(hot, hottest.get(0));
+        assertTrue(hotKeys.hottest(HotKeys.Kind.PET, 4).isEmpty());
+    }
+
+    @Test
+    void shouldRoundTripKeysThroughFile() throws Exception {
+        // Given
+        var hotKeys = new HotKeys(10);
+        var owner = UUID.randomUUID();
+        var pet = UUID.randomUUID();
+        hotKeys.record(HotKeys.Kind.OWNER, owner);
+        hotKeys.record(HotKeys.Kind.PET, pet);
+        var file = directory.resolve("hot-keys");
+
+        // When
+        hotKeys.writeTo(file);
+        var recorded = HotKeys.readFrom(file);
+
+        // Then
+        assertEquals(List.of(owner), recorded.get(HotKeys.Kind.OWNER));
+        assertEquals(List.of(pet), recorded.get(HotKeys.Kind.PET));
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void shouldSkipLinesThatAreNotHotKeys() throws Exception {
+        // Given
+        var owner = UUID.randomUUID();
+        var file = directory.resolve("hot-keys");
+        Files.writeString(file, "owner " + owner + "\nvet " + UUID.randomUUID() + "\npet not-a-uuid\n\n");
+
+        // When
+        var recorded = HotKeys.readFrom(file);
+
+        // Then
+        assertEquals(List.of(owner), recorded.get(HotKeys.Kind.OWNER));
+        assertTrue(recorded.get(HotKeys.Kind.PET).isEmpty());
+    }
+
+    @Test
+    void shouldReadMissingFileAsNoKeys() throws Exception {
+        // When
+        var recorded = HotKeys.readFrom(directory.resolve("absent"));
+
+        // Then
+        assertTrue(recorded.get(HotKeys.Kind.OWNER).isEmpty());
+        assertTrue(recorded.get(HotKeys.Kind.PET).isEmpty());
+    }
+
+    @Test
+    void shouldRecordNothingWhenDisabled() {
+        // Given
+        var hotKeys = HotKeys.disabled();
+
+        // When
+        hotKeys.record(HotKeys.Kind.PET, UUID.randomUUID());
+
+        // Then
+        assertFalse(hotKeys.isEnabled());
+        assertTrue(hotKeys.hottest(HotKeys.Kind.PET, 10).isEmpty());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package org.arhan.petclinic.interfaces.rest.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    record Body(String id, String name) {
+    }
+
+    @Test
+    void shouldServeTheBytesJacksonWouldWrite() throws Exception {
+        // Given
+        var cache = new JsonResponseCache(objectMapper, 1024 * 1024);
+        var body = new Body("id1", "Max");
+
+        // When
+        var encoded = cache.encode(Body.class, "id1", "\"1\"", body);
+
+        // Then
+        assertArrayEquals(objectMapper.writeValueAsBytes(body), encoded);
+        assertSame(encoded, cache.getIfPresent(Body.class, "id1", "\"1\""));
+    }
+
+    @Test
+    void shouldMissWhenTagOrTypeDiffers() {
+        // Given
+        var cache = new JsonResponseCache(objectMapper, 1024 * 1024);
+        cache.encode(Body.class, "id1", "\"1\"", new Body("id1", "Max"));
+
+        // When/Then
+        assertNull(cache.getIfPresent(Body.class, "id1", "\"2\""));
+        assertNull(cache.getIfPresent(String.class, "id1", "\"1\""));
+    }
+
+    @Test
+    void shouldEvictSupersededRepresentation() {
+        // Given
+        var cache = new JsonResponseCache(objectMapper, 1024 * 1024);
+        cache.encode(Body.class, "id1", "\"1\"", new Body("id1", "Max"));
+
+        // When
+        cache.evict(Body.class, "id1", "\"1\"");
+
+        // Then
+        assertNull(cache.getIfPresent(Body.class, "id1", "\"1\""));
+    }
+
+    @Test
+    void shouldStayWithinByteBudget() {
+        // Given
+        var entrySize = JsonResponseCache.ENTRY_OVERHEAD + 24;
+        var cache = new JsonResponseCache(objectMapper, 10L * entrySize);
+
+        // When
+        IntStream.range(0, 50).forEach(i ->
+            cache.encode(Body.class, "id" + i, "\"0\"", new Body("id", "x".repeat(10))));
+        cache.cache().cleanUp();
+
+        // Then
+        assertTrue(cache.cache().policy().eviction().orElseThrow().weightedSize().orElseThrow() <= 10L * entrySize);
+    }
+
+    @Test
+    void shouldOnlyServeClientsThatPreferJson() {
+        // Given
+        var cache = new JsonResponseCache(objectMapper, 1024 * 1024);
+
+        // When/Then
+        assertTrue(cache.isServable(null));
+        assertTrue(cache.isServable("*/*"));
+        assertTrue(cache.isServable("application/json"));
+        assertTrue(cache.isServable("application/xml;q=0.5, application/*"));
+        assertFalse(cache.isServable("application/xml"));
+        assertFalse(cache.isServable("text/html, application/json;q=0.9"));
+        assertFalse(cache.isServable("application/json;q=0"));
+        assertFalse(cache.isServable("not a media type"));
+    }
+
+    @Test
+    void shouldNeverServeWhenDisabled() {
+        // Given
+        var cache = JsonResponseCache.disabled();
+
+        // When/Then
+        assertFalse(cache.isServable("application/json"));
+        assertNull(cache.getIfPresent(Body.class, "id1", "\"1\""));
+        assertThrows(IllegalStateException.class, () -> cache.encode(Body.class, "id1", "\"1\"", new Body("id1", "Max")));
+    }
+}
\ No newline at end of file
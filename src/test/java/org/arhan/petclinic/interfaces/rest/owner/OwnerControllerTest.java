@@ -0,0 +1,72 @@
+package org.arhan.petclinic.interfaces.rest.owner;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.arhan.petclinic.application.owner.AddressDTO;
+import org.arhan.petclinic.application.owner.OwnerDTO;
+import org.arhan.petclinic.application.owner.OwnerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import java.util.List;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(OwnerController.class)
+class OwnerControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private OwnerService ownerService;
+
+    private static final AddressDTO VALID_ADDRESS = new AddressDTO("123 Main St", "Springfield", "IL", "62701");
+
+    @Test
+    void shouldRegisterSeveralOwners() throws Exception {
+        // Given
+        var request = new RegisterOwnersRequest(List.of(
+            newRequest("john.doe@example.com"),
+            newRequest("jane.doe@example.com")
+        ));
+
+        when(ownerService.registerOwners(any())).thenReturn(List.of(
+            new OwnerDTO("id1", "John", "Doe", "john.doe@example.com", "+12345678901", VALID_ADDRESS, List.of(), 0L),
+            new OwnerDTO("id2", "John", "Doe", "jane.doe@example.com", "+12345678901", VALID_ADDRESS, List.of(), 0L)
+        ));
+
+        // When/Then
+        mockMvc.perform(post("/owners/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[1].email").value("jane.doe@example.com"));
+    }
+
+    @Test
+    void shouldRejectBatchWithInvalidOwner() throws Exception {
+        // Given
+        var request = new RegisterOwnersRequest(List.of(newRequest("not-an-email")));
+
+        // When/Then
+        mockMvc.perform(post("/owners/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isBadRequest());
+        verify(ownerService, never()).registerOwners(any());
+    }
+
+    private static RegisterOwnerRequest newRequest(String email) {
+        return new RegisterOwnerRequest("John", "Doe", email, "+12345678901",
+            "123 Main St", "Springfield", "IL", "62701");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package org.arhan.petclinic.interfaces.rest.pet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.arhan.petclinic.application.pet.PetDTO;
+import org.arhan.petclinic.application.pet.PetService;
+import org.arhan.petclinic.interfaces.rest.common.JsonResponseCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import java.time.LocalDate;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PetController.class)
+@Import(PetControllerResponseCacheTest.ResponseCacheConfig.class)
+class PetControllerResponseCacheTest {
+
+    private static final String PET_ID = "123e4567-e89b-12d3-a456-426614174001";
+    private static final String OWNER_ID = "123e4567-e89b-12d3-a456-426614174000";
+
+    @TestConfiguration
+    static class ResponseCacheConfig {
+        @Bean
+        JsonResponseCache jsonResponseCache(ObjectMapper objectMapper) {
+            return new JsonResponseCache(objectMapper, 1024 * 1024);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PetService petService;
+
+    @Test
+    void shouldServeRepeatedReadsFromEncodedBytes() throws Exception {
+        // Given
+        var pet = new PetDTO(PET_ID, "Max", "Dog", LocalDate.of(2020, 1, 1), OWNER_ID, 3L);
+        when(petService.findVersion(PET_ID)).thenReturn(3L);
+        when(petService.findById(PET_ID)).thenReturn(pet);
+        var first = mockMvc.perform(get("/pets/{id}", PET_ID))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        // When/Then
+        mockMvc.perform(get("/pets/{id}", PET_ID).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(header().string("ETag", "\"3\""))
+            .andExpect(content().string(first))
+            .andExpect(jsonPath("$.name").value("Max"));
+        verify(petService, times(1)).findById(PET_ID);
+    }
+
+    @Test
+    void shouldReloadOnceVersionMoves() throws Exception {
+        // Given
+        when(petService.findVersion(PET_ID)).thenReturn(3L);
+        when(petService.findById(PET_ID))
+            .thenReturn(new PetDTO(PET_ID, "Max", "Dog", LocalDate.of(2020, 1, 1), OWNER_ID, 3L));
+        mockMvc.perform(get("/pets/{id}", PET_ID)).andExpect(status().isOk());
+
+        // When
+        when(petService.findVersion(PET_ID)).thenReturn(4L);
+        when(petService.findById(PET_ID))
+            .thenReturn(new PetDTO(PET_ID, "Maxwell", "Dog", LocalDate.of(2020, 1, 1), OWNER_ID, 4L));
+
+        // Then
+        mockMvc.perform(get("/pets/{id}", PET_ID))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"4\""))
+            .andExpect(jsonPath("$.name").value("Maxwell"));
+    }
+
+    @Test
+    void shouldBypassCacheWhenClientPrefersAnotherMediaType() throws Exception {
+        // Given
+        when(petService.findById(PET_ID))
+            .thenReturn(new PetDTO(PET_ID, "Max", "Dog", LocalDate.of(2020, 1, 1), OWNER_ID, 3L));
+
+        // When/Then
+        mockMvc.perform(get("/pets/{id}", PET_ID).header("Accept", "text/html, application/json;q=0.9"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("Max"));
+        verify(petService, never()).findVersion(PET_ID);
+    }
+}
\ No newline at end of file
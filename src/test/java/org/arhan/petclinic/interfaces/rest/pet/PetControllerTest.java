@@ -1,8 +1,11 @@
 package org.arhan.petclinic.interfaces.rest.pet;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.arhan.petclinic.application.pet.MedicalRecordDTO;
 import org.arhan.petclinic.application.pet.PetDTO;
+import org.arhan.petclinic.application.pet.PetPageDTO;
 import org.arhan.petclinic.application.pet.PetService;
+import org.arhan.petclinic.domain.common.ConcurrencyConflictException;
 import org.arhan.petclinic.domain.common.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,8 +14,10 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -47,7 +52,8 @@ class PetControllerTest {
             "Max",
             "Dog",
             VALID_BIRTH_DATE,
-            VALID_OWNER_ID
+            VALID_OWNER_ID,
+            0L
         );
         
         when(petService.registerPet(any())).thenReturn(response);
@@ -88,7 +94,8 @@ class PetControllerTest {
             "Maxwell",
             "Dog",
             VALID_BIRTH_DATE,
-            VALID_OWNER_ID
+            VALID_OWNER_ID,
+            0L
         );
         
         var response = new PetDTO(
@@ -96,7 +103,8 @@ class PetControllerTest {
             "Maxwell",
             "Dog",
             VALID_BIRTH_DATE,
-            VALID_OWNER_ID
+            VALID_OWNER_ID,
+            0L
         );
         
         when(petService.updatePet(any())).thenReturn(response);
@@ -119,7 +127,8 @@ class PetControllerTest {
             "Maxwell",
             "Dog",
             VALID_BIRTH_DATE,
-            VALID_OWNER_ID
+            VALID_OWNER_ID,
+            0L
         );
         
         // When/Then
@@ -129,6 +138,23 @@ class PetControllerTest {
             .andExpect(status().isBadRequest());
     }
     
+    @Test
+    void shouldReturn409WhenUpdateIsBasedOnStaleVersion() throws Exception {
+        // Given
+        var petId = "123e4567-e89b-12d3-a456-426614174001";
+        var request = new UpdatePetRequest(petId, "Maxwell", "Dog", VALID_BIRTH_DATE, VALID_OWNER_ID, 0L);
+        
+        when(petService.updatePet(any()))
+            .thenThrow(ConcurrencyConflictException.withVersion("Pet", petId, 0L));
+        
+        // When/Then
+        mockMvc.perform(put("/pets/{id}", petId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.code").value("CONFLICT"));
+    }
+    
     @Test
     void shouldFindPetById() throws Exception {
         // Given
@@ -138,7 +164,8 @@ class PetControllerTest {
             "Max",
             "Dog",
             VALID_BIRTH_DATE,
-            VALID_OWNER_ID
+            VALID_OWNER_ID,
+            0L
         );
         
         when(petService.findById(petId)).thenReturn(response);
@@ -150,6 +177,110 @@ class PetControllerTest {
             .andExpect(jsonPath("$.name").value(response.name()));
     }
     
+    @Test
+    void shouldTagPetWithItsVersion() throws Exception {
+        // Given
+        var petId = "123e4567-e89b-12d3-a456-426614174001";
+        var response = new PetDTO(petId, "Max", "Dog", VALID_BIRTH_DATE, VALID_OWNER_ID, 3L);
+        when(petService.findById(petId)).thenReturn(response);
+        
+        // When/Then
+        mockMvc.perform(get("/pets/{id}", petId))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"3\""));
+        verify(petService, never()).findVersion(any());
+    }
+    
+    @Test
+    void shouldAnswerNotModifiedWithoutLoadingPet() throws Exception {
+        // Given
+        var petId = "123e4567-e89b-12d3-a456-426614174001";
+        when(petService.findVersion(petId)).thenReturn(3L);
+        
+        // When/Then
+        mockMvc.perform(get("/pets/{id}", petId)
+                .header("If-None-Match", "\"3\""))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+        verify(petService, never()).findById(any());
+    }
+    
+    @Test
+    void shouldReturnPetWhenTagIsStale() throws Exception {
+        // Given
+        var petId = "123e4567-e89b-12d3-a456-426614174001";
+        var response = new PetDTO(petId, "Max", "Dog", VALID_BIRTH_DATE, VALID_OWNER_ID, 4L);
+        when(petService.findVersion(petId)).thenReturn(4L);
+        when(petService.findById(petId)).thenReturn(response);
+        
+        // When/Then
+        mockMvc.perform(get("/pets/{id}", petId)
+                .header("If-None-Match", "\"3\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"4\""))
+            .andExpect(jsonPath("$.version").value(4));
+    }
+    
+    @Test
+    void shouldRejectUpdateWhenIfMatchIsStale() throws Exception {
+        // Given
+        var petId = "123e4567-e89b-12d3-a456-426614174001";
+        var request = new UpdatePetRequest(petId, "Maxwell", "Dog", VALID_BIRTH_DATE, VALID_OWNER_ID, 3L);
+        when(petService.findVersion(petId)).thenReturn(4L);
+        
+        // When/Then
+        mockMvc.perform(put("/pets/{id}", petId)
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isPreconditionFailed());
+        verify(petService, never()).updatePet(any());
+    }
+    
+    @Test
+    void shouldUpdatePetWhenIfMatchIsCurrent() throws Exception {
+        // Given
+        var petId = "123e4567-e89b-12d3-a456-426614174001";
+        var request = new UpdatePetRequest(petId, "Maxwell", "Dog", VALID_BIRTH_DATE, VALID_OWNER_ID, 3L);
+        var response = new PetDTO(petId, "Maxwell", "Dog", VALID_BIRTH_DATE, VALID_OWNER_ID, 4L);
+        when(petService.findVersion(petId)).thenReturn(3L);
+        when(petService.updatePet(any())).thenReturn(response);
+        
+        // When/Then
+        mockMvc.perform(put("/pets/{id}", petId)
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"4\""));
+    }
+    
+    @Test
+    void shouldAnswerNotModifiedForUnchangedPetList() throws Exception {
+        // Given
+        var pets = List.of(
+            new PetDTO("id1", "Max", "Dog", VALID_BIRTH_DATE, VALID_OWNER_ID, 1L),
+            new PetDTO("id2", "Bella", "Cat", VALID_BIRTH_DATE, VALID_OWNER_ID, 0L)
+        );
+        when(petService.findByOwner(VALID_OWNER_ID)).thenReturn(pets);
+        var etag = mockMvc.perform(get("/pets").param("ownerId", VALID_OWNER_ID))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader("ETag");
+        
+        // When/Then
+        mockMvc.perform(get("/pets").param("ownerId", VALID_OWNER_ID)
+                .header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+        
+        when(petService.findByOwner(VALID_OWNER_ID)).thenReturn(List.of(pets.get(0)));
+        mockMvc.perform(get("/pets").param("ownerId", VALID_OWNER_ID)
+                .header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1));
+    }
+    
     @Test
     void shouldReturn404WhenPetNotFound() throws Exception {
         // Given
@@ -162,6 +293,32 @@ class PetControllerTest {
             .andExpect(status().isNotFound());
     }
     
+    @Test
+    void shouldListPetsWithContinuationToken() throws Exception {
+        // Given
+        var pet = new PetDTO(
+            "id1",
+            "Max",
+            "Dog",
+            VALID_BIRTH_DATE,
+            VALID_OWNER_ID,
+            0L
+        );
+        
+        when(petService.listPets("created-at", "token1", 1))
+            .thenReturn(new PetPageDTO(List.of(pet), "token2"));
+        
+        // When/Then
+        mockMvc.perform(get("/pets")
+                .param("sort", "created-at")
+                .param("pageToken", "token1")
+                .param("size", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.pets.length()").value(1))
+            .andExpect(jsonPath("$.pets[0].id").value("id1"))
+            .andExpect(jsonPath("$.nextPageToken").value("token2"));
+    }
+    
     @Test
     void shouldFindPetsByOwner() throws Exception {
         // Given
@@ -170,14 +327,16 @@ class PetControllerTest {
             "Max",
             "Dog",
             VALID_BIRTH_DATE,
-            VALID_OWNER_ID
+            VALID_OWNER_ID,
+            0L
         );
         var pet2 = new PetDTO(
             "id2",
             "Bella",
             "Cat",
             VALID_BIRTH_DATE,
-            VALID_OWNER_ID
+            VALID_OWNER_ID,
+            0L
         );
         
         when(petService.findByOwner(VALID_OWNER_ID)).thenReturn(List.of(pet1, pet2));
@@ -191,4 +350,81 @@ class PetControllerTest {
             .andExpect(jsonPath("$[0].id").value(pet1.id()))
             .andExpect(jsonPath("$[1].id").value(pet2.id()));
     }
+    
+    @Test
+    void shouldRegisterSeveralPets() throws Exception {
+        // Given
+        var request = new RegisterPetsRequest(List.of(
+            new RegisterPetRequest("Max", "Dog", VALID_BIRTH_DATE, VALID_OWNER_ID),
+            new RegisterPetRequest("Bella", "Cat", VALID_BIRTH_DATE, VALID_OWNER_ID)
+        ));
+        
+        when(petService.registerPets(any())).thenReturn(List.of(
+            new PetDTO("id1", "Max", "Dog", VALID_BIRTH_DATE, VALID_OWNER_ID, 0L),
+            new PetDTO("id2", "Bella", "Cat", VALID_BIRTH_DATE, VALID_OWNER_ID, 0L)
+        ));
+        
+        // When/Then
+        mockMvc.perform(post("/pets/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[1].name").value("Bella"));
+    }
+    
+    @Test
+    void shouldRejectBatchWithInvalidPet() throws Exception {
+        // Given
+        var request = new RegisterPetsRequest(List.of(
+            new RegisterPetRequest("", "Dog", VALID_BIRTH_DATE, VALID_OWNER_ID)
+        ));
+        
+        // When/Then
+        mockMvc.perform(post("/pets/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void shouldFindMedicalHistoryPage() throws Exception {
+        // Given
+        var petId = "123e4567-e89b-12d3-a456-426614174001";
+        when(petService.findMedicalHistory(eq(petId), eq(1), eq(5))).thenReturn(List.of(
+            new MedicalRecordDTO("id1", LocalDateTime.now().minusDays(1), "Annual checkup", "vet1", List.of())
+        ));
+        
+        // When/Then
+        mockMvc.perform(get("/pets/{id}/medical-records", petId)
+                .param("page", "1")
+                .param("size", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].description").value("Annual checkup"));
+    }
+    
+    @Test
+    void shouldAddMedicalRecord() throws Exception {
+        // Given
+        var petId = "123e4567-e89b-12d3-a456-426614174001";
+        var date = LocalDateTime.now().minusDays(1);
+        var request = new AddMedicalRecordRequest(
+            date,
+            "Annual checkup",
+            "123e4567-e89b-12d3-a456-426614174002",
+            List.of(new TreatmentRequest("Rabies vaccine", date))
+        );
+        
+        when(petService.addMedicalRecord(any())).thenReturn(
+            new MedicalRecordDTO("id1", date, "Annual checkup", request.veterinarianId(), List.of())
+        );
+        
+        // When/Then
+        mockMvc.perform(post("/pets/{id}/medical-records", petId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.id").value("id1"));
+    }
 }
\ No newline at end of file